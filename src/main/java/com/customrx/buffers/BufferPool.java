@@ -0,0 +1,192 @@
+package com.customrx.buffers;
+
+import java.lang.ref.Cleaner;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Пул прямых буферов с классами размеров-степенями двойки.
+ * Освобождённый буфер сначала попадает в кэш текущего потока, при его переполнении - в общую очередь класса,
+ * а сверх её лимита отдаётся сборщику мусора. Кэш потока ограничен и числом буферов на класс, и суммой байт,
+ * поэтому крупные классы держит только общая очередь. Запросы больше maxPooledSize обслуживаются без пула.
+ * Режим отслеживания утечек включается конструктором или свойством customrx.buffers.leakDetection=true.
+ * Об утечке сообщает {@link #setLeakListener}, а без него - обработчик неперехваченных исключений потока Cleaner.
+ */
+public final class BufferPool {
+    // Без лимита в байтах кэш потока мог бы держать threadCacheSize буферов каждого класса, то есть сотни мегабайт
+    private static final long DEFAULT_THREAD_CACHE_BYTES = 1024 * 1024;
+    private static final BufferPool SHARED = new BufferPool(512, 4 * 1024 * 1024, 16, 64,
+            Boolean.getBoolean("customrx.buffers.leakDetection"));
+
+    private final int minShift;
+    private final int maxPooledSize;
+    private final int threadCacheSize;
+    private final long threadCacheBytes;
+    private final int sharedCacheSize;
+    private final boolean leakDetection;
+    private final Cleaner cleaner;
+    private final ThreadLocal<ThreadCache> threadCaches;
+    private final ConcurrentLinkedQueue<ByteBuffer>[] shared;
+    private final AtomicInteger[] sharedSizes;
+
+    private final LongAdder acquired = new LongAdder();
+    private final LongAdder threadCacheHits = new LongAdder();
+    private final LongAdder sharedHits = new LongAdder();
+    private final LongAdder allocations = new LongAdder();
+    private final LongAdder allocatedBytes = new LongAdder();
+    private final LongAdder retainedBytes = new LongAdder();
+    private final LongAdder released = new LongAdder();
+    private final LongAdder unpooled = new LongAdder();
+    private final LongAdder leaks = new LongAdder();
+    private volatile Consumer<? super Throwable> leakListener;
+
+    public BufferPool(int minSize, int maxPooledSize, int threadCacheSize, int sharedCacheSize, boolean leakDetection) {
+        this(minSize, maxPooledSize, threadCacheSize, DEFAULT_THREAD_CACHE_BYTES, sharedCacheSize, leakDetection);
+    }
+
+    @SuppressWarnings("unchecked")
+    public BufferPool(int minSize, int maxPooledSize, int threadCacheSize, long threadCacheBytes, int sharedCacheSize,
+                      boolean leakDetection) {
+        if (minSize <= 0 || maxPooledSize < minSize) {
+            throw new IllegalArgumentException("0 < minSize <= maxPooledSize required");
+        }
+        if (threadCacheBytes < 0) {
+            throw new IllegalArgumentException("threadCacheBytes >= 0 required but it was " + threadCacheBytes);
+        }
+        this.minShift = 32 - Integer.numberOfLeadingZeros(minSize - 1);
+        int maxShift = 32 - Integer.numberOfLeadingZeros(maxPooledSize - 1);
+        this.maxPooledSize = 1 << maxShift;
+        this.threadCacheSize = threadCacheSize;
+        this.threadCacheBytes = threadCacheBytes;
+        this.sharedCacheSize = sharedCacheSize;
+        this.leakDetection = leakDetection;
+        this.cleaner = leakDetection ? Cleaner.create() : null;
+        int classes = maxShift - minShift + 1;
+        this.shared = (ConcurrentLinkedQueue<ByteBuffer>[]) new ConcurrentLinkedQueue<?>[classes];
+        this.sharedSizes = new AtomicInteger[classes];
+        for (int i = 0; i < classes; i++) {
+            shared[i] = new ConcurrentLinkedQueue<>();
+            sharedSizes[i] = new AtomicInteger();
+        }
+        this.threadCaches = ThreadLocal.withInitial(() -> new ThreadCache(classes, threadCacheSize));
+    }
+
+    public static BufferPool shared() {
+        return SHARED;
+    }
+
+    /**
+     * Выдаёт очищенный буфер ёмкостью не меньше size с limit = size.
+     * Буфер нужно отпустить через {@link PooledBuffer#dispose()}.
+     */
+    public PooledBuffer acquire(int size) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("size > 0 required but it was " + size);
+        }
+        acquired.increment();
+        if (size > maxPooledSize) {
+            unpooled.increment();
+            allocations.increment();
+            allocatedBytes.add(size);
+            return track(ByteBuffer.allocateDirect(size), -1);
+        }
+        int sizeClass = sizeClass(size);
+        int capacity = 1 << (sizeClass + minShift);
+        ThreadCache cache = threadCaches.get();
+        ByteBuffer buffer = cache.buffers[sizeClass].poll();
+        if (buffer != null) {
+            threadCacheHits.increment();
+            cache.bytes -= capacity;
+            retainedBytes.add(-capacity);
+        } else {
+            buffer = shared[sizeClass].poll();
+            if (buffer != null) {
+                sharedHits.increment();
+                sharedSizes[sizeClass].decrementAndGet();
+                retainedBytes.add(-capacity);
+            } else {
+                allocations.increment();
+                allocatedBytes.add(capacity);
+                buffer = ByteBuffer.allocateDirect(capacity);
+            }
+        }
+        buffer.clear().limit(size);
+        return track(buffer, sizeClass);
+    }
+
+    // Получает IllegalStateException с местом выделения буфера в причине; вызывается из потока Cleaner
+    public void setLeakListener(Consumer<? super Throwable> listener) {
+        this.leakListener = listener;
+    }
+
+    public BufferPoolMetrics metrics() {
+        return new BufferPoolMetrics(acquired.sum(), threadCacheHits.sum(), sharedHits.sum(), allocations.sum(),
+                allocatedBytes.sum(), retainedBytes.sum(), released.sum(), unpooled.sum(), leaks.sum());
+    }
+
+    void recycle(ByteBuffer buffer, int sizeClass) {
+        released.increment();
+        if (sizeClass < 0) {
+            return;
+        }
+        buffer.clear();
+        int capacity = buffer.capacity();
+        ThreadCache cache = threadCaches.get();
+        ArrayDeque<ByteBuffer> deque = cache.buffers[sizeClass];
+        if (deque.size() < threadCacheSize && cache.bytes + capacity <= threadCacheBytes) {
+            deque.push(buffer);
+            cache.bytes += capacity;
+            retainedBytes.add(capacity);
+        } else if (sharedSizes[sizeClass].incrementAndGet() <= sharedCacheSize) {
+            shared[sizeClass].offer(buffer);
+            retainedBytes.add(capacity);
+        } else {
+            sharedSizes[sizeClass].decrementAndGet();
+        }
+    }
+
+    void reportLeak(Throwable allocationSite) {
+        leaks.increment();
+        IllegalStateException leak = new IllegalStateException(
+                "PooledBuffer was garbage-collected without dispose()", allocationSite);
+        Consumer<? super Throwable> listener = leakListener;
+        if (listener != null) {
+            listener.accept(leak);
+        } else {
+            Thread.currentThread().getUncaughtExceptionHandler().uncaughtException(Thread.currentThread(), leak);
+        }
+    }
+
+    private PooledBuffer track(ByteBuffer buffer, int sizeClass) {
+        if (!leakDetection) {
+            return new PooledBuffer(this, buffer, sizeClass, null);
+        }
+        PooledBuffer.LeakTracker tracker = new PooledBuffer.LeakTracker(this, new Throwable("PooledBuffer allocation"));
+        PooledBuffer pooled = new PooledBuffer(this, buffer, sizeClass, tracker);
+        tracker.register(cleaner, pooled);
+        return pooled;
+    }
+
+    private int sizeClass(int size) {
+        int shift = 32 - Integer.numberOfLeadingZeros(size - 1);
+        return Math.max(0, shift - minShift);
+    }
+
+    private static final class ThreadCache {
+        final ArrayDeque<ByteBuffer>[] buffers;
+        // Сумма ёмкостей буферов в кэше; меняется только своим потоком
+        long bytes;
+
+        @SuppressWarnings("unchecked")
+        ThreadCache(int classes, int capacity) {
+            buffers = (ArrayDeque<ByteBuffer>[]) new ArrayDeque<?>[classes];
+            for (int i = 0; i < classes; i++) {
+                buffers[i] = new ArrayDeque<>(capacity);
+            }
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.customrx.buffers;
+
+/**
+ * Снимок счётчиков {@link BufferPool}.
+ */
+public final class BufferPoolMetrics {
+    private final long acquired;
+    private final long threadCacheHits;
+    private final long sharedHits;
+    private final long allocations;
+    private final long allocatedBytes;
+    private final long retainedBytes;
+    private final long released;
+    private final long unpooled;
+    private final long leaks;
+
+    BufferPoolMetrics(long acquired, long threadCacheHits, long sharedHits, long allocations,
+                      long allocatedBytes, long retainedBytes, long released, long unpooled, long leaks) {
+        this.acquired = acquired;
+        this.threadCacheHits = threadCacheHits;
+        this.sharedHits = sharedHits;
+        this.allocations = allocations;
+        this.allocatedBytes = allocatedBytes;
+        this.retainedBytes = retainedBytes;
+        this.released = released;
+        this.unpooled = unpooled;
+        this.leaks = leaks;
+    }
+
+    public long getAcquired() {
+        return acquired;
+    }
+
+    public long getThreadCacheHits() {
+        return threadCacheHits;
+    }
+
+    public long getSharedHits() {
+        return sharedHits;
+    }
+
+    // Сколько раз пришлось выделить новую прямую память
+    public long getAllocations() {
+        return allocations;
+    }
+
+    public long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+
+    // Прямая память, которую пул держит в кэшах потоков и общих очередях; кэш завершившегося потока
+    // из суммы не вычитается, хотя его буферы достанутся сборщику мусора
+    public long getRetainedBytes() {
+        return retainedBytes;
+    }
+
+    public long getReleased() {
+        return released;
+    }
+
+    public long getUnpooled() {
+        return unpooled;
+    }
+
+    public long getLeaks() {
+        return leaks;
+    }
+
+    public long getOutstanding() {
+        return acquired - released;
+    }
+
+    public double getHitRate() {
+        return acquired == 0 ? 0.0 : (double) (threadCacheHits + sharedHits) / acquired;
+    }
+
+    @Override
+    public String toString() {
+        return "BufferPoolMetrics{acquired=" + acquired
+                + ", threadCacheHits=" + threadCacheHits
+                + ", sharedHits=" + sharedHits
+                + ", allocations=" + allocations
+                + ", allocatedBytes=" + allocatedBytes
+                + ", retainedBytes=" + retainedBytes
+                + ", released=" + released
+                + ", unpooled=" + unpooled
+                + ", leaks=" + leaks + "}";
+    }
+}
@@ -0,0 +1,120 @@
+package com.customrx.buffers;
+
+import com.customrx.disposable.Disposable;
+
+import java.lang.ref.Cleaner;
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
+/**
+ * Прямой буфер из {@link BufferPool} со счётчиком ссылок.
+ * Каждый владелец вызывает retain(), каждый release() отпускает одну ссылку;
+ * последняя ссылка возвращает буфер в пул. dispose() делает то же, но, как и положено Disposable,
+ * на уже возвращённом буфере ничего не делает, а release() в этом случае бросает исключение.
+ */
+public final class PooledBuffer implements Disposable {
+    private static final AtomicIntegerFieldUpdater<PooledBuffer> REF_COUNT =
+            AtomicIntegerFieldUpdater.newUpdater(PooledBuffer.class, "refCount");
+
+    private final BufferPool pool;
+    private final ByteBuffer buffer;
+    private final int sizeClass;
+    private final LeakTracker leakTracker;
+    private volatile int refCount = 1;
+
+    PooledBuffer(BufferPool pool, ByteBuffer buffer, int sizeClass, LeakTracker leakTracker) {
+        this.pool = pool;
+        this.buffer = buffer;
+        this.sizeClass = sizeClass;
+        this.leakTracker = leakTracker;
+    }
+
+    public ByteBuffer buffer() {
+        if (refCount == 0) {
+            throw new IllegalStateException("Buffer has already been released");
+        }
+        return buffer;
+    }
+
+    public PooledBuffer retain() {
+        for (;;) {
+            int current = refCount;
+            if (current == 0) {
+                throw new IllegalStateException("Cannot retain a released buffer");
+            }
+            if (REF_COUNT.compareAndSet(this, current, current + 1)) {
+                return this;
+            }
+        }
+    }
+
+    public int refCount() {
+        return refCount;
+    }
+
+    public void release() {
+        if (!tryRelease()) {
+            throw new IllegalStateException("Buffer released more times than retained");
+        }
+    }
+
+    @Override
+    public void dispose() {
+        tryRelease();
+    }
+
+    private boolean tryRelease() {
+        for (;;) {
+            int current = refCount;
+            if (current == 0) {
+                return false;
+            }
+            if (REF_COUNT.compareAndSet(this, current, current - 1)) {
+                if (current == 1) {
+                    if (leakTracker != null) {
+                        leakTracker.released();
+                    }
+                    pool.recycle(buffer, sizeClass);
+                }
+                return true;
+            }
+        }
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return refCount == 0;
+    }
+
+    /**
+     * Отслеживание утечек в отладочном режиме: если буфер собран сборщиком мусора,
+     * не будучи отпущенным, пул узнаёт об этом через {@link Cleaner} и сообщает место выделения.
+     */
+    static final class LeakTracker implements Runnable {
+        private final BufferPool pool;
+        private final Throwable allocationSite;
+        private volatile boolean released;
+        private Cleaner.Cleanable cleanable;
+
+        LeakTracker(BufferPool pool, Throwable allocationSite) {
+            this.pool = pool;
+            this.allocationSite = allocationSite;
+        }
+
+        void register(Cleaner cleaner, PooledBuffer owner) {
+            cleanable = cleaner.register(owner, this);
+        }
+
+        void released() {
+            released = true;
+            cleanable.clean();
+        }
+
+        @Override
+        public void run() {
+            if (!released) {
+                pool.reportLeak(allocationSite);
+            }
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.customrx.checkpoint;
+
+import java.io.IOException;
+import java.util.OptionalLong;
+
+/**
+ * Хранилище последнего подтверждённого смещения источника.
+ * Пишет в него оператор {@code checkpoint}, читает {@code Observables.resumeFrom} при перезапуске.
+ */
+public interface CheckpointStore {
+    OptionalLong load() throws IOException;
+
+    void save(long offset) throws IOException;
+}
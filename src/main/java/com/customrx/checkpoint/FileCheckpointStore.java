@@ -0,0 +1,74 @@
+package com.customrx.checkpoint;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.OptionalLong;
+
+/**
+ * Хранит смещение текстом в локальном файле. Новое значение пишется во временный файл рядом,
+ * сбрасывается на диск и переименовывается поверх старого атомарно, поэтому после сбоя
+ * в файле всегда целиком либо старое, либо новое смещение.
+ */
+public final class FileCheckpointStore implements CheckpointStore {
+    private final Path file;
+    private final Path temp;
+
+    public FileCheckpointStore(Path file) {
+        this.file = file;
+        this.temp = file.resolveSibling(file.getFileName() + ".tmp");
+    }
+
+    @Override
+    public synchronized OptionalLong load() throws IOException {
+        String text;
+        try {
+            text = Files.readString(file, StandardCharsets.UTF_8).trim();
+        } catch (NoSuchFileException e) {
+            return OptionalLong.empty();
+        }
+        try {
+            return OptionalLong.of(Long.parseLong(text));
+        } catch (NumberFormatException e) {
+            throw new IOException("Malformed checkpoint in " + file + ": \"" + text + "\"", e);
+        }
+    }
+
+    @Override
+    public synchronized void save(long offset) throws IOException {
+        ByteBuffer content = ByteBuffer.wrap((offset + "\n").getBytes(StandardCharsets.UTF_8));
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (content.hasRemaining()) {
+                channel.write(content);
+            }
+            channel.force(true);
+        }
+        Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        syncDirectory();
+    }
+
+    // Переименование надёжно, только когда сброшен и сам каталог; не все платформы позволяют открыть каталог
+    private void syncDirectory() {
+        Path dir = file.toAbsolutePath().getParent();
+        if (dir == null) {
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(dir, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException ignored) {
+            // переименование уже выполнено, теряется только гарантия при отключении питания
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "FileCheckpointStore[" + file + "]";
+    }
+}
@@ -0,0 +1,28 @@
+package com.customrx.checkpoint;
+
+/**
+ * Элемент вместе со смещением источника сразу после него: если элемент обработан,
+ * перезапуск с этого смещения продолжит поток со следующего элемента.
+ */
+public final class OffsetRecord<T> {
+    private final T value;
+    private final long offset;
+
+    public OffsetRecord(T value, long offset) {
+        this.value = value;
+        this.offset = offset;
+    }
+
+    public T value() {
+        return value;
+    }
+
+    public long offset() {
+        return offset;
+    }
+
+    @Override
+    public String toString() {
+        return "OffsetRecord[" + offset + ", " + value + "]";
+    }
+}
@@ -0,0 +1,181 @@
+package com.customrx.core;
+
+import com.customrx.disposable.Disposable;
+
+/**
+ * Вычисление без значения: только onComplete или onError.
+ */
+public class Completable {
+    private final CompletableOnSubscribe source;
+
+    protected Completable(CompletableOnSubscribe source) {
+        this.source = source;
+    }
+
+    public static Completable create(CompletableOnSubscribe source) {
+        return new Completable(source);
+    }
+
+    public static Completable complete() {
+        return create(CompletableEmitter::onComplete);
+    }
+
+    public static Completable error(Throwable error) {
+        return create(emitter -> emitter.onError(error));
+    }
+
+    public static Completable fromAction(Action action) {
+        return create(emitter -> {
+            try {
+                action.run();
+            } catch (Exception e) {
+                emitter.onError(e);
+                return;
+            }
+            emitter.onComplete();
+        });
+    }
+
+    public Disposable subscribe(CompletableObserver observer) {
+        DefaultCompletableEmitter emitter = new DefaultCompletableEmitter(observer);
+        observer.onSubscribe(emitter);
+        try {
+            source.subscribe(emitter);
+        } catch (Exception e) {
+            emitter.onError(e);
+        }
+        return emitter;
+    }
+
+    public Disposable subscribe(Action onComplete, Consumer<? super Throwable> onError) {
+        return subscribe(new CompletableObserver() {
+            @Override
+            public void onComplete() {
+                try {
+                    onComplete.run();
+                } catch (Exception e) {
+                    Thread.currentThread().getUncaughtExceptionHandler().uncaughtException(Thread.currentThread(), e);
+                }
+            }
+
+            @Override
+            public void onError(Throwable error) {
+                try {
+                    onError.accept(error);
+                } catch (Exception e) {
+                    Thread.currentThread().getUncaughtExceptionHandler().uncaughtException(Thread.currentThread(), e);
+                }
+            }
+        });
+    }
+
+    public Completable andThen(Completable next) {
+        return create(emitter -> subscribe(new CompletableObserver() {
+            @Override
+            public void onSubscribe(Disposable upstream) {
+                emitter.setDisposable(upstream);
+            }
+
+            @Override
+            public void onComplete() {
+                next.subscribe(new CompletableObserver() {
+                    @Override
+                    public void onSubscribe(Disposable upstream) {
+                        emitter.setDisposable(upstream);
+                    }
+
+                    @Override
+                    public void onComplete() {
+                        emitter.onComplete();
+                    }
+
+                    @Override
+                    public void onError(Throwable error) {
+                        emitter.onError(error);
+                    }
+                });
+            }
+
+            @Override
+            public void onError(Throwable error) {
+                emitter.onError(error);
+            }
+        }));
+    }
+
+    public <T> Single<T> andThen(Single<T> next) {
+        return Single.create(emitter -> subscribe(new CompletableObserver() {
+            @Override
+            public void onSubscribe(Disposable upstream) {
+                emitter.setDisposable(upstream);
+            }
+
+            @Override
+            public void onComplete() {
+                next.subscribe(new SingleObserver<T>() {
+                    @Override
+                    public void onSubscribe(Disposable upstream) {
+                        emitter.setDisposable(upstream);
+                    }
+
+                    @Override
+                    public void onSuccess(T value) {
+                        emitter.onSuccess(value);
+                    }
+
+                    @Override
+                    public void onError(Throwable error) {
+                        emitter.onError(error);
+                    }
+                });
+            }
+
+            @Override
+            public void onError(Throwable error) {
+                emitter.onError(error);
+            }
+        }));
+    }
+
+    public <T> Single<T> toSingleDefault(T value) {
+        return andThen(Single.just(value));
+    }
+
+    public <T> Observable<T> toObservable() {
+        return Observable.create(emitter -> subscribe(new CompletableObserver() {
+            @Override
+            public void onSubscribe(Disposable upstream) {
+                emitter.setDisposable(upstream);
+            }
+
+            @Override
+            public void onComplete() {
+                emitter.onComplete();
+            }
+
+            @Override
+            public void onError(Throwable error) {
+                emitter.onError(error);
+            }
+        }));
+    }
+
+    // Терминальный сигнал и отмена - одна атомарная замена ссылки на ресурс, см. OneShotEmitter
+    private static final class DefaultCompletableEmitter extends OneShotEmitter implements CompletableEmitter {
+        private final CompletableObserver observer;
+
+        DefaultCompletableEmitter(CompletableObserver observer) {
+            this.observer = observer;
+        }
+
+        @Override
+        public void onComplete() {
+            terminate(() -> observer.onComplete());
+        }
+
+        @Override
+        public void onError(Throwable error) {
+            terminate(() -> observer.onError(error));
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.customrx.core;
+
+import com.customrx.disposable.Disposable;
+
+public interface CompletableEmitter extends Disposable {
+    void onComplete();
+    void onError(Throwable error);
+
+    // Ресурс освобождается вместе с эмиттером, как и в Emitter.setDisposable
+    default void setDisposable(Disposable disposable) {
+    }
+}
@@ -0,0 +1,12 @@
+package com.customrx.core;
+
+import com.customrx.disposable.Disposable;
+
+public interface CompletableObserver {
+    // Вызывается до первого сигнала, как и Observer.onSubscribe
+    default void onSubscribe(Disposable upstream) {
+    }
+
+    void onComplete();
+    void onError(Throwable error);
+}
@@ -0,0 +1,6 @@
+package com.customrx.core;
+
+@FunctionalInterface
+public interface CompletableOnSubscribe {
+    void subscribe(CompletableEmitter emitter);
+}
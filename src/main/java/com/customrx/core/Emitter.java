@@ -6,4 +6,9 @@ public interface Emitter<T> extends Disposable {
     void onNext(T value);
     void onError(Throwable error);
     void onComplete();
-}
\ No newline at end of file
+
+    // Ресурс освобождается вместе с эмиттером: при отмене подписки или после терминального сигнала.
+    // Сторонний эмиттер без переопределения просто не передаёт отмену вверх по цепочке
+    default void setDisposable(Disposable disposable) {
+    }
+}
@@ -0,0 +1,14 @@
+package com.customrx.core;
+
+public class GroupedObservable<K, T> extends Observable<T> {
+    private final K key;
+
+    public GroupedObservable(K key, ObservableOnSubscribe<T> source) {
+        super(source);
+        this.key = key;
+    }
+
+    public K getKey() {
+        return key;
+    }
+}
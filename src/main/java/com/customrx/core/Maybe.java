@@ -0,0 +1,303 @@
+package com.customrx.core;
+
+import com.customrx.disposable.Disposable;
+import java.util.NoSuchElementException;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Источник не более одного значения: onSuccess, onComplete (пусто) или onError.
+ */
+public class Maybe<T> {
+    private final MaybeOnSubscribe<T> source;
+
+    protected Maybe(MaybeOnSubscribe<T> source) {
+        this.source = source;
+    }
+
+    public static <T> Maybe<T> create(MaybeOnSubscribe<T> source) {
+        return new Maybe<>(source);
+    }
+
+    public static <T> Maybe<T> just(T value) {
+        return create(emitter -> emitter.onSuccess(value));
+    }
+
+    public static <T> Maybe<T> empty() {
+        return create(MaybeEmitter::onComplete);
+    }
+
+    public static <T> Maybe<T> error(Throwable error) {
+        return create(emitter -> emitter.onError(error));
+    }
+
+    // Источники подписываются последовательно; если первый пуст, второй не запускается
+    public static <T1, T2, R> Maybe<R> zip(Maybe<? extends T1> first,
+                                          Maybe<? extends T2> second,
+                                          BiFunction<? super T1, ? super T2, ? extends R> zipper) {
+        return first.flatMap(a -> second.map(b -> zipper.apply(a, b)));
+    }
+
+    public Disposable subscribe(MaybeObserver<? super T> observer) {
+        DefaultMaybeEmitter<T> emitter = new DefaultMaybeEmitter<>(observer);
+        observer.onSubscribe(emitter);
+        try {
+            source.subscribe(emitter);
+        } catch (Exception e) {
+            emitter.onError(e);
+        }
+        return emitter;
+    }
+
+    public Disposable subscribe(Consumer<? super T> onSuccess,
+                                Consumer<? super Throwable> onError,
+                                Action onComplete) {
+        return subscribe(new MaybeObserver<T>() {
+            @Override
+            public void onSuccess(T value) {
+                try {
+                    onSuccess.accept(value);
+                } catch (Exception e) {
+                    Thread.currentThread().getUncaughtExceptionHandler().uncaughtException(Thread.currentThread(), e);
+                }
+            }
+
+            @Override
+            public void onError(Throwable error) {
+                try {
+                    onError.accept(error);
+                } catch (Exception e) {
+                    Thread.currentThread().getUncaughtExceptionHandler().uncaughtException(Thread.currentThread(), e);
+                }
+            }
+
+            @Override
+            public void onComplete() {
+                try {
+                    onComplete.run();
+                } catch (Exception e) {
+                    Thread.currentThread().getUncaughtExceptionHandler().uncaughtException(Thread.currentThread(), e);
+                }
+            }
+        });
+    }
+
+    public <R> Maybe<R> map(Function<? super T, ? extends R> mapper) {
+        return create(emitter -> subscribe(new MaybeObserver<T>() {
+            @Override
+            public void onSubscribe(Disposable upstream) {
+                emitter.setDisposable(upstream);
+            }
+
+            @Override
+            public void onSuccess(T value) {
+                R result;
+                try {
+                    result = mapper.apply(value);
+                } catch (Exception e) {
+                    emitter.onError(e);
+                    return;
+                }
+                emitter.onSuccess(result);
+            }
+
+            @Override
+            public void onError(Throwable error) {
+                emitter.onError(error);
+            }
+
+            @Override
+            public void onComplete() {
+                emitter.onComplete();
+            }
+        }));
+    }
+
+    public Maybe<T> filter(Predicate<? super T> predicate) {
+        return create(emitter -> subscribe(new MaybeObserver<T>() {
+            @Override
+            public void onSubscribe(Disposable upstream) {
+                emitter.setDisposable(upstream);
+            }
+
+            @Override
+            public void onSuccess(T value) {
+                boolean pass;
+                try {
+                    pass = predicate.test(value);
+                } catch (Exception e) {
+                    emitter.onError(e);
+                    return;
+                }
+                if (pass) {
+                    emitter.onSuccess(value);
+                } else {
+                    emitter.onComplete();
+                }
+            }
+
+            @Override
+            public void onError(Throwable error) {
+                emitter.onError(error);
+            }
+
+            @Override
+            public void onComplete() {
+                emitter.onComplete();
+            }
+        }));
+    }
+
+    public <R> Maybe<R> flatMap(Function<? super T, ? extends Maybe<? extends R>> mapper) {
+        return create(emitter -> subscribe(new MaybeObserver<T>() {
+            @Override
+            public void onSubscribe(Disposable upstream) {
+                emitter.setDisposable(upstream);
+            }
+
+            @Override
+            public void onSuccess(T value) {
+                Maybe<? extends R> next;
+                try {
+                    next = mapper.apply(value);
+                } catch (Exception e) {
+                    emitter.onError(e);
+                    return;
+                }
+                next.subscribe(new MaybeObserver<R>() {
+                    @Override
+                    public void onSubscribe(Disposable upstream) {
+                        emitter.setDisposable(upstream);
+                    }
+
+                    @Override
+                    public void onSuccess(R result) {
+                        emitter.onSuccess(result);
+                    }
+
+                    @Override
+                    public void onError(Throwable error) {
+                        emitter.onError(error);
+                    }
+
+                    @Override
+                    public void onComplete() {
+                        emitter.onComplete();
+                    }
+                });
+            }
+
+            @Override
+            public void onError(Throwable error) {
+                emitter.onError(error);
+            }
+
+            @Override
+            public void onComplete() {
+                emitter.onComplete();
+            }
+        }));
+    }
+
+    public <R> Maybe<R> flatMapSingle(Function<? super T, ? extends Single<? extends R>> mapper) {
+        return flatMap(value -> mapper.apply(value).toMaybe());
+    }
+
+    public Single<T> defaultIfEmpty(T defaultValue) {
+        return Single.create(emitter -> subscribe(new MaybeObserver<T>() {
+            @Override
+            public void onSubscribe(Disposable upstream) {
+                emitter.setDisposable(upstream);
+            }
+
+            @Override
+            public void onSuccess(T value) {
+                emitter.onSuccess(value);
+            }
+
+            @Override
+            public void onError(Throwable error) {
+                emitter.onError(error);
+            }
+
+            @Override
+            public void onComplete() {
+                emitter.onSuccess(defaultValue);
+            }
+        }));
+    }
+
+    public Single<T> toSingle() {
+        return Single.create(emitter -> subscribe(new MaybeObserver<T>() {
+            @Override
+            public void onSubscribe(Disposable upstream) {
+                emitter.setDisposable(upstream);
+            }
+
+            @Override
+            public void onSuccess(T value) {
+                emitter.onSuccess(value);
+            }
+
+            @Override
+            public void onError(Throwable error) {
+                emitter.onError(error);
+            }
+
+            @Override
+            public void onComplete() {
+                emitter.onError(new NoSuchElementException("Maybe is empty"));
+            }
+        }));
+    }
+
+    public Observable<T> toObservable() {
+        return Observable.create(emitter -> subscribe(new MaybeObserver<T>() {
+            @Override
+            public void onSubscribe(Disposable upstream) {
+                emitter.setDisposable(upstream);
+            }
+
+            @Override
+            public void onSuccess(T value) {
+                emitter.onNext(value);
+                emitter.onComplete();
+            }
+
+            @Override
+            public void onError(Throwable error) {
+                emitter.onError(error);
+            }
+
+            @Override
+            public void onComplete() {
+                emitter.onComplete();
+            }
+        }));
+    }
+
+    // Терминальный сигнал и отмена - одна атомарная замена ссылки на ресурс, см. OneShotEmitter
+    private static final class DefaultMaybeEmitter<T> extends OneShotEmitter implements MaybeEmitter<T> {
+        private final MaybeObserver<? super T> observer;
+
+        DefaultMaybeEmitter(MaybeObserver<? super T> observer) {
+            this.observer = observer;
+        }
+
+        @Override
+        public void onSuccess(T value) {
+            terminate(() -> observer.onSuccess(value));
+        }
+
+        @Override
+        public void onError(Throwable error) {
+            terminate(() -> observer.onError(error));
+        }
+
+        @Override
+        public void onComplete() {
+            terminate(() -> observer.onComplete());
+        }
+    }
+}
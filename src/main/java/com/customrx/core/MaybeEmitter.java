@@ -0,0 +1,13 @@
+package com.customrx.core;
+
+import com.customrx.disposable.Disposable;
+
+public interface MaybeEmitter<T> extends Disposable {
+    void onSuccess(T value);
+    void onError(Throwable error);
+    void onComplete();
+
+    // Ресурс освобождается вместе с эмиттером, как и в Emitter.setDisposable
+    default void setDisposable(Disposable disposable) {
+    }
+}
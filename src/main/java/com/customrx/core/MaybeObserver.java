@@ -0,0 +1,13 @@
+package com.customrx.core;
+
+import com.customrx.disposable.Disposable;
+
+public interface MaybeObserver<T> {
+    // Вызывается до первого сигнала, как и Observer.onSubscribe
+    default void onSubscribe(Disposable upstream) {
+    }
+
+    void onSuccess(T value);
+    void onError(Throwable error);
+    void onComplete();
+}
@@ -0,0 +1,6 @@
+package com.customrx.core;
+
+@FunctionalInterface
+public interface MaybeOnSubscribe<T> {
+    void subscribe(MaybeEmitter<T> emitter);
+}
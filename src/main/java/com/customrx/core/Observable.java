@@ -1,16 +1,92 @@
 package com.customrx.core;
 
-import com.customrx.disposable.CompositeDisposable;
+import com.customrx.checkpoint.CheckpointStore;
 import com.customrx.disposable.Disposable;
+import com.customrx.internal.BlockingIterator;
+import com.customrx.internal.BlockingResultObserver;
+import com.customrx.internal.RotatingBloomFilter;
+import com.customrx.interop.CompletionStageSource;
+import com.customrx.interop.IterableSource;
+import com.customrx.interop.ObservablePublisher;
+import com.customrx.interop.PublisherSource;
+import com.customrx.interop.StreamSource;
+import com.customrx.io.AsyncFileSink;
+import com.customrx.io.ChannelSink;
+import com.customrx.io.Encoder;
+import com.customrx.io.Serializer;
+import com.customrx.observers.TestObserver;
+import com.customrx.operators.Backoff;
+import com.customrx.operators.BatchMapOperator;
+import com.customrx.operators.CheckpointOperator;
+import com.customrx.operators.CircuitBreaker;
+import com.customrx.operators.CircuitBreakerOperator;
+import com.customrx.operators.CollectOperator;
+import com.customrx.operators.CountOperator;
+import com.customrx.operators.DebounceOperator;
+import com.customrx.operators.DeferOperator;
+import com.customrx.operators.DistinctApproxOperator;
+import com.customrx.operators.DistinctOperator;
+import com.customrx.operators.DistinctUntilChangedOperator;
+import com.customrx.operators.FilterOperator;
+import com.customrx.operators.FlatMapOperator;
+import com.customrx.operators.GroupByOperator;
+import com.customrx.operators.LongGroupByOperator;
+import com.customrx.operators.LookupCache;
+import com.customrx.operators.MapOperator;
+import com.customrx.operators.ObserveOnKeyedOperator;
+import com.customrx.operators.ObserveOnOperator;
+import com.customrx.operators.OnErrorResumeOperator;
+import com.customrx.operators.RateLimitOperator;
+import com.customrx.operators.RateLimiter;
+import com.customrx.operators.ReduceOperator;
+import com.customrx.operators.ResubscribeOperator;
+import com.customrx.operators.SampleOperator;
+import com.customrx.operators.ScanOperator;
+import com.customrx.operators.SpillToDiskOperator;
+import com.customrx.operators.SubscribeOnOperator;
+import com.customrx.operators.ThrottleFirstOperator;
+import com.customrx.operators.TimeoutOperator;
+import com.customrx.operators.UsingOperator;
+import com.customrx.operators.WindowedStatsOperator;
+import com.customrx.remote.RemoteEndpoint;
+import com.customrx.remote.RemoteSink;
+import com.customrx.schedulers.KeyedScheduler;
 import com.customrx.schedulers.Scheduler;
-import java.util.concurrent.atomic.AtomicInteger;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collector;
+import java.util.stream.Stream;
 
 public class Observable<T> {
+    private static final int DEFAULT_GROUP_BUFFER_SIZE = 128;
+    private static final int DEFAULT_LIST_CAPACITY = 16;
+    private static final int DEFAULT_PREFETCH = 128;
+    private static final int DEFAULT_SINK_BUFFER_SIZE = 64 * 1024;
+    private static final int DEFAULT_SINK_BUFFER_COUNT = 4;
+    private static final int DEFAULT_SPILL_SEGMENT_SIZE = 4 * 1024 * 1024;
+
     private final ObservableOnSubscribe<T> source;
 
-    private Observable(ObservableOnSubscribe<T> source) {
+    protected Observable(ObservableOnSubscribe<T> source) {
         this.source = source;
     }
 
@@ -18,8 +94,62 @@ public class Observable<T> {
         return new Observable<>(source);
     }
 
+    public static <T> Observable<T> fromIterable(Iterable<? extends T> iterable) {
+        return create(new IterableSource<>(iterable));
+    }
+
+    public static <T> Observable<T> fromStream(Stream<? extends T> stream) {
+        return create(new StreamSource<>(stream));
+    }
+
+    public static <T> Observable<T> fromCompletionStage(CompletionStage<? extends T> stage) {
+        return create(new CompletionStageSource<>(stage));
+    }
+
+    public static <T> Observable<T> fromFuture(CompletableFuture<? extends T> future) {
+        return fromCompletionStage(future);
+    }
+
+    public static <T> Observable<T> fromPublisher(Flow.Publisher<? extends T> publisher) {
+        return fromPublisher(publisher, DEFAULT_PREFETCH);
+    }
+
+    public static <T> Observable<T> fromPublisher(Flow.Publisher<? extends T> publisher, int prefetch) {
+        return create(new PublisherSource<>(publisher, checkBufferSize(prefetch)));
+    }
+
+    // Источник строится заново для каждого подписчика; без подписки supplier не вызывается
+    public static <T> Observable<T> defer(Supplier<? extends Observable<? extends T>> supplier) {
+        return create(new DeferOperator<>(supplier));
+    }
+
+    // Значение вычисляется при каждой подписке; null даёт пустой поток
+    public static <T> Observable<T> fromSupplier(Supplier<? extends T> supplier) {
+        return create(emitter -> {
+            T value;
+            try {
+                value = supplier.get();
+            } catch (Exception e) {
+                emitter.onError(e);
+                return;
+            }
+            if (value != null) {
+                emitter.onNext(value);
+            }
+            emitter.onComplete();
+        });
+    }
+
+    // Ресурс захватывается при подписке и освобождается disposer'ом при завершении или отмене
+    public static <T, R> Observable<T> using(Supplier<? extends R> resourceFactory,
+                                             Function<? super R, ? extends Observable<? extends T>> observableFactory,
+                                             Consumer<? super R> disposer) {
+        return create(new UsingOperator<>(resourceFactory, observableFactory, disposer));
+    }
+
     public Disposable subscribe(Observer<? super T> observer) {
         DefaultEmitter<T> emitter = new DefaultEmitter<>(observer);
+        observer.onSubscribe(emitter);
         try {
             source.subscribe(emitter);
         } catch (Exception e) {
@@ -64,124 +194,593 @@ public class Observable<T> {
         });
     }
 
-
-
     public <R> Observable<R> map(Function<? super T, ? extends R> mapper) {
-        return new Observable<>(emitter -> {
-            Disposable disposable = this.subscribe(
-                    item -> {
-                        try {
-                            emitter.onNext(mapper.apply(item));
-                        } catch (Exception e) {
-                            emitter.onError(e);
-                        }
-                    },
-                    emitter::onError,
-                    emitter::onComplete
-            );
-        });
+        return create(MapOperator.map(this, source, mapper));
     }
+
     public Observable<T> filter(Predicate<? super T> predicate) {
-        return new Observable<>(emitter -> {
-            Disposable disposable = this.subscribe(
-                    item -> {
-                        try {
-                            if (predicate.test(item)) {
-                                emitter.onNext(item);
-                            }
-                        } catch (Exception e) {
-                            emitter.onError(e);
-                        }
-                    },
-                    emitter::onError,
-                    emitter::onComplete
-            );
-        });
+        return create(FilterOperator.filter(this, source, predicate));
     }
 
     public <R> Observable<R> flatMap(Function<? super T, ? extends Observable<R>> mapper) {
-        return new Observable<>(emitter -> {
-            CompositeDisposable composite = new CompositeDisposable();
-            AtomicInteger activeSubscriptions = new AtomicInteger(1);
-
-            Disposable mainDisposable = this.subscribe(
-                    item -> {
-                        try {
-                            activeSubscriptions.incrementAndGet();
-                            Observable<R> inner = mapper.apply(item);
-                            Disposable disposable = inner.subscribe(
-                                    emitter::onNext,
-                                    error -> {
-                                        emitter.onError(error);
-                                        composite.dispose();
-                                    },
-                                    () -> {
-                                        if (activeSubscriptions.decrementAndGet() == 0) {
-                                            emitter.onComplete();
-                                        }
-                                    }
-                            );
-                            composite.add(disposable);
-                        } catch (Exception e) {
-                            emitter.onError(e);
-                        }
-                    },
-                    error -> {
-                        emitter.onError(error);
-                        composite.dispose();
-                    },
-                    () -> {
-                        if (activeSubscriptions.decrementAndGet() == 0) {
-                            emitter.onComplete();
-                        }
-                    }
-            );
-
-            composite.add(mainDisposable);
-        });
+        return create(new FlatMapOperator<>(this, mapper));
+    }
+
+    // flatMap с кэшем результатов по ключу: повторные ключи не вызывают mapper, одновременные - разделяют одну загрузку
+    public <K, R> Observable<R> cachedFlatMap(Function<? super T, ? extends K> keySelector,
+                                              Function<? super T, ? extends Observable<R>> mapper,
+                                              int maxSize, long ttl, TimeUnit unit) {
+        return cachedFlatMap(keySelector, mapper, new LookupCache<>(maxSize, ttl, unit));
+    }
+
+    // Внешний кэш можно разделить между цепочками и читать его статистику через stats()
+    public <K, R> Observable<R> cachedFlatMap(Function<? super T, ? extends K> keySelector,
+                                              Function<? super T, ? extends Observable<R>> mapper,
+                                              LookupCache<K, R> cache) {
+        return flatMap(item -> cache.get(keySelector.apply(item), () -> mapper.apply(item)));
+    }
+
+    // Один вызов batchFn на пачку до maxBatch элементов или maxDelay; результаты выдаются в порядке элементов
+    public <R> Observable<R> batchMap(int maxBatch, long maxDelay, TimeUnit unit, Scheduler scheduler,
+                                      Function<? super List<T>, ? extends Observable<Map<T, R>>> batchFn) {
+        if (maxBatch <= 0) {
+            throw new IllegalArgumentException("maxBatch > 0 required but it was " + maxBatch);
+        }
+        return create(new BatchMapOperator<>(this, maxBatch, checkDuration(maxDelay, unit, "maxDelay"), scheduler, batchFn));
+    }
+
+    public Observable<T> distinct() {
+        return distinct(Function.identity());
+    }
+
+    public <K> Observable<T> distinct(Function<? super T, ? extends K> keySelector) {
+        return create(new DistinctOperator<>(this, keySelector, 0));
+    }
+
+    // Помнит только maxSize последних ключей, поэтому работает в ограниченной памяти на бесконечном потоке
+    public <K> Observable<T> distinct(Function<? super T, ? extends K> keySelector, int maxSize) {
+        return create(new DistinctOperator<>(this, keySelector, checkBufferSize(maxSize)));
+    }
+
+    public Observable<T> distinctUntilChanged() {
+        return distinctUntilChanged(Function.identity());
+    }
+
+    public <K> Observable<T> distinctUntilChanged(Function<? super T, ? extends K> keySelector) {
+        return create(new DistinctUntilChangedOperator<>(this, keySelector));
+    }
+
+    // Хэш берётся из hashCode(): при числе ключей порядка 2^16 и выше лучше передать свою 64-битную хэш-функцию
+    public Observable<T> distinctApprox(long expectedItems, double fpp) {
+        return distinctApprox(item -> RotatingBloomFilter.mix(item.hashCode()), expectedItems, fpp);
+    }
+
+    public Observable<T> distinctApprox(ToLongFunction<? super T> hashFunction, long expectedItems, double fpp) {
+        if (expectedItems <= 0 || !(fpp > 0 && fpp < 1)) {
+            throw new IllegalArgumentException("expectedItems > 0 and 0 < fpp < 1 required");
+        }
+        return create(new DistinctApproxOperator<>(this, hashFunction, expectedItems, fpp));
     }
 
     public Observable<T> subscribeOn(Scheduler scheduler) {
-        return new Observable<>(emitter -> {
-            scheduler.schedule(() -> {
-                try {
-                    Disposable disposable = this.subscribe(
-                            emitter::onNext,
-                            emitter::onError,
-                            emitter::onComplete
-                    );
-                } catch (Exception e) {
-                    emitter.onError(e);
-                }
-            });
-        });
+        return create(new SubscribeOnOperator<>(this, scheduler));
     }
 
     public Observable<T> observeOn(Scheduler scheduler) {
-        return new Observable<>(emitter -> {
-            Disposable disposable = this.subscribe(
-                    item -> scheduler.schedule(() -> {
-                        if (!emitter.isDisposed()) {
-                            emitter.onNext(item);
-                        }
-                    }),
-                    error -> scheduler.schedule(() -> {
-                        if (!emitter.isDisposed()) {
-                            emitter.onError(error);
-                        }
-                    }),
-                    () -> scheduler.schedule(() -> {
-                        if (!emitter.isDisposed()) {
-                            emitter.onComplete();
-                        }
-                    })
-            );
+        return create(new ObserveOnOperator<>(this, scheduler));
+    }
+
+    // Как observeOn, но сверх memoryLimit элементов очередь уходит в сегменты на диске, и куча не растёт при отставании потребителя
+    public Observable<T> onBackpressureSpillToDisk(int memoryLimit, Path dir, Serializer<T> serializer, Scheduler scheduler) {
+        return onBackpressureSpillToDisk(memoryLimit, dir, serializer, DEFAULT_SPILL_SEGMENT_SIZE, scheduler);
+    }
+
+    public Observable<T> onBackpressureSpillToDisk(int memoryLimit, Path dir, Serializer<T> serializer,
+                                                   int segmentSize, Scheduler scheduler) {
+        return create(new SpillToDiskOperator<>(this, checkBufferSize(memoryLimit), dir, serializer,
+                checkBufferSize(segmentSize), scheduler));
+    }
+
+    // Порядок сохраняется внутри ключа, разные ключи обрабатываются параллельно на полосах планировщика
+    public <K> Observable<T> observeOnKeyed(Function<? super T, ? extends K> keySelector, KeyedScheduler scheduler) {
+        return create(new ObserveOnKeyedOperator<>(this, keySelector, scheduler));
+    }
+
+    public <K> Observable<GroupedObservable<K, T>> groupBy(Function<? super T, ? extends K> keySelector) {
+        return groupBy(keySelector, Function.identity(), DEFAULT_GROUP_BUFFER_SIZE);
+    }
+
+    public <K, V> Observable<GroupedObservable<K, V>> groupBy(Function<? super T, ? extends K> keySelector,
+                                                           Function<? super T, ? extends V> valueSelector,
+                                                           int bufferSize) {
+        return create(new GroupByOperator<>(this, keySelector, valueSelector, checkBufferSize(bufferSize), 0L, null));
+    }
+
+    // Группа, в которую не приходило элементов дольше groupTtl, завершается и удаляется из таблицы;
+    // таблицу раз в groupTtl просматривает таймер на scheduler
+    public <K, V> Observable<GroupedObservable<K, V>> groupBy(Function<? super T, ? extends K> keySelector,
+                                                           Function<? super T, ? extends V> valueSelector,
+                                                           int bufferSize,
+                                                           long groupTtl,
+                                                           TimeUnit unit,
+                                                           Scheduler scheduler) {
+        return create(new GroupByOperator<>(this, keySelector, valueSelector,
+                checkBufferSize(bufferSize), checkTtl(groupTtl, unit), scheduler));
+    }
+
+    public <V> Observable<GroupedObservable<Long, V>> groupByLong(ToLongFunction<? super T> keySelector,
+                                                               Function<? super T, ? extends V> valueSelector,
+                                                               int bufferSize) {
+        return create(new LongGroupByOperator<>(this, keySelector, valueSelector, checkBufferSize(bufferSize), 0L, null));
+    }
+
+    public <V> Observable<GroupedObservable<Long, V>> groupByLong(ToLongFunction<? super T> keySelector,
+                                                               Function<? super T, ? extends V> valueSelector,
+                                                               int bufferSize,
+                                                               long groupTtl,
+                                                               TimeUnit unit,
+                                                               Scheduler scheduler) {
+        return create(new LongGroupByOperator<>(this, keySelector, valueSelector,
+                checkBufferSize(bufferSize), checkTtl(groupTtl, unit), scheduler));
+    }
+
+    // Пустой поток без начального значения свёртки не даёт: Maybe завершается без значения
+    public Maybe<T> reduce(BiFunction<T, ? super T, T> reducer) {
+        return Maybe.create(ReduceOperator.reduce(this, reducer));
+    }
+
+    public <R> Single<R> reduce(R seed, BiFunction<R, ? super T, R> reducer) {
+        return Maybe.create(ReduceOperator.reduce(this, seed, reducer)).toSingle();
+    }
+
+    public Observable<T> scan(BiFunction<T, ? super T, T> accumulator) {
+        return create(ScanOperator.scan(this, accumulator));
+    }
+
+    public <R> Observable<R> scan(R seed, BiFunction<R, ? super T, R> accumulator) {
+        return create(ScanOperator.scan(this, seed, accumulator));
+    }
+
+    public Single<Long> count() {
+        return Single.create(new CountOperator<>(this));
+    }
+
+    public <A, R> Single<R> collect(Collector<? super T, A, R> collector) {
+        return Single.create(new CollectOperator<>(this, collector));
+    }
+
+    public Single<List<T>> toList() {
+        return toList(DEFAULT_LIST_CAPACITY);
+    }
+
+    public Single<List<T>> toList(int capacityHint) {
+        if (capacityHint <= 0) {
+            throw new IllegalArgumentException("capacityHint > 0 required but it was " + capacityHint);
+        }
+        return collect(Collector.<T, List<T>>of(
+                () -> new ArrayList<>(capacityHint),
+                List::add,
+                (left, right) -> {
+                    left.addAll(right);
+                    return left;
+                }));
+    }
+
+    public <K> Single<Map<K, T>> toMap(Function<? super T, ? extends K> keySelector) {
+        return toMap(keySelector, Function.identity());
+    }
+
+    // При повторяющемся ключе побеждает последнее значение
+    public <K, V> Single<Map<K, V>> toMap(Function<? super T, ? extends K> keySelector,
+                                          Function<? super T, ? extends V> valueSelector) {
+        return collect(Collector.<T, Map<K, V>>of(
+                HashMap::new,
+                (map, item) -> map.put(keySelector.apply(item), valueSelector.apply(item)),
+                (left, right) -> {
+                    left.putAll(right);
+                    return left;
+                }));
+    }
+
+    public Observable<T> sample(long period, TimeUnit unit, Scheduler scheduler) {
+        return create(new SampleOperator<>(this, checkDuration(period, unit, "period"), scheduler));
+    }
+
+    public Observable<T> throttleFirst(long window, TimeUnit unit, Scheduler scheduler) {
+        return create(new ThrottleFirstOperator<>(this, checkDuration(window, unit, "window"), scheduler));
+    }
+
+    public Observable<T> throttleLast(long period, TimeUnit unit, Scheduler scheduler) {
+        return sample(period, unit, scheduler);
+    }
+
+    public Observable<T> debounce(long timeout, TimeUnit unit, Scheduler scheduler) {
+        return create(new DebounceOperator<>(this, checkDuration(timeout, unit, "timeout"), scheduler));
+    }
+
+    // Без fallback поток завершается TimeoutException
+    public Observable<T> timeout(long timeout, TimeUnit unit, Scheduler scheduler) {
+        return create(new TimeoutOperator<>(this, checkDuration(timeout, unit, "timeout"), scheduler, null));
+    }
+
+    public Observable<T> timeout(long timeout, TimeUnit unit, Scheduler scheduler, Observable<? extends T> fallback) {
+        return create(new TimeoutOperator<>(this, checkDuration(timeout, unit, "timeout"), scheduler, fallback));
+    }
+
+    // Не больше permitsPerSecond элементов в секунду с допустимой пачкой burst; лишние откладываются таймером
+    public Observable<T> rateLimit(double permitsPerSecond, int burst, Scheduler scheduler) {
+        if (!(permitsPerSecond > 0) || burst <= 0) {
+            throw new IllegalArgumentException("permitsPerSecond > 0 and burst > 0 required");
+        }
+        return create(new RateLimitOperator<>(this, () -> new RateLimiter(permitsPerSecond, burst), scheduler));
+    }
+
+    // Общий limiter соблюдает одну квоту для всех подписок, в том числе внутри flatMap
+    public Observable<T> rateLimit(RateLimiter limiter, Scheduler scheduler) {
+        return create(new RateLimitOperator<>(this, () -> limiter, scheduler));
+    }
+
+    public Observable<T> retry(long times) {
+        if (times < 0) {
+            throw new IllegalArgumentException("times >= 0 required but it was " + times);
+        }
+        return create(ResubscribeOperator.retry(this, times));
+    }
+
+    // Повтор после ошибки с задержкой из backoff, например Backoff.exponential(...)
+    public Observable<T> retryWhen(Backoff backoff, Scheduler scheduler) {
+        return create(ResubscribeOperator.retry(this, backoff, scheduler));
+    }
+
+    public Observable<T> repeat(long times) {
+        if (times <= 0) {
+            throw new IllegalArgumentException("times > 0 required but it was " + times);
+        }
+        return create(ResubscribeOperator.repeat(this, times));
+    }
+
+    public Observable<T> repeatWhen(Backoff backoff, Scheduler scheduler) {
+        return create(ResubscribeOperator.repeat(this, backoff, scheduler));
+    }
+
+    public Observable<T> onErrorResumeNext(Function<? super Throwable, ? extends Observable<? extends T>> resumeFunction) {
+        return create(new OnErrorResumeOperator<>(this, resumeFunction));
+    }
+
+    public Observable<T> onErrorReturn(Function<? super Throwable, ? extends T> valueSupplier) {
+        return onErrorResumeNext(error -> just(valueSupplier.apply(error)));
+    }
+
+    public Observable<T> circuitBreaker(CircuitBreaker breaker) {
+        return create(new CircuitBreakerOperator<>(this, breaker));
+    }
+
+    // Число элементов за последнее окно раз в window / buckets; buckets = 1 - неперекрывающиеся окна
+    public Observable<Long> windowedCount(long window, TimeUnit unit, int buckets, Scheduler scheduler) {
+        return create(WindowedStatsOperator.count(this, checkDuration(window, unit, "window"), checkBuckets(buckets), scheduler));
+    }
+
+    // Элементов в секунду по последнему окну
+    public Observable<Double> windowedRate(long window, TimeUnit unit, int buckets, Scheduler scheduler) {
+        return create(WindowedStatsOperator.rate(this, checkDuration(window, unit, "window"), checkBuckets(buckets), scheduler));
+    }
+
+    // Квантили значений за последнее окно с относительной ошибкой до ~3%
+    public Observable<long[]> windowedPercentiles(ToLongFunction<? super T> valueSelector, double[] quantiles,
+                                                  long window, TimeUnit unit, int buckets, Scheduler scheduler) {
+        for (double q : quantiles) {
+            if (!(q >= 0 && q <= 1)) {
+                throw new IllegalArgumentException("Quantiles must be within [0, 1] but got " + q);
+            }
+        }
+        return create(WindowedStatsOperator.percentiles(this, valueSelector, quantiles,
+                checkDuration(window, unit, "window"), checkBuckets(buckets), scheduler));
+    }
+
+    public Single<T> singleOrError() {
+        return Single.create(emitter -> subscribe(new Observer<T>() {
+            private Disposable upstream;
+            private T value;
+            private boolean hasValue;
+            private boolean done;
+
+            @Override
+            public void onSubscribe(Disposable upstream) {
+                this.upstream = upstream;
+                emitter.setDisposable(upstream);
+            }
+
+            @Override
+            public void onNext(T item) {
+                if (done) {
+                    return;
+                }
+                if (hasValue) {
+                    done = true;
+                    value = null;
+                    upstream.dispose();
+                    emitter.onError(new IllegalArgumentException("Sequence contains more than one element"));
+                    return;
+                }
+                value = item;
+                hasValue = true;
+            }
+
+            @Override
+            public void onError(Throwable error) {
+                if (!done) {
+                    done = true;
+                    emitter.onError(error);
+                }
+            }
+
+            @Override
+            public void onComplete() {
+                if (done) {
+                    return;
+                }
+                done = true;
+                if (hasValue) {
+                    emitter.onSuccess(value);
+                } else {
+                    emitter.onError(new NoSuchElementException("Sequence is empty"));
+                }
+            }
+        }));
+    }
+
+    public Maybe<T> firstElement() {
+        return Maybe.create(emitter -> subscribe(new Observer<T>() {
+            // После первого элемента эмиттер отменяет источник, и бесконечный поток тоже останавливается
+            @Override
+            public void onSubscribe(Disposable upstream) {
+                emitter.setDisposable(upstream);
+            }
+
+            @Override
+            public void onNext(T item) {
+                emitter.onSuccess(item);
+            }
+
+            @Override
+            public void onError(Throwable error) {
+                emitter.onError(error);
+            }
+
+            @Override
+            public void onComplete() {
+                emitter.onComplete();
+            }
+        }));
+    }
+
+    public Completable ignoreElements() {
+        return Completable.create(emitter -> subscribe(new Observer<T>() {
+            @Override
+            public void onSubscribe(Disposable upstream) {
+                emitter.setDisposable(upstream);
+            }
+
+            @Override
+            public void onNext(T item) {
+            }
+
+            @Override
+            public void onError(Throwable error) {
+                emitter.onError(error);
+            }
+
+            @Override
+            public void onComplete() {
+                emitter.onComplete();
+            }
+        }));
+    }
+
+    public Completable writeTo(WritableByteChannel channel, Encoder<? super T> encoder) {
+        return Completable.create(new ChannelSink<>(this, channel, encoder,
+                DEFAULT_SINK_BUFFER_SIZE, DEFAULT_SINK_BUFFER_COUNT, 0L, null, null));
+    }
+
+    // Буферы сбрасываются, когда заполнены все bufferCount буферов или прошло flushInterval с первой записи в пачку
+    public Completable writeTo(WritableByteChannel channel, Encoder<? super T> encoder,
+                               int bufferSize, int bufferCount,
+                               long flushInterval, TimeUnit unit, Scheduler scheduler) {
+        return Completable.create(new ChannelSink<>(this, channel, encoder,
+                checkBufferSize(bufferSize), checkBufferSize(bufferCount), flushInterval, unit, scheduler));
+    }
+
+    public Completable writeTo(AsynchronousFileChannel channel, long position, Encoder<? super T> encoder) {
+        return Completable.create(new AsyncFileSink<>(this, channel, position, encoder,
+                DEFAULT_SINK_BUFFER_SIZE, DEFAULT_SINK_BUFFER_COUNT, 0L, null, null));
+    }
+
+    public Completable writeTo(AsynchronousFileChannel channel, long position, Encoder<? super T> encoder,
+                               int bufferSize, int bufferCount,
+                               long flushInterval, TimeUnit unit, Scheduler scheduler) {
+        return Completable.create(new AsyncFileSink<>(this, channel, position, encoder,
+                checkBufferSize(bufferSize), checkBufferSize(bufferCount), flushInterval, unit, scheduler));
+    }
+
+    // Отправляет элементы приёмнику Observables.fromRemote на другом конце соединения
+    public Completable toRemote(RemoteEndpoint endpoint, Serializer<? super T> serializer) {
+        return Completable.create(new RemoteSink<>(this, endpoint, serializer,
+                DEFAULT_SINK_BUFFER_SIZE, 0L, null, null));
+    }
+
+    // Кадры копятся в буфере и уходят в сокет, когда он заполнен, кончились кредиты или прошло flushInterval
+    public Completable toRemote(RemoteEndpoint endpoint, Serializer<? super T> serializer,
+                                int bufferSize, long flushInterval, TimeUnit unit, Scheduler scheduler) {
+        checkDuration(flushInterval, unit, "flushInterval");
+        return Completable.create(new RemoteSink<>(this, endpoint, serializer,
+                checkBufferSize(bufferSize), flushInterval, unit, scheduler));
+    }
+
+    // Ставится в конце конвейера: смещение элемента сохраняется, когда он обработан ниже по цепочке
+    public Observable<T> checkpoint(ToLongFunction<? super T> offsetFn, int everyItems, CheckpointStore store) {
+        return create(new CheckpointOperator<>(this, offsetFn, store, checkBufferSize(everyItems), 0L, null, null));
+    }
+
+    // Смещение сохраняется каждые everyItems элементов или каждые interval, смотря что наступит раньше
+    public Observable<T> checkpoint(ToLongFunction<? super T> offsetFn, int everyItems,
+                                    long interval, TimeUnit unit, Scheduler scheduler, CheckpointStore store) {
+        checkDuration(interval, unit, "interval");
+        return create(new CheckpointOperator<>(this, offsetFn, store, checkBufferSize(everyItems),
+                interval, unit, scheduler));
+    }
+
+    public TestObserver<T> test() {
+        TestObserver<T> observer = new TestObserver<>();
+        observer.setUpstream(subscribe(observer));
+        return observer;
+    }
+
+    public Flow.Publisher<T> toPublisher() {
+        return new ObservablePublisher<>(this);
+    }
+
+    public Iterable<T> blockingIterable() {
+        return blockingIterable(DEFAULT_PREFETCH);
+    }
+
+    // Асинхронный источник паркуется, когда потребитель отстал на prefetch элементов
+    public Iterable<T> blockingIterable(int prefetch) {
+        checkBufferSize(prefetch);
+        return () -> blockingIterator(prefetch);
+    }
+
+    public T blockingFirst() {
+        BlockingResultObserver<T> observer = new BlockingResultObserver<>(true);
+        subscribe(observer);
+        return observer.blockingGet();
+    }
+
+    public T blockingLast() {
+        BlockingResultObserver<T> observer = new BlockingResultObserver<>(false);
+        subscribe(observer);
+        return observer.blockingGet();
+    }
+
+    public void blockingForEach(Consumer<? super T> onNext) {
+        BlockingIterator<T> iterator = blockingIterator(DEFAULT_PREFETCH);
+        try {
+            while (iterator.hasNext()) {
+                onNext.accept(iterator.next());
+            }
+        } catch (RuntimeException | Error e) {
+            iterator.dispose();
+            throw e;
+        }
+    }
+
+    private BlockingIterator<T> blockingIterator(int prefetch) {
+        BlockingIterator<T> iterator = new BlockingIterator<>(prefetch);
+        iterator.setUpstream(subscribe(iterator));
+        return iterator;
+    }
+
+    // Завершается последним элементом; отмена future отменяет подписку
+    public CompletableFuture<T> toCompletableFuture() {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        Disposable disposable = subscribe(new Observer<T>() {
+            private T last;
+            private boolean hasValue;
+
+            @Override
+            public void onNext(T item) {
+                last = item;
+                hasValue = true;
+            }
+
+            @Override
+            public void onError(Throwable error) {
+                future.completeExceptionally(error);
+            }
+
+            @Override
+            public void onComplete() {
+                if (hasValue) {
+                    future.complete(last);
+                } else {
+                    future.completeExceptionally(new NoSuchElementException("Sequence is empty"));
+                }
+            }
         });
+        future.whenComplete((value, error) -> {
+            if (error instanceof CancellationException) {
+                disposable.dispose();
+            }
+        });
+        return future;
+    }
+
+    private static int checkBufferSize(int bufferSize) {
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("bufferSize > 0 required but it was " + bufferSize);
+        }
+        return bufferSize;
     }
 
-    private static class DefaultEmitter<T> implements Emitter<T> {
+    private static int checkBuckets(int buckets) {
+        if (buckets <= 0) {
+            throw new IllegalArgumentException("buckets > 0 required but it was " + buckets);
+        }
+        return buckets;
+    }
+
+    private static long checkTtl(long ttl, TimeUnit unit) {
+        if (ttl <= 0) {
+            throw new IllegalArgumentException("ttl > 0 required but it was " + ttl);
+        }
+        return unit.toNanos(ttl);
+    }
+
+    private static long checkDuration(long duration, TimeUnit unit, String name) {
+        if (duration <= 0) {
+            throw new IllegalArgumentException(name + " > 0 required but it was " + duration);
+        }
+        return unit.toNanos(duration);
+    }
+
+    /**
+     * Эмиттер с конечным автоматом ACTIVE -> TERMINATING -> TERMINATED и ACTIVE -> DISPOSED.
+     * onNext читает состояние обычным volatile-чтением, CAS выполняется только на терминальном сигнале
+     * и при отмене, поэтому onError/onComplete доходят до наблюдателя ровно один раз,
+     * даже если их вызывают одновременно из разных потоков.
+     * Ресурс из setDisposable (обычно подписка оператора на его источник) освобождается
+     * при отмене или после терминального сигнала.
+     */
+    private static final class DefaultEmitter<T> implements Emitter<T> {
+        private static final int ACTIVE = 0;
+        private static final int TERMINATING = 1;
+        private static final int TERMINATED = 2;
+        private static final int DISPOSED = 3;
+        private static final VarHandle STATE;
+        private static final VarHandle RESOURCE;
+        private static final Disposable RELEASED = new Disposable() {
+            @Override
+            public void dispose() {
+            }
+
+            @Override
+            public boolean isDisposed() {
+                return true;
+            }
+        };
+
+        static {
+            try {
+                MethodHandles.Lookup lookup = MethodHandles.lookup();
+                STATE = lookup.findVarHandle(DefaultEmitter.class, "state", int.class);
+                RESOURCE = lookup.findVarHandle(DefaultEmitter.class, "resource", Disposable.class);
+            } catch (ReflectiveOperationException e) {
+                throw new ExceptionInInitializerError(e);
+            }
+        }
+
         private final Observer<? super T> observer;
-        private volatile boolean disposed = false;
+        private volatile int state;
+        private volatile Disposable resource;
 
         DefaultEmitter(Observer<? super T> observer) {
             this.observer = observer;
@@ -189,7 +788,7 @@ public class Observable<T> {
 
         @Override
         public void onNext(T value) {
-            if (!disposed) {
+            if (state == ACTIVE) {
                 try {
                     observer.onNext(value);
                 } catch (Exception e) {
@@ -200,36 +799,63 @@ public class Observable<T> {
 
         @Override
         public void onError(Throwable error) {
-            if (!disposed) {
+            if (STATE.compareAndSet(this, ACTIVE, TERMINATING)) {
                 try {
                     observer.onError(error);
                 } finally {
-                    dispose();
+                    state = TERMINATED;
+                    release();
                 }
             }
         }
 
         @Override
         public void onComplete() {
-            if (!disposed) {
+            if (STATE.compareAndSet(this, ACTIVE, TERMINATING)) {
                 try {
                     observer.onComplete();
                 } finally {
-                    dispose();
+                    state = TERMINATED;
+                    release();
                 }
             }
         }
 
+        // Отмена во время TERMINATING ничего не меняет: терминальный сигнал уже в пути
         @Override
         public void dispose() {
-            disposed = true;
+            if (state == ACTIVE && STATE.compareAndSet(this, ACTIVE, DISPOSED)) {
+                release();
+            }
+        }
+
+        @Override
+        public void setDisposable(Disposable disposable) {
+            for (;;) {
+                Disposable current = resource;
+                if (current == RELEASED) {
+                    disposable.dispose();
+                    return;
+                }
+                if (RESOURCE.compareAndSet(this, current, disposable)) {
+                    return;
+                }
+            }
+        }
+
+        private void release() {
+            Disposable current = (Disposable) RESOURCE.getAndSet(this, RELEASED);
+            if (current != null && current != RELEASED) {
+                current.dispose();
+            }
         }
 
         @Override
         public boolean isDisposed() {
-            return disposed;
+            return state != ACTIVE;
         }
     }
+
     public static <T> Observable<T> just(T item) {
         return create(emitter -> {
             emitter.onNext(item);
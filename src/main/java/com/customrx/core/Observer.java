@@ -1,7 +1,13 @@
 package com.customrx.core;
 
+import com.customrx.disposable.Disposable;
+
 public interface Observer<T> {
+    // Вызывается до первого сигнала: через upstream оператор может отменить источник
+    default void onSubscribe(Disposable upstream) {
+    }
+
     void onNext(T item);
     void onError(Throwable error);
     void onComplete();
-}
\ No newline at end of file
+}
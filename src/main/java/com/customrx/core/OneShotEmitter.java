@@ -0,0 +1,75 @@
+package com.customrx.core;
+
+import com.customrx.disposable.Disposable;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * Общее состояние эмиттеров Single, Maybe и Completable - одна ссылка на ресурс из setDisposable.
+ * Терминальный сигнал и отмена атомарно заменяют её на RELEASED: сигнал доходит до наблюдателя ровно один раз,
+ * а ресурс (обычно подписка на источник) освобождается сразу после него.
+ */
+abstract class OneShotEmitter implements Disposable {
+    private static final VarHandle RESOURCE;
+    private static final Disposable RELEASED = new Disposable() {
+        @Override
+        public void dispose() {
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return true;
+        }
+    };
+
+    static {
+        try {
+            RESOURCE = MethodHandles.lookup().findVarHandle(OneShotEmitter.class, "resource", Disposable.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private volatile Disposable resource;
+
+    // Выполняет signal, только если эмиттер ещё не завершён и не отменён
+    final void terminate(Runnable signal) {
+        Disposable current = (Disposable) RESOURCE.getAndSet(this, RELEASED);
+        if (current != RELEASED) {
+            try {
+                signal.run();
+            } finally {
+                if (current != null) {
+                    current.dispose();
+                }
+            }
+        }
+    }
+
+    public void setDisposable(Disposable disposable) {
+        for (;;) {
+            Disposable current = resource;
+            if (current == RELEASED) {
+                disposable.dispose();
+                return;
+            }
+            if (RESOURCE.compareAndSet(this, current, disposable)) {
+                return;
+            }
+        }
+    }
+
+    @Override
+    public void dispose() {
+        Disposable current = (Disposable) RESOURCE.getAndSet(this, RELEASED);
+        if (current != null && current != RELEASED) {
+            current.dispose();
+        }
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return resource == RELEASED;
+    }
+}
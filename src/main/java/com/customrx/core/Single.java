@@ -0,0 +1,355 @@
+package com.customrx.core;
+
+import com.customrx.disposable.CompositeDisposable;
+import com.customrx.disposable.Disposable;
+import com.customrx.schedulers.Scheduler;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Источник ровно одного значения или ошибки. Один терминальный сигнал вместо onNext/onComplete.
+ */
+public class Single<T> {
+    private final SingleOnSubscribe<T> source;
+
+    protected Single(SingleOnSubscribe<T> source) {
+        this.source = source;
+    }
+
+    public static <T> Single<T> create(SingleOnSubscribe<T> source) {
+        return new Single<>(source);
+    }
+
+    public static <T> Single<T> just(T value) {
+        return create(emitter -> emitter.onSuccess(value));
+    }
+
+    public static <T> Single<T> error(Throwable error) {
+        return create(emitter -> emitter.onError(error));
+    }
+
+    public static <T1, T2, R> Single<R> zip(Single<? extends T1> first,
+                                           Single<? extends T2> second,
+                                           BiFunction<? super T1, ? super T2, ? extends R> zipper) {
+        return create(emitter -> {
+            Object[] values = new Object[2];
+            AtomicInteger remaining = new AtomicInteger(2);
+            // Ошибка одной стороны завершает эмиттер, а он отменяет обе подписки
+            CompositeDisposable resources = new CompositeDisposable();
+            emitter.setDisposable(resources);
+            resources.add(first.subscribe(new ZipObserver<>(emitter, values, 0, remaining, zipper)));
+            if (!emitter.isDisposed()) {
+                resources.add(second.subscribe(new ZipObserver<>(emitter, values, 1, remaining, zipper)));
+            }
+        });
+    }
+
+    public Disposable subscribe(SingleObserver<? super T> observer) {
+        DefaultSingleEmitter<T> emitter = new DefaultSingleEmitter<>(observer);
+        observer.onSubscribe(emitter);
+        try {
+            source.subscribe(emitter);
+        } catch (Exception e) {
+            emitter.onError(e);
+        }
+        return emitter;
+    }
+
+    public Disposable subscribe(Consumer<? super T> onSuccess, Consumer<? super Throwable> onError) {
+        return subscribe(new SingleObserver<T>() {
+            @Override
+            public void onSuccess(T value) {
+                try {
+                    onSuccess.accept(value);
+                } catch (Exception e) {
+                    Thread.currentThread().getUncaughtExceptionHandler().uncaughtException(Thread.currentThread(), e);
+                }
+            }
+
+            @Override
+            public void onError(Throwable error) {
+                try {
+                    onError.accept(error);
+                } catch (Exception e) {
+                    Thread.currentThread().getUncaughtExceptionHandler().uncaughtException(Thread.currentThread(), e);
+                }
+            }
+        });
+    }
+
+    public <R> Single<R> map(Function<? super T, ? extends R> mapper) {
+        return create(emitter -> subscribe(new SingleObserver<T>() {
+            @Override
+            public void onSubscribe(Disposable upstream) {
+                emitter.setDisposable(upstream);
+            }
+
+            @Override
+            public void onSuccess(T value) {
+                R result;
+                try {
+                    result = mapper.apply(value);
+                } catch (Exception e) {
+                    emitter.onError(e);
+                    return;
+                }
+                emitter.onSuccess(result);
+            }
+
+            @Override
+            public void onError(Throwable error) {
+                emitter.onError(error);
+            }
+        }));
+    }
+
+    public <R> Single<R> flatMap(Function<? super T, ? extends Single<? extends R>> mapper) {
+        return create(emitter -> subscribe(new SingleObserver<T>() {
+            @Override
+            public void onSubscribe(Disposable upstream) {
+                emitter.setDisposable(upstream);
+            }
+
+            @Override
+            public void onSuccess(T value) {
+                Single<? extends R> next;
+                try {
+                    next = mapper.apply(value);
+                } catch (Exception e) {
+                    emitter.onError(e);
+                    return;
+                }
+                next.subscribe(new SingleObserver<R>() {
+                    @Override
+                    public void onSubscribe(Disposable upstream) {
+                        emitter.setDisposable(upstream);
+                    }
+
+                    @Override
+                    public void onSuccess(R result) {
+                        emitter.onSuccess(result);
+                    }
+
+                    @Override
+                    public void onError(Throwable error) {
+                        emitter.onError(error);
+                    }
+                });
+            }
+
+            @Override
+            public void onError(Throwable error) {
+                emitter.onError(error);
+            }
+        }));
+    }
+
+    public <R> Maybe<R> flatMapMaybe(Function<? super T, ? extends Maybe<? extends R>> mapper) {
+        return toMaybe().flatMap(mapper);
+    }
+
+    public Completable flatMapCompletable(Function<? super T, ? extends Completable> mapper) {
+        return Completable.create(emitter -> subscribe(new SingleObserver<T>() {
+            @Override
+            public void onSubscribe(Disposable upstream) {
+                emitter.setDisposable(upstream);
+            }
+
+            @Override
+            public void onSuccess(T value) {
+                Completable next;
+                try {
+                    next = mapper.apply(value);
+                } catch (Exception e) {
+                    emitter.onError(e);
+                    return;
+                }
+                next.subscribe(new CompletableObserver() {
+                    @Override
+                    public void onSubscribe(Disposable upstream) {
+                        emitter.setDisposable(upstream);
+                    }
+
+                    @Override
+                    public void onComplete() {
+                        emitter.onComplete();
+                    }
+
+                    @Override
+                    public void onError(Throwable error) {
+                        emitter.onError(error);
+                    }
+                });
+            }
+
+            @Override
+            public void onError(Throwable error) {
+                emitter.onError(error);
+            }
+        }));
+    }
+
+    public <U, R> Single<R> zipWith(Single<? extends U> other, BiFunction<? super T, ? super U, ? extends R> zipper) {
+        return zip(this, other, zipper);
+    }
+
+    public Single<T> subscribeOn(Scheduler scheduler) {
+        return create(emitter -> scheduler.schedule(() -> subscribe(new SingleObserver<T>() {
+            @Override
+            public void onSubscribe(Disposable upstream) {
+                emitter.setDisposable(upstream);
+            }
+
+            @Override
+            public void onSuccess(T value) {
+                emitter.onSuccess(value);
+            }
+
+            @Override
+            public void onError(Throwable error) {
+                emitter.onError(error);
+            }
+        })));
+    }
+
+    public Single<T> observeOn(Scheduler scheduler) {
+        return create(emitter -> subscribe(new SingleObserver<T>() {
+            @Override
+            public void onSubscribe(Disposable upstream) {
+                emitter.setDisposable(upstream);
+            }
+
+            @Override
+            public void onSuccess(T value) {
+                scheduler.schedule(() -> emitter.onSuccess(value));
+            }
+
+            @Override
+            public void onError(Throwable error) {
+                scheduler.schedule(() -> emitter.onError(error));
+            }
+        }));
+    }
+
+    // Ждёт значение, паркуя вызывающий поток; ошибка пробрасывается, как в Observable.blockingFirst
+    public T blockingGet() {
+        return toObservable().blockingFirst();
+    }
+
+    public Observable<T> toObservable() {
+        return Observable.create(emitter -> subscribe(new SingleObserver<T>() {
+            @Override
+            public void onSubscribe(Disposable upstream) {
+                emitter.setDisposable(upstream);
+            }
+
+            @Override
+            public void onSuccess(T value) {
+                emitter.onNext(value);
+                emitter.onComplete();
+            }
+
+            @Override
+            public void onError(Throwable error) {
+                emitter.onError(error);
+            }
+        }));
+    }
+
+    public Maybe<T> toMaybe() {
+        return Maybe.create(emitter -> subscribe(new SingleObserver<T>() {
+            @Override
+            public void onSubscribe(Disposable upstream) {
+                emitter.setDisposable(upstream);
+            }
+
+            @Override
+            public void onSuccess(T value) {
+                emitter.onSuccess(value);
+            }
+
+            @Override
+            public void onError(Throwable error) {
+                emitter.onError(error);
+            }
+        }));
+    }
+
+    public Completable ignoreElement() {
+        return Completable.create(emitter -> subscribe(new SingleObserver<T>() {
+            @Override
+            public void onSubscribe(Disposable upstream) {
+                emitter.setDisposable(upstream);
+            }
+
+            @Override
+            public void onSuccess(T value) {
+                emitter.onComplete();
+            }
+
+            @Override
+            public void onError(Throwable error) {
+                emitter.onError(error);
+            }
+        }));
+    }
+
+    private static final class ZipObserver<T, R> implements SingleObserver<Object> {
+        private final SingleEmitter<R> emitter;
+        private final Object[] values;
+        private final int index;
+        private final AtomicInteger remaining;
+        private final BiFunction<Object, Object, ? extends R> zipper;
+
+        @SuppressWarnings("unchecked")
+        ZipObserver(SingleEmitter<R> emitter, Object[] values, int index, AtomicInteger remaining,
+                    BiFunction<?, ?, ? extends R> zipper) {
+            this.emitter = emitter;
+            this.values = values;
+            this.index = index;
+            this.remaining = remaining;
+            this.zipper = (BiFunction<Object, Object, ? extends R>) zipper;
+        }
+
+        @Override
+        public void onSuccess(Object value) {
+            values[index] = value;
+            // decrementAndGet публикует записанное значение для второго потока
+            if (remaining.decrementAndGet() == 0) {
+                R result;
+                try {
+                    result = zipper.apply(values[0], values[1]);
+                } catch (Exception e) {
+                    emitter.onError(e);
+                    return;
+                }
+                emitter.onSuccess(result);
+            }
+        }
+
+        @Override
+        public void onError(Throwable error) {
+            emitter.onError(error);
+        }
+    }
+
+    // Терминальный сигнал и отмена - одна атомарная замена ссылки на ресурс, см. OneShotEmitter
+    private static final class DefaultSingleEmitter<T> extends OneShotEmitter implements SingleEmitter<T> {
+        private final SingleObserver<? super T> observer;
+
+        DefaultSingleEmitter(SingleObserver<? super T> observer) {
+            this.observer = observer;
+        }
+
+        @Override
+        public void onSuccess(T value) {
+            terminate(() -> observer.onSuccess(value));
+        }
+
+        @Override
+        public void onError(Throwable error) {
+            terminate(() -> observer.onError(error));
+        }
+    }
+}
@@ -0,0 +1,6 @@
+package com.customrx.core;
+
+@FunctionalInterface
+public interface SingleOnSubscribe<T> {
+    void subscribe(SingleEmitter<T> emitter);
+}
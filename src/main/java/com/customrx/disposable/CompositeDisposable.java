@@ -1,28 +1,56 @@
 package com.customrx.disposable;
 
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.HashSet;
+import java.util.Set;
 
 public class CompositeDisposable implements Disposable {
-    private final CopyOnWriteArrayList<Disposable> disposables = new CopyOnWriteArrayList<>();
+    // Набор и флаг меняются под одной блокировкой, иначе add, проскочивший проверку флага, теряет ресурс
+    private Set<Disposable> disposables = new HashSet<>();
     private volatile boolean disposed = false;
 
     public void add(Disposable disposable) {
-        if (disposed) {
-            disposable.dispose();
-        } else {
-            disposables.add(disposable);
+        if (!disposed) {
+            synchronized (this) {
+                if (!disposed) {
+                    disposables.add(disposable);
+                    return;
+                }
+            }
+        }
+        disposable.dispose();
+    }
+
+    // Убирает завершившийся ресурс, не освобождая его, чтобы контейнер не рос с каждой подпиской
+    public void remove(Disposable disposable) {
+        if (!disposed) {
+            synchronized (this) {
+                if (!disposed) {
+                    disposables.remove(disposable);
+                }
+            }
         }
     }
 
     @Override
     public void dispose() {
-        disposed = true;
-        disposables.forEach(Disposable::dispose);
-        disposables.clear();
+        if (disposed) {
+            return;
+        }
+        Set<Disposable> toDispose;
+        synchronized (this) {
+            if (disposed) {
+                return;
+            }
+            disposed = true;
+            toDispose = disposables;
+            disposables = null;
+        }
+        // Ресурсы освобождаются вне блокировки: их dispose может снова обратиться к этому контейнеру
+        toDispose.forEach(Disposable::dispose);
     }
 
     @Override
     public boolean isDisposed() {
         return disposed;
     }
-}
\ No newline at end of file
+}
@@ -4,6 +4,7 @@ import com.customrx.core.*;
 import com.customrx.schedulers.*;
 import com.customrx.disposable.Disposable;
 
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 public class BasicExample {
@@ -105,5 +106,23 @@ public class BasicExample {
 
         // Даем время для корректного завершения
         Thread.sleep(200);
+
+        // 4. Rate Limit: вызовы внешнего API не чаще 5 в секунду, без Thread.sleep в цепочке
+        System.out.println("\n=== Rate Limit Example ===");
+        CountDownLatch rateLimited = new CountDownLatch(1);
+        long start = System.currentTimeMillis();
+        Observable.<Integer>create(emitter -> {
+                    for (int i = 0; i < 8; i++) {
+                        emitter.onNext(i);
+                    }
+                    emitter.onComplete();
+                })
+                .rateLimit(5, 2, new SingleThreadScheduler())
+                .subscribe(
+                        item -> System.out.println("[RateLimit] Call " + item + " at +" + (System.currentTimeMillis() - start) + " ms"),
+                        error -> System.err.println("[RateLimit] Error: " + error),
+                        rateLimited::countDown
+                );
+        rateLimited.await();
     }
 }
\ No newline at end of file
@@ -0,0 +1,153 @@
+package com.customrx.internal;
+
+import com.customrx.core.Observer;
+import com.customrx.disposable.Disposable;
+
+import java.lang.invoke.VarHandle;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Итератор поверх Observable с ограниченной предвыборкой.
+ * Асинхронный производитель паркуется, когда очередь заполнена, потребитель паркуется, когда она пуста;
+ * будят друг друга через unpark без опроса.
+ * Элементы, выданные синхронно в потоке потребителя (во время подписки), паркованием не ограничить,
+ * поэтому они складываются в отдельную неограниченную очередь.
+ */
+public final class BlockingIterator<T> implements Iterator<T>, Observer<T>, Disposable {
+    private final SpscArrayQueue<T> queue;
+    private final ArrayDeque<T> syncOverflow = new ArrayDeque<>();
+    private final Thread consumer;
+    private volatile Thread waitingConsumer;
+    private volatile Thread waitingProducer;
+    private volatile boolean done;
+    private volatile boolean cancelled;
+    private Throwable error;
+    private volatile Disposable upstream;
+
+    public BlockingIterator(int prefetch) {
+        this.queue = new SpscArrayQueue<>(prefetch);
+        this.consumer = Thread.currentThread();
+    }
+
+    public void setUpstream(Disposable upstream) {
+        this.upstream = upstream;
+        if (cancelled) {
+            upstream.dispose();
+        }
+    }
+
+    @Override
+    public void onNext(T item) {
+        if (cancelled) {
+            return;
+        }
+        if (Thread.currentThread() == consumer) {
+            syncOverflow.add(item);
+            return;
+        }
+        while (!queue.offer(item)) {
+            waitingProducer = Thread.currentThread();
+            if (queue.offer(item)) {
+                waitingProducer = null;
+                break;
+            }
+            if (cancelled) {
+                waitingProducer = null;
+                return;
+            }
+            LockSupport.park(this);
+            waitingProducer = null;
+            if (cancelled) {
+                return;
+            }
+        }
+        // lazySet индекса очереди не упорядочен с последующим volatile-чтением, нужен полный барьер
+        VarHandle.fullFence();
+        wake(waitingConsumer);
+    }
+
+    @Override
+    public void onError(Throwable e) {
+        error = e;
+        done = true;
+        wake(waitingConsumer);
+    }
+
+    @Override
+    public void onComplete() {
+        done = true;
+        wake(waitingConsumer);
+    }
+
+    @Override
+    public boolean hasNext() {
+        for (;;) {
+            if (!syncOverflow.isEmpty() || !queue.isEmpty()) {
+                return true;
+            }
+            if (done) {
+                if (!queue.isEmpty()) {
+                    continue;
+                }
+                Throwable e = error;
+                if (e != null) {
+                    throw Exceptions.propagate(e);
+                }
+                return false;
+            }
+            if (cancelled) {
+                return false;
+            }
+            waitingConsumer = Thread.currentThread();
+            if (queue.isEmpty() && !done) {
+                LockSupport.park(this);
+            }
+            waitingConsumer = null;
+            if (Thread.interrupted()) {
+                dispose();
+                Thread.currentThread().interrupt();
+                throw new RuntimeException(new InterruptedException());
+            }
+        }
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        T item = syncOverflow.poll();
+        if (item == null) {
+            item = queue.poll();
+            VarHandle.fullFence();
+            wake(waitingProducer);
+        }
+        return item;
+    }
+
+    @Override
+    public void dispose() {
+        if (!cancelled) {
+            cancelled = true;
+            Disposable d = upstream;
+            if (d != null) {
+                d.dispose();
+            }
+            wake(waitingProducer);
+        }
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return cancelled;
+    }
+
+    private static void wake(Thread thread) {
+        if (thread != null) {
+            LockSupport.unpark(thread);
+        }
+    }
+}
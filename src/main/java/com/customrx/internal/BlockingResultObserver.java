@@ -0,0 +1,84 @@
+package com.customrx.internal;
+
+import com.customrx.core.Observer;
+import com.customrx.disposable.Disposable;
+
+import java.util.NoSuchElementException;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Ожидает первый или последний элемент, паркуя вызывающий поток до терминального сигнала.
+ */
+public final class BlockingResultObserver<T> implements Observer<T> {
+    private final boolean first;
+    private final Thread waiter = Thread.currentThread();
+    private Disposable upstream;
+    private T value;
+    private boolean hasValue;
+    private Throwable error;
+    private volatile boolean done;
+
+    public BlockingResultObserver(boolean first) {
+        this.first = first;
+    }
+
+    @Override
+    public void onSubscribe(Disposable upstream) {
+        this.upstream = upstream;
+    }
+
+    @Override
+    public void onNext(T item) {
+        if (done) {
+            return;
+        }
+        value = item;
+        hasValue = true;
+        if (first) {
+            // Источник отменяется сразу, иначе бесконечный синхронный поток не вернёт управление
+            upstream.dispose();
+            signal();
+        }
+    }
+
+    @Override
+    public void onError(Throwable e) {
+        if (!done) {
+            error = e;
+            signal();
+        }
+    }
+
+    @Override
+    public void onComplete() {
+        if (!done) {
+            signal();
+        }
+    }
+
+    public T blockingGet() {
+        while (!done) {
+            LockSupport.park(this);
+            if (Thread.interrupted()) {
+                upstream.dispose();
+                // Флаг прерывания восстанавливается для кода выше по стеку
+                Thread.currentThread().interrupt();
+                throw new RuntimeException(new InterruptedException());
+            }
+        }
+        if (error != null) {
+            throw Exceptions.propagate(error);
+        }
+        if (!hasValue) {
+            throw new NoSuchElementException("Sequence is empty");
+        }
+        return value;
+    }
+
+    private void signal() {
+        done = true;
+        if (Thread.currentThread() != waiter) {
+            LockSupport.unpark(waiter);
+        }
+    }
+}
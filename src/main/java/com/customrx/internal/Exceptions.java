@@ -0,0 +1,17 @@
+package com.customrx.internal;
+
+public final class Exceptions {
+    private Exceptions() {
+    }
+
+    // Бросает Error и RuntimeException как есть, проверяемые исключения оборачивает
+    public static RuntimeException propagate(Throwable error) {
+        if (error instanceof Error) {
+            throw (Error) error;
+        }
+        if (error instanceof RuntimeException) {
+            return (RuntimeException) error;
+        }
+        return new RuntimeException(error);
+    }
+}
@@ -0,0 +1,51 @@
+package com.customrx.internal;
+
+/**
+ * Индексация лог-линейной гистограммы над неотрицательными long, как в HdrHistogram:
+ * значения меньше 32 хранятся точно, дальше каждая степень двойки делится на 32 интервала,
+ * так что относительная ошибка не больше 1/32 (~3%), а вся гистограмма - массив из {@link #BIN_COUNT} счётчиков.
+ * Гистограммы складываются и вычитаются поэлементно.
+ */
+public final class LogLinearHistogram {
+    private static final int SUB_BITS = 5;
+    private static final int SUB_COUNT = 1 << SUB_BITS;
+    public static final int BIN_COUNT = (64 - SUB_BITS) * SUB_COUNT;
+
+    private LogLinearHistogram() {
+    }
+
+    public static int binOf(long value) {
+        if (value < SUB_COUNT) {
+            return value <= 0 ? 0 : (int) value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BITS;
+        return shift * SUB_COUNT + (int) (value >>> shift);
+    }
+
+    // Середина интервала значений, попадающих в bin
+    public static long valueOf(int bin) {
+        if (bin < 2 * SUB_COUNT) {
+            return bin;
+        }
+        int shift = bin / SUB_COUNT - 1;
+        long mantissa = bin - (long) shift * SUB_COUNT;
+        long lower = mantissa << shift;
+        return lower + ((1L << shift) - 1) / 2;
+    }
+
+    // Значение квантиля q (0..1) по гистограмме с total наблюдениями
+    public static long quantile(long[] bins, long total, double q) {
+        if (total == 0) {
+            return 0L;
+        }
+        long rank = Math.max(1L, (long) Math.ceil(q * total));
+        long seen = 0;
+        for (int i = 0; i < bins.length; i++) {
+            seen += bins[i];
+            if (seen >= rank) {
+                return valueOf(i);
+            }
+        }
+        return valueOf(bins.length - 1);
+    }
+}
@@ -0,0 +1,91 @@
+package com.customrx.internal;
+
+import java.util.Arrays;
+
+/**
+ * Пара фильтров Блума над 64-битными хэшами с ротацией: ключи пишутся в текущий фильтр, проверяются в обоих;
+ * когда текущий принял capacity ключей, он становится предыдущим, а бывший предыдущий очищается и становится текущим.
+ * Память постоянна, а фильтр помнит от capacity до 2 * capacity последних уникальных ключей.
+ * Не потокобезопасен.
+ */
+public final class RotatingBloomFilter {
+    private final int bits;
+    private final int hashes;
+    private final long capacity;
+    private long[] current;
+    private long[] previous;
+    private long count;
+
+    public RotatingBloomFilter(long capacity, double fpp) {
+        if (capacity <= 0 || !(fpp > 0 && fpp < 1)) {
+            throw new IllegalArgumentException("capacity > 0 and 0 < fpp < 1 required");
+        }
+        double ln2 = Math.log(2);
+        long optimalBits = (long) Math.ceil(-capacity * Math.log(fpp) / (ln2 * ln2));
+        if (optimalBits > Integer.MAX_VALUE - 63) {
+            throw new IllegalArgumentException("Filter for " + capacity + " items is too large");
+        }
+        this.bits = (int) Math.max(64, optimalBits);
+        this.hashes = Math.max(1, (int) Math.round((double) bits / capacity * ln2));
+        this.capacity = capacity;
+        this.current = new long[(bits + 63) >>> 6];
+        this.previous = new long[current.length];
+    }
+
+    // true, если хэш новый (с точностью до ложных срабатываний); новый хэш запоминается
+    public boolean add(long hash) {
+        long h1 = mix(hash);
+        long h2 = mix(h1 ^ 0x9E3779B97F4A7C15L) | 1L;
+        if (contains(current, h1, h2)) {
+            return false;
+        }
+        boolean seenBefore = contains(previous, h1, h2);
+        if (count == capacity) {
+            long[] recycled = previous;
+            Arrays.fill(recycled, 0L);
+            previous = current;
+            current = recycled;
+            count = 0;
+        }
+        // Ключ из предыдущего фильтра переносится в текущий, чтобы часто встречающиеся ключи не забывались при ротации
+        set(current, h1, h2);
+        count++;
+        return !seenBefore;
+    }
+
+    public int bitSize() {
+        return bits;
+    }
+
+    public int hashCount() {
+        return hashes;
+    }
+
+    private boolean contains(long[] words, long h1, long h2) {
+        long combined = h1;
+        for (int i = 0; i < hashes; i++) {
+            int index = (int) Long.remainderUnsigned(combined, bits);
+            if ((words[index >>> 6] & (1L << index)) == 0) {
+                return false;
+            }
+            combined += h2;
+        }
+        return true;
+    }
+
+    private void set(long[] words, long h1, long h2) {
+        long combined = h1;
+        for (int i = 0; i < hashes; i++) {
+            int index = (int) Long.remainderUnsigned(combined, bits);
+            words[index >>> 6] |= 1L << index;
+            combined += h2;
+        }
+    }
+
+    // Финализатор SplitMix64: равномерно перемешивает биты, в том числе у слабых hashCode
+    public static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,144 @@
+package com.customrx.internal;
+
+import com.customrx.io.Serializer;
+
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+
+/**
+ * Очередь на диске: журнал только на дозапись из отображённых в память сегментов фиксированного размера.
+ * Запись — int длина и тело, сериализованное прямо в отображение; читаются записи в том же порядке.
+ * Прочитанный до конца сегмент сразу удаляется, поэтому в каталоге остаётся только непрочитанный хвост.
+ * Но отображение нельзя снять явно: удалённый файл остаётся отображённым, и место на диске
+ * освобождается, только когда GC соберёт его буфер. При долгом сбросе на диск и редких сборках
+ * занятое место может заметно превышать непрочитанный хвост; segmentSize ограничивает этот запас.
+ * Не потокобезопасна: вызовы должны быть сериализованы снаружи.
+ */
+public final class SpillLog<T> {
+    private final Path dir;
+    private final Serializer<T> serializer;
+    private final int segmentSize;
+    private final ArrayDeque<Segment> segments = new ArrayDeque<>();
+    private long size;
+
+    public SpillLog(Path dir, Serializer<T> serializer, int segmentSize) {
+        this.dir = dir;
+        this.serializer = serializer;
+        this.segmentSize = segmentSize;
+    }
+
+    public void append(T item) throws IOException {
+        Segment tail = segments.peekLast();
+        if (tail == null || segmentSize - tail.writePosition < 4) {
+            tail = openSegment();
+        }
+        if (!tail.write(item)) {
+            if (tail.writePosition == 0) {
+                throw tooLarge();
+            }
+            tail = openSegment();
+            if (!tail.write(item)) {
+                throw tooLarge();
+            }
+        }
+        size++;
+    }
+
+    // null, если непрочитанных записей нет
+    public T poll() throws IOException {
+        Segment head = segments.peekFirst();
+        // Пустой сегмент может быть только хвостовым: запись в него не удалась
+        if (head == null || head.readPosition == head.writePosition) {
+            return null;
+        }
+        T item = head.read();
+        size--;
+        if (head.readPosition == head.writePosition) {
+            segments.pollFirst();
+            head.delete();
+        }
+        return item;
+    }
+
+    public long size() {
+        return size;
+    }
+
+    public int segmentCount() {
+        return segments.size();
+    }
+
+    public void close() {
+        Segment segment;
+        while ((segment = segments.pollFirst()) != null) {
+            try {
+                segment.delete();
+            } catch (IOException ignored) {
+                // файл сегмента удалит ОС или следующая уборка каталога
+            }
+        }
+        size = 0;
+    }
+
+    private Segment openSegment() throws IOException {
+        Path file = Files.createTempFile(dir, "spill-", ".log");
+        Segment segment;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            // Отображение остаётся действительным и после закрытия канала
+            segment = new Segment(file, channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize));
+        } catch (IOException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+        segments.addLast(segment);
+        return segment;
+    }
+
+    private IllegalArgumentException tooLarge() {
+        return new IllegalArgumentException("Serialized item does not fit into a segment of " + segmentSize + " bytes");
+    }
+
+    private final class Segment {
+        private final Path file;
+        private final MappedByteBuffer map;
+        private int writePosition;
+        private int readPosition;
+
+        Segment(Path file, MappedByteBuffer map) {
+            this.file = file;
+            this.map = map;
+        }
+
+        boolean write(T item) {
+            if (segmentSize - writePosition < 4) {
+                return false;
+            }
+            map.limit(segmentSize).position(writePosition + 4);
+            try {
+                serializer.serialize(item, map);
+            } catch (BufferOverflowException e) {
+                return false;
+            }
+            map.putInt(writePosition, map.position() - writePosition - 4);
+            writePosition = map.position();
+            return true;
+        }
+
+        T read() {
+            int length = map.getInt(readPosition);
+            int start = readPosition + 4;
+            readPosition = start + length;
+            return serializer.deserialize(map.slice(start, length));
+        }
+
+        void delete() throws IOException {
+            Files.deleteIfExists(file);
+        }
+    }
+}
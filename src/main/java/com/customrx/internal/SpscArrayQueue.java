@@ -0,0 +1,73 @@
+package com.customrx.internal;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Ограниченная очередь на массиве для одного производителя и одного потребителя.
+ * Ёмкость округляется вверх до степени двойки.
+ */
+public final class SpscArrayQueue<E> {
+    private final Object[] buffer;
+    private final int mask;
+    private final AtomicLong producerIndex = new AtomicLong();
+    private final AtomicLong consumerIndex = new AtomicLong();
+
+    public SpscArrayQueue(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity > 0 required but it was " + capacity);
+        }
+        int size = roundToPowerOfTwo(capacity);
+        this.buffer = new Object[size];
+        this.mask = size - 1;
+    }
+
+    public boolean offer(E value) {
+        if (value == null) {
+            throw new NullPointerException("value is null");
+        }
+        long p = producerIndex.get();
+        if (p - consumerIndex.get() >= buffer.length) {
+            return false;
+        }
+        buffer[(int) p & mask] = value;
+        producerIndex.lazySet(p + 1);
+        return true;
+    }
+
+    @SuppressWarnings("unchecked")
+    public E poll() {
+        long c = consumerIndex.get();
+        if (c >= producerIndex.get()) {
+            return null;
+        }
+        int offset = (int) c & mask;
+        E value = (E) buffer[offset];
+        buffer[offset] = null;
+        consumerIndex.lazySet(c + 1);
+        return value;
+    }
+
+    public boolean isEmpty() {
+        return consumerIndex.get() >= producerIndex.get();
+    }
+
+    public int size() {
+        return (int) (producerIndex.get() - consumerIndex.get());
+    }
+
+    public int capacity() {
+        return buffer.length;
+    }
+
+    // Вызывается только со стороны потребителя
+    public void clear() {
+        while (poll() != null) {
+            // очищаем
+        }
+    }
+
+    static int roundToPowerOfTwo(int value) {
+        int highest = Integer.highestOneBit(value);
+        return highest == value ? value : highest << 1;
+    }
+}
@@ -0,0 +1,37 @@
+package com.customrx.interop;
+
+import com.customrx.core.Emitter;
+import com.customrx.core.ObservableOnSubscribe;
+
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Подписывается на завершение {@link CompletionStage} колбэком, не занимая поток ожиданием.
+ * null-результат даёт пустой поток.
+ */
+public class CompletionStageSource<T> implements ObservableOnSubscribe<T> {
+    private final CompletionStage<? extends T> stage;
+
+    public CompletionStageSource(CompletionStage<? extends T> stage) {
+        this.stage = stage;
+    }
+
+    @Override
+    public void subscribe(Emitter<T> emitter) {
+        stage.whenComplete((value, error) -> {
+            if (emitter.isDisposed()) {
+                return;
+            }
+            if (error != null) {
+                emitter.onError(error instanceof CompletionException && error.getCause() != null
+                        ? error.getCause() : error);
+                return;
+            }
+            if (value != null) {
+                emitter.onNext(value);
+            }
+            emitter.onComplete();
+        });
+    }
+}
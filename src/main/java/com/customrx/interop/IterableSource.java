@@ -0,0 +1,26 @@
+package com.customrx.interop;
+
+import com.customrx.core.Emitter;
+import com.customrx.core.ObservableOnSubscribe;
+
+import java.util.Iterator;
+
+public class IterableSource<T> implements ObservableOnSubscribe<T> {
+    private final Iterable<? extends T> iterable;
+
+    public IterableSource(Iterable<? extends T> iterable) {
+        this.iterable = iterable;
+    }
+
+    @Override
+    public void subscribe(Emitter<T> emitter) {
+        Iterator<? extends T> iterator = iterable.iterator();
+        while (!emitter.isDisposed()) {
+            if (!iterator.hasNext()) {
+                emitter.onComplete();
+                return;
+            }
+            emitter.onNext(iterator.next());
+        }
+    }
+}
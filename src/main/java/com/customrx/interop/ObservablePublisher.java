@@ -0,0 +1,180 @@
+package com.customrx.interop;
+
+import com.customrx.core.Observable;
+import com.customrx.core.Observer;
+import com.customrx.disposable.Disposable;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Представляет Observable как {@link Flow.Publisher}. Observable не умеет замедляться,
+ * поэтому элементы сверх запрошенного через request(n) ждут в очереди подписки.
+ */
+public class ObservablePublisher<T> implements Flow.Publisher<T> {
+    private final Observable<T> source;
+
+    public ObservablePublisher(Observable<T> source) {
+        this.source = source;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super T> subscriber) {
+        ObservableSubscription<T> subscription = new ObservableSubscription<>(subscriber);
+        subscriber.onSubscribe(subscription);
+        source.subscribe(subscription);
+    }
+
+    static final class ObservableSubscription<T> implements Flow.Subscription, Observer<T> {
+        private final Flow.Subscriber<? super T> downstream;
+        private final Queue<T> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicLong requested = new AtomicLong();
+        private final AtomicInteger wip = new AtomicInteger();
+        private volatile Disposable upstream;
+        private volatile boolean done;
+        private volatile boolean cancelled;
+        private volatile long invalidRequest = 1L;
+        private Throwable error;
+
+        ObservableSubscription(Flow.Subscriber<? super T> downstream) {
+            this.downstream = downstream;
+        }
+
+        // Подписка приходит до первого элемента, поэтому cancel останавливает и синхронный источник
+        @Override
+        public void onSubscribe(Disposable upstream) {
+            this.upstream = upstream;
+            if (cancelled) {
+                upstream.dispose();
+            }
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                // Правило 3.9 спецификации Reactive Streams: отменить и сообщить об ошибке
+                invalidRequest = n;
+                Disposable d = upstream;
+                if (d != null) {
+                    d.dispose();
+                }
+                drain();
+                return;
+            }
+            long current;
+            long next;
+            do {
+                current = requested.get();
+                next = current + n;
+                if (next < 0) {
+                    next = Long.MAX_VALUE;
+                }
+            } while (!requested.compareAndSet(current, next));
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            if (!cancelled) {
+                cancelled = true;
+                Disposable d = upstream;
+                if (d != null) {
+                    d.dispose();
+                }
+                if (wip.getAndIncrement() == 0) {
+                    queue.clear();
+                }
+            }
+        }
+
+        @Override
+        public void onNext(T item) {
+            if (!done && !cancelled) {
+                queue.offer(item);
+                drain();
+            }
+        }
+
+        @Override
+        public void onError(Throwable e) {
+            if (!done) {
+                error = e;
+                done = true;
+                drain();
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            if (!done) {
+                done = true;
+                drain();
+            }
+        }
+
+        private void drain() {
+            if (wip.getAndIncrement() != 0) {
+                return;
+            }
+            int missed = 1;
+            for (;;) {
+                if (invalidRequest <= 0 && !cancelled) {
+                    cancelled = true;
+                    queue.clear();
+                    downstream.onError(new IllegalArgumentException(
+                            "request(n) requires n > 0 but it was " + invalidRequest));
+                    return;
+                }
+                long r = requested.get();
+                long emitted = 0L;
+                while (emitted != r) {
+                    if (cancelled) {
+                        queue.clear();
+                        return;
+                    }
+                    boolean d = done;
+                    T item = queue.poll();
+                    if (item == null) {
+                        if (d) {
+                            terminate();
+                            return;
+                        }
+                        break;
+                    }
+                    downstream.onNext(item);
+                    emitted++;
+                }
+                if (emitted == r) {
+                    if (cancelled) {
+                        queue.clear();
+                        return;
+                    }
+                    if (done && queue.isEmpty()) {
+                        terminate();
+                        return;
+                    }
+                }
+                if (emitted != 0L && r != Long.MAX_VALUE) {
+                    requested.addAndGet(-emitted);
+                }
+                missed = wip.addAndGet(-missed);
+                if (missed == 0) {
+                    break;
+                }
+            }
+        }
+
+        private void terminate() {
+            cancelled = true;
+            Throwable e = error;
+            if (e != null) {
+                downstream.onError(e);
+            } else {
+                downstream.onComplete();
+            }
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.customrx.interop;
+
+import com.customrx.core.Emitter;
+import com.customrx.core.ObservableOnSubscribe;
+import com.customrx.disposable.Disposable;
+
+import java.util.concurrent.Flow;
+
+/**
+ * Подписка на {@link Flow.Publisher}: запрашивает элементы пачками по prefetch и
+ * дозапрашивает по мере того, как синхронный onNext их обработал, так что издатель
+ * никогда не обгоняет подписчика больше чем на prefetch элементов.
+ */
+public class PublisherSource<T> implements ObservableOnSubscribe<T> {
+    private final Flow.Publisher<? extends T> publisher;
+    private final int prefetch;
+
+    public PublisherSource(Flow.Publisher<? extends T> publisher, int prefetch) {
+        this.publisher = publisher;
+        this.prefetch = prefetch;
+    }
+
+    @Override
+    public void subscribe(Emitter<T> emitter) {
+        publisher.subscribe(new Flow.Subscriber<T>() {
+            private final int limit = prefetch - (prefetch >> 2);
+            private Flow.Subscription subscription;
+            private int consumed;
+
+            // Отмена эмиттера сразу отменяет подписку, даже если издатель молчит и onNext не придёт
+            @Override
+            public void onSubscribe(Flow.Subscription s) {
+                subscription = s;
+                emitter.setDisposable(new Disposable() {
+                    private volatile boolean cancelled;
+
+                    @Override
+                    public void dispose() {
+                        cancelled = true;
+                        s.cancel();
+                    }
+
+                    @Override
+                    public boolean isDisposed() {
+                        return cancelled;
+                    }
+                });
+                if (!emitter.isDisposed()) {
+                    s.request(prefetch);
+                }
+            }
+
+            @Override
+            public void onNext(T item) {
+                if (emitter.isDisposed()) {
+                    subscription.cancel();
+                    return;
+                }
+                emitter.onNext(item);
+                if (++consumed == limit) {
+                    consumed = 0;
+                    subscription.request(limit);
+                }
+            }
+
+            @Override
+            public void onError(Throwable error) {
+                emitter.onError(error);
+            }
+
+            @Override
+            public void onComplete() {
+                emitter.onComplete();
+            }
+        });
+    }
+}
@@ -0,0 +1,38 @@
+package com.customrx.interop;
+
+import com.customrx.core.Emitter;
+import com.customrx.core.ObservableOnSubscribe;
+
+import java.util.Spliterator;
+import java.util.stream.Stream;
+
+/**
+ * Вытягивает элементы из {@link Stream} по одному через Spliterator, ничего не материализуя.
+ * Поток закрывается по завершении, ошибке или отмене. Stream одноразовый, повторная подписка
+ * получит IllegalStateException.
+ */
+public class StreamSource<T> implements ObservableOnSubscribe<T> {
+    private final Stream<? extends T> stream;
+
+    public StreamSource(Stream<? extends T> stream) {
+        this.stream = stream;
+    }
+
+    @Override
+    public void subscribe(Emitter<T> emitter) {
+        try {
+            Spliterator<? extends T> spliterator = stream.spliterator();
+            boolean hasMore = true;
+            while (hasMore && !emitter.isDisposed()) {
+                hasMore = spliterator.tryAdvance(emitter::onNext);
+            }
+            if (!hasMore) {
+                emitter.onComplete();
+            }
+        } catch (Exception e) {
+            emitter.onError(e);
+        } finally {
+            stream.close();
+        }
+    }
+}
@@ -0,0 +1,278 @@
+package com.customrx.io;
+
+import com.customrx.buffers.BufferPool;
+import com.customrx.buffers.PooledBuffer;
+import com.customrx.core.CompletableEmitter;
+import com.customrx.core.CompletableOnSubscribe;
+import com.customrx.core.Observable;
+import com.customrx.core.Observer;
+import com.customrx.disposable.Disposable;
+import com.customrx.schedulers.Scheduler;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.channels.CompletionHandler;
+import java.util.ArrayDeque;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Пишет элементы в {@link AsynchronousFileChannel}: заполненные буферы уходят в асинхронную запись,
+ * пока производитель кодирует следующие. В полёте одна запись, остальные ждут в очереди по порядку.
+ * Если все буферы заняты, производитель ждёт освобождения, поэтому память ограничена bufferCount буферами.
+ * Буферы берутся из {@link BufferPool} и возвращаются в него, когда запись в них больше не нужна.
+ */
+public class AsyncFileSink<T> implements CompletableOnSubscribe {
+    private final Observable<T> source;
+    private final AsynchronousFileChannel channel;
+    private final long position;
+    private final Encoder<? super T> encoder;
+    private final int bufferSize;
+    private final int bufferCount;
+    private final long flushInterval;
+    private final TimeUnit unit;
+    private final Scheduler scheduler;
+
+    public AsyncFileSink(Observable<T> source, AsynchronousFileChannel channel, long position,
+                         Encoder<? super T> encoder, int bufferSize, int bufferCount,
+                         long flushInterval, TimeUnit unit, Scheduler scheduler) {
+        this.source = source;
+        this.channel = channel;
+        this.position = position;
+        this.encoder = encoder;
+        this.bufferSize = bufferSize;
+        this.bufferCount = bufferCount;
+        this.flushInterval = flushInterval;
+        this.unit = unit;
+        this.scheduler = scheduler;
+    }
+
+    @Override
+    public void subscribe(CompletableEmitter emitter) {
+        source.subscribe(new SinkObserver<>(this, emitter));
+    }
+
+    // Сам наблюдатель служит подпиской эмиттера: отмена будит ждущего производителя и возвращает буферы в пул
+    private static final class SinkObserver<T>
+            implements Observer<T>, Disposable, CompletionHandler<Integer, PooledBuffer> {
+        private final AsyncFileSink<T> sink;
+        private final CompletableEmitter emitter;
+        private final ArrayDeque<PooledBuffer> free = new ArrayDeque<>();
+        private final ArrayDeque<PooledBuffer> pending = new ArrayDeque<>();
+        private PooledBuffer current;
+        private int allocated;
+        private long position;
+        private boolean writing;
+        private boolean upstreamDone;
+        private boolean done;
+        private volatile Disposable upstream;
+        private Disposable timer;
+
+        SinkObserver(AsyncFileSink<T> sink, CompletableEmitter emitter) {
+            this.sink = sink;
+            this.emitter = emitter;
+            this.position = sink.position;
+        }
+
+        @Override
+        public void onSubscribe(Disposable upstream) {
+            this.upstream = upstream;
+            emitter.setDisposable(this);
+        }
+
+        @Override
+        public synchronized void onNext(T item) {
+            if (done || upstreamDone) {
+                return;
+            }
+            try {
+                if (current == null) {
+                    current = acquire();
+                    if (current == null) {
+                        return;
+                    }
+                    if (sink.scheduler != null && timer == null) {
+                        timer = sink.scheduler.schedule(this::flushOnTimer, sink.flushInterval, sink.unit);
+                    }
+                }
+                ByteBuffer buffer = current.buffer();
+                int mark = buffer.position();
+                try {
+                    sink.encoder.encode(item, buffer);
+                } catch (BufferOverflowException e) {
+                    buffer.position(mark);
+                    submit();
+                    current = acquire();
+                    if (current == null) {
+                        return;
+                    }
+                    try {
+                        sink.encoder.encode(item, current.buffer());
+                    } catch (BufferOverflowException tooLarge) {
+                        throw new IllegalArgumentException("Encoded item does not fit into a buffer of "
+                                + sink.bufferSize + " bytes");
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                fail(e);
+            } catch (Exception e) {
+                fail(e);
+            }
+        }
+
+        @Override
+        public synchronized void onError(Throwable error) {
+            if (!done && !upstreamDone) {
+                fail(error);
+            }
+        }
+
+        @Override
+        public synchronized void onComplete() {
+            if (done || upstreamDone) {
+                return;
+            }
+            upstreamDone = true;
+            cancelTimer();
+            submit();
+            completeIfIdle();
+        }
+
+        @Override
+        public void completed(Integer written, PooledBuffer buffer) {
+            synchronized (this) {
+                position += written;
+                if (done) {
+                    writing = false;
+                    buffer.dispose();
+                    return;
+                }
+                ByteBuffer bytes = buffer.buffer();
+                if (bytes.hasRemaining()) {
+                    sink.channel.write(bytes, position, buffer, this);
+                    return;
+                }
+                bytes.clear().limit(sink.bufferSize);
+                free.add(buffer);
+                writing = false;
+                writeNext();
+                completeIfIdle();
+                // Будим производителя, ожидающего свободный буфер
+                notifyAll();
+            }
+        }
+
+        @Override
+        public void failed(Throwable error, PooledBuffer buffer) {
+            synchronized (this) {
+                writing = false;
+                buffer.dispose();
+                if (!done) {
+                    fail(error);
+                }
+                notifyAll();
+            }
+        }
+
+        @Override
+        public void dispose() {
+            Disposable current = upstream;
+            if (current != null) {
+                current.dispose();
+            }
+            synchronized (this) {
+                if (!done) {
+                    done = true;
+                    cancelTimer();
+                    releaseIdle();
+                    notifyAll();
+                }
+            }
+        }
+
+        @Override
+        public boolean isDisposed() {
+            Disposable current = upstream;
+            return current != null && current.isDisposed();
+        }
+
+        private PooledBuffer acquire() throws InterruptedException {
+            while (free.isEmpty()) {
+                if (allocated < sink.bufferCount) {
+                    allocated++;
+                    return BufferPool.shared().acquire(sink.bufferSize);
+                }
+                wait();
+                if (done) {
+                    return null;
+                }
+            }
+            return free.poll();
+        }
+
+        private synchronized void flushOnTimer() {
+            timer = null;
+            if (!done && !upstreamDone) {
+                submit();
+            }
+        }
+
+        private void submit() {
+            if (current != null && current.buffer().position() > 0) {
+                current.buffer().flip();
+                pending.add(current);
+                current = null;
+                writeNext();
+            }
+        }
+
+        private void writeNext() {
+            if (!writing && !pending.isEmpty()) {
+                writing = true;
+                PooledBuffer buffer = pending.poll();
+                sink.channel.write(buffer.buffer(), position, buffer, this);
+            }
+        }
+
+        private void completeIfIdle() {
+            if (upstreamDone && !done && !writing && pending.isEmpty()) {
+                done = true;
+                releaseIdle();
+                emitter.onComplete();
+            }
+        }
+
+        private void fail(Throwable error) {
+            done = true;
+            cancelTimer();
+            releaseIdle();
+            emitter.onError(error);
+            notifyAll();
+        }
+
+        // Буфер, запись которого ещё в полёте, вернётся в пул из completed/failed
+        private void releaseIdle() {
+            if (current != null) {
+                current.dispose();
+                current = null;
+            }
+            releaseAll(pending);
+            releaseAll(free);
+        }
+
+        private static void releaseAll(ArrayDeque<PooledBuffer> buffers) {
+            PooledBuffer buffer;
+            while ((buffer = buffers.poll()) != null) {
+                buffer.dispose();
+            }
+        }
+
+        private void cancelTimer() {
+            if (timer != null) {
+                timer.dispose();
+                timer = null;
+            }
+        }
+    }
+}
@@ -0,0 +1,229 @@
+package com.customrx.io;
+
+import com.customrx.buffers.BufferPool;
+import com.customrx.buffers.PooledBuffer;
+import com.customrx.core.CompletableEmitter;
+import com.customrx.core.CompletableOnSubscribe;
+import com.customrx.core.Observable;
+import com.customrx.core.Observer;
+import com.customrx.disposable.Disposable;
+import com.customrx.schedulers.Scheduler;
+
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.GatheringByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Пишет элементы в канал пачками: элементы кодируются в набор прямых буферов,
+ * которые сбрасываются одной gathering-записью, когда все заполнены, по таймеру или в конце потока.
+ * Буферы берутся из {@link BufferPool} и возвращаются в него по завершении.
+ * Канал не закрывается: им владеет вызывающий код.
+ */
+public class ChannelSink<T> implements CompletableOnSubscribe {
+    private final Observable<T> source;
+    private final WritableByteChannel channel;
+    private final Encoder<? super T> encoder;
+    private final int bufferSize;
+    private final int bufferCount;
+    private final long flushInterval;
+    private final TimeUnit unit;
+    private final Scheduler scheduler;
+
+    public ChannelSink(Observable<T> source, WritableByteChannel channel, Encoder<? super T> encoder,
+                       int bufferSize, int bufferCount, long flushInterval, TimeUnit unit, Scheduler scheduler) {
+        this.source = source;
+        this.channel = channel;
+        this.encoder = encoder;
+        this.bufferSize = bufferSize;
+        this.bufferCount = bufferCount;
+        this.flushInterval = flushInterval;
+        this.unit = unit;
+        this.scheduler = scheduler;
+    }
+
+    @Override
+    public void subscribe(CompletableEmitter emitter) {
+        source.subscribe(new SinkObserver<>(this, emitter));
+    }
+
+    // Сам наблюдатель служит подпиской эмиттера: отмена сразу снимает таймер и возвращает буферы в пул
+    private static final class SinkObserver<T> implements Observer<T>, Disposable {
+        private final ChannelSink<T> sink;
+        private final CompletableEmitter emitter;
+        private final PooledBuffer[] pooled;
+        private final ByteBuffer[] buffers;
+        private int current;
+        private volatile Disposable upstream;
+        private Disposable timer;
+        private boolean done;
+
+        SinkObserver(ChannelSink<T> sink, CompletableEmitter emitter) {
+            this.sink = sink;
+            this.emitter = emitter;
+            this.pooled = new PooledBuffer[sink.bufferCount];
+            this.buffers = new ByteBuffer[sink.bufferCount];
+            for (int i = 0; i < buffers.length; i++) {
+                pooled[i] = BufferPool.shared().acquire(sink.bufferSize);
+                buffers[i] = pooled[i].buffer();
+            }
+        }
+
+        @Override
+        public void onSubscribe(Disposable upstream) {
+            this.upstream = upstream;
+            emitter.setDisposable(this);
+        }
+
+        @Override
+        public synchronized void onNext(T item) {
+            if (done) {
+                return;
+            }
+            try {
+                encode(item);
+            } catch (Exception e) {
+                fail(e);
+            }
+        }
+
+        @Override
+        public synchronized void onError(Throwable error) {
+            if (done) {
+                return;
+            }
+            try {
+                flush();
+            } catch (IOException e) {
+                error.addSuppressed(e);
+            }
+            fail(error);
+        }
+
+        @Override
+        public synchronized void onComplete() {
+            if (done) {
+                return;
+            }
+            try {
+                flush();
+            } catch (IOException e) {
+                fail(e);
+                return;
+            }
+            done = true;
+            cancelTimer();
+            release();
+            emitter.onComplete();
+        }
+
+        private void encode(T item) throws IOException {
+            ByteBuffer buffer = buffers[current];
+            boolean wasEmpty = current == 0 && buffer.position() == 0;
+            int mark = buffer.position();
+            try {
+                sink.encoder.encode(item, buffer);
+            } catch (BufferOverflowException e) {
+                buffer.position(mark);
+                if (current + 1 < buffers.length) {
+                    current++;
+                } else {
+                    flush();
+                }
+                buffer = buffers[current];
+                try {
+                    sink.encoder.encode(item, buffer);
+                } catch (BufferOverflowException tooLarge) {
+                    buffer.clear().limit(sink.bufferSize);
+                    throw new IllegalArgumentException("Encoded item does not fit into a buffer of "
+                            + sink.bufferSize + " bytes");
+                }
+            }
+            if (wasEmpty && sink.scheduler != null && timer == null) {
+                timer = sink.scheduler.schedule(this::flushOnTimer, sink.flushInterval, sink.unit);
+            }
+        }
+
+        private synchronized void flushOnTimer() {
+            timer = null;
+            if (done) {
+                return;
+            }
+            try {
+                flush();
+            } catch (IOException e) {
+                fail(e);
+            }
+        }
+
+        private void flush() throws IOException {
+            int count = current + 1;
+            long total = 0;
+            for (int i = 0; i < count; i++) {
+                total += buffers[i].flip().remaining();
+            }
+            try {
+                if (sink.channel instanceof GatheringByteChannel) {
+                    GatheringByteChannel gathering = (GatheringByteChannel) sink.channel;
+                    while (total > 0) {
+                        total -= gathering.write(buffers, 0, count);
+                    }
+                } else {
+                    for (int i = 0; i < count; i++) {
+                        while (buffers[i].hasRemaining()) {
+                            sink.channel.write(buffers[i]);
+                        }
+                    }
+                }
+            } finally {
+                for (int i = 0; i < count; i++) {
+                    buffers[i].clear().limit(sink.bufferSize);
+                }
+                current = 0;
+            }
+        }
+
+        @Override
+        public void dispose() {
+            Disposable current = upstream;
+            if (current != null) {
+                current.dispose();
+            }
+            synchronized (this) {
+                if (!done) {
+                    done = true;
+                    cancelTimer();
+                    release();
+                }
+            }
+        }
+
+        @Override
+        public boolean isDisposed() {
+            Disposable current = upstream;
+            return current != null && current.isDisposed();
+        }
+
+        private void fail(Throwable error) {
+            done = true;
+            cancelTimer();
+            release();
+            emitter.onError(error);
+        }
+
+        private void release() {
+            for (PooledBuffer buffer : pooled) {
+                buffer.dispose();
+            }
+        }
+
+        private void cancelTimer() {
+            if (timer != null) {
+                timer.dispose();
+                timer = null;
+            }
+        }
+    }
+}
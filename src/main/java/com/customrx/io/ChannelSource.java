@@ -0,0 +1,82 @@
+package com.customrx.io;
+
+import com.customrx.buffers.BufferPool;
+import com.customrx.buffers.PooledBuffer;
+import com.customrx.core.Emitter;
+import com.customrx.core.ObservableOnSubscribe;
+import com.customrx.disposable.Disposable;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.SelectableChannel;
+
+/**
+ * Читает канал в прямой буфер из {@link BufferPool}, который переиспользуется между чтениями
+ * и возвращается в пул по окончании подписки.
+ * Выданный буфер действителен только внутри onNext: чтобы сохранить данные, их нужно скопировать.
+ * Канал закрывается по завершении, ошибке или отмене; отмена закрывает его сразу, прерывая блокирующее чтение.
+ * Неблокирующий канал не принимается: read без данных возвращал бы 0, и цикл чтения крутился бы вхолостую.
+ */
+public class ChannelSource implements ObservableOnSubscribe<ByteBuffer> {
+    private final ReadableByteChannel channel;
+    private final int bufferSize;
+
+    public ChannelSource(ReadableByteChannel channel, int bufferSize) {
+        if (channel instanceof SelectableChannel && !((SelectableChannel) channel).isBlocking()) {
+            throw new IllegalArgumentException("ChannelSource requires a blocking channel");
+        }
+        this.channel = channel;
+        this.bufferSize = bufferSize;
+    }
+
+    @Override
+    public void subscribe(Emitter<ByteBuffer> emitter) {
+        emitter.setDisposable(new Disposable() {
+            @Override
+            public void dispose() {
+                closeQuietly();
+            }
+
+            @Override
+            public boolean isDisposed() {
+                return !channel.isOpen();
+            }
+        });
+        PooledBuffer pooled = BufferPool.shared().acquire(bufferSize);
+        ByteBuffer buffer = pooled.buffer();
+        try {
+            while (!emitter.isDisposed()) {
+                int read = channel.read(buffer);
+                if (read < 0) {
+                    closeQuietly();
+                    emitter.onComplete();
+                    return;
+                }
+                if (read > 0) {
+                    buffer.flip();
+                    emitter.onNext(buffer);
+                    buffer.clear().limit(bufferSize);
+                }
+            }
+        } catch (IOException e) {
+            closeQuietly();
+            // Чтение, прерванное отменой, ошибкой не считается
+            if (!emitter.isDisposed()) {
+                emitter.onError(e);
+            }
+            return;
+        } finally {
+            pooled.dispose();
+        }
+        closeQuietly();
+    }
+
+    private void closeQuietly() {
+        try {
+            channel.close();
+        } catch (IOException ignored) {
+            // канал уже не нужен
+        }
+    }
+}
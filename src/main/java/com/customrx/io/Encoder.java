@@ -0,0 +1,25 @@
+package com.customrx.io;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Кодирует элемент прямо в буфер приёмника. Если места не хватает, кодировщик бросает
+ * {@link BufferOverflowException}: приёмник сбрасывает буфер на диск и повторяет запись в пустой буфер.
+ */
+@FunctionalInterface
+public interface Encoder<T> {
+    void encode(T item, ByteBuffer target);
+
+    static Encoder<byte[]> bytes() {
+        return (item, target) -> target.put(item);
+    }
+
+    static <T> Encoder<T> utf8Lines() {
+        return (item, target) -> {
+            target.put(String.valueOf(item).getBytes(StandardCharsets.UTF_8));
+            target.put((byte) '\n');
+        };
+    }
+}
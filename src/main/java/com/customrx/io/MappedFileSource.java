@@ -0,0 +1,59 @@
+package com.customrx.io;
+
+import com.customrx.core.Emitter;
+import com.customrx.core.ObservableOnSubscribe;
+
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Читает файл через {@link FileChannel#map}: файл отображается окнами, а подписчик получает
+ * read-only срезы этих окон по chunkSize байт без копирования в кучу.
+ */
+public class MappedFileSource implements ObservableOnSubscribe<ByteBuffer> {
+    private static final long MAX_WINDOW = 64L * 1024 * 1024;
+
+    private final Path path;
+    private final int chunkSize;
+    private final long startOffset;
+
+    public MappedFileSource(Path path, int chunkSize) {
+        this(path, chunkSize, 0L);
+    }
+
+    // Чтение с середины файла, например с сохранённой контрольной точки
+    public MappedFileSource(Path path, int chunkSize, long startOffset) {
+        this.path = path;
+        this.chunkSize = chunkSize;
+        this.startOffset = startOffset;
+    }
+
+    @Override
+    public void subscribe(Emitter<ByteBuffer> emitter) {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            // Окно кратно размеру чанка, чтобы чанк не разрывался между окнами
+            long window = Math.max(chunkSize, MAX_WINDOW / chunkSize * chunkSize);
+            long position = startOffset;
+            while (position < size) {
+                long length = Math.min(window, size - position);
+                MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+                for (int offset = 0; offset < length; offset += chunkSize) {
+                    if (emitter.isDisposed()) {
+                        return;
+                    }
+                    int chunk = (int) Math.min(chunkSize, length - offset);
+                    emitter.onNext(mapped.slice(offset, chunk).asReadOnlyBuffer());
+                }
+                position += length;
+            }
+        } catch (Exception e) {
+            emitter.onError(e);
+            return;
+        }
+        emitter.onComplete();
+    }
+}
@@ -0,0 +1,110 @@
+package com.customrx.io;
+
+import com.customrx.checkpoint.CheckpointStore;
+import com.customrx.checkpoint.OffsetRecord;
+import com.customrx.core.Observable;
+import com.customrx.remote.RemoteEndpoint;
+import com.customrx.remote.RemoteSource;
+import com.customrx.schedulers.Scheduler;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.util.function.LongFunction;
+
+/**
+ * Источники и операторы для файлового и канального ввода-вывода.
+ */
+public final class Observables {
+    private static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+    private static final int DEFAULT_CREDITS = 256;
+
+    private Observables() {
+    }
+
+    public static Observable<ByteBuffer> fromFile(Path path, int chunkSize) {
+        return Observable.create(new MappedFileSource(path, checkSize(chunkSize)));
+    }
+
+    // Чтение с диска уходит на планировщик, например IOScheduler
+    public static Observable<ByteBuffer> fromFile(Path path, int chunkSize, Scheduler scheduler) {
+        return fromFile(path, chunkSize).subscribeOn(scheduler);
+    }
+
+    public static Observable<ByteBuffer> fromFile(Path path, int chunkSize, long startOffset) {
+        return Observable.create(new MappedFileSource(path, checkSize(chunkSize), checkOffset(startOffset)));
+    }
+
+    // Каждый срез несёт смещение в файле сразу после себя, его можно передать в checkpoint(OffsetRecord::offset, ...)
+    public static Observable<OffsetRecord<ByteBuffer>> fromFileWithOffsets(Path path, int chunkSize, long startOffset) {
+        checkSize(chunkSize);
+        checkOffset(startOffset);
+        return Observable.defer(() -> {
+            long[] position = {startOffset};
+            return fromFile(path, chunkSize, startOffset).map(chunk -> {
+                position[0] += chunk.remaining();
+                return new OffsetRecord<>(chunk, position[0]);
+            });
+        });
+    }
+
+    // Источник строится при подписке с последнего сохранённого смещения или с нуля, если контрольных точек нет
+    public static <T> Observable<T> resumeFrom(CheckpointStore store, LongFunction<? extends Observable<? extends T>> source) {
+        return Observable.defer(() -> {
+            try {
+                return source.apply(store.load().orElse(0L));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    public static Observable<ByteBuffer> fromChannel(ReadableByteChannel channel) {
+        return fromChannel(channel, DEFAULT_BUFFER_SIZE);
+    }
+
+    public static Observable<ByteBuffer> fromChannel(ReadableByteChannel channel, int bufferSize) {
+        return Observable.create(new ChannelSource(channel, checkSize(bufferSize)));
+    }
+
+    // Строки режутся по байту '\n' и читаются как ISO-8859-1: каждый байт — один символ.
+    // Для UTF-8 это верно только в пределах ASCII, многобайтные символы нужно декодировать из чанков самим
+    public static Observable<CharSequence> lines(Observable<ByteBuffer> chunks) {
+        return Observable.create(new RecordSplitter(chunks, (byte) '\n', true));
+    }
+
+    public static Observable<CharSequence> split(Observable<ByteBuffer> chunks, byte delimiter) {
+        return Observable.create(new RecordSplitter(chunks, delimiter, false));
+    }
+
+    // Слушает адрес и принимает одно соединение от Observable.toRemote; подписка блокирует поток до конца потока
+    public static <T> Observable<T> fromRemote(RemoteEndpoint endpoint, Serializer<? extends T> serializer) {
+        return fromRemote(endpoint, serializer, DEFAULT_CREDITS);
+    }
+
+    // credits — сколько кадров отправитель может прислать без подтверждения
+    public static <T> Observable<T> fromRemote(RemoteEndpoint endpoint, Serializer<? extends T> serializer, int credits) {
+        return Observable.create(new RemoteSource<T>(endpoint, serializer, checkSize(credits)));
+    }
+
+    public static <T> Observable<T> fromRemote(RemoteEndpoint endpoint, Serializer<? extends T> serializer,
+                                               int credits, Scheduler scheduler) {
+        return Observables.<T>fromRemote(endpoint, serializer, credits).subscribeOn(scheduler);
+    }
+
+    private static long checkOffset(long offset) {
+        if (offset < 0) {
+            throw new IllegalArgumentException("offset >= 0 required but it was " + offset);
+        }
+        return offset;
+    }
+
+    private static int checkSize(int size) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("size > 0 required but it was " + size);
+        }
+        return size;
+    }
+}
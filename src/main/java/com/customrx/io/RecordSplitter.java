@@ -0,0 +1,99 @@
+package com.customrx.io;
+
+import com.customrx.core.Emitter;
+import com.customrx.core.Observable;
+import com.customrx.core.ObservableOnSubscribe;
+import com.customrx.core.Observer;
+import com.customrx.disposable.Disposable;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Режет поток чанков на записи по байту-разделителю и выдаёт их как {@link CharSequence}.
+ * Запись внутри одного чанка выдаётся представлением поверх самого чанка; копируются только
+ * хвосты, разорванные границей чанка. Представление действительно только внутри onNext.
+ * Байты отображаются в символы один к одному (ISO-8859-1), см. {@link ByteBufferCharSequence}.
+ */
+public class RecordSplitter implements ObservableOnSubscribe<CharSequence> {
+    private final Observable<ByteBuffer> source;
+    private final byte delimiter;
+    private final boolean stripCarriageReturn;
+
+    public RecordSplitter(Observable<ByteBuffer> source, byte delimiter, boolean stripCarriageReturn) {
+        this.source = source;
+        this.delimiter = delimiter;
+        this.stripCarriageReturn = stripCarriageReturn;
+    }
+
+    @Override
+    public void subscribe(Emitter<CharSequence> emitter) {
+        source.subscribe(new Observer<ByteBuffer>() {
+            private ByteBuffer carry = ByteBuffer.allocate(256);
+
+            // Отмена записей отменяет и чтение чанков, например закрывает канал
+            @Override
+            public void onSubscribe(Disposable upstream) {
+                emitter.setDisposable(upstream);
+            }
+
+            @Override
+            public void onNext(ByteBuffer chunk) {
+                int start = chunk.position();
+                int limit = chunk.limit();
+                for (int i = start; i < limit; i++) {
+                    // Чанк может содержать тысячи записей, после отмены дорезать его незачем
+                    if (emitter.isDisposed()) {
+                        return;
+                    }
+                    if (chunk.get(i) != delimiter) {
+                        continue;
+                    }
+                    if (carry.position() > 0) {
+                        append(chunk, start, i);
+                        emitRecord(carry, 0, carry.position());
+                        carry.clear();
+                    } else {
+                        emitRecord(chunk, start, i);
+                    }
+                    start = i + 1;
+                }
+                if (start < limit) {
+                    append(chunk, start, limit);
+                }
+            }
+
+            @Override
+            public void onError(Throwable error) {
+                emitter.onError(error);
+            }
+
+            @Override
+            public void onComplete() {
+                if (carry.position() > 0) {
+                    emitRecord(carry, 0, carry.position());
+                    carry.clear();
+                }
+                emitter.onComplete();
+            }
+
+            private void emitRecord(ByteBuffer buffer, int from, int to) {
+                if (stripCarriageReturn && to > from && buffer.get(to - 1) == '\r') {
+                    to--;
+                }
+                emitter.onNext(new ByteBufferCharSequence(buffer, from, to - from));
+            }
+
+            private void append(ByteBuffer chunk, int from, int to) {
+                int length = to - from;
+                if (carry.remaining() < length) {
+                    ByteBuffer bigger = ByteBuffer.allocate(Math.max(carry.capacity() * 2, carry.position() + length));
+                    carry.flip();
+                    bigger.put(carry);
+                    carry = bigger;
+                }
+                carry.put(carry.position(), chunk, from, length);
+                carry.position(carry.position() + length);
+            }
+        });
+    }
+}
@@ -0,0 +1,107 @@
+package com.customrx.io;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+/**
+ * Превращает элемент в тело кадра и обратно.
+ * serialize пишет прямо в буфер отправителя; если места не хватает, бросает {@link BufferOverflowException},
+ * и отправитель повторяет запись в пустой буфер, как {@link Encoder} у файловых приёмников.
+ * deserialize получает буфер, ограниченный ровно телом одного кадра.
+ */
+public interface Serializer<T> {
+    void serialize(T item, ByteBuffer target);
+
+    T deserialize(ByteBuffer source);
+
+    static Serializer<byte[]> bytes() {
+        return new Serializer<byte[]>() {
+            @Override
+            public void serialize(byte[] item, ByteBuffer target) {
+                target.put(item);
+            }
+
+            @Override
+            public byte[] deserialize(ByteBuffer source) {
+                byte[] bytes = new byte[source.remaining()];
+                source.get(bytes);
+                return bytes;
+            }
+        };
+    }
+
+    static Serializer<String> utf8() {
+        return new Serializer<String>() {
+            @Override
+            public void serialize(String item, ByteBuffer target) {
+                target.put(item.getBytes(StandardCharsets.UTF_8));
+            }
+
+            @Override
+            public String deserialize(ByteBuffer source) {
+                return StandardCharsets.UTF_8.decode(source).toString();
+            }
+        };
+    }
+
+    static Serializer<Long> longs() {
+        return new Serializer<Long>() {
+            @Override
+            public void serialize(Long item, ByteBuffer target) {
+                target.putLong(item);
+            }
+
+            @Override
+            public Long deserialize(ByteBuffer source) {
+                return source.getLong();
+            }
+        };
+    }
+
+    /**
+     * Стандартная сериализация Java: удобно для прототипов, но медленно и объёмно.
+     * Десериализация данных из сети без ограничений позволяет собеседнику выполнить код через цепочки
+     * гаджетов, поэтому фильтр обязателен: обычно это список разрешённых классов вида
+     * {@code ObjectInputFilter.Config.createFilter("com.example.Event;java.lang.*;!*")}.
+     */
+    static <T extends Serializable> Serializer<T> java(ObjectInputFilter filter) {
+        Objects.requireNonNull(filter, "filter");
+        return new Serializer<T>() {
+            @Override
+            public void serialize(T item, ByteBuffer target) {
+                ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+                try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+                    out.writeObject(item);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                target.put(bytes.toByteArray());
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public T deserialize(ByteBuffer source) {
+                byte[] bytes = new byte[source.remaining()];
+                source.get(bytes);
+                try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+                    in.setObjectInputFilter(filter);
+                    return (T) in.readObject();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                } catch (ClassNotFoundException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        };
+    }
+}
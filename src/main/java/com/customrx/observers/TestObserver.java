@@ -0,0 +1,181 @@
+package com.customrx.observers;
+
+import com.customrx.core.Observer;
+import com.customrx.disposable.Disposable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Наблюдатель для тестов: запоминает все сигналы и проверяет их.
+ * Методы проверки бросают AssertionError и возвращают this, чтобы проверки можно было объединять в цепочку.
+ * Получить подписанный экземпляр проще всего через Observable.test().
+ */
+public class TestObserver<T> implements Observer<T>, Disposable {
+    private static final long DEFAULT_TIMEOUT_MILLIS = 5000;
+
+    private final List<T> values = new ArrayList<>();
+    private final List<Throwable> errors = new ArrayList<>();
+    private final CountDownLatch terminated = new CountDownLatch(1);
+    private int completions;
+    private volatile Disposable upstream;
+    private volatile boolean disposed;
+
+    public void setUpstream(Disposable upstream) {
+        this.upstream = upstream;
+        if (disposed) {
+            upstream.dispose();
+        }
+    }
+
+    // Подписка известна ещё до первого сигнала, поэтому dispose() останавливает и синхронный источник
+    @Override
+    public void onSubscribe(Disposable upstream) {
+        setUpstream(upstream);
+    }
+
+    @Override
+    public synchronized void onNext(T item) {
+        values.add(item);
+        notifyAll();
+    }
+
+    @Override
+    public void onError(Throwable error) {
+        synchronized (this) {
+            errors.add(error);
+            notifyAll();
+        }
+        terminated.countDown();
+    }
+
+    @Override
+    public void onComplete() {
+        synchronized (this) {
+            completions++;
+            notifyAll();
+        }
+        terminated.countDown();
+    }
+
+    @Override
+    public void dispose() {
+        disposed = true;
+        Disposable d = upstream;
+        if (d != null) {
+            d.dispose();
+        }
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return disposed;
+    }
+
+    public synchronized List<T> values() {
+        return new ArrayList<>(values);
+    }
+
+    public synchronized List<Throwable> errors() {
+        return new ArrayList<>(errors);
+    }
+
+    @SafeVarargs
+    public final synchronized TestObserver<T> assertValues(T... expected) {
+        // Массив копируется поэлементно и никуда не передаётся, поэтому @SafeVarargs здесь честный
+        List<T> expectedValues = new ArrayList<>(expected.length);
+        for (T value : expected) {
+            expectedValues.add(value);
+        }
+        if (!values.equals(expectedValues)) {
+            throw fail("Expected values " + expectedValues + " but was " + values);
+        }
+        return this;
+    }
+
+    public synchronized TestObserver<T> assertValueCount(int count) {
+        if (values.size() != count) {
+            throw fail("Expected " + count + " values but was " + values.size() + ": " + values);
+        }
+        return this;
+    }
+
+    public TestObserver<T> assertNoValues() {
+        return assertValueCount(0);
+    }
+
+    public synchronized TestObserver<T> assertComplete() {
+        if (completions != 1) {
+            throw fail("Expected exactly one onComplete but was " + completions);
+        }
+        return this;
+    }
+
+    public synchronized TestObserver<T> assertNotComplete() {
+        if (completions != 0) {
+            throw fail("Expected no onComplete but was " + completions);
+        }
+        return this;
+    }
+
+    public synchronized TestObserver<T> assertNoErrors() {
+        if (!errors.isEmpty()) {
+            AssertionError error = fail("Expected no errors but was " + errors);
+            error.initCause(errors.get(0));
+            throw error;
+        }
+        return this;
+    }
+
+    public synchronized TestObserver<T> assertError(Class<? extends Throwable> errorClass) {
+        if (errors.size() != 1 || !errorClass.isInstance(errors.get(0))) {
+            throw fail("Expected one error of " + errorClass.getName() + " but was " + errors);
+        }
+        return this;
+    }
+
+    public TestObserver<T> assertNotTerminated() {
+        assertNotComplete();
+        return assertNoErrors();
+    }
+
+    // Ждёт, пока придёт count элементов или терминальный сигнал
+    public TestObserver<T> awaitCount(int count) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(DEFAULT_TIMEOUT_MILLIS);
+        synchronized (this) {
+            while (values.size() < count && terminated.getCount() > 0) {
+                long remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+                if (remaining <= 0) {
+                    throw fail("Timed out waiting for " + count + " values, got " + values.size());
+                }
+                try {
+                    wait(remaining);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw fail("Interrupted while waiting for values");
+                }
+            }
+        }
+        return this;
+    }
+
+    public TestObserver<T> awaitDone(long timeout, TimeUnit unit) {
+        try {
+            if (!terminated.await(timeout, unit)) {
+                dispose();
+                throw fail("Timed out waiting for a terminal event");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw fail("Interrupted while waiting for a terminal event");
+        }
+        return this;
+    }
+
+    private synchronized AssertionError fail(String message) {
+        return new AssertionError(message + " (values: " + values.size() + ", errors: " + errors.size()
+                + ", completions: " + completions + ")");
+    }
+}
@@ -0,0 +1,36 @@
+package com.customrx.operators;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Задержка перед повторной подпиской для retryWhen/repeatWhen.
+ */
+@FunctionalInterface
+public interface Backoff {
+    // Задержка перед попыткой attempt (начиная с 1) в наносекундах; отрицательное значение - больше не пытаться
+    long delayNanos(int attempt);
+
+    static Backoff fixed(long delay, TimeUnit unit, int maxAttempts) {
+        long delayNanos = unit.toNanos(delay);
+        return attempt -> attempt > maxAttempts ? -1L : delayNanos;
+    }
+
+    // Экспоненциальный рост с полным джиттером: случайная задержка от 0 до min(max, initial * 2^(attempt-1)).
+    // Джиттер разводит повторы множества клиентов во времени, и они не бьют в восстанавливающийся сервис одновременно.
+    static Backoff exponential(long initialDelay, long maxDelay, TimeUnit unit, int maxAttempts) {
+        if (initialDelay <= 0 || maxDelay < initialDelay) {
+            throw new IllegalArgumentException("0 < initialDelay <= maxDelay required");
+        }
+        long initialNanos = unit.toNanos(initialDelay);
+        long maxNanos = unit.toNanos(maxDelay);
+        return attempt -> {
+            if (attempt > maxAttempts) {
+                return -1L;
+            }
+            int shift = Math.min(attempt - 1, 62);
+            long cap = initialNanos > (maxNanos >> shift) ? maxNanos : initialNanos << shift;
+            return ThreadLocalRandom.current().nextLong(cap + 1);
+        };
+    }
+}
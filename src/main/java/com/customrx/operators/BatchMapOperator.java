@@ -0,0 +1,234 @@
+package com.customrx.operators;
+
+import com.customrx.core.Emitter;
+import com.customrx.core.Observable;
+import com.customrx.core.ObservableOnSubscribe;
+import com.customrx.core.Observer;
+import com.customrx.disposable.CompositeDisposable;
+import com.customrx.disposable.Disposable;
+import com.customrx.schedulers.Scheduler;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Собирает ключи в пачку до maxBatch штук или maxDelay с первого ключа, вызывает batchFn
+ * с уникальными ключами пачки и раздаёт результаты исходным элементам в порядке их прихода.
+ * Пачки выполняются параллельно, но выдаются строго по очереди. Ключ, отсутствующий в ответе, пропускается.
+ * Таймер пачки несёт её номер (generation): сработавший после сброса по размеру таймер ничего не делает.
+ */
+public final class BatchMapOperator<T, R> implements ObservableOnSubscribe<R> {
+    private final Observable<T> source;
+    private final int maxBatch;
+    private final long maxDelayNanos;
+    private final Scheduler scheduler;
+    private final Function<? super List<T>, ? extends Observable<Map<T, R>>> batchFn;
+
+    public BatchMapOperator(Observable<T> source, int maxBatch, long maxDelayNanos, Scheduler scheduler,
+                            Function<? super List<T>, ? extends Observable<Map<T, R>>> batchFn) {
+        this.source = source;
+        this.maxBatch = maxBatch;
+        this.maxDelayNanos = maxDelayNanos;
+        this.scheduler = scheduler;
+        this.batchFn = batchFn;
+    }
+
+    @Override
+    public void subscribe(Emitter<R> emitter) {
+        source.subscribe(new BatchObserver<>(this, emitter));
+    }
+
+    private static final class Batch<T, R> {
+        final List<T> items;
+        final Map<T, R> results = new HashMap<>();
+        boolean done;
+
+        Batch(List<T> items) {
+            this.items = items;
+        }
+    }
+
+    private static final class BatchObserver<T, R> implements Observer<T> {
+        private final BatchMapOperator<T, R> operator;
+        private final Emitter<R> emitter;
+        private final ArrayDeque<Batch<T, R>> inFlight = new ArrayDeque<>();
+        // Подписка на источник, таймер открытой пачки и ответы ещё не завершённых пачек
+        private final CompositeDisposable subscriptions = new CompositeDisposable();
+        private List<T> buffer;
+        private long generation;
+        private Disposable timer;
+        private boolean upstreamDone;
+        private boolean done;
+
+        BatchObserver(BatchMapOperator<T, R> operator, Emitter<R> emitter) {
+            this.operator = operator;
+            this.emitter = emitter;
+        }
+
+        @Override
+        public void onSubscribe(Disposable upstream) {
+            subscriptions.add(upstream);
+            emitter.setDisposable(subscriptions);
+        }
+
+        @Override
+        public void onNext(T item) {
+            Batch<T, R> ready;
+            synchronized (this) {
+                if (done || upstreamDone) {
+                    return;
+                }
+                if (buffer == null) {
+                    buffer = new ArrayList<>(Math.min(operator.maxBatch, 64));
+                    long current = generation;
+                    timer = operator.scheduler.schedule(() -> onTimer(current), operator.maxDelayNanos, TimeUnit.NANOSECONDS);
+                    // Отмена подписки снимает и таймер, а не оставляет его висеть в планировщике до срока
+                    subscriptions.add(timer);
+                }
+                buffer.add(item);
+                ready = buffer.size() >= operator.maxBatch ? cut() : null;
+            }
+            execute(ready);
+        }
+
+        @Override
+        public void onError(Throwable error) {
+            synchronized (this) {
+                if (done || upstreamDone) {
+                    return;
+                }
+                fail(error);
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            Batch<T, R> ready;
+            synchronized (this) {
+                if (done || upstreamDone) {
+                    return;
+                }
+                upstreamDone = true;
+                ready = buffer != null ? cut() : null;
+            }
+            execute(ready);
+            synchronized (this) {
+                drain();
+            }
+        }
+
+        private void onTimer(long expected) {
+            Batch<T, R> ready;
+            synchronized (this) {
+                if (done || expected != generation || buffer == null || emitter.isDisposed()) {
+                    return;
+                }
+                ready = cut();
+            }
+            execute(ready);
+        }
+
+        // Закрывает текущую пачку и ставит её в очередь выдачи; вызывается под блокировкой
+        private Batch<T, R> cut() {
+            Batch<T, R> batch = new Batch<>(buffer);
+            buffer = null;
+            generation++;
+            if (timer != null) {
+                subscriptions.remove(timer);
+                timer.dispose();
+                timer = null;
+            }
+            inFlight.add(batch);
+            return batch;
+        }
+
+        // Вызов batchFn вне блокировки: он может выполняться долго или синхронно вернуть ответ
+        private void execute(Batch<T, R> batch) {
+            if (batch == null) {
+                return;
+            }
+            Observable<Map<T, R>> response;
+            try {
+                response = operator.batchFn.apply(new ArrayList<>(new LinkedHashSet<>(batch.items)));
+            } catch (Exception e) {
+                synchronized (this) {
+                    fail(e);
+                }
+                return;
+            }
+            response.subscribe(new Observer<Map<T, R>>() {
+                private Disposable upstream;
+
+                @Override
+                public void onSubscribe(Disposable upstream) {
+                    this.upstream = upstream;
+                    subscriptions.add(upstream);
+                }
+
+                @Override
+                public void onNext(Map<T, R> results) {
+                    synchronized (BatchObserver.this) {
+                        batch.results.putAll(results);
+                    }
+                }
+
+                @Override
+                public void onError(Throwable error) {
+                    synchronized (BatchObserver.this) {
+                        fail(error);
+                    }
+                }
+
+                @Override
+                public void onComplete() {
+                    subscriptions.remove(upstream);
+                    synchronized (BatchObserver.this) {
+                        batch.done = true;
+                        drain();
+                    }
+                }
+            });
+        }
+
+        private void drain() {
+            if (done) {
+                return;
+            }
+            Batch<T, R> head;
+            while ((head = inFlight.peek()) != null && head.done) {
+                inFlight.poll();
+                for (T item : head.items) {
+                    R result = head.results.get(item);
+                    if (result != null) {
+                        emitter.onNext(result);
+                    }
+                }
+            }
+            if (upstreamDone && inFlight.isEmpty() && buffer == null) {
+                done = true;
+                emitter.onComplete();
+            }
+        }
+
+        private void fail(Throwable error) {
+            if (done) {
+                return;
+            }
+            done = true;
+            buffer = null;
+            inFlight.clear();
+            if (timer != null) {
+                timer.dispose();
+                timer = null;
+            }
+            subscriptions.dispose();
+            emitter.onError(error);
+        }
+    }
+}
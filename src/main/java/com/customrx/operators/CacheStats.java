@@ -0,0 +1,53 @@
+package com.customrx.operators;
+
+/**
+ * Снимок счётчиков {@link LookupCache}.
+ */
+public final class CacheStats {
+    private final long hits;
+    private final long misses;
+    private final long coalesced;
+    private final long evictions;
+    private final long expirations;
+
+    CacheStats(long hits, long misses, long coalesced, long evictions, long expirations) {
+        this.hits = hits;
+        this.misses = misses;
+        this.coalesced = coalesced;
+        this.evictions = evictions;
+        this.expirations = expirations;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    // Запросы, для которых пришлось подписаться на источник
+    public long getMisses() {
+        return misses;
+    }
+
+    // Запросы, присоединившиеся к уже идущей загрузке того же ключа
+    public long getCoalesced() {
+        return coalesced;
+    }
+
+    public long getEvictions() {
+        return evictions;
+    }
+
+    public long getExpirations() {
+        return expirations;
+    }
+
+    public double getHitRate() {
+        long total = hits + misses + coalesced;
+        return total == 0 ? 0.0 : (double) (hits + coalesced) / total;
+    }
+
+    @Override
+    public String toString() {
+        return "CacheStats{hits=" + hits + ", misses=" + misses + ", coalesced=" + coalesced
+                + ", evictions=" + evictions + ", expirations=" + expirations + "}";
+    }
+}
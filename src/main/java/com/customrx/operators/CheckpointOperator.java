@@ -0,0 +1,171 @@
+package com.customrx.operators;
+
+import com.customrx.checkpoint.CheckpointStore;
+import com.customrx.core.Emitter;
+import com.customrx.core.Observable;
+import com.customrx.core.ObservableOnSubscribe;
+import com.customrx.core.Observer;
+import com.customrx.disposable.Disposable;
+import com.customrx.schedulers.Scheduler;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToLongFunction;
+
+/**
+ * Сохраняет в {@link CheckpointStore} смещение последнего подтверждённого элемента: элемент считается
+ * подтверждённым, когда onNext ниже по цепочке вернул управление. Смещение пишется каждые everyItems элементов,
+ * по таймеру, если задан планировщик, а также перед терминальным сигналом.
+ * Элементы после последней записи при перезапуске обработаются повторно (at-least-once).
+ */
+public final class CheckpointOperator<T> implements ObservableOnSubscribe<T> {
+    private final Observable<T> source;
+    private final ToLongFunction<? super T> offsetFn;
+    private final CheckpointStore store;
+    private final int everyItems;
+    private final long interval;
+    private final TimeUnit unit;
+    private final Scheduler scheduler;
+
+    public CheckpointOperator(Observable<T> source, ToLongFunction<? super T> offsetFn, CheckpointStore store,
+                              int everyItems, long interval, TimeUnit unit, Scheduler scheduler) {
+        this.source = source;
+        this.offsetFn = offsetFn;
+        this.store = store;
+        this.everyItems = everyItems;
+        this.interval = interval;
+        this.unit = unit;
+        this.scheduler = scheduler;
+    }
+
+    @Override
+    public void subscribe(Emitter<T> emitter) {
+        CheckpointObserver<T> observer = new CheckpointObserver<>(emitter, this);
+        if (scheduler != null) {
+            observer.timer = scheduler.schedulePeriodically(observer::saveOnTimer, interval, interval, unit);
+        }
+        source.subscribe(observer);
+    }
+
+    static final class CheckpointObserver<T> implements Observer<T> {
+        private final Emitter<T> downstream;
+        private final CheckpointOperator<T> parent;
+        private volatile Disposable upstream;
+        private volatile Disposable timer;
+        // Ошибка записи по таймеру доставляется в потоке источника, чтобы не нарушать последовательность сигналов
+        private volatile IOException timerFailure;
+        private volatile long acknowledged = -1;
+        private long saved = -1;
+        private int sinceSave;
+        private volatile boolean done;
+
+        CheckpointObserver(Emitter<T> downstream, CheckpointOperator<T> parent) {
+            this.downstream = downstream;
+            this.parent = parent;
+        }
+
+        @Override
+        public void onSubscribe(Disposable upstream) {
+            this.upstream = upstream;
+            downstream.setDisposable(upstream);
+        }
+
+        @Override
+        public void onNext(T item) {
+            if (done) {
+                return;
+            }
+            long offset;
+            try {
+                offset = parent.offsetFn.applyAsLong(item);
+            } catch (Exception e) {
+                fail(e);
+                return;
+            }
+            downstream.onNext(item);
+            acknowledged = offset;
+            IOException failure = timerFailure;
+            if (failure != null) {
+                fail(failure);
+                return;
+            }
+            if (++sinceSave >= parent.everyItems) {
+                sinceSave = 0;
+                try {
+                    save();
+                } catch (IOException e) {
+                    fail(e);
+                }
+            }
+        }
+
+        @Override
+        public void onError(Throwable error) {
+            if (done) {
+                return;
+            }
+            done = true;
+            cancelTimer();
+            // Подтверждённое до ошибки сохраняется, чтобы перезапуск не повторял его
+            try {
+                save();
+            } catch (IOException e) {
+                error.addSuppressed(e);
+            }
+            downstream.onError(error);
+        }
+
+        @Override
+        public void onComplete() {
+            if (done) {
+                return;
+            }
+            done = true;
+            cancelTimer();
+            try {
+                save();
+            } catch (IOException e) {
+                downstream.onError(e);
+                return;
+            }
+            downstream.onComplete();
+        }
+
+        void saveOnTimer() {
+            if (done || downstream.isDisposed()) {
+                cancelTimer();
+                return;
+            }
+            try {
+                save();
+            } catch (IOException e) {
+                timerFailure = e;
+            }
+        }
+
+        private synchronized void save() throws IOException {
+            long offset = acknowledged;
+            if (offset >= 0 && offset != saved) {
+                parent.store.save(offset);
+                saved = offset;
+            }
+        }
+
+        private void fail(Throwable error) {
+            done = true;
+            cancelTimer();
+            Disposable current = upstream;
+            if (current != null) {
+                current.dispose();
+            }
+            downstream.onError(error);
+        }
+
+        private void cancelTimer() {
+            Disposable current = timer;
+            if (current != null) {
+                current.dispose();
+            }
+        }
+    }
+}
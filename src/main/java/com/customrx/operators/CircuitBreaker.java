@@ -0,0 +1,119 @@
+package com.customrx.operators;
+
+import com.customrx.schedulers.Scheduler;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Автомат CLOSED -> OPEN -> HALF_OPEN. После failureThreshold ошибок подряд вызовы отклоняются сразу,
+ * не нагружая упавший сервис; через openDuration пропускается одна пробная подписка,
+ * и её успех замыкает цепь, а ошибка снова размыкает её.
+ * Один экземпляр обычно разделяется всеми вызовами к одному сервису.
+ */
+public class CircuitBreaker {
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final int failureThreshold;
+    private final long openDurationNanos;
+    private final Scheduler clock;
+    private final AtomicReference<Snapshot> state = new AtomicReference<>(Snapshot.CLOSED);
+    private final AtomicInteger failures = new AtomicInteger();
+
+    public CircuitBreaker(int failureThreshold, long openDuration, TimeUnit unit) {
+        this(failureThreshold, openDuration, unit, null);
+    }
+
+    // Время берётся из часов планировщика, если он задан
+    public CircuitBreaker(int failureThreshold, long openDuration, TimeUnit unit, Scheduler clock) {
+        if (failureThreshold <= 0 || openDuration <= 0) {
+            throw new IllegalArgumentException("failureThreshold > 0 and openDuration > 0 required");
+        }
+        this.failureThreshold = failureThreshold;
+        this.openDurationNanos = unit.toNanos(openDuration);
+        this.clock = clock;
+    }
+
+    public State getState() {
+        return state.get().state;
+    }
+
+    // true, если вызов разрешён; в HALF_OPEN разрешение получает только один пробный вызов
+    public boolean tryAcquire() {
+        return acquire() != null;
+    }
+
+    // Состояние, в котором выдано разрешение, или null, если вызов отклонён
+    State acquire() {
+        Snapshot current = state.get();
+        if (current.state == State.CLOSED) {
+            return State.CLOSED;
+        }
+        if (current.state == State.OPEN && now() - current.openedAt >= openDurationNanos
+                && state.compareAndSet(current, new Snapshot(State.HALF_OPEN, current.openedAt))) {
+            return State.HALF_OPEN;
+        }
+        return null;
+    }
+
+    public void onSuccess() {
+        failures.set(0);
+        Snapshot current = state.get();
+        if (current.state == State.HALF_OPEN) {
+            state.compareAndSet(current, Snapshot.CLOSED);
+        }
+    }
+
+    // Пробный вызов отменён без результата: цепь снова OPEN, но срок уже истёк, и следующий вызов станет новой пробой
+    public void onCancel() {
+        Snapshot current = state.get();
+        if (current.state == State.HALF_OPEN) {
+            state.compareAndSet(current, new Snapshot(State.OPEN, current.openedAt));
+        }
+    }
+
+    public void onFailure() {
+        Snapshot current = state.get();
+        if (current.state == State.OPEN) {
+            // Поздний ответ вызова, пропущенного до размыкания, не продлевает срок
+            return;
+        }
+        if (current.state == State.HALF_OPEN) {
+            state.compareAndSet(current, new Snapshot(State.OPEN, now()));
+        } else if (failures.incrementAndGet() >= failureThreshold
+                && state.compareAndSet(current, new Snapshot(State.OPEN, now()))) {
+            failures.set(0);
+        }
+    }
+
+    private long now() {
+        return clock != null ? clock.now(TimeUnit.NANOSECONDS) : System.nanoTime();
+    }
+
+    // Состояние и момент размыкания меняются одним CAS, поэтому OPEN не виден со старым openedAt
+    private static final class Snapshot {
+        static final Snapshot CLOSED = new Snapshot(State.CLOSED, 0L);
+
+        final State state;
+        final long openedAt;
+
+        Snapshot(State state, long openedAt) {
+            this.state = state;
+            this.openedAt = openedAt;
+        }
+    }
+
+    /**
+     * Ошибка подписки, отклонённой разомкнутой цепью.
+     */
+    public static class OpenException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        public OpenException() {
+            super("Circuit breaker is open");
+        }
+    }
+}
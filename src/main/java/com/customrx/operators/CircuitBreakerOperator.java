@@ -0,0 +1,95 @@
+package com.customrx.operators;
+
+import com.customrx.core.Emitter;
+import com.customrx.core.Observable;
+import com.customrx.core.ObservableOnSubscribe;
+import com.customrx.core.Observer;
+import com.customrx.disposable.Disposable;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Каждая подписка - один вызов через {@link CircuitBreaker}. Успехом считается первый элемент
+ * или завершение, неудачей - ошибка. Отклонённая подписка сразу получает {@link CircuitBreaker.OpenException}.
+ */
+public final class CircuitBreakerOperator<T> implements ObservableOnSubscribe<T> {
+    private final Observable<T> source;
+    private final CircuitBreaker breaker;
+
+    public CircuitBreakerOperator(Observable<T> source, CircuitBreaker breaker) {
+        this.source = source;
+        this.breaker = breaker;
+    }
+
+    @Override
+    public void subscribe(Emitter<T> emitter) {
+        CircuitBreaker.State permit = breaker.acquire();
+        if (permit == null) {
+            emitter.onError(new CircuitBreaker.OpenException());
+            return;
+        }
+        source.subscribe(new CallObserver<>(emitter, breaker, permit == CircuitBreaker.State.HALF_OPEN));
+    }
+
+    // Сам наблюдатель служит подпиской эмиттера: отмена пробного вызова до результата возвращает разрешение
+    private static final class CallObserver<T> implements Observer<T>, Disposable {
+        private final Emitter<T> emitter;
+        private final CircuitBreaker breaker;
+        private final boolean probe;
+        private final AtomicBoolean recorded = new AtomicBoolean();
+        private volatile Disposable upstream;
+
+        CallObserver(Emitter<T> emitter, CircuitBreaker breaker, boolean probe) {
+            this.emitter = emitter;
+            this.breaker = breaker;
+            this.probe = probe;
+        }
+
+        @Override
+        public void onSubscribe(Disposable upstream) {
+            this.upstream = upstream;
+            emitter.setDisposable(this);
+        }
+
+        @Override
+        public void onNext(T item) {
+            if (recorded.compareAndSet(false, true)) {
+                breaker.onSuccess();
+            }
+            emitter.onNext(item);
+        }
+
+        @Override
+        public void onError(Throwable error) {
+            if (recorded.compareAndSet(false, true)) {
+                breaker.onFailure();
+            }
+            emitter.onError(error);
+        }
+
+        @Override
+        public void onComplete() {
+            if (recorded.compareAndSet(false, true)) {
+                breaker.onSuccess();
+            }
+            emitter.onComplete();
+        }
+
+        @Override
+        public void dispose() {
+            Disposable current = upstream;
+            if (current != null) {
+                current.dispose();
+            }
+            if (recorded.compareAndSet(false, true) && probe) {
+                breaker.onCancel();
+            }
+        }
+
+        @Override
+        public boolean isDisposed() {
+            Disposable current = upstream;
+            return current != null && current.isDisposed();
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.customrx.operators;
+
+import com.customrx.core.Observable;
+import com.customrx.core.Observer;
+import com.customrx.core.SingleEmitter;
+import com.customrx.core.SingleOnSubscribe;
+import com.customrx.disposable.Disposable;
+
+import java.util.function.BiConsumer;
+import java.util.stream.Collector;
+
+/**
+ * Накопление потока через {@link Collector}. Контейнер создаётся на каждую подписку,
+ * поэтому синхронизация не нужна: элементы одного подписчика приходят последовательно.
+ */
+public final class CollectOperator<T, A, R> implements SingleOnSubscribe<R> {
+    private final Observable<T> source;
+    private final Collector<? super T, A, R> collector;
+
+    public CollectOperator(Observable<T> source, Collector<? super T, A, R> collector) {
+        this.source = source;
+        this.collector = collector;
+    }
+
+    @Override
+    public void subscribe(SingleEmitter<R> emitter) {
+        A container;
+        try {
+            container = collector.supplier().get();
+        } catch (Exception e) {
+            emitter.onError(e);
+            return;
+        }
+        BiConsumer<A, ? super T> accumulator = collector.accumulator();
+        A initial = container;
+        source.subscribe(new Observer<T>() {
+            private Disposable upstream;
+            private A state = initial;
+            private boolean done;
+
+            @Override
+            public void onSubscribe(Disposable upstream) {
+                this.upstream = upstream;
+                emitter.setDisposable(upstream);
+            }
+
+            @Override
+            public void onNext(T item) {
+                if (done) {
+                    return;
+                }
+                try {
+                    accumulator.accept(state, item);
+                } catch (Exception e) {
+                    done = true;
+                    state = null;
+                    upstream.dispose();
+                    emitter.onError(e);
+                }
+            }
+
+            @Override
+            public void onError(Throwable error) {
+                if (!done) {
+                    done = true;
+                    state = null;
+                    emitter.onError(error);
+                }
+            }
+
+            @Override
+            public void onComplete() {
+                if (done) {
+                    return;
+                }
+                done = true;
+                R result;
+                try {
+                    result = collector.finisher().apply(state);
+                } catch (Exception e) {
+                    emitter.onError(e);
+                    return;
+                } finally {
+                    state = null;
+                }
+                emitter.onSuccess(result);
+            }
+        });
+    }
+}
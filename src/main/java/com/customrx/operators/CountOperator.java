@@ -0,0 +1,52 @@
+package com.customrx.operators;
+
+import com.customrx.core.Observable;
+import com.customrx.core.Observer;
+import com.customrx.core.SingleEmitter;
+import com.customrx.core.SingleOnSubscribe;
+import com.customrx.disposable.Disposable;
+
+public final class CountOperator<T> implements SingleOnSubscribe<Long> {
+    private final Observable<T> source;
+
+    public CountOperator(Observable<T> source) {
+        this.source = source;
+    }
+
+    @Override
+    public void subscribe(SingleEmitter<Long> emitter) {
+        source.subscribe(new Observer<T>() {
+            // Примитивный счётчик: упаковка происходит один раз, в onComplete
+            private long count;
+            private boolean done;
+
+            @Override
+            public void onSubscribe(Disposable upstream) {
+                emitter.setDisposable(upstream);
+            }
+
+            @Override
+            public void onNext(T item) {
+                if (!done) {
+                    count++;
+                }
+            }
+
+            @Override
+            public void onError(Throwable error) {
+                if (!done) {
+                    done = true;
+                    emitter.onError(error);
+                }
+            }
+
+            @Override
+            public void onComplete() {
+                if (!done) {
+                    done = true;
+                    emitter.onSuccess(count);
+                }
+            }
+        });
+    }
+}
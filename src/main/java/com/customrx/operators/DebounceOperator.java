@@ -0,0 +1,145 @@
+package com.customrx.operators;
+
+import com.customrx.core.Emitter;
+import com.customrx.core.Observable;
+import com.customrx.core.ObservableOnSubscribe;
+import com.customrx.core.Observer;
+import com.customrx.disposable.Disposable;
+import com.customrx.schedulers.Scheduler;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Выдаёт элемент, если за ним в течение timeout не пришёл следующий.
+ * Новый элемент только сдвигает срок: таймер не пересоздаётся, а при срабатывании
+ * до срока перевзводится на остаток, поэтому в полёте не больше одной задачи.
+ */
+public final class DebounceOperator<T> implements ObservableOnSubscribe<T> {
+    private final Observable<T> source;
+    private final long timeoutNanos;
+    private final Scheduler scheduler;
+
+    public DebounceOperator(Observable<T> source, long timeoutNanos, Scheduler scheduler) {
+        this.source = source;
+        this.timeoutNanos = timeoutNanos;
+        this.scheduler = scheduler;
+    }
+
+    @Override
+    public void subscribe(Emitter<T> emitter) {
+        DebounceObserver<T> observer = new DebounceObserver<>(this, emitter);
+        emitter.setDisposable(observer);
+        source.subscribe(observer);
+    }
+
+    // Ресурс эмиттера - сам наблюдатель: отмена снимает и таймер, и подписку на источник
+    private static final class DebounceObserver<T> implements Observer<T>, Disposable {
+        private final DebounceOperator<T> operator;
+        private final Emitter<T> emitter;
+        private Disposable upstream;
+        private Disposable timer;
+        private long deadline;
+        private T pending;
+        private boolean hasPending;
+        private boolean done;
+
+        DebounceObserver(DebounceOperator<T> operator, Emitter<T> emitter) {
+            this.operator = operator;
+            this.emitter = emitter;
+        }
+
+        @Override
+        public void onSubscribe(Disposable upstream) {
+            synchronized (this) {
+                if (!done) {
+                    this.upstream = upstream;
+                    return;
+                }
+            }
+            upstream.dispose();
+        }
+
+        @Override
+        public synchronized void onNext(T item) {
+            if (done) {
+                return;
+            }
+            pending = item;
+            hasPending = true;
+            deadline = operator.scheduler.now(TimeUnit.NANOSECONDS) + operator.timeoutNanos;
+            if (timer == null) {
+                timer = operator.scheduler.schedule(this::onTimer, operator.timeoutNanos, TimeUnit.NANOSECONDS);
+            }
+        }
+
+        @Override
+        public synchronized void onError(Throwable error) {
+            if (!done) {
+                done = true;
+                cancelTimer();
+                pending = null;
+                emitter.onError(error);
+            }
+        }
+
+        @Override
+        public synchronized void onComplete() {
+            if (!done) {
+                done = true;
+                cancelTimer();
+                emitPending();
+                emitter.onComplete();
+            }
+        }
+
+        private synchronized void onTimer() {
+            timer = null;
+            if (done || !hasPending) {
+                return;
+            }
+            long remaining = deadline - operator.scheduler.now(TimeUnit.NANOSECONDS);
+            if (remaining > 0) {
+                timer = operator.scheduler.schedule(this::onTimer, remaining, TimeUnit.NANOSECONDS);
+                return;
+            }
+            emitPending();
+        }
+
+        private void emitPending() {
+            if (hasPending) {
+                T item = pending;
+                pending = null;
+                hasPending = false;
+                emitter.onNext(item);
+            }
+        }
+
+        @Override
+        public void dispose() {
+            Disposable source;
+            synchronized (this) {
+                done = true;
+                cancelTimer();
+                pending = null;
+                hasPending = false;
+                source = upstream;
+                upstream = null;
+            }
+            if (source != null) {
+                source.dispose();
+            }
+        }
+
+        @Override
+        public synchronized boolean isDisposed() {
+            return done;
+        }
+
+        private void cancelTimer() {
+            if (timer != null) {
+                timer.dispose();
+                timer = null;
+            }
+        }
+    }
+}
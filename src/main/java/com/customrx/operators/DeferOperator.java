@@ -0,0 +1,65 @@
+package com.customrx.operators;
+
+import com.customrx.core.Emitter;
+import com.customrx.core.Observable;
+import com.customrx.core.ObservableOnSubscribe;
+import com.customrx.core.Observer;
+import com.customrx.disposable.Disposable;
+
+import java.util.function.Supplier;
+
+/**
+ * Строит Observable только в момент подписки, заново для каждого подписчика.
+ * Пока подписчиков нет, supplier не вызывается и ничего не готовится.
+ */
+public final class DeferOperator<T> implements ObservableOnSubscribe<T> {
+    private final Supplier<? extends Observable<? extends T>> supplier;
+
+    public DeferOperator(Supplier<? extends Observable<? extends T>> supplier) {
+        this.supplier = supplier;
+    }
+
+    @Override
+    public void subscribe(Emitter<T> emitter) {
+        Observable<? extends T> source;
+        try {
+            source = supplier.get();
+        } catch (Exception e) {
+            emitter.onError(e);
+            return;
+        }
+        if (source == null) {
+            emitter.onError(new NullPointerException("The supplier returned a null Observable"));
+            return;
+        }
+        source.subscribe(new DeferObserver<>(emitter));
+    }
+
+    static final class DeferObserver<T> implements Observer<T> {
+        private final Emitter<T> downstream;
+
+        DeferObserver(Emitter<T> downstream) {
+            this.downstream = downstream;
+        }
+
+        @Override
+        public void onSubscribe(Disposable upstream) {
+            downstream.setDisposable(upstream);
+        }
+
+        @Override
+        public void onNext(T item) {
+            downstream.onNext(item);
+        }
+
+        @Override
+        public void onError(Throwable error) {
+            downstream.onError(error);
+        }
+
+        @Override
+        public void onComplete() {
+            downstream.onComplete();
+        }
+    }
+}
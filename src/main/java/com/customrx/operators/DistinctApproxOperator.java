@@ -0,0 +1,79 @@
+package com.customrx.operators;
+
+import com.customrx.core.Emitter;
+import com.customrx.core.Observable;
+import com.customrx.core.ObservableOnSubscribe;
+import com.customrx.core.Observer;
+import com.customrx.disposable.Disposable;
+import com.customrx.internal.RotatingBloomFilter;
+
+import java.util.function.ToLongFunction;
+
+/**
+ * Вероятностная дедупликация в постоянной памяти на вращающемся фильтре Блума.
+ * Повтор среди последних expectedItems уникальных ключей отбрасывается всегда;
+ * новый ключ ошибочно отбрасывается с вероятностью около fpp.
+ */
+public final class DistinctApproxOperator<T> implements ObservableOnSubscribe<T> {
+    private final Observable<T> source;
+    private final ToLongFunction<? super T> hashFunction;
+    private final long expectedItems;
+    private final double fpp;
+
+    public DistinctApproxOperator(Observable<T> source, ToLongFunction<? super T> hashFunction, long expectedItems, double fpp) {
+        this.source = source;
+        this.hashFunction = hashFunction;
+        this.expectedItems = expectedItems;
+        this.fpp = fpp;
+    }
+
+    @Override
+    public void subscribe(Emitter<T> emitter) {
+        RotatingBloomFilter filter = new RotatingBloomFilter(expectedItems, fpp);
+        source.subscribe(new Observer<T>() {
+            private Disposable upstream;
+            private boolean done;
+
+            @Override
+            public void onSubscribe(Disposable upstream) {
+                this.upstream = upstream;
+                emitter.setDisposable(upstream);
+            }
+
+            @Override
+            public void onNext(T item) {
+                if (done) {
+                    return;
+                }
+                boolean unseen;
+                try {
+                    unseen = filter.add(hashFunction.applyAsLong(item));
+                } catch (Exception e) {
+                    done = true;
+                    upstream.dispose();
+                    emitter.onError(e);
+                    return;
+                }
+                if (unseen) {
+                    emitter.onNext(item);
+                }
+            }
+
+            @Override
+            public void onError(Throwable error) {
+                if (!done) {
+                    done = true;
+                    emitter.onError(error);
+                }
+            }
+
+            @Override
+            public void onComplete() {
+                if (!done) {
+                    done = true;
+                    emitter.onComplete();
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,91 @@
+package com.customrx.operators;
+
+import com.customrx.core.Emitter;
+import com.customrx.core.Observable;
+import com.customrx.core.ObservableOnSubscribe;
+import com.customrx.core.Observer;
+import com.customrx.disposable.Disposable;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Пропускает элемент, только если его ключ ещё не встречался.
+ * С maxSize помнит лишь maxSize последних использованных ключей (LRU), и память ограничена;
+ * ключ, вытесненный из памяти, при повторе будет пропущен снова.
+ */
+public final class DistinctOperator<T, K> implements ObservableOnSubscribe<T> {
+    private final Observable<T> source;
+    private final Function<? super T, ? extends K> keySelector;
+    private final int maxSize;
+
+    // maxSize <= 0 - без ограничения
+    public DistinctOperator(Observable<T> source, Function<? super T, ? extends K> keySelector, int maxSize) {
+        this.source = source;
+        this.keySelector = keySelector;
+        this.maxSize = maxSize;
+    }
+
+    @Override
+    public void subscribe(Emitter<T> emitter) {
+        // В режиме LRU get() продвигает повторный ключ в конец порядка доступа
+        Map<K, Boolean> seen = maxSize > 0 ? lruMap(maxSize) : new HashMap<>();
+        source.subscribe(new Observer<T>() {
+            private Disposable upstream;
+            private boolean done;
+
+            @Override
+            public void onSubscribe(Disposable upstream) {
+                this.upstream = upstream;
+                emitter.setDisposable(upstream);
+            }
+
+            @Override
+            public void onNext(T item) {
+                if (done) {
+                    return;
+                }
+                K key;
+                try {
+                    key = keySelector.apply(item);
+                } catch (Exception e) {
+                    done = true;
+                    upstream.dispose();
+                    emitter.onError(e);
+                    return;
+                }
+                if (seen.get(key) == null) {
+                    seen.put(key, Boolean.TRUE);
+                    emitter.onNext(item);
+                }
+            }
+
+            @Override
+            public void onError(Throwable error) {
+                if (!done) {
+                    done = true;
+                    emitter.onError(error);
+                }
+            }
+
+            @Override
+            public void onComplete() {
+                if (!done) {
+                    done = true;
+                    emitter.onComplete();
+                }
+            }
+        });
+    }
+
+    private static <K> Map<K, Boolean> lruMap(int maxSize) {
+        return new LinkedHashMap<K, Boolean>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Boolean> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+}
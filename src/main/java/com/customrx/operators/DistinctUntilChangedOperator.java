@@ -0,0 +1,77 @@
+package com.customrx.operators;
+
+import com.customrx.core.Emitter;
+import com.customrx.core.Observable;
+import com.customrx.core.ObservableOnSubscribe;
+import com.customrx.core.Observer;
+import com.customrx.disposable.Disposable;
+
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Отбрасывает элемент, ключ которого совпадает с ключом предыдущего элемента.
+ */
+public final class DistinctUntilChangedOperator<T, K> implements ObservableOnSubscribe<T> {
+    private final Observable<T> source;
+    private final Function<? super T, ? extends K> keySelector;
+
+    public DistinctUntilChangedOperator(Observable<T> source, Function<? super T, ? extends K> keySelector) {
+        this.source = source;
+        this.keySelector = keySelector;
+    }
+
+    @Override
+    public void subscribe(Emitter<T> emitter) {
+        source.subscribe(new Observer<T>() {
+            private Disposable upstream;
+            private K last;
+            private boolean hasLast;
+            private boolean done;
+
+            @Override
+            public void onSubscribe(Disposable upstream) {
+                this.upstream = upstream;
+                emitter.setDisposable(upstream);
+            }
+
+            @Override
+            public void onNext(T item) {
+                if (done) {
+                    return;
+                }
+                K key;
+                try {
+                    key = keySelector.apply(item);
+                } catch (Exception e) {
+                    done = true;
+                    upstream.dispose();
+                    emitter.onError(e);
+                    return;
+                }
+                if (hasLast && Objects.equals(last, key)) {
+                    return;
+                }
+                last = key;
+                hasLast = true;
+                emitter.onNext(item);
+            }
+
+            @Override
+            public void onError(Throwable error) {
+                if (!done) {
+                    done = true;
+                    emitter.onError(error);
+                }
+            }
+
+            @Override
+            public void onComplete() {
+                if (!done) {
+                    done = true;
+                    emitter.onComplete();
+                }
+            }
+        });
+    }
+}
@@ -1,43 +1,92 @@
 package com.customrx.operators;
 
-import com.customrx.core.Observable;
-import com.customrx.core.Observer;
 import com.customrx.core.Emitter;
+import com.customrx.core.Observable;
 import com.customrx.core.ObservableOnSubscribe;
+import com.customrx.core.Observer;
+import com.customrx.disposable.Disposable;
+
 import java.util.function.Predicate;
 
-public class FilterOperator<T> implements ObservableOnSubscribe<T> {
+/**
+ * Пропускает элементы, удовлетворяющие predicate.
+ * Цепочка filter(p).filter(q) склеивается при сборке в один оператор с условием p(x) && q(x).
+ */
+public final class FilterOperator<T> implements ObservableOnSubscribe<T> {
     private final Observable<T> source;
     private final Predicate<? super T> predicate;
 
-    public FilterOperator(Observable<T> source, Predicate<? super T> predicate) {
+    private FilterOperator(Observable<T> source, Predicate<? super T> predicate) {
         this.source = source;
         this.predicate = predicate;
     }
 
+    @SuppressWarnings("unchecked")
+    public static <T> FilterOperator<T> filter(Observable<T> source, ObservableOnSubscribe<T> upstream,
+                                               Predicate<? super T> predicate) {
+        if (upstream instanceof FilterOperator) {
+            FilterOperator<T> first = (FilterOperator<T>) upstream;
+            Predicate<? super T> head = first.predicate;
+            return new FilterOperator<>(first.source, item -> head.test(item) && predicate.test(item));
+        }
+        return new FilterOperator<>(source, predicate);
+    }
+
     @Override
     public void subscribe(Emitter<T> emitter) {
-        source.subscribe(new Observer<T>() {
-            @Override
-            public void onNext(T item) {
-                try {
-                    if (predicate.test(item) && !emitter.isDisposed()) {
-                        emitter.onNext(item);
-                    }
-                } catch (Exception e) {
-                    emitter.onError(e);
-                }
+        source.subscribe(new FilterObserver<>(emitter, predicate));
+    }
+
+    static final class FilterObserver<T> implements Observer<T> {
+        private final Emitter<T> downstream;
+        private final Predicate<? super T> predicate;
+        private Disposable upstream;
+        private boolean done;
+
+        FilterObserver(Emitter<T> downstream, Predicate<? super T> predicate) {
+            this.downstream = downstream;
+            this.predicate = predicate;
+        }
+
+        @Override
+        public void onSubscribe(Disposable upstream) {
+            this.upstream = upstream;
+            downstream.setDisposable(upstream);
+        }
+
+        @Override
+        public void onNext(T item) {
+            if (done) {
+                return;
+            }
+            boolean pass;
+            try {
+                pass = predicate.test(item);
+            } catch (Exception e) {
+                done = true;
+                upstream.dispose();
+                downstream.onError(e);
+                return;
+            }
+            if (pass) {
+                downstream.onNext(item);
             }
+        }
 
-            @Override
-            public void onError(Throwable error) {
-                emitter.onError(error);
+        @Override
+        public void onError(Throwable error) {
+            if (!done) {
+                done = true;
+                downstream.onError(error);
             }
+        }
 
-            @Override
-            public void onComplete() {
-                emitter.onComplete();
+        @Override
+        public void onComplete() {
+            if (!done) {
+                done = true;
+                downstream.onComplete();
             }
-        });
+        }
     }
 }
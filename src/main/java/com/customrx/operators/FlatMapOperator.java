@@ -1,84 +1,201 @@
 package com.customrx.operators;
 
-import com.customrx.core.Observable;
-import com.customrx.core.Observer;
 import com.customrx.core.Emitter;
+import com.customrx.core.Observable;
 import com.customrx.core.ObservableOnSubscribe;
-import com.customrx.disposable.Disposable;
+import com.customrx.core.Observer;
 import com.customrx.disposable.CompositeDisposable;
+import com.customrx.disposable.Disposable;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
 
-public class FlatMapOperator<T, R> implements ObservableOnSubscribe<R> {
+/**
+ * Подписывается на Observable, полученный для каждого элемента, и сливает их выдачу в один поток.
+ * Внутренние источники могут выдавать элементы из разных потоков: onNext сериализуется через счётчик wip,
+ * элемент, пришедший во время чужой выдачи, встаёт в очередь и выдаётся тем же потоком.
+ * Завершение приходит, когда завершились внешний источник и все внутренние.
+ */
+public final class FlatMapOperator<T, R> implements ObservableOnSubscribe<R> {
     private final Observable<T> source;
-    private final Function<? super T, ? extends Observable<R>> mapper;
-    private final CompositeDisposable compositeDisposable = new CompositeDisposable();
+    private final Function<? super T, ? extends Observable<? extends R>> mapper;
 
-    public FlatMapOperator(Observable<T> source, Function<? super T, ? extends Observable<R>> mapper) {
+    public FlatMapOperator(Observable<T> source, Function<? super T, ? extends Observable<? extends R>> mapper) {
         this.source = source;
         this.mapper = mapper;
     }
 
     @Override
     public void subscribe(Emitter<R> emitter) {
-        compositeDisposable.add(new Disposable() {
-            private volatile boolean disposed = false;
+        source.subscribe(new MergeObserver<>(emitter, mapper));
+    }
+
+    static final class MergeObserver<T, R> implements Observer<T> {
+        private final Emitter<R> downstream;
+        private final Function<? super T, ? extends Observable<? extends R>> mapper;
+        private final CompositeDisposable subscriptions = new CompositeDisposable();
+        private final Queue<R> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger wip = new AtomicInteger();
+        // Внешний источник плюс незавершённые внутренние
+        private final AtomicInteger active = new AtomicInteger(1);
+        private final AtomicReference<Throwable> error = new AtomicReference<>();
+        private boolean done;
 
-            @Override
-            public void dispose() {
-                disposed = true;
-                compositeDisposable.dispose();
+        MergeObserver(Emitter<R> downstream, Function<? super T, ? extends Observable<? extends R>> mapper) {
+            this.downstream = downstream;
+            this.mapper = mapper;
+        }
+
+        @Override
+        public void onSubscribe(Disposable upstream) {
+            subscriptions.add(upstream);
+            downstream.setDisposable(subscriptions);
+        }
+
+        @Override
+        public void onNext(T item) {
+            if (done || error.get() != null) {
+                return;
+            }
+            Observable<? extends R> inner;
+            try {
+                inner = mapper.apply(item);
+            } catch (Exception e) {
+                done = true;
+                fail(e);
+                return;
+            }
+            active.incrementAndGet();
+            inner.subscribe(new InnerObserver<>(this));
+        }
+
+        @Override
+        public void onError(Throwable error) {
+            if (!done) {
+                done = true;
+                fail(error);
             }
+        }
 
-            @Override
-            public boolean isDisposed() {
-                return disposed;
+        @Override
+        public void onComplete() {
+            if (!done) {
+                done = true;
+                innerComplete(null);
             }
-        });
-
-        source.subscribe(new Observer<T>() {
-            @Override
-            public void onNext(T item) {
-                try {
-                    if (emitter.isDisposed()) return;
-
-                    Observable<R> innerObservable = mapper.apply(item);
-                    Disposable disposable = innerObservable.subscribe(
-                            new Observer<R>() {
-                                @Override
-                                public void onNext(R value) {
-                                    if (!emitter.isDisposed()) {
-                                        emitter.onNext(value);
-                                    }
-                                }
-
-                                @Override
-                                public void onError(Throwable error) {
-                                    emitter.onError(error);
-                                }
-
-                                @Override
-                                public void onComplete() {
-                                    // Ничего не делаем, ждем завершения всех потоков
-                                }
-                            }
-                    );
-                    compositeDisposable.add(disposable);
-                } catch (Exception e) {
-                    emitter.onError(e);
+        }
+
+        void emit(R value) {
+            // Быстрый путь: никто не выдаёт и очередь пуста
+            if (wip.get() == 0 && wip.compareAndSet(0, 1)) {
+                if (queue.isEmpty()) {
+                    downstream.onNext(value);
+                    if (wip.decrementAndGet() == 0) {
+                        return;
+                    }
+                } else {
+                    queue.offer(value);
                 }
+            } else {
+                queue.offer(value);
+                if (wip.getAndIncrement() != 0) {
+                    return;
+                }
+            }
+            drainLoop();
+        }
+
+        void innerComplete(Disposable inner) {
+            if (inner != null) {
+                subscriptions.remove(inner);
+            }
+            if (active.decrementAndGet() == 0) {
+                drain();
+            }
+        }
+
+        void fail(Throwable e) {
+            if (error.compareAndSet(null, e)) {
+                subscriptions.dispose();
+                drain();
+            }
+        }
+
+        private void drain() {
+            if (wip.getAndIncrement() == 0) {
+                drainLoop();
+            }
+        }
+
+        private void drainLoop() {
+            int missed = 1;
+            for (;;) {
+                if (downstream.isDisposed()) {
+                    queue.clear();
+                } else {
+                    Throwable e = error.get();
+                    if (e != null) {
+                        queue.clear();
+                        downstream.onError(e);
+                    } else {
+                        // Счётчик читается до очереди: элементы, выданные до последнего завершения, уже в ней
+                        boolean finished = active.get() == 0;
+                        R value;
+                        while ((value = queue.poll()) != null) {
+                            downstream.onNext(value);
+                        }
+                        if (finished) {
+                            downstream.onComplete();
+                        }
+                    }
+                }
+                missed = wip.addAndGet(-missed);
+                if (missed == 0) {
+                    return;
+                }
+            }
+        }
+    }
+
+    static final class InnerObserver<R> implements Observer<R> {
+        private final MergeObserver<?, R> parent;
+        private Disposable upstream;
+        private boolean done;
+
+        InnerObserver(MergeObserver<?, R> parent) {
+            this.parent = parent;
+        }
+
+        @Override
+        public void onSubscribe(Disposable upstream) {
+            this.upstream = upstream;
+            parent.subscriptions.add(upstream);
+        }
+
+        @Override
+        public void onNext(R item) {
+            if (!done) {
+                parent.emit(item);
             }
+        }
 
-            @Override
-            public void onError(Throwable error) {
-                emitter.onError(error);
+        @Override
+        public void onError(Throwable error) {
+            if (!done) {
+                done = true;
+                parent.fail(error);
             }
+        }
 
-            @Override
-            public void onComplete() {
-                // Ждем завершения всех внутренних observable
-                compositeDisposable.dispose();
-                emitter.onComplete();
+        @Override
+        public void onComplete() {
+            if (!done) {
+                done = true;
+                parent.innerComplete(upstream);
             }
-        });
+        }
     }
-}
\ No newline at end of file
+}
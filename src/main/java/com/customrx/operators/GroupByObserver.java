@@ -0,0 +1,150 @@
+package com.customrx.operators;
+
+import com.customrx.core.Emitter;
+import com.customrx.core.GroupedObservable;
+import com.customrx.core.Observer;
+import com.customrx.disposable.CompositeDisposable;
+import com.customrx.disposable.Disposable;
+import com.customrx.schedulers.Scheduler;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Общая логика groupBy для объектных и примитивных ключей.
+ * Таблицу групп меняют поток источника и, если задан TTL, периодический таймер вытеснения;
+ * они сериализуются монитором наблюдателя, как в sample.
+ */
+abstract class GroupByObserver<T, K, V> implements Observer<T> {
+    private final Emitter<GroupedObservable<K, V>> downstream;
+    private final Function<? super T, ? extends V> valueSelector;
+    private final int bufferSize;
+    private final long groupTtlNanos;
+    private final Scheduler scheduler;
+    private Disposable upstream;
+    private boolean done;
+
+    // scheduler задаёт часы и таймер вытеснения и нужен только при groupTtlNanos > 0
+    GroupByObserver(Emitter<GroupedObservable<K, V>> downstream,
+                    Function<? super T, ? extends V> valueSelector,
+                    int bufferSize,
+                    long groupTtlNanos,
+                    Scheduler scheduler) {
+        this.downstream = downstream;
+        this.valueSelector = valueSelector;
+        this.bufferSize = bufferSize;
+        this.groupTtlNanos = groupTtlNanos;
+        this.scheduler = scheduler;
+    }
+
+    // Отмена эмиттера снимает и подписку на источник, и таймер вытеснения
+    @Override
+    public void onSubscribe(Disposable upstream) {
+        this.upstream = upstream;
+        if (groupTtlNanos > 0) {
+            CompositeDisposable resources = new CompositeDisposable();
+            resources.add(upstream);
+            downstream.setDisposable(resources);
+            resources.add(scheduler.schedulePeriodically(this::onSweep, groupTtlNanos, groupTtlNanos,
+                    TimeUnit.NANOSECONDS));
+        } else {
+            downstream.setDisposable(upstream);
+        }
+    }
+
+    /**
+     * Возвращает группу для элемента. Ключ вычисляется один раз; если живой группы для него нет,
+     * наследник вызывает {@link #open} и регистрирует результат. null - новые группы больше не нужны.
+     */
+    abstract GroupState<K, V> groupFor(T item);
+
+    abstract void remove(GroupState<K, V> group);
+
+    abstract Iterable<GroupState<K, V>> groups();
+
+    abstract void clear();
+
+    // Открывает группу и выдаёт её подписчику; null, если основной подписчик ушёл
+    GroupState<K, V> open(K key) {
+        if (downstream.isDisposed()) {
+            return null;
+        }
+        GroupState<K, V> group = new GroupState<>(key, bufferSize);
+        downstream.onNext(new GroupedObservable<>(key, group));
+        return group;
+    }
+
+    @Override
+    public synchronized void onNext(T item) {
+        if (done) {
+            return;
+        }
+        GroupState<K, V> group;
+        V value;
+        try {
+            group = groupFor(item);
+            if (group == null) {
+                return;
+            }
+            value = valueSelector.apply(item);
+        } catch (Exception e) {
+            fail(e);
+            return;
+        }
+        if (groupTtlNanos > 0) {
+            group.lastAccessNanos = scheduler.now(TimeUnit.NANOSECONDS);
+        }
+        if (!group.offer(value)) {
+            fail(new IllegalStateException("groupBy buffer overflow for key " + group.key
+                    + " (bufferSize = " + bufferSize + ")"));
+        }
+    }
+
+    @Override
+    public synchronized void onError(Throwable error) {
+        if (done) {
+            return;
+        }
+        done = true;
+        for (GroupState<K, V> group : groups()) {
+            group.onError(error);
+        }
+        clear();
+        downstream.onError(error);
+    }
+
+    @Override
+    public synchronized void onComplete() {
+        if (done) {
+            return;
+        }
+        done = true;
+        for (GroupState<K, V> group : groups()) {
+            group.onComplete();
+        }
+        clear();
+        downstream.onComplete();
+    }
+
+    // Ошибка самого оператора: источник больше не нужен
+    private void fail(Throwable error) {
+        upstream.dispose();
+        onError(error);
+    }
+
+    // Просмотр таблицы раз в TTL по таймеру, поэтому простаивающие группы закрываются и при молчащем источнике
+    private synchronized void onSweep() {
+        if (done) {
+            return;
+        }
+        long now = scheduler.now(TimeUnit.NANOSECONDS);
+        for (GroupState<K, V> group : groups()) {
+            if (group.isCancelled()) {
+                remove(group);
+            } else if (now - group.lastAccessNanos >= groupTtlNanos) {
+                remove(group);
+                group.onComplete();
+            }
+        }
+    }
+}
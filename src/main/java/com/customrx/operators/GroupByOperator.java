@@ -0,0 +1,79 @@
+package com.customrx.operators;
+
+import com.customrx.core.Emitter;
+import com.customrx.core.GroupedObservable;
+import com.customrx.core.Observable;
+import com.customrx.core.ObservableOnSubscribe;
+import com.customrx.schedulers.Scheduler;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+public final class GroupByOperator<T, K, V> implements ObservableOnSubscribe<GroupedObservable<K, V>> {
+    private final Observable<T> source;
+    private final Function<? super T, ? extends K> keySelector;
+    private final Function<? super T, ? extends V> valueSelector;
+    private final int bufferSize;
+    private final long groupTtlNanos;
+    private final Scheduler scheduler;
+
+    public GroupByOperator(Observable<T> source,
+                           Function<? super T, ? extends K> keySelector,
+                           Function<? super T, ? extends V> valueSelector,
+                           int bufferSize,
+                           long groupTtlNanos,
+                           Scheduler scheduler) {
+        this.source = source;
+        this.keySelector = keySelector;
+        this.valueSelector = valueSelector;
+        this.bufferSize = bufferSize;
+        this.groupTtlNanos = groupTtlNanos;
+        this.scheduler = scheduler;
+    }
+
+    @Override
+    public void subscribe(Emitter<GroupedObservable<K, V>> emitter) {
+        source.subscribe(new GroupByObserver<T, K, V>(emitter, valueSelector, bufferSize, groupTtlNanos, scheduler) {
+            private final ConcurrentHashMap<K, GroupState<K, V>> groups = new ConcurrentHashMap<>();
+
+            @Override
+            GroupState<K, V> groupFor(T item) {
+                K key = key(item);
+                GroupState<K, V> group = groups.get(key);
+                if (group == null || group.isCancelled()) {
+                    if (group != null) {
+                        groups.remove(key, group);
+                    }
+                    group = open(key);
+                    if (group != null) {
+                        groups.put(key, group);
+                    }
+                }
+                return group;
+            }
+
+            @Override
+            void remove(GroupState<K, V> group) {
+                groups.remove(group.key, group);
+            }
+
+            @Override
+            Iterable<GroupState<K, V>> groups() {
+                return groups.values();
+            }
+
+            @Override
+            void clear() {
+                groups.clear();
+            }
+
+            private K key(T item) {
+                K key = keySelector.apply(item);
+                if (key == null) {
+                    throw new NullPointerException("groupBy key selector returned null");
+                }
+                return key;
+            }
+        });
+    }
+}
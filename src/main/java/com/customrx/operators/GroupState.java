@@ -0,0 +1,101 @@
+package com.customrx.operators;
+
+import com.customrx.core.Emitter;
+import com.customrx.core.ObservableOnSubscribe;
+import com.customrx.internal.SpscArrayQueue;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Состояние одной группы groupBy: ограниченная очередь элементов и единственный подписчик.
+ * Элементы кладёт поток источника, доставляет тот, кто выиграл drain.
+ */
+final class GroupState<K, V> implements ObservableOnSubscribe<V> {
+    final K key;
+    long lastAccessNanos;
+
+    private final SpscArrayQueue<V> queue;
+    private final AtomicInteger wip = new AtomicInteger();
+    private final AtomicBoolean subscribed = new AtomicBoolean();
+    private volatile Emitter<V> actual;
+    private volatile boolean done;
+    private volatile boolean cancelled;
+    private Throwable error;
+
+    GroupState(K key, int bufferSize) {
+        this.key = key;
+        this.queue = new SpscArrayQueue<>(bufferSize);
+    }
+
+    @Override
+    public void subscribe(Emitter<V> emitter) {
+        if (!subscribed.compareAndSet(false, true)) {
+            emitter.onError(new IllegalStateException("GroupedObservable allows only one subscriber"));
+            return;
+        }
+        actual = emitter;
+        drain();
+    }
+
+    boolean offer(V value) {
+        if (!queue.offer(value)) {
+            return false;
+        }
+        drain();
+        return true;
+    }
+
+    void onError(Throwable e) {
+        error = e;
+        done = true;
+        drain();
+    }
+
+    void onComplete() {
+        done = true;
+        drain();
+    }
+
+    boolean isCancelled() {
+        return cancelled;
+    }
+
+    private void drain() {
+        if (wip.getAndIncrement() != 0) {
+            return;
+        }
+        int missed = 1;
+        for (;;) {
+            Emitter<V> a = actual;
+            if (a != null) {
+                if (a.isDisposed()) {
+                    cancelled = true;
+                    queue.clear();
+                } else {
+                    for (;;) {
+                        boolean d = done;
+                        V value = queue.poll();
+                        if (d && value == null) {
+                            Throwable e = error;
+                            if (e != null) {
+                                a.onError(e);
+                            } else {
+                                a.onComplete();
+                            }
+                            return;
+                        }
+                        if (value == null) {
+                            break;
+                        }
+                        a.onNext(value);
+                    }
+                }
+            }
+            missed = wip.addAndGet(-missed);
+            if (missed == 0) {
+                break;
+            }
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.customrx.operators;
+
+import com.customrx.core.Emitter;
+import com.customrx.core.GroupedObservable;
+import com.customrx.core.Observable;
+import com.customrx.core.ObservableOnSubscribe;
+import com.customrx.internal.LongObjectMap;
+import com.customrx.schedulers.Scheduler;
+
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * groupBy по примитивному ключу long: ключ упаковывается один раз на группу, а не на каждый элемент.
+ */
+public final class LongGroupByOperator<T, V> implements ObservableOnSubscribe<GroupedObservable<Long, V>> {
+    private final Observable<T> source;
+    private final ToLongFunction<? super T> keySelector;
+    private final Function<? super T, ? extends V> valueSelector;
+    private final int bufferSize;
+    private final long groupTtlNanos;
+    private final Scheduler scheduler;
+
+    public LongGroupByOperator(Observable<T> source,
+                               ToLongFunction<? super T> keySelector,
+                               Function<? super T, ? extends V> valueSelector,
+                               int bufferSize,
+                               long groupTtlNanos,
+                               Scheduler scheduler) {
+        this.source = source;
+        this.keySelector = keySelector;
+        this.valueSelector = valueSelector;
+        this.bufferSize = bufferSize;
+        this.groupTtlNanos = groupTtlNanos;
+        this.scheduler = scheduler;
+    }
+
+    @Override
+    public void subscribe(Emitter<GroupedObservable<Long, V>> emitter) {
+        source.subscribe(new GroupByObserver<T, Long, V>(emitter, valueSelector, bufferSize, groupTtlNanos, scheduler) {
+            private final LongObjectMap<GroupState<Long, V>> groups = new LongObjectMap<>();
+
+            @Override
+            GroupState<Long, V> groupFor(T item) {
+                long key = keySelector.applyAsLong(item);
+                GroupState<Long, V> group = groups.get(key);
+                if (group == null || group.isCancelled()) {
+                    if (group != null) {
+                        groups.remove(key);
+                    }
+                    group = open(key);
+                    if (group != null) {
+                        groups.put(key, group);
+                    }
+                }
+                return group;
+            }
+
+            @Override
+            void remove(GroupState<Long, V> group) {
+                long key = group.key;
+                if (groups.get(key) == group) {
+                    groups.remove(key);
+                }
+            }
+
+            @Override
+            Iterable<GroupState<Long, V>> groups() {
+                return groups.values();
+            }
+
+            @Override
+            void clear() {
+                groups.clear();
+            }
+        });
+    }
+}
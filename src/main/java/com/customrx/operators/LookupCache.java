@@ -0,0 +1,258 @@
+package com.customrx.operators;
+
+import com.customrx.core.Emitter;
+import com.customrx.core.Observable;
+import com.customrx.core.Observer;
+import com.customrx.schedulers.Scheduler;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Кэш результатов поиска по ключу для cachedFlatMap: хранит все элементы, выданные успешно завершившимся Observable.
+ * Вытеснение - сегментированный LRU: новый ключ попадает в пробный сегмент (20% ёмкости),
+ * повторное обращение переводит его в защищённый; поэтому разовые ключи не вытесняют часто используемые.
+ * Одновременные запросы одного ключа разделяют одну подписку на источник. Ошибки не кэшируются.
+ */
+public class LookupCache<K, V> {
+    private final int probationCapacity;
+    private final int protectedCapacity;
+    private final long ttlNanos;
+    private final Scheduler clock;
+    private final LinkedHashMap<K, Entry<V>> probation = new LinkedHashMap<>();
+    private final LinkedHashMap<K, Entry<V>> protectedSegment = new LinkedHashMap<>();
+    private final Map<K, Load> inFlight = new HashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+
+    public LookupCache(int maxSize, long ttl, TimeUnit unit) {
+        this(maxSize, ttl, unit, null);
+    }
+
+    // Время жизни отсчитывается по часам планировщика, если он задан
+    public LookupCache(int maxSize, long ttl, TimeUnit unit, Scheduler clock) {
+        if (maxSize <= 0 || ttl <= 0) {
+            throw new IllegalArgumentException("maxSize > 0 and ttl > 0 required");
+        }
+        this.probationCapacity = Math.max(1, maxSize / 5);
+        this.protectedCapacity = maxSize - probationCapacity;
+        this.ttlNanos = unit.toNanos(ttl);
+        this.clock = clock;
+    }
+
+    // Ленивый поиск: кэш проверяется при подписке, loader вызывается только при промахе
+    public Observable<V> get(K key, Supplier<? extends Observable<? extends V>> loader) {
+        return Observable.create(emitter -> {
+            List<V> cached;
+            Load load;
+            boolean start = false;
+            synchronized (this) {
+                cached = lookup(key);
+                if (cached != null) {
+                    load = null;
+                } else {
+                    load = inFlight.get(key);
+                    if (load == null) {
+                        load = new Load(key);
+                        inFlight.put(key, load);
+                        start = true;
+                    }
+                }
+            }
+            if (cached != null) {
+                hits.increment();
+                for (V value : cached) {
+                    emitter.onNext(value);
+                }
+                emitter.onComplete();
+                return;
+            }
+            if (start) {
+                misses.increment();
+            } else {
+                coalesced.increment();
+            }
+            load.join(emitter);
+            if (start) {
+                Observable<? extends V> source;
+                try {
+                    source = loader.get();
+                } catch (Exception e) {
+                    load.onError(e);
+                    return;
+                }
+                source.subscribe(load);
+            }
+        });
+    }
+
+    public synchronized int size() {
+        return probation.size() + protectedSegment.size();
+    }
+
+    public synchronized void invalidateAll() {
+        probation.clear();
+        protectedSegment.clear();
+    }
+
+    public CacheStats stats() {
+        return new CacheStats(hits.sum(), misses.sum(), coalesced.sum(), evictions.sum(), expirations.sum());
+    }
+
+    private List<V> lookup(K key) {
+        Entry<V> entry = protectedSegment.get(key);
+        boolean inProbation = false;
+        if (entry == null) {
+            entry = probation.get(key);
+            inProbation = entry != null;
+        }
+        if (entry == null) {
+            return null;
+        }
+        if (now() - entry.expiresAt >= 0) {
+            expirations.increment();
+            if (inProbation) {
+                probation.remove(key);
+            } else {
+                protectedSegment.remove(key);
+            }
+            return null;
+        }
+        if (inProbation) {
+            probation.remove(key);
+            protectedSegment.put(key, entry);
+            // Переполненный защищённый сегмент возвращает свой самый старый ключ в пробный
+            if (protectedSegment.size() > protectedCapacity) {
+                Iterator<Map.Entry<K, Entry<V>>> eldest = protectedSegment.entrySet().iterator();
+                Map.Entry<K, Entry<V>> demoted = eldest.next();
+                eldest.remove();
+                admit(demoted.getKey(), demoted.getValue());
+            }
+        } else {
+            // Перемещение в конец порядка обхода
+            protectedSegment.remove(key);
+            protectedSegment.put(key, entry);
+        }
+        return entry.values;
+    }
+
+    private synchronized void complete(K key, Load load, List<V> values) {
+        inFlight.remove(key, load);
+        if (protectedSegment.containsKey(key) || probation.containsKey(key)) {
+            return;
+        }
+        admit(key, new Entry<>(Collections.unmodifiableList(values), now() + ttlNanos));
+    }
+
+    private synchronized void fail(K key, Load load) {
+        inFlight.remove(key, load);
+    }
+
+    private void admit(K key, Entry<V> entry) {
+        probation.put(key, entry);
+        if (probation.size() > probationCapacity) {
+            Iterator<K> eldest = probation.keySet().iterator();
+            eldest.next();
+            eldest.remove();
+            evictions.increment();
+        }
+    }
+
+    private long now() {
+        return clock != null ? clock.now(TimeUnit.NANOSECONDS) : System.nanoTime();
+    }
+
+    private static final class Entry<V> {
+        final List<V> values;
+        final long expiresAt;
+
+        Entry(List<V> values, long expiresAt) {
+            this.values = values;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    // Идущая загрузка: накапливает элементы и раздаёт их всем подписчикам, присоединившийся позже получает их повтором
+    private final class Load implements Observer<V> {
+        private final K key;
+        private final List<V> values = new ArrayList<>();
+        private final List<Emitter<V>> subscribers = new ArrayList<>();
+        private boolean done;
+        private Throwable error;
+
+        Load(K key) {
+            this.key = key;
+        }
+
+        synchronized void join(Emitter<V> emitter) {
+            for (V value : values) {
+                emitter.onNext(value);
+            }
+            if (error != null) {
+                emitter.onError(error);
+            } else if (done) {
+                emitter.onComplete();
+            } else {
+                subscribers.add(emitter);
+            }
+        }
+
+        @Override
+        public synchronized void onNext(V item) {
+            if (done) {
+                return;
+            }
+            values.add(item);
+            for (Emitter<V> subscriber : subscribers) {
+                subscriber.onNext(item);
+            }
+        }
+
+        @Override
+        public void onError(Throwable e) {
+            synchronized (this) {
+                if (done) {
+                    return;
+                }
+                done = true;
+                error = e;
+            }
+            fail(key, this);
+            for (Emitter<V> subscriber : snapshot()) {
+                subscriber.onError(e);
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            synchronized (this) {
+                if (done) {
+                    return;
+                }
+                done = true;
+            }
+            complete(key, this, values);
+            for (Emitter<V> subscriber : snapshot()) {
+                subscriber.onComplete();
+            }
+        }
+
+        private synchronized List<Emitter<V>> snapshot() {
+            List<Emitter<V>> copy = new ArrayList<>(subscribers);
+            subscribers.clear();
+            return copy;
+        }
+    }
+}
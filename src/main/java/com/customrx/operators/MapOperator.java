@@ -1,43 +1,95 @@
 package com.customrx.operators;
 
-import com.customrx.core.Observable;
-import com.customrx.core.Observer;
 import com.customrx.core.Emitter;
+import com.customrx.core.Observable;
 import com.customrx.core.ObservableOnSubscribe;
+import com.customrx.core.Observer;
+import com.customrx.disposable.Disposable;
+
 import java.util.function.Function;
 
-public class MapOperator<T, R> implements ObservableOnSubscribe<R> {
+/**
+ * Преобразует каждый элемент функцией mapper.
+ * Цепочка map(f).map(g) склеивается при сборке в один оператор с функцией g(f(x)):
+ * на каждый элемент остаётся один наблюдатель и один эмиттер вместо двух.
+ */
+public final class MapOperator<T, R> implements ObservableOnSubscribe<R> {
     private final Observable<T> source;
     private final Function<? super T, ? extends R> mapper;
 
-    public MapOperator(Observable<T> source, Function<? super T, ? extends R> mapper) {
+    private MapOperator(Observable<T> source, Function<? super T, ? extends R> mapper) {
         this.source = source;
         this.mapper = mapper;
     }
 
+    // upstream - функция подписки самого source: если это тоже map, новый оператор садится на его источник
+    @SuppressWarnings("unchecked")
+    public static <T, R> ObservableOnSubscribe<R> map(Observable<T> source, ObservableOnSubscribe<T> upstream,
+                                                      Function<? super T, ? extends R> mapper) {
+        if (upstream instanceof MapOperator) {
+            return fuse((MapOperator<?, T>) upstream, mapper);
+        }
+        return new MapOperator<>(source, mapper);
+    }
+
+    private static <U, T, R> MapOperator<U, R> fuse(MapOperator<U, T> first, Function<? super T, ? extends R> second) {
+        Function<? super U, ? extends T> head = first.mapper;
+        return new MapOperator<>(first.source, item -> second.apply(head.apply(item)));
+    }
+
     @Override
     public void subscribe(Emitter<R> emitter) {
-        source.subscribe(new Observer<T>() {
-            @Override
-            public void onNext(T item) {
-                try {
-                    if (!emitter.isDisposed()) {
-                        emitter.onNext(mapper.apply(item));
-                    }
-                } catch (Exception e) {
-                    emitter.onError(e);
-                }
+        source.subscribe(new MapObserver<>(emitter, mapper));
+    }
+
+    static final class MapObserver<T, R> implements Observer<T> {
+        private final Emitter<R> downstream;
+        private final Function<? super T, ? extends R> mapper;
+        private Disposable upstream;
+        private boolean done;
+
+        MapObserver(Emitter<R> downstream, Function<? super T, ? extends R> mapper) {
+            this.downstream = downstream;
+            this.mapper = mapper;
+        }
+
+        @Override
+        public void onSubscribe(Disposable upstream) {
+            this.upstream = upstream;
+            downstream.setDisposable(upstream);
+        }
+
+        @Override
+        public void onNext(T item) {
+            if (done) {
+                return;
+            }
+            R value;
+            try {
+                value = mapper.apply(item);
+            } catch (Exception e) {
+                done = true;
+                upstream.dispose();
+                downstream.onError(e);
+                return;
             }
+            downstream.onNext(value);
+        }
 
-            @Override
-            public void onError(Throwable error) {
-                emitter.onError(error);
+        @Override
+        public void onError(Throwable error) {
+            if (!done) {
+                done = true;
+                downstream.onError(error);
             }
+        }
 
-            @Override
-            public void onComplete() {
-                emitter.onComplete();
+        @Override
+        public void onComplete() {
+            if (!done) {
+                done = true;
+                downstream.onComplete();
             }
-        });
+        }
     }
-}
\ No newline at end of file
+}
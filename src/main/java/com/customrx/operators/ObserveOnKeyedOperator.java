@@ -0,0 +1,117 @@
+package com.customrx.operators;
+
+import com.customrx.core.Emitter;
+import com.customrx.core.Observable;
+import com.customrx.core.ObservableOnSubscribe;
+import com.customrx.core.Observer;
+import com.customrx.disposable.Disposable;
+import com.customrx.schedulers.KeyedScheduler;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Выдаёт каждый элемент на полосе {@link KeyedScheduler}, выбранной по ключу элемента.
+ * Элементы одного ключа приходят вниз по порядку и никогда одновременно, элементы разных ключей -
+ * параллельно, поэтому onNext нижестоящего наблюдателя должен быть готов к вызовам из нескольких потоков.
+ * Терминальный сигнал приходит после того, как отработали все уже запланированные элементы;
+ * после ошибки ещё не выданные элементы отбрасываются.
+ */
+public final class ObserveOnKeyedOperator<T, K> implements ObservableOnSubscribe<T> {
+    private final Observable<T> source;
+    private final Function<? super T, ? extends K> keySelector;
+    private final KeyedScheduler scheduler;
+
+    public ObserveOnKeyedOperator(Observable<T> source, Function<? super T, ? extends K> keySelector,
+                                  KeyedScheduler scheduler) {
+        this.source = source;
+        this.keySelector = keySelector;
+        this.scheduler = scheduler;
+    }
+
+    @Override
+    public void subscribe(Emitter<T> emitter) {
+        source.subscribe(new KeyedObserver<>(emitter, keySelector, scheduler));
+    }
+
+    static final class KeyedObserver<T, K> implements Observer<T> {
+        private final Emitter<T> downstream;
+        private final Function<? super T, ? extends K> keySelector;
+        private final KeyedScheduler scheduler;
+        // Запланированные элементы плюс сам источник, пока он не завершился
+        private final AtomicLong outstanding = new AtomicLong(1);
+        private Disposable upstream;
+        private boolean done;
+        private volatile Throwable error;
+
+        KeyedObserver(Emitter<T> downstream, Function<? super T, ? extends K> keySelector, KeyedScheduler scheduler) {
+            this.downstream = downstream;
+            this.keySelector = keySelector;
+            this.scheduler = scheduler;
+        }
+
+        @Override
+        public void onSubscribe(Disposable upstream) {
+            this.upstream = upstream;
+            downstream.setDisposable(upstream);
+        }
+
+        @Override
+        public void onNext(T item) {
+            if (done) {
+                return;
+            }
+            K key;
+            try {
+                key = keySelector.apply(item);
+            } catch (Exception e) {
+                upstream.dispose();
+                onError(e);
+                return;
+            }
+            outstanding.incrementAndGet();
+            try {
+                scheduler.schedule(key, () -> {
+                    if (error == null && !downstream.isDisposed()) {
+                        downstream.onNext(item);
+                    }
+                    finishOne();
+                });
+            } catch (RejectedExecutionException e) {
+                // Задача не встала в очередь и не вызовет finishOne, иначе терминальный сигнал не пришёл бы
+                outstanding.decrementAndGet();
+                upstream.dispose();
+                onError(e);
+            }
+        }
+
+        @Override
+        public void onError(Throwable error) {
+            if (!done) {
+                done = true;
+                this.error = error;
+                finishOne();
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            if (!done) {
+                done = true;
+                finishOne();
+            }
+        }
+
+        private void finishOne() {
+            if (outstanding.decrementAndGet() == 0) {
+                Throwable e = error;
+                if (e != null) {
+                    downstream.onError(e);
+                } else {
+                    downstream.onComplete();
+                }
+            }
+        }
+    }
+}
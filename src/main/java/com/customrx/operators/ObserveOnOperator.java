@@ -1,12 +1,22 @@
 package com.customrx.operators;
 
+import com.customrx.core.Emitter;
 import com.customrx.core.Observable;
 import com.customrx.core.ObservableOnSubscribe;
-import com.customrx.core.Emitter;
 import com.customrx.core.Observer;
+import com.customrx.disposable.Disposable;
 import com.customrx.schedulers.Scheduler;
 
-public class ObserveOnOperator<T> implements ObservableOnSubscribe<T> {
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Переносит сигналы на scheduler. Элементы складываются в очередь, а выдаёт их одна задача-разборщик,
+ * которая планируется, только когда очередь была пуста: порядок сохраняется даже на многопоточном
+ * планировщике, и на пачку элементов приходится одна задача, а не по задаче на элемент.
+ */
+public final class ObserveOnOperator<T> implements ObservableOnSubscribe<T> {
     private final Observable<T> source;
     private final Scheduler scheduler;
 
@@ -17,33 +27,88 @@ public class ObserveOnOperator<T> implements ObservableOnSubscribe<T> {
 
     @Override
     public void subscribe(Emitter<T> emitter) {
-        source.subscribe(new Observer<T>() {
-            @Override
-            public void onNext(T item) {
-                scheduler.schedule(() -> {
-                    if (!emitter.isDisposed()) {
-                        emitter.onNext(item);
-                    }
-                });
+        source.subscribe(new ObserveOnObserver<>(emitter, scheduler));
+    }
+
+    static final class ObserveOnObserver<T> implements Observer<T>, Runnable {
+        private final Emitter<T> downstream;
+        private final Scheduler scheduler;
+        private final Queue<T> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger wip = new AtomicInteger();
+        private volatile boolean done;
+        private Throwable error;
+
+        ObserveOnObserver(Emitter<T> downstream, Scheduler scheduler) {
+            this.downstream = downstream;
+            this.scheduler = scheduler;
+        }
+
+        @Override
+        public void onSubscribe(Disposable upstream) {
+            downstream.setDisposable(upstream);
+        }
+
+        @Override
+        public void onNext(T item) {
+            if (!done) {
+                queue.offer(item);
+                schedule();
             }
+        }
 
-            @Override
-            public void onError(Throwable error) {
-                scheduler.schedule(() -> {
-                    if (!emitter.isDisposed()) {
-                        emitter.onError(error);
-                    }
-                });
+        @Override
+        public void onError(Throwable error) {
+            if (!done) {
+                this.error = error;
+                done = true;
+                schedule();
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            if (!done) {
+                done = true;
+                schedule();
             }
+        }
 
-            @Override
-            public void onComplete() {
-                scheduler.schedule(() -> {
-                    if (!emitter.isDisposed()) {
-                        emitter.onComplete();
+        private void schedule() {
+            if (wip.getAndIncrement() == 0) {
+                scheduler.schedule(this);
+            }
+        }
+
+        @Override
+        public void run() {
+            int missed = 1;
+            for (;;) {
+                for (;;) {
+                    if (downstream.isDisposed()) {
+                        queue.clear();
+                        return;
+                    }
+                    boolean finished = done;
+                    T item = queue.poll();
+                    if (item == null) {
+                        if (finished) {
+                            Throwable e = error;
+                            if (e != null) {
+                                downstream.onError(e);
+                            } else {
+                                downstream.onComplete();
+                            }
+                            return;
+                        }
+                        break;
                     }
-                });
+                    downstream.onNext(item);
+                }
+                missed = wip.addAndGet(-missed);
+                if (missed == 0) {
+                    return;
+                }
             }
-        });
+        }
     }
-}
\ No newline at end of file
+}
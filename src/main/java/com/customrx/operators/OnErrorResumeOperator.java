@@ -0,0 +1,88 @@
+package com.customrx.operators;
+
+import com.customrx.core.Emitter;
+import com.customrx.core.Observable;
+import com.customrx.core.ObservableOnSubscribe;
+import com.customrx.core.Observer;
+import com.customrx.disposable.Disposable;
+
+import java.util.function.Function;
+
+/**
+ * При ошибке источника продолжает поток резервным Observable, выбранным по ошибке.
+ */
+public final class OnErrorResumeOperator<T> implements ObservableOnSubscribe<T> {
+    private final Observable<T> source;
+    private final Function<? super Throwable, ? extends Observable<? extends T>> resumeFunction;
+
+    public OnErrorResumeOperator(Observable<T> source,
+                                 Function<? super Throwable, ? extends Observable<? extends T>> resumeFunction) {
+        this.source = source;
+        this.resumeFunction = resumeFunction;
+    }
+
+    @Override
+    public void subscribe(Emitter<T> emitter) {
+        source.subscribe(new Observer<T>() {
+            private boolean done;
+
+            @Override
+            public void onSubscribe(Disposable upstream) {
+                emitter.setDisposable(upstream);
+            }
+
+            @Override
+            public void onNext(T item) {
+                if (!done) {
+                    emitter.onNext(item);
+                }
+            }
+
+            @Override
+            public void onError(Throwable error) {
+                if (done) {
+                    return;
+                }
+                done = true;
+                Observable<? extends T> fallback;
+                try {
+                    fallback = resumeFunction.apply(error);
+                } catch (Exception e) {
+                    e.addSuppressed(error);
+                    emitter.onError(e);
+                    return;
+                }
+                // Отмена эмиттера теперь должна остановить резервный источник
+                fallback.subscribe(new Observer<T>() {
+                    @Override
+                    public void onSubscribe(Disposable upstream) {
+                        emitter.setDisposable(upstream);
+                    }
+
+                    @Override
+                    public void onNext(T item) {
+                        emitter.onNext(item);
+                    }
+
+                    @Override
+                    public void onError(Throwable fallbackError) {
+                        emitter.onError(fallbackError);
+                    }
+
+                    @Override
+                    public void onComplete() {
+                        emitter.onComplete();
+                    }
+                });
+            }
+
+            @Override
+            public void onComplete() {
+                if (!done) {
+                    done = true;
+                    emitter.onComplete();
+                }
+            }
+        });
+    }
+}
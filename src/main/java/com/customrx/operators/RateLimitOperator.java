@@ -0,0 +1,186 @@
+package com.customrx.operators;
+
+import com.customrx.core.Emitter;
+import com.customrx.core.Observable;
+import com.customrx.core.ObservableOnSubscribe;
+import com.customrx.core.Observer;
+import com.customrx.disposable.Disposable;
+import com.customrx.schedulers.Scheduler;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Выдаёт элементы не быстрее, чем позволяет {@link RateLimiter}.
+ * Элемент, для которого разрешение ещё не наступило, встаёт в очередь; очередь разбирает
+ * один таймер, взводимый на срок головного элемента, поэтому порядок сохраняется, а потоки не спят.
+ * Ошибка доставляется сразу, завершение - после выдачи очереди.
+ * Очередь не ограничена: источник, который стабильно быстрее лимита, копит в ней элементы без предела,
+ * поэтому перед rateLimit такой поток нужно прореживать (sample, throttleFirst) или сбрасывать на диск
+ * (onBackpressureSpillToDisk).
+ */
+public final class RateLimitOperator<T> implements ObservableOnSubscribe<T> {
+    private final Observable<T> source;
+    private final Supplier<RateLimiter> limiterSupplier;
+    private final Scheduler scheduler;
+
+    public RateLimitOperator(Observable<T> source, Supplier<RateLimiter> limiterSupplier, Scheduler scheduler) {
+        this.source = source;
+        this.limiterSupplier = limiterSupplier;
+        this.scheduler = scheduler;
+    }
+
+    @Override
+    public void subscribe(Emitter<T> emitter) {
+        source.subscribe(new RateLimitObserver<>(emitter, limiterSupplier.get(), scheduler));
+    }
+
+    private static final class Delayed<T> {
+        final T item;
+        final long due;
+
+        Delayed(T item, long due) {
+            this.item = item;
+            this.due = due;
+        }
+    }
+
+    private static final class RateLimitObserver<T> implements Observer<T>, Disposable {
+        private final Emitter<T> emitter;
+        private final RateLimiter limiter;
+        private final Scheduler scheduler;
+        private final Queue<Delayed<T>> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger wip = new AtomicInteger();
+        private volatile boolean timerArmed;
+        private volatile Disposable upstream;
+        private volatile Disposable timer;
+        private volatile boolean disposed;
+        private volatile boolean done;
+        private volatile Throwable error;
+
+        RateLimitObserver(Emitter<T> emitter, RateLimiter limiter, Scheduler scheduler) {
+            this.emitter = emitter;
+            this.limiter = limiter;
+            this.scheduler = scheduler;
+        }
+
+        // Отмена снимает и источник, и взведённый таймер, иначе планировщик держал бы очередь до его срока
+        @Override
+        public void onSubscribe(Disposable upstream) {
+            this.upstream = upstream;
+            emitter.setDisposable(this);
+        }
+
+        @Override
+        public void dispose() {
+            disposed = true;
+            Disposable u = upstream;
+            if (u != null) {
+                u.dispose();
+            }
+            Disposable t = timer;
+            if (t != null) {
+                t.dispose();
+            }
+            // Очередь очищает цикл разбора: он увидит отменённый эмиттер
+            drain();
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return disposed;
+        }
+
+        @Override
+        public void onNext(T item) {
+            if (done) {
+                return;
+            }
+            long now = scheduler.now(TimeUnit.NANOSECONDS);
+            long due = limiter.reserve(now);
+            // Быстрый путь: разрешение уже есть и очередь пуста
+            if (due <= now && queue.isEmpty() && wip.compareAndSet(0, 1)) {
+                emitter.onNext(item);
+                if (wip.decrementAndGet() == 0) {
+                    return;
+                }
+            } else {
+                queue.offer(new Delayed<>(item, due));
+                if (wip.getAndIncrement() != 0) {
+                    return;
+                }
+            }
+            drainLoop();
+        }
+
+        @Override
+        public void onError(Throwable error) {
+            if (!done) {
+                this.error = error;
+                done = true;
+                drain();
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            if (!done) {
+                done = true;
+                drain();
+            }
+        }
+
+        private void onTimer() {
+            timerArmed = false;
+            drain();
+        }
+
+        private void drain() {
+            if (wip.getAndIncrement() == 0) {
+                drainLoop();
+            }
+        }
+
+        private void drainLoop() {
+            int missed = 1;
+            for (;;) {
+                if (emitter.isDisposed()) {
+                    queue.clear();
+                } else {
+                    Throwable e = error;
+                    if (e != null) {
+                        queue.clear();
+                        emitter.onError(e);
+                    } else {
+                        long now = scheduler.now(TimeUnit.NANOSECONDS);
+                        Delayed<T> head;
+                        while ((head = queue.peek()) != null && head.due <= now) {
+                            queue.poll();
+                            emitter.onNext(head.item);
+                        }
+                        if (head != null) {
+                            if (!timerArmed) {
+                                timerArmed = true;
+                                Disposable t = scheduler.schedule(this::onTimer, head.due - now, TimeUnit.NANOSECONDS);
+                                timer = t;
+                                // dispose мог прийти, пока таймер взводился, и не увидеть его
+                                if (disposed) {
+                                    t.dispose();
+                                }
+                            }
+                        } else if (done) {
+                            emitter.onComplete();
+                        }
+                    }
+                }
+                missed = wip.addAndGet(-missed);
+                if (missed == 0) {
+                    return;
+                }
+            }
+        }
+    }
+}
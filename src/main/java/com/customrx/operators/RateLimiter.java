@@ -0,0 +1,88 @@
+package com.customrx.operators;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Неблокирующий token bucket в форме GCRA: всё состояние - ожидаемое время следующего разрешения (tat) в одном AtomicLong.
+ * {@link #reserve(long)} не отказывает, а возвращает момент, когда разрешение станет доступно,
+ * так что вызывающий код откладывает элемент по таймеру, а не усыпляет поток.
+ * Один экземпляр можно разделить между несколькими потоками, чтобы соблюдать общую квоту.
+ * Адаптивный вариант снижает скорость вдвое на каждую {@link #recordFailure()}
+ * и возвращает её прибавками по {@link #recordSuccess()} (AIMD).
+ */
+public class RateLimiter {
+    private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+    private static final int RECOVERY_STEPS = 20;
+
+    private final AtomicLong tat = new AtomicLong(Long.MIN_VALUE);
+    private final AtomicLong intervalNanos;
+    private final long minIntervalNanos;
+    private final long maxIntervalNanos;
+    private final int burst;
+
+    public RateLimiter(double permitsPerSecond, int burst) {
+        this(permitsPerSecond, burst, permitsPerSecond);
+    }
+
+    public RateLimiter(double permitsPerSecond, int burst, double minPermitsPerSecond) {
+        if (!(permitsPerSecond > 0) || !(minPermitsPerSecond > 0) || minPermitsPerSecond > permitsPerSecond) {
+            throw new IllegalArgumentException("0 < minPermitsPerSecond <= permitsPerSecond required");
+        }
+        if (burst <= 0) {
+            throw new IllegalArgumentException("burst > 0 required but it was " + burst);
+        }
+        this.minIntervalNanos = toInterval(permitsPerSecond);
+        this.maxIntervalNanos = toInterval(minPermitsPerSecond);
+        this.intervalNanos = new AtomicLong(minIntervalNanos);
+        this.burst = burst;
+    }
+
+    // Возвращает момент (в наносекундах часов now), начиная с которого разрешение можно использовать
+    public long reserve(long now) {
+        for (;;) {
+            long current = tat.get();
+            long interval = intervalNanos.get();
+            long due;
+            long next;
+            if (current <= now) {
+                due = now;
+                next = now + interval;
+            } else {
+                due = Math.max(now, current - (burst - 1) * interval);
+                next = current + interval;
+            }
+            if (tat.compareAndSet(current, next)) {
+                return due;
+            }
+        }
+    }
+
+    public void recordFailure() {
+        for (;;) {
+            long current = intervalNanos.get();
+            long next = Math.min(maxIntervalNanos, current * 2);
+            if (current == next || intervalNanos.compareAndSet(current, next)) {
+                return;
+            }
+        }
+    }
+
+    public void recordSuccess() {
+        double step = (NANOS_PER_SECOND / minIntervalNanos) / RECOVERY_STEPS;
+        for (;;) {
+            long current = intervalNanos.get();
+            long next = Math.max(minIntervalNanos, toInterval(NANOS_PER_SECOND / current + step));
+            if (current == next || intervalNanos.compareAndSet(current, next)) {
+                return;
+            }
+        }
+    }
+
+    public double getPermitsPerSecond() {
+        return NANOS_PER_SECOND / intervalNanos.get();
+    }
+
+    private static long toInterval(double permitsPerSecond) {
+        return Math.max(1L, (long) (NANOS_PER_SECOND / permitsPerSecond));
+    }
+}
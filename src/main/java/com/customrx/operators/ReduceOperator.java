@@ -0,0 +1,96 @@
+package com.customrx.operators;
+
+import com.customrx.core.MaybeEmitter;
+import com.customrx.core.MaybeOnSubscribe;
+import com.customrx.core.Observable;
+import com.customrx.core.Observer;
+import com.customrx.disposable.Disposable;
+
+import java.util.function.BiFunction;
+
+/**
+ * Свёртка потока в одно значение. Без начального значения пустой поток завершается без значения,
+ * поэтому результат - Maybe; с начальным значением Observable оборачивает его в Single.
+ */
+public final class ReduceOperator<T, R> implements MaybeOnSubscribe<R> {
+    private final Observable<T> source;
+    private final R seed;
+    private final boolean seeded;
+    private final BiFunction<R, ? super T, R> reducer;
+
+    private ReduceOperator(Observable<T> source, R seed, boolean seeded, BiFunction<R, ? super T, R> reducer) {
+        this.source = source;
+        this.seed = seed;
+        this.seeded = seeded;
+        this.reducer = reducer;
+    }
+
+    public static <T> ReduceOperator<T, T> reduce(Observable<T> source, BiFunction<T, ? super T, T> reducer) {
+        return new ReduceOperator<>(source, null, false, reducer);
+    }
+
+    public static <T, R> ReduceOperator<T, R> reduce(Observable<T> source, R seed, BiFunction<R, ? super T, R> reducer) {
+        return new ReduceOperator<>(source, seed, true, reducer);
+    }
+
+    @Override
+    public void subscribe(MaybeEmitter<R> emitter) {
+        source.subscribe(new Observer<T>() {
+            private Disposable upstream;
+            private R accumulator = seed;
+            private boolean hasValue = seeded;
+            private boolean done;
+
+            @Override
+            public void onSubscribe(Disposable upstream) {
+                this.upstream = upstream;
+                emitter.setDisposable(upstream);
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public void onNext(T item) {
+                if (done) {
+                    return;
+                }
+                if (!hasValue) {
+                    accumulator = (R) item;
+                    hasValue = true;
+                    return;
+                }
+                try {
+                    accumulator = reducer.apply(accumulator, item);
+                } catch (Exception e) {
+                    done = true;
+                    accumulator = null;
+                    upstream.dispose();
+                    emitter.onError(e);
+                }
+            }
+
+            @Override
+            public void onError(Throwable error) {
+                if (!done) {
+                    done = true;
+                    accumulator = null;
+                    emitter.onError(error);
+                }
+            }
+
+            @Override
+            public void onComplete() {
+                if (done) {
+                    return;
+                }
+                done = true;
+                R result = accumulator;
+                accumulator = null;
+                if (hasValue) {
+                    emitter.onSuccess(result);
+                } else {
+                    emitter.onComplete();
+                }
+            }
+        });
+    }
+}
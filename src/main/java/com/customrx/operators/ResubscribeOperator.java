@@ -0,0 +1,154 @@
+package com.customrx.operators;
+
+import com.customrx.core.Emitter;
+import com.customrx.core.Observable;
+import com.customrx.core.ObservableOnSubscribe;
+import com.customrx.core.Observer;
+import com.customrx.disposable.CompositeDisposable;
+import com.customrx.disposable.Disposable;
+import com.customrx.schedulers.Scheduler;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Повторная подписка на источник после ошибки (retry) или завершения (repeat).
+ * Синхронные повторы идут в цикле, а не рекурсией, поэтому стек не растёт;
+ * отложенные повторы планируются на Scheduler, и никакой поток не спит в ожидании.
+ */
+public final class ResubscribeOperator<T> implements ObservableOnSubscribe<T> {
+    private final Observable<T> source;
+    private final boolean onError;
+    private final long times;
+    private final Backoff backoff;
+    private final Scheduler scheduler;
+
+    private ResubscribeOperator(Observable<T> source, boolean onError, long times, Backoff backoff, Scheduler scheduler) {
+        this.source = source;
+        this.onError = onError;
+        this.times = times;
+        this.backoff = backoff;
+        this.scheduler = scheduler;
+    }
+
+    // Не больше times повторных подписок после ошибок
+    public static <T> ResubscribeOperator<T> retry(Observable<T> source, long times) {
+        return new ResubscribeOperator<>(source, true, times, null, null);
+    }
+
+    // Счётчик попыток считает ошибки подряд и сбрасывается, как только источник выдал элемент
+    public static <T> ResubscribeOperator<T> retry(Observable<T> source, Backoff backoff, Scheduler scheduler) {
+        return new ResubscribeOperator<>(source, true, 0L, backoff, scheduler);
+    }
+
+    // Подписка на источник times раз подряд
+    public static <T> ResubscribeOperator<T> repeat(Observable<T> source, long times) {
+        return new ResubscribeOperator<>(source, false, times - 1, null, null);
+    }
+
+    public static <T> ResubscribeOperator<T> repeat(Observable<T> source, Backoff backoff, Scheduler scheduler) {
+        return new ResubscribeOperator<>(source, false, 0L, backoff, scheduler);
+    }
+
+    @Override
+    public void subscribe(Emitter<T> emitter) {
+        new Resubscriber<>(this, emitter).subscribeNext();
+    }
+
+    private static final class Resubscriber<T> {
+        private final ResubscribeOperator<T> operator;
+        private final Emitter<T> emitter;
+        private final AtomicInteger wip = new AtomicInteger();
+        private volatile int attempt;
+
+        Resubscriber(ResubscribeOperator<T> operator, Emitter<T> emitter) {
+            this.operator = operator;
+            this.emitter = emitter;
+        }
+
+        void subscribeNext() {
+            if (wip.getAndIncrement() != 0) {
+                return;
+            }
+            do {
+                if (emitter.isDisposed()) {
+                    return;
+                }
+                operator.source.subscribe(new AttemptObserver());
+            } while (wip.decrementAndGet() != 0);
+        }
+
+        private void onTerminal(Throwable error) {
+            int next = ++attempt;
+            long delay;
+            if (operator.backoff == null) {
+                delay = next > operator.times ? -1L : 0L;
+            } else {
+                delay = operator.backoff.delayNanos(next);
+            }
+            if (delay < 0 || emitter.isDisposed()) {
+                if (error != null) {
+                    emitter.onError(error);
+                } else {
+                    emitter.onComplete();
+                }
+            } else if (delay == 0) {
+                subscribeNext();
+            } else {
+                // До следующей попытки подпиской эмиттера служит таймер; он регистрируется до планирования,
+                // чтобы сработавший раньше времени таймер не затёр подписку новой попытки
+                CompositeDisposable timer = new CompositeDisposable();
+                emitter.setDisposable(timer);
+                timer.add(operator.scheduler.schedule(this::subscribeNext, delay, TimeUnit.NANOSECONDS));
+            }
+        }
+
+        // Отдельный наблюдатель на каждую попытку, чтобы запоздавшие сигналы старой попытки не смешивались с новой
+        private final class AttemptObserver implements Observer<T> {
+            private boolean done;
+
+            // Подписка новой попытки заменяет в эмиттере подписку завершившейся
+            @Override
+            public void onSubscribe(Disposable upstream) {
+                emitter.setDisposable(upstream);
+            }
+
+            @Override
+            public void onNext(T item) {
+                if (done) {
+                    return;
+                }
+                if (operator.onError && operator.backoff != null && attempt != 0) {
+                    attempt = 0;
+                }
+                emitter.onNext(item);
+            }
+
+            @Override
+            public void onError(Throwable error) {
+                if (done) {
+                    return;
+                }
+                done = true;
+                if (operator.onError) {
+                    onTerminal(error);
+                } else {
+                    emitter.onError(error);
+                }
+            }
+
+            @Override
+            public void onComplete() {
+                if (done) {
+                    return;
+                }
+                done = true;
+                if (operator.onError) {
+                    emitter.onComplete();
+                } else {
+                    onTerminal(null);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.customrx.operators;
+
+import com.customrx.core.Emitter;
+import com.customrx.core.Observable;
+import com.customrx.core.ObservableOnSubscribe;
+import com.customrx.core.Observer;
+import com.customrx.disposable.CompositeDisposable;
+import com.customrx.disposable.Disposable;
+import com.customrx.schedulers.Scheduler;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Раз в период выдаёт последний полученный элемент, если с прошлого тика пришёл новый.
+ * На подписку приходится один периодический таймер; последний невыданный элемент выдаётся перед завершением.
+ */
+public final class SampleOperator<T> implements ObservableOnSubscribe<T> {
+    private final Observable<T> source;
+    private final long periodNanos;
+    private final Scheduler scheduler;
+
+    public SampleOperator(Observable<T> source, long periodNanos, Scheduler scheduler) {
+        this.source = source;
+        this.periodNanos = periodNanos;
+        this.scheduler = scheduler;
+    }
+
+    @Override
+    public void subscribe(Emitter<T> emitter) {
+        SampleObserver<T> observer = new SampleObserver<>(emitter);
+        observer.timer = scheduler.schedulePeriodically(observer::onTick, periodNanos, periodNanos, TimeUnit.NANOSECONDS);
+        source.subscribe(observer);
+    }
+
+    private static final class SampleObserver<T> implements Observer<T> {
+        private final Emitter<T> emitter;
+        private volatile Disposable timer;
+        private T latest;
+        private boolean hasLatest;
+        private boolean done;
+
+        SampleObserver(Emitter<T> emitter) {
+            this.emitter = emitter;
+        }
+
+        // Отмена эмиттера снимает и подписку на источник, и таймер
+        @Override
+        public void onSubscribe(Disposable upstream) {
+            CompositeDisposable resources = new CompositeDisposable();
+            resources.add(upstream);
+            resources.add(timer);
+            emitter.setDisposable(resources);
+        }
+
+        @Override
+        public synchronized void onNext(T item) {
+            if (!done) {
+                latest = item;
+                hasLatest = true;
+            }
+        }
+
+        @Override
+        public synchronized void onError(Throwable error) {
+            if (!done) {
+                done = true;
+                timer.dispose();
+                latest = null;
+                emitter.onError(error);
+            }
+        }
+
+        @Override
+        public synchronized void onComplete() {
+            if (!done) {
+                done = true;
+                timer.dispose();
+                emitLatest();
+                emitter.onComplete();
+            }
+        }
+
+        synchronized void onTick() {
+            if (done) {
+                return;
+            }
+            if (emitter.isDisposed()) {
+                done = true;
+                timer.dispose();
+                return;
+            }
+            emitLatest();
+        }
+
+        private void emitLatest() {
+            if (hasLatest) {
+                T item = latest;
+                latest = null;
+                hasLatest = false;
+                emitter.onNext(item);
+            }
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.customrx.operators;
+
+import com.customrx.core.Emitter;
+import com.customrx.core.Observable;
+import com.customrx.core.ObservableOnSubscribe;
+import com.customrx.core.Observer;
+import com.customrx.disposable.Disposable;
+
+import java.util.function.BiFunction;
+
+/**
+ * Как reduce, но выдаёт каждое промежуточное значение аккумулятора.
+ */
+public final class ScanOperator<T, R> implements ObservableOnSubscribe<R> {
+    private final Observable<T> source;
+    private final R seed;
+    private final boolean seeded;
+    private final BiFunction<R, ? super T, R> accumulator;
+
+    private ScanOperator(Observable<T> source, R seed, boolean seeded, BiFunction<R, ? super T, R> accumulator) {
+        this.source = source;
+        this.seed = seed;
+        this.seeded = seeded;
+        this.accumulator = accumulator;
+    }
+
+    public static <T> ScanOperator<T, T> scan(Observable<T> source, BiFunction<T, ? super T, T> accumulator) {
+        return new ScanOperator<>(source, null, false, accumulator);
+    }
+
+    public static <T, R> ScanOperator<T, R> scan(Observable<T> source, R seed, BiFunction<R, ? super T, R> accumulator) {
+        return new ScanOperator<>(source, seed, true, accumulator);
+    }
+
+    @Override
+    public void subscribe(Emitter<R> emitter) {
+        if (seeded) {
+            emitter.onNext(seed);
+        }
+        source.subscribe(new Observer<T>() {
+            private Disposable upstream;
+            private R value = seed;
+            private boolean hasValue = seeded;
+            private boolean done;
+
+            @Override
+            public void onSubscribe(Disposable upstream) {
+                this.upstream = upstream;
+                emitter.setDisposable(upstream);
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public void onNext(T item) {
+                if (done) {
+                    return;
+                }
+                if (!hasValue) {
+                    value = (R) item;
+                    hasValue = true;
+                } else {
+                    try {
+                        value = accumulator.apply(value, item);
+                    } catch (Exception e) {
+                        done = true;
+                        upstream.dispose();
+                        emitter.onError(e);
+                        return;
+                    }
+                }
+                emitter.onNext(value);
+            }
+
+            @Override
+            public void onError(Throwable error) {
+                if (!done) {
+                    done = true;
+                    emitter.onError(error);
+                }
+            }
+
+            @Override
+            public void onComplete() {
+                if (!done) {
+                    done = true;
+                    emitter.onComplete();
+                }
+            }
+        });
+    }
+}
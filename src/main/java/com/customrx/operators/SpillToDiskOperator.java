@@ -0,0 +1,191 @@
+package com.customrx.operators;
+
+import com.customrx.core.Emitter;
+import com.customrx.core.Observable;
+import com.customrx.core.ObservableOnSubscribe;
+import com.customrx.core.Observer;
+import com.customrx.disposable.Disposable;
+import com.customrx.internal.SpillLog;
+import com.customrx.io.Serializer;
+import com.customrx.schedulers.Scheduler;
+
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Асинхронная граница, как observeOn, но с ограниченной памятью: до memoryLimit элементов ждут в очереди в куче,
+ * а всё сверх этого пишется в {@link SpillLog} на диске. Пока на диске есть элементы, новые тоже идут туда,
+ * поэтому разборщик выдаёт сначала очередь в памяти, затем журнал, и порядок сохраняется.
+ * Прочитанные сегменты удаляются сразу, оставшиеся — при отмене или после терминального сигнала.
+ */
+public final class SpillToDiskOperator<T> implements ObservableOnSubscribe<T> {
+    private final Observable<T> source;
+    private final int memoryLimit;
+    private final Path dir;
+    private final Serializer<T> serializer;
+    private final int segmentSize;
+    private final Scheduler scheduler;
+
+    public SpillToDiskOperator(Observable<T> source, int memoryLimit, Path dir, Serializer<T> serializer,
+                               int segmentSize, Scheduler scheduler) {
+        this.source = source;
+        this.memoryLimit = memoryLimit;
+        this.dir = dir;
+        this.serializer = serializer;
+        this.segmentSize = segmentSize;
+        this.scheduler = scheduler;
+    }
+
+    @Override
+    public void subscribe(Emitter<T> emitter) {
+        source.subscribe(new SpillObserver<>(emitter, this));
+    }
+
+    static final class SpillObserver<T> implements Observer<T>, Runnable, Disposable {
+        private final Emitter<T> downstream;
+        private final Scheduler scheduler;
+        private final int memoryLimit;
+        private final ArrayDeque<T> memory;
+        private final SpillLog<T> log;
+        private final AtomicInteger wip = new AtomicInteger();
+        private volatile Disposable upstream;
+        private volatile boolean done;
+        private Throwable error;
+        // Очередь и журнал меняются под монитором наблюдателя
+        private boolean closed;
+
+        SpillObserver(Emitter<T> downstream, SpillToDiskOperator<T> parent) {
+            this.downstream = downstream;
+            this.scheduler = parent.scheduler;
+            this.memoryLimit = parent.memoryLimit;
+            this.memory = new ArrayDeque<>(Math.min(parent.memoryLimit, 1024));
+            this.log = new SpillLog<>(parent.dir, parent.serializer, parent.segmentSize);
+        }
+
+        @Override
+        public void onSubscribe(Disposable upstream) {
+            this.upstream = upstream;
+            downstream.setDisposable(this);
+        }
+
+        @Override
+        public void onNext(T item) {
+            if (done) {
+                return;
+            }
+            try {
+                synchronized (this) {
+                    if (closed) {
+                        return;
+                    }
+                    if (log.size() == 0 && memory.size() < memoryLimit) {
+                        memory.offer(item);
+                    } else {
+                        log.append(item);
+                    }
+                }
+            } catch (Exception e) {
+                disposeUpstream();
+                onError(e);
+                return;
+            }
+            schedule();
+        }
+
+        @Override
+        public void onError(Throwable error) {
+            if (!done) {
+                this.error = error;
+                done = true;
+                schedule();
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            if (!done) {
+                done = true;
+                schedule();
+            }
+        }
+
+        private void schedule() {
+            if (wip.getAndIncrement() == 0) {
+                scheduler.schedule(this);
+            }
+        }
+
+        private synchronized T poll() throws Exception {
+            if (closed) {
+                return null;
+            }
+            T item = memory.poll();
+            return item != null ? item : log.poll();
+        }
+
+        @Override
+        public void run() {
+            int missed = 1;
+            for (;;) {
+                for (;;) {
+                    if (downstream.isDisposed()) {
+                        return;
+                    }
+                    boolean finished = done;
+                    T item;
+                    try {
+                        item = poll();
+                    } catch (Exception e) {
+                        disposeUpstream();
+                        downstream.onError(e);
+                        return;
+                    }
+                    if (item == null) {
+                        if (finished) {
+                            Throwable e = error;
+                            if (e != null) {
+                                downstream.onError(e);
+                            } else {
+                                downstream.onComplete();
+                            }
+                            return;
+                        }
+                        break;
+                    }
+                    downstream.onNext(item);
+                }
+                missed = wip.addAndGet(-missed);
+                if (missed == 0) {
+                    return;
+                }
+            }
+        }
+
+        // Вызывается эмиттером при отмене и после терминального сигнала
+        @Override
+        public void dispose() {
+            disposeUpstream();
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                closed = true;
+                memory.clear();
+                log.close();
+            }
+        }
+
+        @Override
+        public synchronized boolean isDisposed() {
+            return closed;
+        }
+
+        private void disposeUpstream() {
+            Disposable current = upstream;
+            if (current != null) {
+                current.dispose();
+            }
+        }
+    }
+}
@@ -1,12 +1,17 @@
 package com.customrx.operators;
 
+import com.customrx.core.Emitter;
 import com.customrx.core.Observable;
 import com.customrx.core.ObservableOnSubscribe;
-import com.customrx.core.Emitter;
 import com.customrx.core.Observer;
+import com.customrx.disposable.Disposable;
 import com.customrx.schedulers.Scheduler;
 
-public class SubscribeOnOperator<T> implements ObservableOnSubscribe<T> {
+/**
+ * Подписывается на источник в задаче scheduler. Если подписку отменили до запуска задачи,
+ * источник не запускается; отмена во время работы доходит до эмиттера источника.
+ */
+public final class SubscribeOnOperator<T> implements ObservableOnSubscribe<T> {
     private final Observable<T> source;
     private final Scheduler scheduler;
 
@@ -17,23 +22,38 @@ public class SubscribeOnOperator<T> implements ObservableOnSubscribe<T> {
 
     @Override
     public void subscribe(Emitter<T> emitter) {
-        scheduler.schedule(() ->
-                source.subscribe(new Observer<T>() {
-                    @Override
-                    public void onNext(T item) {
-                        emitter.onNext(item);
-                    }
-
-                    @Override
-                    public void onError(Throwable error) {
-                        emitter.onError(error);
-                    }
-
-                    @Override
-                    public void onComplete() {
-                        emitter.onComplete();
-                    }
-                })
-        );
+        scheduler.schedule(() -> {
+            if (!emitter.isDisposed()) {
+                source.subscribe(new SubscribeOnObserver<>(emitter));
+            }
+        });
+    }
+
+    static final class SubscribeOnObserver<T> implements Observer<T> {
+        private final Emitter<T> downstream;
+
+        SubscribeOnObserver(Emitter<T> downstream) {
+            this.downstream = downstream;
+        }
+
+        @Override
+        public void onSubscribe(Disposable upstream) {
+            downstream.setDisposable(upstream);
+        }
+
+        @Override
+        public void onNext(T item) {
+            downstream.onNext(item);
+        }
+
+        @Override
+        public void onError(Throwable error) {
+            downstream.onError(error);
+        }
+
+        @Override
+        public void onComplete() {
+            downstream.onComplete();
+        }
     }
-}
\ No newline at end of file
+}
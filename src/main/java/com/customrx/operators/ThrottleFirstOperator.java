@@ -0,0 +1,61 @@
+package com.customrx.operators;
+
+import com.customrx.core.Emitter;
+import com.customrx.core.Observable;
+import com.customrx.core.ObservableOnSubscribe;
+import com.customrx.core.Observer;
+import com.customrx.disposable.Disposable;
+import com.customrx.schedulers.Scheduler;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Выдаёт первый элемент окна и отбрасывает остальные до его конца.
+ * Таймер не нужен: окно отсчитывается по часам планировщика.
+ */
+public final class ThrottleFirstOperator<T> implements ObservableOnSubscribe<T> {
+    private final Observable<T> source;
+    private final long windowNanos;
+    private final Scheduler scheduler;
+
+    public ThrottleFirstOperator(Observable<T> source, long windowNanos, Scheduler scheduler) {
+        this.source = source;
+        this.windowNanos = windowNanos;
+        this.scheduler = scheduler;
+    }
+
+    @Override
+    public void subscribe(Emitter<T> emitter) {
+        source.subscribe(new Observer<T>() {
+            private Disposable upstream;
+            private long windowEnd;
+            private boolean started;
+
+            @Override
+            public void onSubscribe(Disposable upstream) {
+                this.upstream = upstream;
+                emitter.setDisposable(upstream);
+            }
+
+            @Override
+            public void onNext(T item) {
+                long now = scheduler.now(TimeUnit.NANOSECONDS);
+                if (!started || now - windowEnd >= 0) {
+                    started = true;
+                    windowEnd = now + windowNanos;
+                    emitter.onNext(item);
+                }
+            }
+
+            @Override
+            public void onError(Throwable error) {
+                emitter.onError(error);
+            }
+
+            @Override
+            public void onComplete() {
+                emitter.onComplete();
+            }
+        });
+    }
+}
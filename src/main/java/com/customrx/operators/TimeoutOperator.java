@@ -0,0 +1,175 @@
+package com.customrx.operators;
+
+import com.customrx.core.Emitter;
+import com.customrx.core.Observable;
+import com.customrx.core.ObservableOnSubscribe;
+import com.customrx.core.Observer;
+import com.customrx.disposable.Disposable;
+import com.customrx.schedulers.Scheduler;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Переключается на fallback (или завершается TimeoutException), если между подпиской
+ * и первым элементом либо между соседними элементами прошло больше timeout.
+ * Как и в debounce, один таймер перевзводится на остаток срока, а не создаётся на каждый элемент.
+ */
+public final class TimeoutOperator<T> implements ObservableOnSubscribe<T> {
+    private final Observable<T> source;
+    private final long timeoutNanos;
+    private final Scheduler scheduler;
+    private final Observable<? extends T> fallback;
+
+    public TimeoutOperator(Observable<T> source, long timeoutNanos, Scheduler scheduler, Observable<? extends T> fallback) {
+        this.source = source;
+        this.timeoutNanos = timeoutNanos;
+        this.scheduler = scheduler;
+        this.fallback = fallback;
+    }
+
+    @Override
+    public void subscribe(Emitter<T> emitter) {
+        TimeoutObserver<T> observer = new TimeoutObserver<>(this, emitter);
+        emitter.setDisposable(observer);
+        observer.start();
+        source.subscribe(observer);
+    }
+
+    // Пока не было переключения на fallback, ресурс эмиттера - сам наблюдатель: отмена снимает таймер и источник
+    private static final class TimeoutObserver<T> implements Observer<T>, Disposable {
+        private final TimeoutOperator<T> operator;
+        private final Emitter<T> emitter;
+        private Disposable upstream;
+        private Disposable timer;
+        private long deadline;
+        private boolean done;
+
+        TimeoutObserver(TimeoutOperator<T> operator, Emitter<T> emitter) {
+            this.operator = operator;
+            this.emitter = emitter;
+        }
+
+        @Override
+        public void onSubscribe(Disposable upstream) {
+            synchronized (this) {
+                if (!done) {
+                    this.upstream = upstream;
+                    return;
+                }
+            }
+            // Таймер сработал раньше, чем источник успел подписаться
+            upstream.dispose();
+        }
+
+        synchronized void start() {
+            deadline = operator.scheduler.now(TimeUnit.NANOSECONDS) + operator.timeoutNanos;
+            timer = operator.scheduler.schedule(this::onTimer, operator.timeoutNanos, TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public synchronized void onNext(T item) {
+            if (done) {
+                return;
+            }
+            deadline = operator.scheduler.now(TimeUnit.NANOSECONDS) + operator.timeoutNanos;
+            emitter.onNext(item);
+        }
+
+        @Override
+        public synchronized void onError(Throwable error) {
+            if (!done) {
+                done = true;
+                cancelTimer();
+                emitter.onError(error);
+            }
+        }
+
+        @Override
+        public synchronized void onComplete() {
+            if (!done) {
+                done = true;
+                cancelTimer();
+                emitter.onComplete();
+            }
+        }
+
+        private void onTimer() {
+            Disposable source;
+            synchronized (this) {
+                timer = null;
+                if (done) {
+                    return;
+                }
+                if (emitter.isDisposed()) {
+                    done = true;
+                    return;
+                }
+                long remaining = deadline - operator.scheduler.now(TimeUnit.NANOSECONDS);
+                if (remaining > 0) {
+                    timer = operator.scheduler.schedule(this::onTimer, remaining, TimeUnit.NANOSECONDS);
+                    return;
+                }
+                done = true;
+                source = upstream;
+                upstream = null;
+            }
+            // Исходный источник больше не нужен ни при ошибке, ни при переключении
+            if (source != null) {
+                source.dispose();
+            }
+            if (operator.fallback == null) {
+                emitter.onError(new TimeoutException("No item within " + operator.timeoutNanos + " ns"));
+                return;
+            }
+            // Подписка на fallback вне блокировки: он может выдавать элементы синхронно и долго
+            operator.fallback.subscribe(new Observer<T>() {
+                @Override
+                public void onSubscribe(Disposable upstream) {
+                    emitter.setDisposable(upstream);
+                }
+
+                @Override
+                public void onNext(T item) {
+                    emitter.onNext(item);
+                }
+
+                @Override
+                public void onError(Throwable error) {
+                    emitter.onError(error);
+                }
+
+                @Override
+                public void onComplete() {
+                    emitter.onComplete();
+                }
+            });
+        }
+
+        @Override
+        public void dispose() {
+            Disposable source;
+            synchronized (this) {
+                done = true;
+                cancelTimer();
+                source = upstream;
+                upstream = null;
+            }
+            if (source != null) {
+                source.dispose();
+            }
+        }
+
+        @Override
+        public synchronized boolean isDisposed() {
+            return done;
+        }
+
+        private void cancelTimer() {
+            if (timer != null) {
+                timer.dispose();
+                timer = null;
+            }
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.customrx.operators;
+
+import com.customrx.core.Consumer;
+import com.customrx.core.Emitter;
+import com.customrx.core.Observable;
+import com.customrx.core.ObservableOnSubscribe;
+import com.customrx.core.Observer;
+import com.customrx.disposable.Disposable;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Захватывает ресурс при подписке, строит по нему Observable и освобождает ресурс ровно один раз:
+ * перед терминальным сигналом или при отмене подписки, смотря что наступит раньше.
+ * Ресурс освобождается до onComplete/onError, чтобы подписчик, получивший сигнал, мог сразу
+ * захватить его снова (например, переоткрыть файл в repeat).
+ */
+public final class UsingOperator<T, R> implements ObservableOnSubscribe<T> {
+    private final Supplier<? extends R> resourceFactory;
+    private final Function<? super R, ? extends Observable<? extends T>> observableFactory;
+    private final Consumer<? super R> disposer;
+
+    public UsingOperator(Supplier<? extends R> resourceFactory,
+                         Function<? super R, ? extends Observable<? extends T>> observableFactory,
+                         Consumer<? super R> disposer) {
+        this.resourceFactory = resourceFactory;
+        this.observableFactory = observableFactory;
+        this.disposer = disposer;
+    }
+
+    @Override
+    public void subscribe(Emitter<T> emitter) {
+        R resource;
+        try {
+            resource = resourceFactory.get();
+        } catch (Exception e) {
+            emitter.onError(e);
+            return;
+        }
+        UsingObserver<T, R> observer = new UsingObserver<>(emitter, resource, disposer);
+        Observable<? extends T> source;
+        try {
+            source = observableFactory.apply(resource);
+        } catch (Exception e) {
+            observer.onError(e);
+            return;
+        }
+        // Отмена до подписки на источник тоже освобождает ресурс
+        emitter.setDisposable(observer);
+        source.subscribe(observer);
+    }
+
+    static final class UsingObserver<T, R> implements Observer<T>, Disposable {
+        private final Emitter<T> downstream;
+        private final R resource;
+        private final Consumer<? super R> disposer;
+        private final AtomicBoolean released = new AtomicBoolean();
+        private volatile Disposable upstream;
+
+        UsingObserver(Emitter<T> downstream, R resource, Consumer<? super R> disposer) {
+            this.downstream = downstream;
+            this.resource = resource;
+            this.disposer = disposer;
+        }
+
+        @Override
+        public void onSubscribe(Disposable upstream) {
+            this.upstream = upstream;
+            if (released.get()) {
+                upstream.dispose();
+            }
+        }
+
+        @Override
+        public void onNext(T item) {
+            downstream.onNext(item);
+        }
+
+        @Override
+        public void onError(Throwable error) {
+            try {
+                release();
+            } catch (Exception e) {
+                error.addSuppressed(e);
+            }
+            downstream.onError(error);
+        }
+
+        @Override
+        public void onComplete() {
+            try {
+                release();
+            } catch (Exception e) {
+                downstream.onError(e);
+                return;
+            }
+            downstream.onComplete();
+        }
+
+        @Override
+        public void dispose() {
+            Disposable d = upstream;
+            if (d != null) {
+                d.dispose();
+            }
+            try {
+                release();
+            } catch (Exception e) {
+                Thread.currentThread().getUncaughtExceptionHandler().uncaughtException(Thread.currentThread(), e);
+            }
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return released.get();
+        }
+
+        private void release() {
+            if (released.compareAndSet(false, true)) {
+                disposer.accept(resource);
+            }
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package com.customrx.operators;
+
+import com.customrx.core.Emitter;
+import com.customrx.core.Observable;
+import com.customrx.core.ObservableOnSubscribe;
+import com.customrx.core.Observer;
+import com.customrx.disposable.CompositeDisposable;
+import com.customrx.disposable.Disposable;
+import com.customrx.internal.LogLinearHistogram;
+import com.customrx.schedulers.Scheduler;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToLongFunction;
+
+/**
+ * Статистика по скользящему окну: окно делится на buckets корзин в кольцевом буфере,
+ * на каждом тике планировщика (раз в window / buckets) выдаётся значение по всему окну,
+ * а самая старая корзина очищается под новые данные. buckets = 1 даёт неперекрывающиеся окна.
+ * Элемент обновляет пару счётчиков за O(1); память фиксирована и не зависит от числа элементов.
+ * Для квантилей каждая корзина хранит лог-линейную гистограмму, и окно держит их сумму,
+ * из которой вычитается вытесняемая корзина.
+ */
+public final class WindowedStatsOperator<T, R> implements ObservableOnSubscribe<R> {
+    private final Observable<T> source;
+    private final long windowNanos;
+    private final int buckets;
+    private final Scheduler scheduler;
+    private final ToLongFunction<? super T> valueSelector;
+    private final Result<R> result;
+
+    // Значение окна по числу элементов и, если задан valueSelector, по суммарной гистограмме
+    private interface Result<R> {
+        R compute(long count, long[] histogram);
+    }
+
+    private WindowedStatsOperator(Observable<T> source, long windowNanos, int buckets, Scheduler scheduler,
+                                  ToLongFunction<? super T> valueSelector, Result<R> result) {
+        this.source = source;
+        this.windowNanos = windowNanos;
+        this.buckets = buckets;
+        this.scheduler = scheduler;
+        this.valueSelector = valueSelector;
+        this.result = result;
+    }
+
+    public static <T> WindowedStatsOperator<T, Long> count(Observable<T> source, long windowNanos, int buckets,
+                                                          Scheduler scheduler) {
+        return new WindowedStatsOperator<>(source, windowNanos, buckets, scheduler, null, (count, histogram) -> count);
+    }
+
+    // Элементов в секунду по окну
+    public static <T> WindowedStatsOperator<T, Double> rate(Observable<T> source, long windowNanos, int buckets,
+                                                           Scheduler scheduler) {
+        double seconds = windowNanos / 1_000_000_000.0;
+        return new WindowedStatsOperator<>(source, windowNanos, buckets, scheduler, null,
+                (count, histogram) -> count / seconds);
+    }
+
+    // Значения квантилей в порядке quantiles; для пустого окна - нули
+    public static <T> WindowedStatsOperator<T, long[]> percentiles(Observable<T> source, ToLongFunction<? super T> valueSelector,
+                                                                  double[] quantiles, long windowNanos, int buckets,
+                                                                  Scheduler scheduler) {
+        double[] qs = quantiles.clone();
+        return new WindowedStatsOperator<>(source, windowNanos, buckets, scheduler, valueSelector, (count, histogram) -> {
+            long[] values = new long[qs.length];
+            for (int i = 0; i < qs.length; i++) {
+                values[i] = LogLinearHistogram.quantile(histogram, count, qs[i]);
+            }
+            return values;
+        });
+    }
+
+    @Override
+    public void subscribe(Emitter<R> emitter) {
+        WindowObserver<T, R> observer = new WindowObserver<>(this, emitter);
+        long tick = Math.max(1L, windowNanos / buckets);
+        observer.timer = scheduler.schedulePeriodically(observer::onTick, tick, tick, TimeUnit.NANOSECONDS);
+        source.subscribe(observer);
+    }
+
+    private static final class WindowObserver<T, R> implements Observer<T> {
+        private final WindowedStatsOperator<T, R> operator;
+        private final Emitter<R> emitter;
+        private final long[] counts;
+        private final long[][] histograms;
+        private final long[] windowHistogram;
+        private volatile Disposable timer;
+        private Disposable upstream;
+        private int current;
+        private long windowCount;
+        private boolean done;
+
+        WindowObserver(WindowedStatsOperator<T, R> operator, Emitter<R> emitter) {
+            this.operator = operator;
+            this.emitter = emitter;
+            this.counts = new long[operator.buckets];
+            if (operator.valueSelector != null) {
+                this.histograms = new long[operator.buckets][LogLinearHistogram.BIN_COUNT];
+                this.windowHistogram = new long[LogLinearHistogram.BIN_COUNT];
+            } else {
+                this.histograms = null;
+                this.windowHistogram = null;
+            }
+        }
+
+        // Отмена эмиттера снимает и подписку на источник, и таймер
+        @Override
+        public synchronized void onSubscribe(Disposable upstream) {
+            this.upstream = upstream;
+            CompositeDisposable resources = new CompositeDisposable();
+            resources.add(upstream);
+            resources.add(timer);
+            emitter.setDisposable(resources);
+        }
+
+        @Override
+        public synchronized void onNext(T item) {
+            if (done) {
+                return;
+            }
+            if (histograms != null) {
+                int bin;
+                try {
+                    bin = LogLinearHistogram.binOf(operator.valueSelector.applyAsLong(item));
+                } catch (Exception e) {
+                    fail(e);
+                    return;
+                }
+                histograms[current][bin]++;
+                windowHistogram[bin]++;
+            }
+            counts[current]++;
+            windowCount++;
+        }
+
+        @Override
+        public synchronized void onError(Throwable error) {
+            if (!done) {
+                fail(error);
+            }
+        }
+
+        // Последнее, возможно неполное, окно выдаётся перед завершением
+        @Override
+        public synchronized void onComplete() {
+            if (done) {
+                return;
+            }
+            done = true;
+            timer.dispose();
+            if (emit()) {
+                emitter.onComplete();
+            }
+        }
+
+        synchronized void onTick() {
+            if (done) {
+                return;
+            }
+            if (emitter.isDisposed()) {
+                done = true;
+                timer.dispose();
+                return;
+            }
+            if (!emit()) {
+                return;
+            }
+            current = (current + 1) % counts.length;
+            windowCount -= counts[current];
+            counts[current] = 0;
+            if (histograms != null) {
+                long[] evicted = histograms[current];
+                for (int i = 0; i < evicted.length; i++) {
+                    windowHistogram[i] -= evicted[i];
+                }
+                Arrays.fill(evicted, 0L);
+            }
+        }
+
+        private boolean emit() {
+            R value;
+            try {
+                value = operator.result.compute(windowCount, windowHistogram);
+            } catch (Exception e) {
+                fail(e);
+                return false;
+            }
+            emitter.onNext(value);
+            return true;
+        }
+
+        private void fail(Throwable error) {
+            done = true;
+            timer.dispose();
+            if (upstream != null) {
+                upstream.dispose();
+            }
+            emitter.onError(error);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.customrx.remote;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Формат кадра: int длина (тип + тело), byte тип, тело.
+ * Отправитель открывает соединение кадром-приветствием из одного int MAGIC.
+ * DATA, COMPLETE и ERROR идут от отправителя к приёмнику, CREDIT и CANCEL — обратно.
+ */
+final class Frames {
+    static final int MAGIC = 0x43525831;
+    static final int HEADER = 5;
+    static final int MAX_FRAME = 64 * 1024 * 1024;
+
+    static final byte DATA = 1;
+    static final byte COMPLETE = 2;
+    static final byte ERROR = 3;
+    static final byte CREDIT = 4;
+    static final byte CANCEL = 5;
+
+    private Frames() {
+    }
+
+    static void writeFully(WritableByteChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    // false, если поток закончился до первого байта; обрыв посреди данных — ошибка
+    static boolean readFully(ReadableByteChannel channel, ByteBuffer buffer) throws IOException {
+        int start = buffer.position();
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                if (buffer.position() == start) {
+                    return false;
+                }
+                throw new EOFException("Connection closed in the middle of a frame");
+            }
+        }
+        return true;
+    }
+
+    static void writeHandshake(WritableByteChannel channel) throws IOException {
+        writeFully(channel, ByteBuffer.allocate(4).putInt(0, MAGIC));
+    }
+
+    static void readHandshake(ReadableByteChannel channel) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(4);
+        if (!readFully(channel, buffer)) {
+            throw new EOFException("Connection closed before the handshake");
+        }
+        int magic = buffer.getInt(0);
+        if (magic != MAGIC) {
+            throw new IOException("Unexpected handshake 0x" + Integer.toHexString(magic));
+        }
+    }
+
+    static ByteBuffer control(byte type) {
+        return ByteBuffer.allocate(HEADER).putInt(1).put(type).flip();
+    }
+
+    static ByteBuffer credit(int credits) {
+        return ByteBuffer.allocate(HEADER + 4).putInt(5).put(CREDIT).putInt(credits).flip();
+    }
+
+    static ByteBuffer error(Throwable error) {
+        String message = error.getMessage() != null ? error.getMessage() : "";
+        byte[] body = (error.getClass().getName() + '\n' + message).getBytes(StandardCharsets.UTF_8);
+        return ByteBuffer.allocate(HEADER + body.length).putInt(body.length + 1).put(ERROR).put(body).flip();
+    }
+
+    static RemoteException readError(ByteBuffer body) {
+        String text = StandardCharsets.UTF_8.decode(body).toString();
+        int split = text.indexOf('\n');
+        return split < 0
+                ? new RemoteException(text, "")
+                : new RemoteException(text.substring(0, split), text.substring(split + 1));
+    }
+
+    // Читает один кадр целиком; тело остаётся в buffer от position до limit. -1 — конец потока
+    static int readFrame(ReadableByteChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.clear().limit(4);
+        if (!readFully(channel, buffer)) {
+            return -1;
+        }
+        int length = buffer.getInt(0);
+        if (length < 1 || length > buffer.capacity() - 4) {
+            throw new IOException("Unexpected control frame of " + length + " bytes");
+        }
+        buffer.limit(4 + length);
+        if (!readFully(channel, buffer)) {
+            throw new EOFException("Connection closed in the middle of a frame");
+        }
+        buffer.position(4);
+        return buffer.get();
+    }
+}
@@ -0,0 +1,92 @@
+package com.customrx.remote;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.StandardProtocolFamily;
+import java.net.StandardSocketOptions;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Адрес удалённой стадии: TCP-сокет или Unix domain socket на той же машине.
+ * Приёмник ({@code Observables.fromRemote}) слушает адрес, отправитель ({@code Observable.toRemote}) подключается к нему.
+ */
+public final class RemoteEndpoint {
+    private final SocketAddress address;
+    private final Path socketFile;
+
+    private RemoteEndpoint(SocketAddress address, Path socketFile) {
+        this.address = address;
+        this.socketFile = socketFile;
+    }
+
+    public static RemoteEndpoint tcp(String host, int port) {
+        return new RemoteEndpoint(new InetSocketAddress(host, port), null);
+    }
+
+    public static RemoteEndpoint tcp(InetSocketAddress address) {
+        return new RemoteEndpoint(address, null);
+    }
+
+    public static RemoteEndpoint unix(Path socketFile) {
+        return new RemoteEndpoint(UnixDomainSocketAddress.of(socketFile), socketFile);
+    }
+
+    public SocketAddress address() {
+        return address;
+    }
+
+    SocketChannel connect() throws IOException {
+        SocketChannel channel = socketFile != null
+                ? SocketChannel.open(StandardProtocolFamily.UNIX)
+                : SocketChannel.open();
+        try {
+            channel.connect(address);
+            if (socketFile == null) {
+                channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            }
+            return channel;
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    // Файл сокета, оставшийся от прошлого запуска, мешает bind, поэтому удаляется заранее
+    ServerSocketChannel bind() throws IOException {
+        ServerSocketChannel server;
+        if (socketFile != null) {
+            Files.deleteIfExists(socketFile);
+            server = ServerSocketChannel.open(StandardProtocolFamily.UNIX);
+        } else {
+            server = ServerSocketChannel.open();
+            server.setOption(StandardSocketOptions.SO_REUSEADDR, true);
+        }
+        try {
+            server.bind(address, 1);
+            return server;
+        } catch (IOException e) {
+            server.close();
+            throw e;
+        }
+    }
+
+    void release() {
+        if (socketFile != null) {
+            try {
+                Files.deleteIfExists(socketFile);
+            } catch (IOException ignored) {
+                // файл сокета больше не нужен
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return socketFile != null ? "unix:" + socketFile : "tcp:" + address;
+    }
+}
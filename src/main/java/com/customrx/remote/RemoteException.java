@@ -0,0 +1,20 @@
+package com.customrx.remote;
+
+/**
+ * Ошибка, пришедшая с другой стороны соединения. Исходное исключение не передаётся:
+ * его класса может не быть у приёмника, поэтому сохраняются только имя класса и сообщение.
+ */
+public class RemoteException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    private final String remoteClassName;
+
+    public RemoteException(String remoteClassName, String message) {
+        super(remoteClassName + ": " + message);
+        this.remoteClassName = remoteClassName;
+    }
+
+    public String getRemoteClassName() {
+        return remoteClassName;
+    }
+}
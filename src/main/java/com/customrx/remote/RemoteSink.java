@@ -0,0 +1,390 @@
+package com.customrx.remote;
+
+import com.customrx.buffers.BufferPool;
+import com.customrx.buffers.PooledBuffer;
+import com.customrx.core.CompletableEmitter;
+import com.customrx.core.CompletableOnSubscribe;
+import com.customrx.core.Observable;
+import com.customrx.core.Observer;
+import com.customrx.disposable.Disposable;
+import com.customrx.io.Serializer;
+import com.customrx.schedulers.Scheduler;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Отправляющая половина удалённой стадии: подключается к приёмнику и пишет элементы кадрами DATA.
+ * Каждый кадр расходует один кредит; когда кредиты кончаются, onNext сбрасывает буфер и ждёт
+ * кадра CREDIT, так что медленный приёмник притормаживает источник, а не копит очередь.
+ * Кредиты и CANCEL читает отдельный поток. CANCEL отменяет подписку на источник и завершает приёмник успешно.
+ * Без планировщика каждый кадр уходит в сокет сразу, с планировщиком — пачкой по заполнению буфера или по таймеру.
+ */
+public class RemoteSink<T> implements CompletableOnSubscribe {
+    // Приёмник может подняться позже отправителя: до этого срока подключение повторяется
+    private static final long CONNECT_TIMEOUT_MILLIS = 10_000;
+    private static final long CONNECT_RETRY_MILLIS = 20;
+
+    private final Observable<T> source;
+    private final RemoteEndpoint endpoint;
+    private final Serializer<? super T> serializer;
+    private final int bufferSize;
+    private final long flushInterval;
+    private final TimeUnit unit;
+    private final Scheduler scheduler;
+
+    public RemoteSink(Observable<T> source, RemoteEndpoint endpoint, Serializer<? super T> serializer,
+                      int bufferSize, long flushInterval, TimeUnit unit, Scheduler scheduler) {
+        this.source = source;
+        this.endpoint = endpoint;
+        this.serializer = serializer;
+        this.bufferSize = bufferSize;
+        this.flushInterval = flushInterval;
+        this.unit = unit;
+        this.scheduler = scheduler;
+    }
+
+    @Override
+    public void subscribe(CompletableEmitter emitter) {
+        SocketChannel channel;
+        try {
+            channel = connect();
+            Frames.writeHandshake(channel);
+        } catch (IOException e) {
+            emitter.onError(e);
+            return;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            emitter.onError(e);
+            return;
+        }
+        SinkObserver<T> observer = new SinkObserver<>(this, channel, emitter);
+        emitter.setDisposable(observer);
+        Thread reader = new Thread(observer::readControl, "remote-credit-reader");
+        reader.setDaemon(true);
+        reader.start();
+        source.subscribe(observer);
+    }
+
+    private SocketChannel connect() throws IOException, InterruptedException {
+        long deadline = System.currentTimeMillis() + CONNECT_TIMEOUT_MILLIS;
+        while (true) {
+            try {
+                return endpoint.connect();
+            } catch (IOException e) {
+                if (System.currentTimeMillis() >= deadline) {
+                    throw e;
+                }
+                Thread.sleep(CONNECT_RETRY_MILLIS);
+            }
+        }
+    }
+
+    // Ресурс эмиттера - сам наблюдатель: отмена закрывает соединение и будит ожидание кредитов
+    private static final class SinkObserver<T> implements Observer<T>, Disposable {
+        private final RemoteSink<T> sink;
+        private final SocketChannel channel;
+        private final CompletableEmitter emitter;
+        private final PooledBuffer pooled;
+        private final ByteBuffer buffer;
+        private volatile Disposable upstream;
+        // Всё ниже меняется под монитором наблюдателя
+        private long credits;
+        private boolean closing;
+        private boolean eof;
+        private boolean done;
+        private Disposable timer;
+
+        SinkObserver(RemoteSink<T> sink, SocketChannel channel, CompletableEmitter emitter) {
+            this.sink = sink;
+            this.channel = channel;
+            this.emitter = emitter;
+            this.pooled = BufferPool.shared().acquire(sink.bufferSize);
+            this.buffer = pooled.buffer();
+        }
+
+        @Override
+        public void onSubscribe(Disposable upstream) {
+            this.upstream = upstream;
+            boolean stop;
+            synchronized (this) {
+                stop = done;
+            }
+            if (stop) {
+                upstream.dispose();
+            }
+        }
+
+        @Override
+        public synchronized void onNext(T item) {
+            if (done) {
+                return;
+            }
+            if (emitter.isDisposed()) {
+                terminate();
+                disposeUpstream();
+                return;
+            }
+            try {
+                if (awaitCredit()) {
+                    encode(item);
+                    credits--;
+                    if (sink.scheduler == null) {
+                        flush();
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                fail(e);
+            } catch (Exception e) {
+                fail(e);
+            }
+        }
+
+        @Override
+        public synchronized void onError(Throwable error) {
+            if (done) {
+                return;
+            }
+            try {
+                flush();
+                Frames.writeFully(channel, Frames.error(error));
+                awaitClose();
+            } catch (IOException e) {
+                error.addSuppressed(e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                error.addSuppressed(e);
+            }
+            if (!done) {
+                terminate();
+                emitter.onError(error);
+            }
+        }
+
+        @Override
+        public synchronized void onComplete() {
+            if (done) {
+                return;
+            }
+            try {
+                flush();
+                Frames.writeFully(channel, Frames.control(Frames.COMPLETE));
+                awaitClose();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                fail(e);
+                return;
+            } catch (IOException e) {
+                fail(e);
+                return;
+            }
+            if (!done) {
+                terminate();
+                emitter.onComplete();
+            }
+        }
+
+        // false, если во время ожидания поток уже завершил читатель кредитов
+        private boolean awaitCredit() throws IOException, InterruptedException {
+            while (credits == 0 && !done && !eof) {
+                flush();
+                wait();
+            }
+            if (done) {
+                return false;
+            }
+            if (credits == 0) {
+                throw new EOFException("Remote receiver closed the connection");
+            }
+            return true;
+        }
+
+        // Закрытие сокета с непрочитанными данными сбрасывает соединение (RST), и приёмник
+        // может потерять хвост потока. Поэтому сначала закрывается только запись, а сокет —
+        // после того, как приёмник сам закроет соединение
+        private void awaitClose() throws IOException, InterruptedException {
+            closing = true;
+            channel.shutdownOutput();
+            while (!eof && !done) {
+                wait();
+            }
+        }
+
+        private void encode(T item) throws IOException {
+            if (buffer.remaining() < Frames.HEADER) {
+                flush();
+            }
+            boolean wasEmpty = buffer.position() == 0;
+            int mark = buffer.position();
+            try {
+                writeFrame(item, mark);
+            } catch (BufferOverflowException e) {
+                buffer.position(mark);
+                if (mark == 0) {
+                    throw tooLarge();
+                }
+                flush();
+                wasEmpty = true;
+                try {
+                    writeFrame(item, 0);
+                } catch (BufferOverflowException again) {
+                    buffer.clear();
+                    throw tooLarge();
+                }
+            } catch (RuntimeException e) {
+                buffer.position(mark);
+                throw e;
+            }
+            if (wasEmpty && sink.scheduler != null && timer == null) {
+                timer = sink.scheduler.schedule(this::flushOnTimer, sink.flushInterval, sink.unit);
+            }
+        }
+
+        private void writeFrame(T item, int mark) {
+            buffer.position(mark + Frames.HEADER);
+            sink.serializer.serialize(item, buffer);
+            buffer.putInt(mark, buffer.position() - mark - 4);
+            buffer.put(mark + 4, Frames.DATA);
+        }
+
+        private IllegalArgumentException tooLarge() {
+            return new IllegalArgumentException("Serialized item does not fit into a buffer of "
+                    + sink.bufferSize + " bytes");
+        }
+
+        private synchronized void flushOnTimer() {
+            timer = null;
+            if (done) {
+                return;
+            }
+            try {
+                flush();
+            } catch (IOException e) {
+                fail(e);
+            }
+        }
+
+        private void flush() throws IOException {
+            if (buffer.position() == 0) {
+                return;
+            }
+            buffer.flip();
+            try {
+                Frames.writeFully(channel, buffer);
+            } finally {
+                buffer.clear();
+            }
+        }
+
+        void readControl() {
+            ByteBuffer frame = ByteBuffer.allocate(16);
+            try {
+                while (true) {
+                    int type = Frames.readFrame(channel, frame);
+                    if (type == Frames.CREDIT) {
+                        synchronized (this) {
+                            credits += frame.getInt();
+                            notifyAll();
+                        }
+                    } else if (type == Frames.CANCEL) {
+                        cancel();
+                        return;
+                    } else if (type < 0) {
+                        closedByReceiver(new EOFException("Remote receiver closed the connection"));
+                        return;
+                    } else {
+                        throw new IOException("Unexpected frame type " + type);
+                    }
+                }
+            } catch (IOException e) {
+                closedByReceiver(e);
+            }
+        }
+
+        @Override
+        public void dispose() {
+            // Источник отменяется первым: закрытие канала будит отправителя через читатель кредитов,
+            // и проснувшийся onNext не должен успеть получить следующий элемент
+            disposeUpstream();
+            // Закрытие канала прерывает запись, заблокированную в сокете, и освобождает монитор
+            try {
+                channel.close();
+            } catch (IOException ignored) {
+                // соединение уже не нужно
+            }
+            synchronized (this) {
+                terminate();
+                notifyAll();
+            }
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return !channel.isOpen();
+        }
+
+        // Отмена, пришедшая после нашего терминального кадра, лишь будит ожидание закрытия
+        private void cancel() {
+            synchronized (this) {
+                eof = true;
+                if (!done && !closing) {
+                    terminate();
+                    emitter.onComplete();
+                }
+                notifyAll();
+            }
+            disposeUpstream();
+        }
+
+        private void closedByReceiver(IOException error) {
+            boolean failed = false;
+            synchronized (this) {
+                eof = true;
+                if (!done && !closing) {
+                    terminate();
+                    failed = true;
+                }
+                notifyAll();
+            }
+            if (failed) {
+                disposeUpstream();
+                emitter.onError(error);
+            }
+        }
+
+        private void fail(Throwable error) {
+            terminate();
+            disposeUpstream();
+            emitter.onError(error);
+        }
+
+        private void terminate() {
+            if (done) {
+                return;
+            }
+            done = true;
+            if (timer != null) {
+                timer.dispose();
+                timer = null;
+            }
+            pooled.dispose();
+            try {
+                channel.close();
+            } catch (IOException ignored) {
+                // соединение уже не нужно
+            }
+        }
+
+        private void disposeUpstream() {
+            Disposable current = upstream;
+            if (current != null) {
+                current.dispose();
+            }
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package com.customrx.remote;
+
+import com.customrx.buffers.BufferPool;
+import com.customrx.buffers.PooledBuffer;
+import com.customrx.core.Emitter;
+import com.customrx.core.ObservableOnSubscribe;
+import com.customrx.disposable.Disposable;
+import com.customrx.io.Serializer;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channel;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+
+/**
+ * Принимающая половина удалённой стадии: слушает адрес, принимает одно соединение
+ * и выдаёт элементы из кадров DATA в потоке подписки.
+ * Отправителю сразу выдаётся {@code credits} кредитов, а по мере обработки половины окна — ещё столько же,
+ * поэтому в пути никогда не больше {@code credits} кадров.
+ * Отмена отправляет CANCEL и закрывает запись; соединение закрывается, когда отправитель ответит тем же.
+ */
+public class RemoteSource<T> implements ObservableOnSubscribe<T> {
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final RemoteEndpoint endpoint;
+    private final Serializer<? extends T> serializer;
+    private final int credits;
+
+    public RemoteSource(RemoteEndpoint endpoint, Serializer<? extends T> serializer, int credits) {
+        this.endpoint = endpoint;
+        this.serializer = serializer;
+        this.credits = credits;
+    }
+
+    @Override
+    public void subscribe(Emitter<T> emitter) {
+        Connection connection = new Connection();
+        emitter.setDisposable(connection);
+        SocketChannel channel;
+        try {
+            ServerSocketChannel server = endpoint.bind();
+            try {
+                if (!connection.listening(server)) {
+                    return;
+                }
+                channel = server.accept();
+            } finally {
+                closeQuietly(server);
+                endpoint.release();
+            }
+        } catch (IOException e) {
+            // accept прерван отменой
+            if (!emitter.isDisposed()) {
+                emitter.onError(e);
+            }
+            return;
+        }
+        if (!connection.connected(channel)) {
+            return;
+        }
+        try {
+            receive(channel, connection, emitter);
+        } catch (Exception e) {
+            connection.dispose();
+            emitter.onError(e);
+        } finally {
+            closeQuietly(channel);
+        }
+    }
+
+    private void receive(SocketChannel channel, Connection connection, Emitter<T> emitter) throws IOException {
+        Frames.readHandshake(channel);
+        connection.grant(credits);
+        int replenish = Math.max(1, credits / 2);
+        int consumed = 0;
+        PooledBuffer pooled = BufferPool.shared().acquire(BUFFER_SIZE);
+        ByteBuffer buffer = pooled.buffer();
+        try {
+            while (true) {
+                if (channel.read(buffer) < 0) {
+                    if (emitter.isDisposed()) {
+                        return;
+                    }
+                    throw new EOFException("Remote sender closed the connection without a terminal frame");
+                }
+                buffer.flip();
+                int needed = 0;
+                while (buffer.remaining() >= 4) {
+                    int length = buffer.getInt(buffer.position());
+                    if (length < 1 || length > Frames.MAX_FRAME) {
+                        throw new IOException("Malformed frame of " + length + " bytes");
+                    }
+                    if (buffer.remaining() < 4 + length) {
+                        needed = 4 + length;
+                        break;
+                    }
+                    int start = buffer.position() + 4;
+                    int end = start + length;
+                    int limit = buffer.limit();
+                    byte type = buffer.get(start);
+                    buffer.limit(end).position(start + 1);
+                    if (type == Frames.DATA) {
+                        // После отмены кадры дочитываются до конца потока, но не разбираются
+                        if (!emitter.isDisposed()) {
+                            emitter.onNext(serializer.deserialize(buffer));
+                            if (++consumed >= replenish) {
+                                connection.grant(consumed);
+                                consumed = 0;
+                            }
+                        }
+                    } else if (type == Frames.COMPLETE) {
+                        closeQuietly(channel);
+                        emitter.onComplete();
+                        return;
+                    } else if (type == Frames.ERROR) {
+                        RemoteException error = Frames.readError(buffer);
+                        closeQuietly(channel);
+                        emitter.onError(error);
+                        return;
+                    } else {
+                        throw new IOException("Unexpected frame type " + type);
+                    }
+                    buffer.limit(limit).position(end);
+                }
+                // Кадр крупнее буфера: переходим на буфер по размеру кадра
+                if (needed > buffer.capacity()) {
+                    ByteBuffer larger = ByteBuffer.allocate(needed);
+                    larger.put(buffer);
+                    buffer = larger;
+                } else {
+                    buffer.compact();
+                }
+            }
+        } finally {
+            pooled.dispose();
+        }
+    }
+
+    private static void closeQuietly(Channel channel) {
+        try {
+            channel.close();
+        } catch (IOException ignored) {
+            // соединение уже не нужно
+        }
+    }
+
+    // Отмена может прийти из любого потока, в том числе пока подписка ещё ждёт в accept
+    private static final class Connection implements Disposable {
+        private ServerSocketChannel server;
+        private SocketChannel channel;
+        private boolean disposed;
+
+        synchronized boolean listening(ServerSocketChannel server) {
+            if (disposed) {
+                return false;
+            }
+            this.server = server;
+            return true;
+        }
+
+        synchronized boolean connected(SocketChannel channel) {
+            if (disposed) {
+                closeQuietly(channel);
+                return false;
+            }
+            this.channel = channel;
+            this.server = null;
+            return true;
+        }
+
+        synchronized void grant(int credits) throws IOException {
+            if (!disposed) {
+                Frames.writeFully(channel, Frames.credit(credits));
+            }
+        }
+
+        @Override
+        public synchronized void dispose() {
+            if (disposed) {
+                return;
+            }
+            disposed = true;
+            if (channel != null) {
+                try {
+                    Frames.writeFully(channel, Frames.control(Frames.CANCEL));
+                    channel.shutdownOutput();
+                } catch (IOException e) {
+                    closeQuietly(channel);
+                }
+            } else if (server != null) {
+                closeQuietly(server);
+            }
+        }
+
+        @Override
+        public synchronized boolean isDisposed() {
+            return disposed;
+        }
+    }
+}
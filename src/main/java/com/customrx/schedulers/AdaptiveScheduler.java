@@ -0,0 +1,214 @@
+package com.customrx.schedulers;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Пул, который сам подбирает число потоков между minThreads и maxThreads.
+ * Раз в sampleInterval поток-контроллер снимает замер: сколько задач выполнено, сколько в среднем
+ * задача ждала в очереди и какая доля занятых потоков стоит в ожидании, — и передаёт его
+ * {@link HillClimbingController}. Новые потоки запускаются сразу, лишние завершаются, доделав текущую задачу.
+ * Число процессоров берётся из availableProcessors, который в контейнере учитывает квоту cgroup.
+ */
+public class AdaptiveScheduler implements Scheduler {
+    private static final long DEFAULT_SAMPLE_MILLIS = 500;
+    // Задачи, ждущие в очереди меньше этого, считаются выполненными без задержки
+    private static final long QUEUE_WAIT_THRESHOLD_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final LinkedBlockingQueue<Task> queue = new LinkedBlockingQueue<>();
+    private final Set<Worker> workers = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger threadCount = new AtomicInteger();
+    private final AtomicInteger counter = new AtomicInteger(1);
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder started = new LongAdder();
+    private final LongAdder waitNanos = new LongAdder();
+    private final HillClimbingController controller;
+    private final long sampleNanos;
+    private final Thread controllerThread;
+    private volatile int targetThreads;
+    private volatile boolean shutdown;
+
+    public AdaptiveScheduler() {
+        this(1, Math.max(2, Runtime.getRuntime().availableProcessors() * 8));
+    }
+
+    public AdaptiveScheduler(int minThreads, int maxThreads) {
+        this(minThreads, maxThreads, DEFAULT_SAMPLE_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    public AdaptiveScheduler(int minThreads, int maxThreads, long sampleInterval, TimeUnit unit) {
+        if (sampleInterval <= 0) {
+            throw new IllegalArgumentException("sampleInterval > 0 required but it was " + sampleInterval);
+        }
+        int cpus = Runtime.getRuntime().availableProcessors();
+        this.controller = new HillClimbingController(minThreads, maxThreads, cpus, QUEUE_WAIT_THRESHOLD_NANOS);
+        this.sampleNanos = unit.toNanos(sampleInterval);
+        this.targetThreads = Math.max(minThreads, Math.min(cpus, maxThreads));
+        this.controllerThread = new Thread(this::control, "adaptive-controller");
+        controllerThread.setDaemon(true);
+        controllerThread.start();
+    }
+
+    @Override
+    public void schedule(Runnable task) {
+        if (shutdown) {
+            throw new RejectedExecutionException("Scheduler is shut down");
+        }
+        queue.offer(new Task(task, System.nanoTime()));
+        // Потоки поднимаются лениво, до текущей цели
+        if (threadCount.get() < targetThreads) {
+            adjustThreads();
+        }
+    }
+
+    public int threadCount() {
+        return threadCount.get();
+    }
+
+    public int targetThreads() {
+        return targetThreads;
+    }
+
+    // Как ExecutorService.shutdown: новые задачи отклоняются, уже поставленные выполняются
+    @Override
+    public void shutdown() {
+        shutdown = true;
+        controllerThread.interrupt();
+    }
+
+    private void adjustThreads() {
+        for (;;) {
+            int current = threadCount.get();
+            if (shutdown || current >= targetThreads) {
+                return;
+            }
+            if (threadCount.compareAndSet(current, current + 1)) {
+                Worker worker = new Worker("adaptive-thread-" + counter.getAndIncrement());
+                workers.add(worker);
+                worker.start();
+            }
+        }
+    }
+
+    // Поток выходит, только если после его ухода останется не меньше цели
+    private boolean retire() {
+        for (;;) {
+            int current = threadCount.get();
+            if (current <= targetThreads) {
+                return false;
+            }
+            if (threadCount.compareAndSet(current, current - 1)) {
+                return true;
+            }
+        }
+    }
+
+    private void control() {
+        long lastTime = System.nanoTime();
+        long lastCompleted = 0;
+        long lastStarted = 0;
+        long lastWait = 0;
+        while (!shutdown) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(sampleNanos);
+            } catch (InterruptedException e) {
+                return;
+            }
+            long now = System.nanoTime();
+            long done = completed.sum();
+            long taken = started.sum();
+            long waited = waitNanos.sum();
+            double throughput = (done - lastCompleted) * 1e9 / Math.max(1, now - lastTime);
+            long averageWait = taken > lastStarted ? (waited - lastWait) / (taken - lastStarted) : 0;
+            // Задача, застрявшая в голове очереди, тоже считается ожиданием, даже если её ещё никто не взял
+            Task head = queue.peek();
+            if (head != null) {
+                averageWait = Math.max(averageWait, now - head.enqueuedAt);
+            }
+            targetThreads = controller.update(threadCount.get(), throughput, averageWait, blockedRatio());
+            adjustThreads();
+            lastTime = now;
+            lastCompleted = done;
+            lastStarted = taken;
+            lastWait = waited;
+        }
+    }
+
+    private double blockedRatio() {
+        int busy = 0;
+        int blocked = 0;
+        for (Worker worker : workers) {
+            if (worker.busy) {
+                busy++;
+                Thread.State state = worker.getState();
+                if (state == Thread.State.BLOCKED || state == Thread.State.WAITING
+                        || state == Thread.State.TIMED_WAITING) {
+                    blocked++;
+                }
+            }
+        }
+        return busy == 0 ? 0.0 : (double) blocked / busy;
+    }
+
+    private static final class Task {
+        final Runnable task;
+        final long enqueuedAt;
+
+        Task(Runnable task, long enqueuedAt) {
+            this.task = task;
+            this.enqueuedAt = enqueuedAt;
+        }
+    }
+
+    private final class Worker extends Thread {
+        volatile boolean busy;
+
+        Worker(String name) {
+            super(name);
+            setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            boolean retired = false;
+            try {
+                for (;;) {
+                    if (retire()) {
+                        retired = true;
+                        return;
+                    }
+                    Task task = queue.poll(sampleNanos, TimeUnit.NANOSECONDS);
+                    if (task == null) {
+                        if (shutdown) {
+                            return;
+                        }
+                        continue;
+                    }
+                    started.increment();
+                    waitNanos.add(System.nanoTime() - task.enqueuedAt);
+                    busy = true;
+                    try {
+                        task.task.run();
+                    } catch (Throwable e) {
+                        getUncaughtExceptionHandler().uncaughtException(this, e);
+                    } finally {
+                        busy = false;
+                        completed.increment();
+                    }
+                }
+            } catch (InterruptedException e) {
+                // поток прерван извне, его место займёт новый при следующей задаче
+            } finally {
+                workers.remove(this);
+                if (!retired) {
+                    threadCount.decrementAndGet();
+                }
+            }
+        }
+    }
+}
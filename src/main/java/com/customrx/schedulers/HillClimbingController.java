@@ -0,0 +1,84 @@
+package com.customrx.schedulers;
+
+/**
+ * Подбирает число потоков пула по замерам, в духе hill climbing из пула потоков .NET:
+ * шаг на один поток в текущем направлении, пока пропускная способность растёт, и разворот, когда она падает.
+ * Если задачи не ждут в очереди, лишние потоки не нужны, и пул сжимается.
+ * <p>
+ * Верхняя граница зависит от доли заблокированных потоков: пока потоки только считают, их не больше,
+ * чем процессоров (с учётом квоты cgroup, которую JVM отдаёт в availableProcessors), а потоки,
+ * ждущие ввода-вывода или блокировок, процессор не занимают, и на их долю пул может вырасти до maxThreads.
+ */
+public final class HillClimbingController {
+    // Изменения пропускной способности меньше этой доли считаются шумом
+    private static final double NOISE = 0.05;
+
+    private final int minThreads;
+    private final int maxThreads;
+    private final int cpuLimit;
+    private final long queueWaitThresholdNanos;
+    private int direction = 1;
+    private int lastThreads = -1;
+    private double lastThroughput = -1;
+
+    public HillClimbingController(int minThreads, int maxThreads, int cpuLimit, long queueWaitThresholdNanos) {
+        if (minThreads <= 0 || maxThreads < minThreads) {
+            throw new IllegalArgumentException("0 < minThreads <= maxThreads required but they were "
+                    + minThreads + " and " + maxThreads);
+        }
+        if (cpuLimit <= 0) {
+            throw new IllegalArgumentException("cpuLimit > 0 required but it was " + cpuLimit);
+        }
+        this.minThreads = minThreads;
+        this.maxThreads = maxThreads;
+        this.cpuLimit = cpuLimit;
+        this.queueWaitThresholdNanos = queueWaitThresholdNanos;
+    }
+
+    /**
+     * Принимает замер за прошедший интервал и возвращает новое число потоков.
+     *
+     * @param threads      число потоков во время замера
+     * @param throughput   выполнено задач в секунду
+     * @param queueWaitNanos среднее время ожидания задачи в очереди
+     * @param blockedRatio доля занятых потоков, которые стоят в ожидании, от 0 до 1
+     */
+    public synchronized int update(int threads, double throughput, long queueWaitNanos, double blockedRatio) {
+        int ceiling = ceiling(blockedRatio);
+        if (queueWaitNanos < queueWaitThresholdNanos) {
+            // История подъёма сбрасывается: после простоя рост нагрузки не должен выглядеть успехом сжатия
+            lastThreads = -1;
+            return Math.max(minThreads, Math.min(threads - 1, ceiling));
+        }
+        if (lastThreads < 0) {
+            direction = 1;
+        } else if (lastThreads != threads && lastThroughput > 0
+                && (throughput - lastThroughput) / lastThroughput < -NOISE) {
+            // Прошлый шаг ухудшил результат: идём обратно, иначе продолжаем в том же направлении
+            direction = -direction;
+        }
+        lastThreads = threads;
+        lastThroughput = throughput;
+        int next = Math.max(minThreads, Math.min(threads + direction, ceiling));
+        // Упёрлись в границу: следующий шаг пробует другое направление
+        if (next == threads) {
+            direction = -direction;
+        }
+        return next;
+    }
+
+    // Сколько потоков можно держать, чтобы работающих было не больше, чем процессоров
+    public int ceiling(double blockedRatio) {
+        double running = Math.max(1.0 - blockedRatio, 1.0 / maxThreads);
+        long ceiling = (long) Math.ceil(cpuLimit / running);
+        return (int) Math.max(minThreads, Math.min(maxThreads, ceiling));
+    }
+
+    public int minThreads() {
+        return minThreads;
+    }
+
+    public int maxThreads() {
+        return maxThreads;
+    }
+}
@@ -0,0 +1,234 @@
+package com.customrx.schedulers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Планировщик из N последовательных полос: задачи одного ключа выполняются строго по очереди,
+ * разные ключи - параллельно. Полоса - это MPSC-очередь и цикл разбора, который запускается на пуле,
+ * только когда в пустую очередь пришла задача, поэтому полоса не держит поток, пока ей нечего делать.
+ * <p>
+ * По умолчанию ключ закреплён за полосой по хэшу. С rebalanceHotKeys ключ с перегруженной полосы
+ * переезжает на самую свободную, даже если его задачи ещё в работе: новые задачи ключа откладываются,
+ * пока старая полоса не выполнит последнюю из прежних, поэтому порядок по ключу сохраняется,
+ * а горячие ключи, попавшие на одну полосу, расходятся, не дожидаясь паузы в потоке.
+ */
+public class KeyedScheduler implements Scheduler {
+    // Переносим ключ, только если его полоса заметно загруженнее самой свободной
+    private static final int REBALANCE_SLACK = 16;
+    private static final Object NULL_KEY = new Object();
+
+    private final Lane[] lanes;
+    private final boolean rebalanceHotKeys;
+    private final ConcurrentHashMap<Object, KeyState> keys = new ConcurrentHashMap<>();
+    private final AtomicInteger nextLane = new AtomicInteger();
+    private final ExecutorService executor;
+    private volatile boolean shutdown;
+
+    public KeyedScheduler() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    public KeyedScheduler(int laneCount) {
+        this(laneCount, false);
+    }
+
+    public KeyedScheduler(int laneCount, boolean rebalanceHotKeys) {
+        if (laneCount <= 0) {
+            throw new IllegalArgumentException("laneCount > 0 required but it was " + laneCount);
+        }
+        this.rebalanceHotKeys = rebalanceHotKeys;
+        this.lanes = new Lane[laneCount];
+        for (int i = 0; i < laneCount; i++) {
+            lanes[i] = new Lane();
+        }
+        this.executor = Executors.newFixedThreadPool(laneCount, new ThreadFactory() {
+            private final AtomicInteger counter = new AtomicInteger(1);
+
+            @Override
+            public Thread newThread(Runnable r) {
+                Thread t = new Thread(r, "keyed-thread-" + counter.getAndIncrement());
+                t.setDaemon(true);
+                return t;
+            }
+        });
+    }
+
+    // Задача без ключа не требует порядка и уходит на полосы по кругу
+    @Override
+    public void schedule(Runnable task) {
+        lanes[Math.floorMod(nextLane.getAndIncrement(), lanes.length)].submit(task);
+    }
+
+    public void schedule(Object key, Runnable task) {
+        if (!rebalanceHotKeys) {
+            lanes[laneIndex(key)].submit(task);
+            return;
+        }
+        if (shutdown) {
+            throw new RejectedExecutionException("Scheduler is shut down");
+        }
+        Object mapKey = key == null ? NULL_KEY : key;
+        // Постановка идёт внутри compute, чтобы она упорядочилась с переездом ключа в release
+        keys.compute(mapKey, (k, current) -> {
+            if (current != null && current.parked != null) {
+                // Ключ ещё переезжает: задача ждёт вместе с остальными отложенными
+                current.parked.add(wrap(mapKey, current, task));
+                current.lane.reserved.incrementAndGet();
+                current.pending++;
+                return current;
+            }
+            Lane lane = chooseLane(current != null ? current.lane : lanes[laneIndex(key)]);
+            if (current != null && lane != current.lane) {
+                KeyState next = new KeyState(lane);
+                next.parked = new ArrayList<>();
+                next.parked.add(wrap(mapKey, next, task));
+                lane.reserved.incrementAndGet();
+                next.pending = 1;
+                current.successor = next;
+                return next;
+            }
+            KeyState state = current != null ? current : new KeyState(lane);
+            state.lane.submit(wrap(mapKey, state, task));
+            state.pending++;
+            return state;
+        });
+    }
+
+    public int laneCount() {
+        return lanes.length;
+    }
+
+    // Как ExecutorService.shutdown: новые задачи отклоняются, уже поставленные выполняются
+    @Override
+    public void shutdown() {
+        shutdown = true;
+        executor.shutdown();
+    }
+
+    private Runnable wrap(Object mapKey, KeyState state, Runnable task) {
+        return () -> {
+            try {
+                task.run();
+            } finally {
+                release(mapKey, state);
+            }
+        };
+    }
+
+    private void release(Object mapKey, KeyState state) {
+        keys.compute(mapKey, (k, current) -> {
+            if (--state.pending > 0) {
+                return current;
+            }
+            KeyState next = state.successor;
+            if (next == null) {
+                return current == state ? null : current;
+            }
+            // Старая полоса выполнила последнюю задачу ключа: отложенные уходят на новую по порядку
+            List<Runnable> parked = next.parked;
+            next.parked = null;
+            next.lane.reserved.addAndGet(-parked.size());
+            try {
+                for (Runnable task : parked) {
+                    next.lane.submit(task);
+                }
+            } catch (RejectedExecutionException e) {
+                // После shutdown отложенные задачи уже не выполнятся, и ключ можно забыть
+                return null;
+            }
+            return current;
+        });
+    }
+
+    private int laneIndex(Object key) {
+        int h = key == null ? 0 : key.hashCode();
+        // Перемешиваем старшие биты, чтобы ключи с похожими хэшами не сбивались на одну полосу
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        return Math.floorMod(h, lanes.length);
+    }
+
+    private Lane chooseLane(Lane current) {
+        Lane idlest = current;
+        for (Lane lane : lanes) {
+            if (lane.backlog() < idlest.backlog()) {
+                idlest = lane;
+            }
+        }
+        return current.backlog() > idlest.backlog() + REBALANCE_SLACK ? idlest : current;
+    }
+
+    // Все поля меняются только внутри compute по ключу
+    private static final class KeyState {
+        final Lane lane;
+        // Задачи ключа, поставленные или отложенные, но ещё не выполненные
+        int pending;
+        // Состояние на новой полосе, если ключ переехал, пока здесь ещё были задачи
+        KeyState successor;
+        // Задачи, ждущие, пока предыдущая полоса доделает ключ; null, когда ждать нечего
+        List<Runnable> parked;
+
+        KeyState(Lane lane) {
+            this.lane = lane;
+        }
+    }
+
+    private final class Lane implements Runnable {
+        private final Queue<Runnable> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger wip = new AtomicInteger();
+        // Задачи переехавших ключей, которые придут сюда, как только освободится их старая полоса
+        final AtomicInteger reserved = new AtomicInteger();
+
+        void submit(Runnable task) {
+            if (shutdown) {
+                throw new RejectedExecutionException("Scheduler is shut down");
+            }
+            queue.offer(task);
+            if (wip.getAndIncrement() == 0) {
+                try {
+                    executor.execute(this);
+                } catch (RejectedExecutionException e) {
+                    // shutdown пришёл между проверкой и запуском: разбор не начнётся, и счётчик
+                    // не должен остаться ненулевым, иначе полоса считала бы себя занятой навсегда
+                    queue.clear();
+                    wip.set(0);
+                    throw e;
+                }
+            }
+        }
+
+        int backlog() {
+            return wip.get() + reserved.get();
+        }
+
+        @Override
+        public void run() {
+            int missed = 1;
+            for (;;) {
+                Runnable task;
+                while ((task = queue.poll()) != null) {
+                    try {
+                        task.run();
+                    } catch (Throwable e) {
+                        // Упавшая задача не должна останавливать полосу
+                        Thread.currentThread().getUncaughtExceptionHandler().uncaughtException(Thread.currentThread(), e);
+                    }
+                }
+                missed = wip.addAndGet(-missed);
+                if (missed == 0) {
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -1,6 +1,25 @@
 package com.customrx.schedulers;
 
+import com.customrx.disposable.Disposable;
+
+import java.util.concurrent.TimeUnit;
+
 public interface Scheduler {
     void schedule(Runnable task);
+
+    // По умолчанию задержку отсчитывает общий поток-таймер, а сама задача выполняется на этом планировщике
+    default Disposable schedule(Runnable task, long delay, TimeUnit unit) {
+        return SchedulerTimer.schedule(this, task, delay, unit);
+    }
+
+    // Один периодический таймер вместо отдельной задачи на каждый тик
+    default Disposable schedulePeriodically(Runnable task, long initialDelay, long period, TimeUnit unit) {
+        return SchedulerTimer.schedulePeriodically(this, task, initialDelay, period, unit);
+    }
+
+    default long now(TimeUnit unit) {
+        return unit.convert(System.nanoTime(), TimeUnit.NANOSECONDS);
+    }
+
     void shutdown();
 }
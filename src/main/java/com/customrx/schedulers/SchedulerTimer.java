@@ -0,0 +1,66 @@
+package com.customrx.schedulers;
+
+import com.customrx.disposable.Disposable;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Общий поток-таймер для отложенных задач. Сам таймер задачи не выполняет,
+ * а только передаёт их своему планировщику, поэтому не блокируется пользовательским кодом.
+ */
+final class SchedulerTimer {
+    private static final ScheduledExecutorService TIMER = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "scheduler-timer");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private SchedulerTimer() {
+    }
+
+    static Disposable schedule(Scheduler scheduler, Runnable task, long delay, TimeUnit unit) {
+        TimedTask timed = new TimedTask(task);
+        timed.future = TIMER.schedule(() -> scheduler.schedule(timed), delay, unit);
+        return timed;
+    }
+
+    static Disposable schedulePeriodically(Scheduler scheduler, Runnable task, long initialDelay, long period, TimeUnit unit) {
+        TimedTask timed = new TimedTask(task);
+        timed.future = TIMER.scheduleAtFixedRate(() -> scheduler.schedule(timed), initialDelay, period, unit);
+        return timed;
+    }
+
+    private static final class TimedTask implements Runnable, Disposable {
+        private final Runnable task;
+        private volatile ScheduledFuture<?> future;
+        private volatile boolean disposed;
+
+        TimedTask(Runnable task) {
+            this.task = task;
+        }
+
+        @Override
+        public void run() {
+            if (!disposed) {
+                task.run();
+            }
+        }
+
+        @Override
+        public void dispose() {
+            disposed = true;
+            ScheduledFuture<?> f = future;
+            if (f != null) {
+                f.cancel(false);
+            }
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return disposed;
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.customrx.schedulers;
+
+import com.customrx.disposable.Disposable;
+
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Планировщик с виртуальным временем для детерминированных тестов.
+ * Задачи не выполняются сами: время двигает тест через {@link #advanceTimeBy(long, TimeUnit)},
+ * и все задачи, срок которых наступил, выполняются в вызывающем потоке по порядку сроков, а при равных - по порядку постановки.
+ */
+public class TestScheduler implements Scheduler {
+    private final PriorityQueue<TimedAction> queue = new PriorityQueue<>();
+    private long nowNanos;
+    private long sequence;
+
+    @Override
+    public void schedule(Runnable task) {
+        enqueue(task, 0L, 0L);
+    }
+
+    @Override
+    public Disposable schedule(Runnable task, long delay, TimeUnit unit) {
+        return enqueue(task, unit.toNanos(Math.max(0L, delay)), 0L);
+    }
+
+    @Override
+    public Disposable schedulePeriodically(Runnable task, long initialDelay, long period, TimeUnit unit) {
+        if (period <= 0) {
+            throw new IllegalArgumentException("period > 0 required but it was " + period);
+        }
+        return enqueue(task, unit.toNanos(Math.max(0L, initialDelay)), unit.toNanos(period));
+    }
+
+    @Override
+    public synchronized long now(TimeUnit unit) {
+        return unit.convert(nowNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void advanceTimeBy(long delay, TimeUnit unit) {
+        long target;
+        synchronized (this) {
+            target = nowNanos + unit.toNanos(delay);
+        }
+        runUntil(target);
+    }
+
+    public void advanceTimeTo(long time, TimeUnit unit) {
+        runUntil(unit.toNanos(time));
+    }
+
+    // Выполняет задачи, срок которых уже наступил, не сдвигая часы
+    public void triggerActions() {
+        long target;
+        synchronized (this) {
+            target = nowNanos;
+        }
+        runUntil(target);
+    }
+
+    public synchronized int pendingActions() {
+        return queue.size();
+    }
+
+    @Override
+    public synchronized void shutdown() {
+        queue.clear();
+    }
+
+    private synchronized TimedAction enqueue(Runnable task, long delayNanos, long periodNanos) {
+        TimedAction action = new TimedAction(this, task, nowNanos + delayNanos, periodNanos, sequence++);
+        queue.add(action);
+        return action;
+    }
+
+    // Задача выполняется вне блокировки, поэтому может планировать новые задачи, в том числе на тот же момент
+    private void runUntil(long target) {
+        for (;;) {
+            TimedAction action;
+            synchronized (this) {
+                action = queue.peek();
+                if (action == null || action.time > target) {
+                    nowNanos = Math.max(nowNanos, target);
+                    return;
+                }
+                queue.poll();
+                nowNanos = Math.max(nowNanos, action.time);
+            }
+            if (action.disposed) {
+                continue;
+            }
+            action.task.run();
+            if (action.period > 0 && !action.disposed) {
+                synchronized (this) {
+                    action.time += action.period;
+                    action.order = sequence++;
+                    queue.add(action);
+                }
+            }
+        }
+    }
+
+    private static final class TimedAction implements Comparable<TimedAction>, Disposable {
+        private final TestScheduler scheduler;
+        private final Runnable task;
+        private final long period;
+        private long time;
+        private long order;
+        private volatile boolean disposed;
+
+        TimedAction(TestScheduler scheduler, Runnable task, long time, long period, long order) {
+            this.scheduler = scheduler;
+            this.task = task;
+            this.time = time;
+            this.period = period;
+            this.order = order;
+        }
+
+        @Override
+        public int compareTo(TimedAction other) {
+            int byTime = Long.compare(time, other.time);
+            return byTime != 0 ? byTime : Long.compare(order, other.order);
+        }
+
+        @Override
+        public void dispose() {
+            disposed = true;
+            synchronized (scheduler) {
+                scheduler.queue.remove(this);
+            }
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return disposed;
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.customrx;
+
+import com.customrx.core.*;
+import com.customrx.observers.TestObserver;
+import com.customrx.schedulers.AdaptiveScheduler;
+import com.customrx.schedulers.HillClimbingController;
+import org.junit.jupiter.api.Test;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveSchedulerTest {
+
+    private static final long WAITING = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private static HillClimbingController controller(int min, int max, int cpus) {
+        return new HillClimbingController(min, max, cpus, TimeUnit.MILLISECONDS.toNanos(1));
+    }
+
+    @Test
+    void testControllerShrinksWhenNothingWaits() {
+        HillClimbingController controller = controller(2, 16, 4);
+        assertEquals(5, controller.update(6, 1000, 0, 0.5));
+        // Выше потолка по процессорам пул сжимается сразу до него
+        assertEquals(4, controller.update(6, 1000, 0, 0.0));
+        assertEquals(2, controller.update(2, 1000, 0, 0.0));
+    }
+
+    @Test
+    void testControllerClimbsWhileThroughputGrows() {
+        HillClimbingController controller = controller(1, 64, 2);
+        // Потоки почти всё время ждут ввода-вывода, поэтому потолок высокий
+        int threads = 2;
+        for (int step = 0; step < 5; step++) {
+            threads = controller.update(threads, 100.0 * threads, WAITING, 0.9);
+        }
+        assertEquals(7, threads);
+    }
+
+    @Test
+    void testControllerReversesWhenThroughputDrops() {
+        HillClimbingController controller = controller(1, 64, 2);
+        assertEquals(5, controller.update(4, 400, WAITING, 0.9));
+        // Пятый поток только добавил конкуренции: шаг назад
+        assertEquals(4, controller.update(5, 300, WAITING, 0.9));
+        assertEquals(3, controller.update(4, 400, WAITING, 0.9));
+    }
+
+    @Test
+    void testCeilingFollowsCpuLimitAndBlocking() {
+        HillClimbingController controller = controller(1, 32, 4);
+        assertEquals(4, controller.ceiling(0.0));
+        assertEquals(8, controller.ceiling(0.5));
+        assertEquals(16, controller.ceiling(0.75));
+        assertEquals(32, controller.ceiling(1.0));
+        // Вычислительные задачи не раздувают пул сверх квоты процессоров
+        assertEquals(4, controller.update(4, 1000, WAITING, 0.0));
+    }
+
+    @Test
+    void testGrowsForBlockingTasksAndShrinksWhenIdle() throws InterruptedException {
+        int cpus = Runtime.getRuntime().availableProcessors();
+        AdaptiveScheduler scheduler = new AdaptiveScheduler(1, cpus * 4, 20, TimeUnit.MILLISECONDS);
+        try {
+            int tasks = cpus * 60;
+            CountDownLatch done = new CountDownLatch(tasks);
+            AtomicInteger peak = new AtomicInteger();
+            for (int i = 0; i < tasks; i++) {
+                scheduler.schedule(() -> {
+                    peak.accumulateAndGet(scheduler.threadCount(), Math::max);
+                    try {
+                        Thread.sleep(20);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    done.countDown();
+                });
+            }
+            assertTrue(done.await(30, TimeUnit.SECONDS));
+            assertTrue(peak.get() > cpus, "peak " + peak.get() + " threads for " + cpus + " cpus");
+
+            // Без нагрузки пул возвращается к минимуму
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (scheduler.threadCount() > 1 && System.nanoTime() < deadline) {
+                Thread.sleep(20);
+            }
+            assertEquals(1, scheduler.threadCount());
+        } finally {
+            scheduler.shutdown();
+        }
+    }
+
+    @Test
+    void testRunsObservablePipeline() {
+        AdaptiveScheduler scheduler = new AdaptiveScheduler(1, 4);
+        try {
+            TestObserver<String> observer = Observable.just(1)
+                    .subscribeOn(scheduler)
+                    .map(i -> Thread.currentThread().getName())
+                    .test();
+            observer.awaitDone(5, TimeUnit.SECONDS);
+            observer.assertComplete().assertValueCount(1);
+            assertTrue(observer.values().get(0).startsWith("adaptive-thread-"));
+        } finally {
+            scheduler.shutdown();
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.customrx;
+
+import com.customrx.core.*;
+import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import static org.junit.jupiter.api.Assertions.*;
+
+class AggregationTest {
+
+    private static Observable<Integer> range(int count) {
+        return Observable.create(emitter -> {
+            for (int i = 1; i <= count; i++) {
+                emitter.onNext(i);
+            }
+            emitter.onComplete();
+        });
+    }
+
+    @Test
+    void testReduce() {
+        List<Integer> results = new ArrayList<>();
+        range(5).reduce(Integer::sum).subscribe(results::add, error -> {}, () -> {});
+        assertEquals(Arrays.asList(15), results);
+    }
+
+    @Test
+    void testReduceEmptyWithoutSeed() {
+        List<Integer> results = new ArrayList<>();
+        AtomicBoolean completed = new AtomicBoolean();
+        range(0).reduce(Integer::sum).subscribe(results::add, error -> {}, () -> completed.set(true));
+        assertTrue(results.isEmpty());
+        assertTrue(completed.get());
+    }
+
+    @Test
+    void testReduceWithSeed() {
+        List<String> results = new ArrayList<>();
+        range(3).reduce("", (acc, x) -> acc + x).subscribe(results::add, error -> {});
+        assertEquals(Arrays.asList("123"), results);
+    }
+
+    @Test
+    void testScan() {
+        List<Integer> results = new ArrayList<>();
+        range(4).scan(Integer::sum).subscribe(results::add, error -> {}, () -> {});
+        assertEquals(Arrays.asList(1, 3, 6, 10), results);
+    }
+
+    @Test
+    void testCount() {
+        List<Long> results = new ArrayList<>();
+        range(7).filter(x -> x % 2 == 1).count().subscribe(results::add, error -> {});
+        range(0).count().subscribe(results::add, error -> {});
+        assertEquals(Arrays.asList(4L, 0L), results);
+    }
+
+    @Test
+    void testToListAndToMap() {
+        AtomicReference<List<Integer>> list = new AtomicReference<>();
+        AtomicReference<Map<Integer, String>> map = new AtomicReference<>();
+
+        range(3).toList(3).subscribe(list::set, error -> {});
+        range(3).toMap(x -> x, x -> "v" + x).subscribe(map::set, error -> {});
+
+        assertEquals(Arrays.asList(1, 2, 3), list.get());
+        assertEquals("v2", map.get().get(2));
+        assertEquals(3, map.get().size());
+    }
+
+    @Test
+    void testCollectWithStreamCollector() {
+        AtomicReference<String> result = new AtomicReference<>();
+        range(4).map(String::valueOf).collect(Collectors.joining(",")).subscribe(result::set, error -> {});
+        assertEquals("1,2,3,4", result.get());
+    }
+
+    @Test
+    void testReducerErrorStopsAggregation() {
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        List<Integer> results = new ArrayList<>();
+
+        range(5).reduce((acc, x) -> {
+            if (x == 3) throw new RuntimeException("Bad item");
+            return acc + x;
+        }).subscribe(results::add, error::set, () -> {});
+
+        assertTrue(results.isEmpty());
+        assertEquals("Bad item", error.get().getMessage());
+    }
+}
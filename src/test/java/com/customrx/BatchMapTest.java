@@ -0,0 +1,153 @@
+package com.customrx;
+
+import com.customrx.core.*;
+import com.customrx.observers.TestObserver;
+import com.customrx.schedulers.IOScheduler;
+import com.customrx.schedulers.SingleThreadScheduler;
+import com.customrx.schedulers.TestScheduler;
+import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import static org.junit.jupiter.api.Assertions.*;
+
+class BatchMapTest {
+
+    private static Observable<Integer> range(int count) {
+        return Observable.create(emitter -> {
+            for (int i = 0; i < count; i++) {
+                emitter.onNext(i);
+            }
+            emitter.onComplete();
+        });
+    }
+
+    private static Observable<Map<Integer, String>> lookup(List<Integer> keys) {
+        Map<Integer, String> results = new HashMap<>();
+        for (Integer key : keys) {
+            results.put(key, "v" + key);
+        }
+        return Observable.just(results);
+    }
+
+    @Test
+    void testBatchesBySize() {
+        List<List<Integer>> calls = new ArrayList<>();
+
+        List<String> results = range(10)
+                .batchMap(4, 1, TimeUnit.MINUTES, new SingleThreadScheduler(), (List<Integer> keys) -> {
+                    calls.add(keys);
+                    return lookup(keys);
+                })
+                .toList()
+                .blockingGet();
+
+        assertEquals(Arrays.asList("v0", "v1", "v2", "v3", "v4", "v5", "v6", "v7", "v8", "v9"), results);
+        assertEquals(Arrays.asList(Arrays.asList(0, 1, 2, 3), Arrays.asList(4, 5, 6, 7), Arrays.asList(8, 9)), calls);
+    }
+
+    @Test
+    void testBatchesByTime() {
+        TestScheduler scheduler = new TestScheduler();
+        AtomicReference<Emitter<Integer>> source = new AtomicReference<>();
+        List<List<Integer>> calls = new ArrayList<>();
+
+        TestObserver<String> observer = Observable.<Integer>create(source::set)
+                .batchMap(100, 30, TimeUnit.MILLISECONDS, scheduler, (List<Integer> keys) -> {
+                    calls.add(keys);
+                    return lookup(keys);
+                })
+                .test();
+
+        source.get().onNext(1);
+        source.get().onNext(2);
+        scheduler.advanceTimeBy(10, TimeUnit.MILLISECONDS);
+        source.get().onNext(3);
+        // Срок пачки отсчитывается от первого элемента
+        scheduler.advanceTimeBy(19, TimeUnit.MILLISECONDS);
+        assertTrue(calls.isEmpty());
+        scheduler.advanceTimeBy(1, TimeUnit.MILLISECONDS);
+        observer.assertValues("v1", "v2", "v3");
+
+        scheduler.advanceTimeBy(200, TimeUnit.MILLISECONDS);
+        source.get().onNext(4);
+        source.get().onComplete();
+        observer.assertValues("v1", "v2", "v3", "v4").assertComplete();
+        assertEquals(Arrays.asList(Arrays.asList(1, 2, 3), Arrays.asList(4)), calls);
+    }
+
+    @Test
+    void testDisposeCancelsBatchTimer() {
+        TestScheduler scheduler = new TestScheduler();
+        AtomicReference<Emitter<Integer>> source = new AtomicReference<>();
+
+        TestObserver<String> observer = Observable.<Integer>create(source::set)
+                .batchMap(100, 30, TimeUnit.MILLISECONDS, scheduler, BatchMapTest::lookup)
+                .test();
+        source.get().onNext(1);
+        assertEquals(1, scheduler.pendingActions());
+
+        observer.dispose();
+        assertEquals(0, scheduler.pendingActions());
+        // Срок пачки прошёл, но отменённая подписка ничего не получает
+        scheduler.advanceTimeBy(30, TimeUnit.MILLISECONDS);
+        observer.assertNoValues();
+    }
+
+    @Test
+    void testOrderPreservedWhenBatchesCompleteOutOfOrder() {
+        IOScheduler io = new IOScheduler();
+
+        List<String> results = range(9)
+                .batchMap(3, 1, TimeUnit.MINUTES, new SingleThreadScheduler(), (List<Integer> keys) ->
+                        Observable.<Map<Integer, String>>create(emitter -> {
+                            // Первая пачка отвечает последней
+                            try {
+                                Thread.sleep(keys.get(0) == 0 ? 150 : 10);
+                            } catch (InterruptedException e) {
+                                emitter.onError(e);
+                                return;
+                            }
+                            lookup(keys).subscribe(emitter::onNext, emitter::onError, emitter::onComplete);
+                        }).subscribeOn(io))
+                .toList()
+                .blockingGet();
+
+        assertEquals(Arrays.asList("v0", "v1", "v2", "v3", "v4", "v5", "v6", "v7", "v8"), results);
+    }
+
+    @Test
+    void testDuplicateKeysAndMissingResults() {
+        List<List<Integer>> calls = new ArrayList<>();
+
+        List<String> results = Observable.fromIterable(Arrays.asList(1, 2, 1, 3))
+                .batchMap(10, 1, TimeUnit.MINUTES, new SingleThreadScheduler(), (List<Integer> keys) -> {
+                    calls.add(keys);
+                    Map<Integer, String> partial = new HashMap<>();
+                    partial.put(1, "one");
+                    partial.put(3, "three");
+                    return Observable.just(partial);
+                })
+                .toList()
+                .blockingGet();
+
+        // Ключи в запросе уникальны, ответ раздаётся каждому элементу, отсутствующий ключ пропускается
+        assertEquals(Arrays.asList(Arrays.asList(1, 2, 3)), calls);
+        assertEquals(Arrays.asList("one", "one", "three"), results);
+    }
+
+    @Test
+    void testBatchErrorFailsStream() {
+        RuntimeException error = assertThrows(RuntimeException.class, () -> range(5)
+                .batchMap(2, 1, TimeUnit.MINUTES, new SingleThreadScheduler(), (List<Integer> keys) ->
+                        keys.contains(3)
+                                ? Observable.<Map<Integer, String>>create(emitter -> emitter.onError(new RuntimeException("Backend down")))
+                                : lookup(keys))
+                .blockingLast());
+        assertEquals("Backend down", error.getMessage());
+    }
+}
@@ -0,0 +1,121 @@
+package com.customrx;
+
+import com.customrx.core.*;
+import com.customrx.schedulers.IOScheduler;
+import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.junit.jupiter.api.Assertions.*;
+
+class BlockingTest {
+
+    private static Observable<Integer> range(int count) {
+        return Observable.create(emitter -> {
+            for (int i = 1; i <= count; i++) {
+                emitter.onNext(i);
+            }
+            emitter.onComplete();
+        });
+    }
+
+    @Test
+    void testBlockingFirstAndLast() {
+        assertEquals(1, range(5).blockingFirst());
+        assertEquals(5, range(5).blockingLast());
+        assertEquals(1, range(5).subscribeOn(new IOScheduler()).blockingFirst());
+        assertEquals(5, range(5).subscribeOn(new IOScheduler()).blockingLast());
+    }
+
+    @Test
+    void testBlockingFirstOnEmptyAndError() {
+        assertThrows(NoSuchElementException.class, () -> range(0).blockingFirst());
+
+        RuntimeException error = assertThrows(RuntimeException.class, () -> Observable.<Integer>create(emitter ->
+                emitter.onError(new IllegalStateException("Broken"))).subscribeOn(new IOScheduler()).blockingLast());
+        assertEquals("Broken", error.getMessage());
+    }
+
+    @Test
+    void testBlockingFirstStopsInfiniteSource() {
+        AtomicInteger emitted = new AtomicInteger();
+        Observable<Integer> infinite = Observable.create(emitter -> {
+            for (int i = 1; !emitter.isDisposed(); i++) {
+                emitted.incrementAndGet();
+                emitter.onNext(i);
+            }
+        });
+        assertEquals(1, infinite.blockingFirst());
+        assertEquals(1, emitted.get());
+    }
+
+    @Test
+    void testInterruptedBlockingCallKeepsInterruptFlag() {
+        Thread.currentThread().interrupt();
+        try {
+            RuntimeException error = assertThrows(RuntimeException.class,
+                    () -> Observable.<Integer>create(emitter -> { }).blockingFirst());
+            assertInstanceOf(InterruptedException.class, error.getCause());
+            assertTrue(Thread.currentThread().isInterrupted());
+        } finally {
+            Thread.interrupted();
+        }
+    }
+
+    @Test
+    void testBlockingIterableSynchronousSource() {
+        List<Integer> results = new ArrayList<>();
+        for (Integer item : range(10).blockingIterable(2)) {
+            results.add(item);
+        }
+        assertEquals(Arrays.asList(1, 2, 3, 4, 5, 6, 7, 8, 9, 10), results);
+    }
+
+    @Test
+    void testBlockingIterableBoundsAsyncProducer() {
+        int prefetch = 4;
+        AtomicInteger produced = new AtomicInteger();
+        AtomicInteger consumed = new AtomicInteger();
+        AtomicInteger maxLag = new AtomicInteger();
+
+        Observable<Integer> source = Observable.<Integer>create(emitter -> {
+            for (int i = 0; i < 1000; i++) {
+                produced.incrementAndGet();
+                emitter.onNext(i);
+            }
+            emitter.onComplete();
+        }).subscribeOn(new IOScheduler());
+
+        int expected = 0;
+        for (Integer item : source.blockingIterable(prefetch)) {
+            assertEquals(expected++, item);
+            int lag = produced.get() - consumed.incrementAndGet();
+            maxLag.accumulateAndGet(lag, Math::max);
+        }
+
+        assertEquals(1000, consumed.get());
+        // Очередь на prefetch элементов плюс один элемент, ожидающий в производителе
+        assertTrue(maxLag.get() <= prefetch + 1, "Producer ran ahead by " + maxLag.get());
+    }
+
+    @Test
+    void testBlockingForEach() {
+        List<Integer> results = new ArrayList<>();
+        range(3).subscribeOn(new IOScheduler()).blockingForEach(results::add);
+        assertEquals(Arrays.asList(1, 2, 3), results);
+    }
+
+    @Test
+    void testToCompletableFuture() throws Exception {
+        CompletableFuture<Integer> future = range(4).map(x -> x * 10).subscribeOn(new IOScheduler()).toCompletableFuture();
+        assertEquals(40, future.get(1, TimeUnit.SECONDS));
+
+        CompletableFuture<Integer> failed = Observable.<Integer>create(emitter ->
+                emitter.onError(new RuntimeException("Failed"))).toCompletableFuture();
+        assertTrue(failed.isCompletedExceptionally());
+    }
+}
@@ -0,0 +1,160 @@
+package com.customrx;
+
+import com.customrx.buffers.BufferPool;
+import com.customrx.buffers.BufferPoolMetrics;
+import com.customrx.buffers.PooledBuffer;
+import com.customrx.io.Observables;
+import org.junit.jupiter.api.Test;
+import java.io.ByteArrayInputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+import static org.junit.jupiter.api.Assertions.*;
+
+class BufferPoolTest {
+
+    private static BufferPool newPool(boolean leakDetection) {
+        return new BufferPool(512, 64 * 1024, 4, 8, leakDetection);
+    }
+
+    @Test
+    void testSizeClassesAndReuse() {
+        BufferPool pool = newPool(false);
+
+        PooledBuffer first = pool.acquire(1000);
+        ByteBuffer buffer = first.buffer();
+        assertTrue(buffer.isDirect());
+        assertEquals(1024, buffer.capacity());
+        assertEquals(1000, buffer.limit());
+        buffer.putInt(42);
+        first.dispose();
+        assertTrue(first.isDisposed());
+        assertThrows(IllegalStateException.class, first::buffer);
+
+        // Тот же класс размера берётся из кэша потока и приходит очищенным
+        PooledBuffer second = pool.acquire(700);
+        assertSame(buffer, second.buffer());
+        assertEquals(0, second.buffer().position());
+        assertEquals(700, second.buffer().limit());
+        second.dispose();
+
+        PooledBuffer small = pool.acquire(10);
+        assertEquals(512, small.buffer().capacity());
+        small.dispose();
+
+        BufferPoolMetrics metrics = pool.metrics();
+        assertEquals(3, metrics.getAcquired());
+        assertEquals(1, metrics.getThreadCacheHits());
+        assertEquals(2, metrics.getAllocations());
+        assertEquals(1024 + 512, metrics.getAllocatedBytes());
+        assertEquals(1024 + 512, metrics.getRetainedBytes());
+        assertEquals(0, metrics.getOutstanding());
+    }
+
+    @Test
+    void testThreadCacheLimitedInBytes() {
+        BufferPool pool = new BufferPool(512, 64 * 1024, 4, 4096, 8, false);
+        PooledBuffer first = pool.acquire(2048);
+        PooledBuffer second = pool.acquire(2048);
+        PooledBuffer large = pool.acquire(16 * 1024);
+        first.dispose();
+        second.dispose();
+        // Два буфера по 2 КБ исчерпали лимит кэша потока, крупный уходит в общую очередь
+        large.dispose();
+        assertEquals(4096 + 16 * 1024, pool.metrics().getRetainedBytes());
+
+        pool.acquire(16 * 1024).dispose();
+        BufferPoolMetrics metrics = pool.metrics();
+        assertEquals(1, metrics.getSharedHits());
+        assertEquals(0, metrics.getThreadCacheHits());
+        assertEquals(4096 + 16 * 1024, metrics.getRetainedBytes());
+    }
+
+    @Test
+    void testReferenceCounting() {
+        BufferPool pool = newPool(false);
+        PooledBuffer buffer = pool.acquire(512);
+
+        buffer.retain();
+        assertEquals(2, buffer.refCount());
+        buffer.dispose();
+        assertFalse(buffer.isDisposed());
+        assertEquals(0, pool.metrics().getReleased());
+
+        buffer.dispose();
+        assertTrue(buffer.isDisposed());
+        assertEquals(1, pool.metrics().getReleased());
+        // Лишний dispose безопасен, лишний release - ошибка владельца
+        buffer.dispose();
+        assertEquals(1, pool.metrics().getReleased());
+        assertThrows(IllegalStateException.class, buffer::release);
+        assertThrows(IllegalStateException.class, buffer::retain);
+    }
+
+    @Test
+    void testSharedCacheBetweenThreads() throws Exception {
+        BufferPool pool = newPool(false);
+        PooledBuffer[] buffers = new PooledBuffer[6];
+        for (int i = 0; i < buffers.length; i++) {
+            buffers[i] = pool.acquire(2048);
+        }
+        // Кэш потока вмещает 4 буфера, остальные уходят в общую очередь
+        for (PooledBuffer buffer : buffers) {
+            buffer.dispose();
+        }
+
+        CompletableFuture.runAsync(() -> pool.acquire(2048).dispose()).get();
+
+        BufferPoolMetrics metrics = pool.metrics();
+        assertEquals(1, metrics.getSharedHits());
+        assertEquals(6, metrics.getAllocations());
+    }
+
+    @Test
+    void testOversizedBuffersAreNotPooled() {
+        BufferPool pool = newPool(false);
+        PooledBuffer large = pool.acquire(100_000);
+        assertEquals(100_000, large.buffer().capacity());
+        large.dispose();
+        pool.acquire(100_000).dispose();
+
+        BufferPoolMetrics metrics = pool.metrics();
+        assertEquals(2, metrics.getUnpooled());
+        assertEquals(2, metrics.getAllocations());
+        assertThrows(IllegalArgumentException.class, () -> pool.acquire(0));
+    }
+
+    @Test
+    void testLeakDetection() throws InterruptedException {
+        BufferPool pool = newPool(true);
+        AtomicReference<Throwable> reported = new AtomicReference<>();
+        pool.setLeakListener(reported::set);
+        pool.acquire(512).dispose();
+        pool.acquire(512);
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while (pool.metrics().getLeaks() == 0 && System.currentTimeMillis() < deadline) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        assertEquals(1, pool.metrics().getLeaks());
+        assertEquals("PooledBuffer allocation", reported.get().getCause().getMessage());
+    }
+
+    @Test
+    void testChannelSourceRunsWithoutNewAllocations() {
+        byte[] data = new byte[10_000];
+        Observables.fromChannel(Channels.newChannel(new ByteArrayInputStream(data)), 1024).blockingLast();
+        long allocations = BufferPool.shared().metrics().getAllocations();
+
+        for (int i = 0; i < 10; i++) {
+            long total = Observables.fromChannel(Channels.newChannel(new ByteArrayInputStream(data)), 1024)
+                    .reduce(0L, (sum, chunk) -> sum + chunk.remaining())
+                    .blockingGet();
+            assertEquals(data.length, total);
+        }
+
+        assertEquals(allocations, BufferPool.shared().metrics().getAllocations());
+    }
+}
@@ -0,0 +1,121 @@
+package com.customrx;
+
+import com.customrx.core.*;
+import com.customrx.operators.CacheStats;
+import com.customrx.operators.LookupCache;
+import com.customrx.schedulers.IOScheduler;
+import com.customrx.schedulers.TestScheduler;
+import org.junit.jupiter.api.Test;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.junit.jupiter.api.Assertions.*;
+
+class CacheTest {
+
+    // Имитация дорогого поиска, считающая вызовы по ключу
+    private static Observable<String> lookup(String key, ConcurrentHashMap<String, AtomicInteger> calls) {
+        calls.computeIfAbsent(key, k -> new AtomicInteger()).incrementAndGet();
+        return Observable.just(key.toUpperCase());
+    }
+
+    @Test
+    void testRepeatedKeysHitCache() {
+        ConcurrentHashMap<String, AtomicInteger> calls = new ConcurrentHashMap<>();
+        LookupCache<String, String> cache = new LookupCache<>(100, 1, TimeUnit.MINUTES);
+
+        List<String> results = Observable.fromIterable(Arrays.asList("a", "b", "a", "a", "c", "b"))
+                .cachedFlatMap(key -> key, key -> lookup(key, calls), cache)
+                .toList()
+                .blockingGet();
+
+        assertEquals(Arrays.asList("A", "B", "A", "A", "C", "B"), results);
+        assertEquals(1, calls.get("a").get());
+        assertEquals(1, calls.get("b").get());
+        CacheStats stats = cache.stats();
+        assertEquals(3, stats.getHits());
+        assertEquals(3, stats.getMisses());
+        assertEquals(0.5, stats.getHitRate(), 0.001);
+    }
+
+    @Test
+    void testConcurrentLookupsAreCoalesced() throws InterruptedException {
+        AtomicInteger loads = new AtomicInteger();
+        LookupCache<String, String> cache = new LookupCache<>(100, 1, TimeUnit.MINUTES);
+        Observable<String> slowLoad = Observable.<String>create(emitter -> {
+            loads.incrementAndGet();
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                emitter.onError(e);
+                return;
+            }
+            emitter.onNext("value");
+            emitter.onComplete();
+        }).subscribeOn(new IOScheduler());
+
+        CountDownLatch latch = new CountDownLatch(3);
+        List<String> results = new CopyOnWriteArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            cache.get("key", () -> slowLoad).subscribe(results::add, error -> fail(error), latch::countDown);
+        }
+
+        assertTrue(latch.await(1, TimeUnit.SECONDS));
+        assertEquals(Arrays.asList("value", "value", "value"), results);
+        assertEquals(1, loads.get());
+        assertEquals(2, cache.stats().getCoalesced());
+    }
+
+    @Test
+    void testSegmentedLruKeepsFrequentKeys() {
+        ConcurrentHashMap<String, AtomicInteger> calls = new ConcurrentHashMap<>();
+        LookupCache<String, String> cache = new LookupCache<>(5, 1, TimeUnit.MINUTES);
+
+        // "hot" запрошен дважды и переходит в защищённый сегмент; поток разовых ключей его не вытесняет
+        List<String> keys = Arrays.asList("hot", "hot", "k1", "k2", "k3", "k4", "k5", "k6", "hot");
+        Observable.fromIterable(keys).cachedFlatMap(key -> key, key -> lookup(key, calls), cache).blockingLast();
+
+        assertEquals(1, calls.get("hot").get());
+        assertTrue(cache.stats().getEvictions() >= 5);
+        assertTrue(cache.size() <= 5);
+    }
+
+    @Test
+    void testEntriesExpire() {
+        TestScheduler clock = new TestScheduler();
+        ConcurrentHashMap<String, AtomicInteger> calls = new ConcurrentHashMap<>();
+        LookupCache<String, String> cache = new LookupCache<>(10, 30, TimeUnit.MILLISECONDS, clock);
+
+        cache.get("a", () -> lookup("a", calls)).blockingLast();
+        cache.get("a", () -> lookup("a", calls)).blockingLast();
+        assertEquals(1, calls.get("a").get());
+
+        clock.advanceTimeBy(29, TimeUnit.MILLISECONDS);
+        cache.get("a", () -> lookup("a", calls)).blockingLast();
+        assertEquals(1, calls.get("a").get());
+
+        clock.advanceTimeBy(1, TimeUnit.MILLISECONDS);
+        cache.get("a", () -> lookup("a", calls)).blockingLast();
+        assertEquals(2, calls.get("a").get());
+        assertEquals(1, cache.stats().getExpirations());
+    }
+
+    @Test
+    void testErrorsAreNotCached() {
+        AtomicInteger attempts = new AtomicInteger();
+        LookupCache<String, String> cache = new LookupCache<>(10, 1, TimeUnit.MINUTES);
+        Observable<String> failing = Observable.create(emitter -> {
+            attempts.incrementAndGet();
+            emitter.onError(new RuntimeException("Lookup failed"));
+        });
+
+        assertThrows(RuntimeException.class, () -> cache.get("a", () -> failing).blockingLast());
+        assertThrows(RuntimeException.class, () -> cache.get("a", () -> failing).blockingLast());
+        assertEquals(2, attempts.get());
+        assertEquals(0, cache.size());
+    }
+}
@@ -0,0 +1,164 @@
+package com.customrx;
+
+import com.customrx.checkpoint.CheckpointStore;
+import com.customrx.checkpoint.FileCheckpointStore;
+import com.customrx.checkpoint.OffsetRecord;
+import com.customrx.core.*;
+import com.customrx.io.Observables;
+import com.customrx.observers.TestObserver;
+import com.customrx.schedulers.TestScheduler;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import static org.junit.jupiter.api.Assertions.*;
+
+class CheckpointTest {
+
+    @TempDir
+    Path tempDir;
+
+    // Запоминает все записанные смещения
+    private static class RecordingStore implements CheckpointStore {
+        final List<Long> saved = new ArrayList<>();
+
+        @Override
+        public synchronized OptionalLong load() {
+            return saved.isEmpty() ? OptionalLong.empty() : OptionalLong.of(saved.get(saved.size() - 1));
+        }
+
+        @Override
+        public synchronized void save(long offset) {
+            saved.add(offset);
+        }
+    }
+
+    private static Observable<Long> range(int count) {
+        return Observable.create(emitter -> {
+            for (long i = 0; i < count; i++) {
+                emitter.onNext(i);
+            }
+            emitter.onComplete();
+        });
+    }
+
+    @Test
+    void testFileStoreReplacesAtomically() throws IOException {
+        Path file = tempDir.resolve("job.checkpoint");
+        FileCheckpointStore store = new FileCheckpointStore(file);
+        assertFalse(store.load().isPresent());
+
+        store.save(42);
+        store.save(1_000_000_000_000L);
+
+        assertEquals(OptionalLong.of(1_000_000_000_000L), store.load());
+        assertEquals(OptionalLong.of(1_000_000_000_000L), new FileCheckpointStore(file).load());
+        // Временный файл переименован, рядом ничего не осталось
+        try (var files = Files.list(tempDir)) {
+            assertEquals(1, files.count());
+        }
+    }
+
+    @Test
+    void testFileStoreRejectsMalformedContent() throws IOException {
+        Path file = tempDir.resolve("broken.checkpoint");
+        Files.writeString(file, "not a number");
+        assertThrows(IOException.class, () -> new FileCheckpointStore(file).load());
+    }
+
+    @Test
+    void testSavesEveryNItemsAndOnComplete() {
+        RecordingStore store = new RecordingStore();
+        range(25).checkpoint(i -> i + 1, 10, store).test().assertComplete().assertValueCount(25);
+        assertEquals(Arrays.asList(10L, 20L, 25L), store.saved);
+    }
+
+    @Test
+    void testSavesOnTimer() {
+        TestScheduler scheduler = new TestScheduler();
+        RecordingStore store = new RecordingStore();
+        AtomicReference<Emitter<Long>> source = new AtomicReference<>();
+        TestObserver<Long> observer = Observable.create(source::set)
+                .checkpoint(i -> i + 1, 1000, 1, TimeUnit.SECONDS, scheduler, store)
+                .test();
+
+        source.get().onNext(0L);
+        source.get().onNext(1L);
+        scheduler.advanceTimeBy(1, TimeUnit.SECONDS);
+        assertEquals(Arrays.asList(2L), store.saved);
+
+        // Без новых элементов смещение не переписывается
+        scheduler.advanceTimeBy(1, TimeUnit.SECONDS);
+        assertEquals(Arrays.asList(2L), store.saved);
+
+        source.get().onNext(2L);
+        scheduler.advanceTimeBy(1, TimeUnit.SECONDS);
+        assertEquals(Arrays.asList(2L, 3L), store.saved);
+        observer.assertValues(0L, 1L, 2L);
+        observer.dispose();
+    }
+
+    @Test
+    void testErrorKeepsAcknowledgedOffset() {
+        RecordingStore store = new RecordingStore();
+        Observable.<Long>create(emitter -> {
+            for (long i = 0; i < 7; i++) {
+                emitter.onNext(i);
+            }
+            emitter.onError(new IllegalStateException("crash"));
+        }).checkpoint(i -> i + 1, 5, store).test().assertError(IllegalStateException.class);
+
+        assertEquals(Arrays.asList(5L, 7L), store.saved);
+    }
+
+    @Test
+    void testResumeReadsOnlyUnprocessedTail() throws IOException {
+        byte[] content = new byte[10_000];
+        for (int i = 0; i < content.length; i++) {
+            content[i] = (byte) i;
+        }
+        Path input = Files.write(tempDir.resolve("input.bin"), content);
+        FileCheckpointStore store = new FileCheckpointStore(tempDir.resolve("input.checkpoint"));
+        ByteArrayOutputStream processed = new ByteArrayOutputStream();
+
+        // Первый запуск падает после 4000 байт, сохранив смещение на каждом срезе
+        Observables.resumeFrom(store, offset -> Observables.fromFileWithOffsets(input, 1000, offset))
+                .map(record -> {
+                    if (record.offset() > 4000) {
+                        throw new IllegalStateException("crash");
+                    }
+                    return record;
+                })
+                .checkpoint(OffsetRecord::offset, 1, store)
+                .subscribe(record -> write(processed, record.value()), e -> { }, () -> { });
+        assertEquals(OptionalLong.of(4000L), store.load());
+
+        // Перезапуск читает только оставшиеся 6000 байт
+        List<Long> offsets = new ArrayList<>();
+        Observables.resumeFrom(store, offset -> Observables.fromFileWithOffsets(input, 1000, offset))
+                .checkpoint(OffsetRecord::offset, 1, store)
+                .subscribe(record -> {
+                    offsets.add(record.offset());
+                    write(processed, record.value());
+                }, e -> { }, () -> { });
+
+        assertEquals(Arrays.asList(5000L, 6000L, 7000L, 8000L, 9000L, 10000L), offsets);
+        assertArrayEquals(content, processed.toByteArray());
+        assertEquals(OptionalLong.of(10_000L), store.load());
+    }
+
+    private static void write(ByteArrayOutputStream out, ByteBuffer chunk) {
+        byte[] bytes = new byte[chunk.remaining()];
+        chunk.get(bytes);
+        out.write(bytes, 0, bytes.length);
+    }
+}
@@ -0,0 +1,87 @@
+package com.customrx;
+
+import com.customrx.core.*;
+import com.customrx.internal.RotatingBloomFilter;
+import org.junit.jupiter.api.Test;
+import java.util.Arrays;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.*;
+
+class DistinctTest {
+
+    private static Observable<Long> range(long count) {
+        return Observable.create(emitter -> {
+            for (long i = 0; i < count; i++) {
+                emitter.onNext(i);
+            }
+            emitter.onComplete();
+        });
+    }
+
+    @Test
+    void testDistinct() {
+        List<String> results = Observable.fromIterable(Arrays.asList("a", "B", "A", "b", "c"))
+                .distinct(String::toLowerCase)
+                .toList()
+                .blockingGet();
+
+        assertEquals(Arrays.asList("a", "B", "c"), results);
+    }
+
+    @Test
+    void testDistinctWithBoundedLru() {
+        // Ёмкость 2: "a" вытесняется после "b" и "c" и пропускается повторно, "c" ещё помнится
+        List<String> results = Observable.fromIterable(Arrays.asList("a", "b", "c", "a", "c", "b"))
+                .distinct(s -> s, 2)
+                .toList()
+                .blockingGet();
+
+        assertEquals(Arrays.asList("a", "b", "c", "a", "b"), results);
+    }
+
+    @Test
+    void testDistinctUntilChanged() {
+        List<Integer> results = Observable.fromIterable(Arrays.asList(1, 1, 2, 2, 2, 1, 3, 3))
+                .distinctUntilChanged()
+                .toList()
+                .blockingGet();
+
+        assertEquals(Arrays.asList(1, 2, 1, 3), results);
+    }
+
+    @Test
+    void testDistinctApproxDropsRecentDuplicates() {
+        // Каждый ключ приходит дважды с небольшим отставанием
+        Observable<Long> withDuplicates = range(20_000).flatMap(i -> i >= 5
+                ? Observable.fromIterable(Arrays.asList(i, i - 5))
+                : Observable.just(i));
+
+        long emitted = withDuplicates.distinctApprox(x -> x, 1_000, 0.01).count().blockingGet();
+
+        // Все повторы отброшены; уникальные ключи теряются только из-за ложных срабатываний
+        assertTrue(emitted <= 20_000);
+        assertTrue(emitted >= 20_000 * 0.97, "Emitted " + emitted);
+    }
+
+    @Test
+    void testRotatingBloomFilterFalsePositiveRate() {
+        RotatingBloomFilter filter = new RotatingBloomFilter(10_000, 0.01);
+        int falsePositives = 0;
+        for (long i = 0; i < 10_000; i++) {
+            if (!filter.add(i)) {
+                falsePositives++;
+            }
+        }
+        for (long i = 0; i < 10_000; i++) {
+            assertFalse(filter.add(i));
+        }
+        // После ротации новые ключи проверяются по двум фильтрам, поэтому ошибка до 2 * fpp
+        for (long i = 1_000_000; i < 1_010_000; i++) {
+            if (!filter.add(i)) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < 20_000 * 0.025, "False positives: " + falsePositives);
+        assertEquals(7, filter.hashCount());
+    }
+}
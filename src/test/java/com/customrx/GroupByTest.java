@@ -0,0 +1,155 @@
+package com.customrx;
+
+import com.customrx.core.*;
+import com.customrx.disposable.Disposable;
+import com.customrx.schedulers.TestScheduler;
+import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import static org.junit.jupiter.api.Assertions.*;
+
+class GroupByTest {
+
+    @Test
+    void testGroupByKey() {
+        Map<Integer, List<Integer>> groups = new TreeMap<>();
+        AtomicInteger groupsCompleted = new AtomicInteger();
+
+        Observable.create((Emitter<Integer> emitter) -> {
+                    for (int i = 1; i <= 6; i++) {
+                        emitter.onNext(i);
+                    }
+                    emitter.onComplete();
+                })
+                .groupBy(x -> x % 3, x -> x * 10, 16)
+                .subscribe(
+                        group -> group.subscribe(
+                                value -> groups.computeIfAbsent(group.getKey(), k -> new ArrayList<>()).add(value),
+                                error -> {},
+                                groupsCompleted::incrementAndGet
+                        ),
+                        error -> {},
+                        () -> {}
+                );
+
+        assertEquals(Arrays.asList(30, 60), groups.get(0));
+        assertEquals(Arrays.asList(10, 40), groups.get(1));
+        assertEquals(Arrays.asList(20, 50), groups.get(2));
+        assertEquals(3, groupsCompleted.get());
+    }
+
+    @Test
+    void testGroupByLongKey() {
+        List<Long> keys = new ArrayList<>();
+        List<String> values = new ArrayList<>();
+
+        Observable.create((Emitter<String> emitter) -> {
+                    emitter.onNext("user-1:login");
+                    emitter.onNext("user-2:login");
+                    emitter.onNext("user-1:logout");
+                    emitter.onComplete();
+                })
+                .groupByLong(s -> Long.parseLong(s.substring(5, 6)), s -> s.substring(7), 8)
+                .subscribe(
+                        group -> {
+                            keys.add(group.getKey());
+                            group.subscribe(
+                                    value -> values.add(group.getKey() + "=" + value),
+                                    error -> {},
+                                    () -> {}
+                            );
+                        },
+                        error -> {},
+                        () -> {}
+                );
+
+        assertEquals(Arrays.asList(1L, 2L), keys);
+        assertEquals(Arrays.asList("1=login", "2=login", "1=logout"), values);
+    }
+
+    @Test
+    void testGroupBufferOverflow() {
+        AtomicReference<Throwable> error = new AtomicReference<>();
+
+        Observable.create((Emitter<Integer> emitter) -> {
+                    for (int i = 0; i < 10; i++) {
+                        emitter.onNext(i);
+                    }
+                    emitter.onComplete();
+                })
+                // Группы никто не подписывает, поэтому буфер из 4 элементов переполняется
+                .groupBy(x -> "all", x -> x, 4)
+                .subscribe(
+                        group -> {},
+                        error::set,
+                        () -> {}
+                );
+
+        assertNotNull(error.get());
+        assertTrue(error.get() instanceof IllegalStateException);
+    }
+
+    @Test
+    void testIdleGroupEviction() {
+        TestScheduler scheduler = new TestScheduler();
+        AtomicReference<Emitter<String>> source = new AtomicReference<>();
+        List<String> events = new ArrayList<>();
+
+        Observable.create(source::set)
+                .groupBy(s -> s, s -> s, 8, 50, TimeUnit.MILLISECONDS, scheduler)
+                .subscribe(
+                        group -> {
+                            events.add("open " + group.getKey());
+                            group.subscribe(
+                                    value -> {},
+                                    error -> {},
+                                    () -> events.add("close " + group.getKey())
+                            );
+                        },
+                        error -> {},
+                        () -> {}
+                );
+
+        source.get().onNext("a");
+        scheduler.advanceTimeBy(80, TimeUnit.MILLISECONDS);
+        source.get().onNext("b");
+        source.get().onNext("a");
+        source.get().onComplete();
+
+        assertEquals(Arrays.asList("open a", "close a", "open b", "open a"), events.subList(0, 4));
+        // Порядок завершения оставшихся групп не определён
+        assertTrue(events.subList(4, 6).containsAll(Arrays.asList("close a", "close b")));
+    }
+
+    @Test
+    void testIdleGroupClosesWhileSourceIsQuiet() {
+        TestScheduler scheduler = new TestScheduler();
+        AtomicReference<Emitter<Long>> source = new AtomicReference<>();
+        List<String> events = new ArrayList<>();
+
+        Disposable subscription = Observable.create(source::set)
+                .groupByLong(x -> x % 2, x -> x, 8, 50, TimeUnit.MILLISECONDS, scheduler)
+                .subscribe(group -> group.subscribe(
+                        value -> events.add(group.getKey() + ":" + value),
+                        error -> {},
+                        () -> events.add("close " + group.getKey())
+                ), error -> {}, () -> {});
+
+        source.get().onNext(1L);
+        scheduler.advanceTimeBy(40, TimeUnit.MILLISECONDS);
+        source.get().onNext(2L);
+        // Новых элементов нет, но таймер закрывает группу 1, а группа 0 ещё в пределах TTL
+        scheduler.advanceTimeBy(20, TimeUnit.MILLISECONDS);
+        assertEquals(Arrays.asList("1:1", "0:2", "close 1"), events);
+
+        // Отмена подписки снимает таймер вытеснения
+        subscription.dispose();
+        assertEquals(0, scheduler.pendingActions());
+    }
+}
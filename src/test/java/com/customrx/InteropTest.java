@@ -0,0 +1,206 @@
+package com.customrx;
+
+import com.customrx.core.*;
+import com.customrx.disposable.Disposable;
+import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+import static org.junit.jupiter.api.Assertions.*;
+
+class InteropTest {
+
+    @Test
+    void testFromPublisher() {
+        List<Integer> results = new ArrayList<>();
+        // Издателя закрывает поток публикации: close и есть сигнал завершения потока
+        SubmissionPublisher<Integer> publisher = new SubmissionPublisher<>();
+        // Подписываемся до публикации: SubmissionPublisher не хранит элементы без подписчиков
+        Iterator<Integer> items = Observable.fromPublisher(publisher, 4).blockingIterable().iterator();
+        CompletableFuture.runAsync(() -> {
+            for (int i = 0; i < 20; i++) {
+                publisher.submit(i);
+            }
+            publisher.close();
+        });
+        while (items.hasNext()) {
+            results.add(items.next());
+        }
+        assertEquals(20, results.size());
+        assertEquals(19, results.get(19));
+    }
+
+    @Test
+    void testToPublisherHonorsRequest() {
+        List<Integer> received = new ArrayList<>();
+        AtomicReference<Flow.Subscription> subscription = new AtomicReference<>();
+        AtomicBoolean completed = new AtomicBoolean();
+
+        Observable.fromIterable(Arrays.asList(1, 2, 3, 4, 5)).toPublisher().subscribe(new Flow.Subscriber<Integer>() {
+            @Override
+            public void onSubscribe(Flow.Subscription s) {
+                subscription.set(s);
+                s.request(2);
+            }
+
+            @Override
+            public void onNext(Integer item) {
+                received.add(item);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+            }
+
+            @Override
+            public void onComplete() {
+                completed.set(true);
+            }
+        });
+
+        assertEquals(Arrays.asList(1, 2), received);
+        assertFalse(completed.get());
+
+        subscription.get().request(10);
+        assertEquals(Arrays.asList(1, 2, 3, 4, 5), received);
+        assertTrue(completed.get());
+    }
+
+    @Test
+    void testDisposeCancelsQuietPublisher() throws InterruptedException {
+        SubmissionPublisher<Integer> publisher = new SubmissionPublisher<>();
+        Disposable subscription = Observable.fromPublisher(publisher).subscribe(item -> {}, error -> {}, () -> {});
+        assertEquals(1, publisher.getNumberOfSubscribers());
+
+        // Издатель ничего не публикует, но отмена всё равно доходит до его подписки;
+        // SubmissionPublisher вызывает onSubscribe на своём пуле, поэтому ждём с ограничением
+        subscription.dispose();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (publisher.getNumberOfSubscribers() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(0, publisher.getNumberOfSubscribers());
+        publisher.close();
+    }
+
+    @Test
+    void testCancelStopsSynchronousSource() {
+        AtomicInteger produced = new AtomicInteger();
+        List<Integer> received = new ArrayList<>();
+        Observable<Integer> infinite = Observable.create(emitter -> {
+            while (!emitter.isDisposed()) {
+                emitter.onNext(produced.incrementAndGet());
+            }
+        });
+
+        infinite.toPublisher().subscribe(new Flow.Subscriber<Integer>() {
+            private Flow.Subscription subscription;
+
+            @Override
+            public void onSubscribe(Flow.Subscription s) {
+                subscription = s;
+                s.request(3);
+            }
+
+            @Override
+            public void onNext(Integer item) {
+                received.add(item);
+                if (received.size() == 3) {
+                    subscription.cancel();
+                }
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+            }
+
+            @Override
+            public void onComplete() {
+            }
+        });
+
+        // subscribe вернулся: cancel остановил источник, который иначе не закончился бы никогда
+        assertEquals(Arrays.asList(1, 2, 3), received);
+        assertEquals(3, produced.get());
+    }
+
+    @Test
+    void testToPublisherRejectsNonPositiveRequest() {
+        AtomicReference<Throwable> error = new AtomicReference<>();
+
+        Observable.just(1).toPublisher().subscribe(new Flow.Subscriber<Integer>() {
+            @Override
+            public void onSubscribe(Flow.Subscription s) {
+                s.request(0);
+            }
+
+            @Override
+            public void onNext(Integer item) {
+                fail("No items should be delivered");
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                error.set(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+            }
+        });
+
+        assertTrue(error.get() instanceof IllegalArgumentException);
+    }
+
+    @Test
+    void testFromStreamIsLazyAndClosesStream() {
+        AtomicInteger pulled = new AtomicInteger();
+        AtomicBoolean closed = new AtomicBoolean();
+        List<Integer> results = new ArrayList<>();
+
+        Observable<Integer> observable = Observable.fromStream(
+                Stream.iterate(1, x -> x + 1).peek(x -> pulled.incrementAndGet()).limit(3).onClose(() -> closed.set(true)));
+        assertEquals(0, pulled.get());
+
+        observable.subscribe(results::add, error -> {}, () -> {});
+
+        assertEquals(Arrays.asList(1, 2, 3), results);
+        assertEquals(3, pulled.get());
+        assertTrue(closed.get());
+    }
+
+    @Test
+    void testFromFuture() {
+        CompletableFuture<String> future = new CompletableFuture<>();
+        List<String> results = new ArrayList<>();
+        AtomicBoolean completed = new AtomicBoolean();
+
+        Observable.fromFuture(future).subscribe(results::add, error -> {}, () -> completed.set(true));
+        assertTrue(results.isEmpty());
+
+        future.complete("result");
+        assertEquals(Arrays.asList("result"), results);
+        assertTrue(completed.get());
+    }
+
+    @Test
+    void testFromFailedCompletionStage() {
+        CompletableFuture<String> failed = CompletableFuture.supplyAsync(() -> {
+            throw new IllegalStateException("Remote failure");
+        });
+
+        // CompletionException разворачивается до исходной причины
+        IllegalStateException error = assertThrows(IllegalStateException.class,
+                () -> Observable.fromCompletionStage(failed.thenApply(String::trim)).blockingLast());
+        assertEquals("Remote failure", error.getMessage());
+    }
+}
@@ -0,0 +1,190 @@
+package com.customrx;
+
+import com.customrx.core.Observable;
+import com.customrx.core.Observer;
+import com.customrx.disposable.Disposable;
+import com.customrx.io.Observables;
+import com.customrx.schedulers.IOScheduler;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.Pipe;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import static org.junit.jupiter.api.Assertions.*;
+
+class IoSourcesTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testFromFileChunks() throws IOException {
+        Path file = tempDir.resolve("data.bin");
+        byte[] content = new byte[1000];
+        for (int i = 0; i < content.length; i++) {
+            content[i] = (byte) i;
+        }
+        Files.write(file, content);
+
+        List<Integer> chunkSizes = new ArrayList<>();
+        ByteBuffer collected = ByteBuffer.allocate(content.length);
+        Observables.fromFile(file, 256).subscribe(
+                chunk -> {
+                    chunkSizes.add(chunk.remaining());
+                    collected.put(chunk);
+                },
+                error -> fail(error),
+                () -> {}
+        );
+
+        assertEquals(Arrays.asList(256, 256, 256, 232), chunkSizes);
+        assertArrayEquals(content, collected.array());
+    }
+
+    @Test
+    void testLinesAcrossChunkBoundaries() throws IOException {
+        Path file = tempDir.resolve("log.txt");
+        Files.writeString(file, "first line\r\nsecond\nthird line is longer\nlast");
+
+        List<String> lines = Observables.lines(Observables.fromFile(file, 7, new IOScheduler()))
+                .map(CharSequence::toString)
+                .toList()
+                .blockingGet();
+
+        assertEquals(Arrays.asList("first line", "second", "third line is longer", "last"), lines);
+    }
+
+    @Test
+    void testSplitRecords() {
+        byte[] data = "a;bb;;ccc;".getBytes(StandardCharsets.US_ASCII);
+        List<String> records = Observables.split(Observables.fromChannel(Channels.newChannel(new ByteArrayInputStream(data)), 3), (byte) ';')
+                .map(CharSequence::toString)
+                .toList()
+                .blockingGet();
+
+        assertEquals(Arrays.asList("a", "bb", "", "ccc"), records);
+    }
+
+    @Test
+    void testChannelClosedOnCompletionAndError() {
+        ReadableByteChannel channel = Channels.newChannel(new ByteArrayInputStream(new byte[100]));
+        assertEquals(100L, Observables.fromChannel(channel, 16).reduce(0L, (sum, chunk) -> sum + chunk.remaining()).blockingGet());
+        assertFalse(channel.isOpen());
+
+        ReadableByteChannel failing = Channels.newChannel(new InputStream() {
+            @Override
+            public int read() throws IOException {
+                throw new IOException("Disk failure");
+            }
+        });
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        Observable<ByteBuffer> source = Observables.fromChannel(failing);
+        source.subscribe(chunk -> {}, error::set, () -> {});
+
+        assertEquals("Disk failure", error.get().getMessage());
+        assertFalse(failing.isOpen());
+    }
+
+    @Test
+    void testDisposeClosesChannelBlockedInRead() throws Exception {
+        Pipe pipe = Pipe.open();
+        AtomicReference<Disposable> subscription = new AtomicReference<>();
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        CountDownLatch received = new CountDownLatch(1);
+        // subscribe не вернётся, пока идёт чтение, поэтому подписка берётся из onSubscribe
+        Thread reader = new Thread(() -> Observables.fromChannel(pipe.source(), 16).subscribe(new Observer<ByteBuffer>() {
+            @Override
+            public void onSubscribe(Disposable upstream) {
+                subscription.set(upstream);
+            }
+
+            @Override
+            public void onNext(ByteBuffer chunk) {
+                received.countDown();
+            }
+
+            @Override
+            public void onError(Throwable e) {
+                error.set(e);
+            }
+
+            @Override
+            public void onComplete() {
+            }
+        }));
+        reader.start();
+        pipe.sink().write(ByteBuffer.wrap(new byte[] {1}));
+        assertTrue(received.await(5, TimeUnit.SECONDS));
+
+        // Даём потоку дойти до read без данных: закрытие канала в момент входа в read
+        // JDK может не разбудить, и это уже не то, что проверяет тест
+        Thread.sleep(100);
+        subscription.get().dispose();
+        reader.join(5000);
+        assertFalse(reader.isAlive());
+        assertFalse(pipe.source().isOpen());
+        assertNull(error.get());
+        pipe.sink().close();
+    }
+
+    @Test
+    void testDisposeLinesStopsSplittingAndClosesChannel() throws Exception {
+        Pipe pipe = Pipe.open();
+        AtomicReference<Disposable> subscription = new AtomicReference<>();
+        List<String> lines = new ArrayList<>();
+        Thread reader = new Thread(() -> Observables.lines(Observables.fromChannel(pipe.source(), 64)).subscribe(new Observer<CharSequence>() {
+            @Override
+            public void onSubscribe(Disposable upstream) {
+                subscription.set(upstream);
+            }
+
+            @Override
+            public void onNext(CharSequence line) {
+                lines.add(line.toString());
+                subscription.get().dispose();
+            }
+
+            @Override
+            public void onError(Throwable e) {
+            }
+
+            @Override
+            public void onComplete() {
+            }
+        }));
+        reader.start();
+        // Все три строки приходят одним чанком, после отмены на первой остальные не режутся
+        pipe.sink().write(ByteBuffer.wrap("a\nb\nc\n".getBytes(StandardCharsets.US_ASCII)));
+        reader.join(5000);
+
+        assertFalse(reader.isAlive());
+        assertEquals(List.of("a"), lines);
+        assertFalse(pipe.source().isOpen());
+        pipe.sink().close();
+    }
+
+    @Test
+    void testRejectsNonBlockingChannel() throws IOException {
+        Pipe pipe = Pipe.open();
+        try {
+            pipe.source().configureBlocking(false);
+            assertThrows(IllegalArgumentException.class, () -> Observables.fromChannel(pipe.source()));
+        } finally {
+            pipe.source().close();
+            pipe.sink().close();
+        }
+    }
+}
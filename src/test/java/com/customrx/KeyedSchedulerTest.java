@@ -0,0 +1,217 @@
+package com.customrx;
+
+import com.customrx.core.*;
+import com.customrx.observers.TestObserver;
+import com.customrx.schedulers.KeyedScheduler;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import static org.junit.jupiter.api.Assertions.*;
+
+class KeyedSchedulerTest {
+
+    private final KeyedScheduler scheduler = new KeyedScheduler(4);
+
+    @AfterEach
+    void tearDown() {
+        scheduler.shutdown();
+    }
+
+    // События {ключ, номер}: номера каждого ключа идут по возрастанию, ключи перемешаны
+    private static Observable<int[]> events(int keys, int perKey) {
+        List<int[]> events = new ArrayList<>();
+        for (int seq = 0; seq < perKey; seq++) {
+            for (int key = 0; key < keys; key++) {
+                events.add(new int[]{key, seq});
+            }
+        }
+        return Observable.fromIterable(events);
+    }
+
+    private static void assertOrderedPerKey(KeyedScheduler scheduler, int keys, int perKey) throws InterruptedException {
+        Map<Integer, List<Integer>> seen = new ConcurrentHashMap<>();
+        Map<Integer, AtomicInteger> inFlight = new ConcurrentHashMap<>();
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        AtomicInteger overlaps = new AtomicInteger();
+        CountDownLatch completed = new CountDownLatch(1);
+
+        events(keys, perKey)
+                .observeOnKeyed(event -> event[0], scheduler)
+                .subscribe(event -> {
+                    AtomicInteger busy = inFlight.computeIfAbsent(event[0], k -> new AtomicInteger());
+                    if (busy.incrementAndGet() != 1) {
+                        overlaps.incrementAndGet();
+                    }
+                    seen.computeIfAbsent(event[0], k -> new ArrayList<>()).add(event[1]);
+                    threads.add(Thread.currentThread().getName());
+                    busy.decrementAndGet();
+                }, error -> {}, completed::countDown);
+
+        assertTrue(completed.await(10, TimeUnit.SECONDS));
+        assertEquals(0, overlaps.get(), "Items of one key were processed concurrently");
+        List<Integer> expected = IntStream.range(0, perKey).boxed().collect(Collectors.toList());
+        for (int key = 0; key < keys; key++) {
+            assertEquals(expected, seen.get(key), "Key " + key);
+        }
+        assertTrue(threads.stream().allMatch(name -> name.startsWith("keyed-thread-")), threads.toString());
+    }
+
+    @Test
+    void testOrderPreservedPerKey() throws InterruptedException {
+        assertOrderedPerKey(scheduler, 16, 500);
+    }
+
+    @Test
+    void testOrderPreservedWithRebalancing() throws InterruptedException {
+        KeyedScheduler rebalancing = new KeyedScheduler(4, true);
+        try {
+            assertOrderedPerKey(rebalancing, 16, 500);
+        } finally {
+            rebalancing.shutdown();
+        }
+    }
+
+    @Test
+    void testHotKeysOnOneLaneSplitWhileBusy() throws InterruptedException {
+        KeyedScheduler rebalancing = new KeyedScheduler(2, true);
+        // При двух полосах "a" и "d" попадают по хэшу на одну полосу
+        String[] hotKeys = {"a", "d"};
+        int perKey = 200;
+        Map<String, List<Integer>> seen = new ConcurrentHashMap<>();
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(2 * perKey);
+        try {
+            // Очередь ключей не пустеет ни на миг, так что переезд возможен только с задачами в работе
+            for (int seq = 0; seq < perKey; seq++) {
+                for (String key : hotKeys) {
+                    int number = seq;
+                    rebalancing.schedule(key, () -> {
+                        maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                        seen.computeIfAbsent(key, k -> new ArrayList<>()).add(number);
+                        try {
+                            Thread.sleep(1);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                        running.decrementAndGet();
+                        done.countDown();
+                    });
+                }
+            }
+
+            assertTrue(done.await(10, TimeUnit.SECONDS));
+            assertEquals(2, maxRunning.get(), "Hot keys should end up on different lanes");
+            List<Integer> expected = IntStream.range(0, perKey).boxed().collect(Collectors.toList());
+            for (String key : hotKeys) {
+                assertEquals(expected, seen.get(key), "Key " + key);
+            }
+        } finally {
+            rebalancing.shutdown();
+        }
+    }
+
+    @Test
+    void testDifferentKeysRunInParallel() throws InterruptedException {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(8);
+
+        for (int key = 0; key < 8; key++) {
+            scheduler.schedule(key, () -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                try {
+                    Thread.sleep(20);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                running.decrementAndGet();
+                done.countDown();
+            });
+        }
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertTrue(maxRunning.get() > 1, "Keys should be spread over several lanes");
+    }
+
+    @Test
+    void testFailingTaskDoesNotStopLane() throws InterruptedException {
+        CountDownLatch after = new CountDownLatch(1);
+        Thread.UncaughtExceptionHandler handler = (thread, error) -> {};
+        scheduler.schedule("key", () -> {
+            Thread.currentThread().setUncaughtExceptionHandler(handler);
+            throw new IllegalStateException("Task failed");
+        });
+        scheduler.schedule("key", after::countDown);
+
+        assertTrue(after.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testErrorArrivesAfterScheduledItems() {
+        TestObserver<Integer> observer = Observable.<Integer>create(emitter -> {
+                    emitter.onNext(1);
+                    emitter.onNext(2);
+                    emitter.onError(new IllegalStateException("Upstream failed"));
+                })
+                .observeOnKeyed(x -> "same", scheduler)
+                .test()
+                .awaitDone(5, TimeUnit.SECONDS)
+                .assertError(IllegalStateException.class);
+
+        // Элементы, не успевшие выйти до ошибки, отброшены, но порядок не нарушен
+        List<Integer> values = observer.values();
+        assertEquals(Arrays.asList(1, 2).subList(0, values.size()), values);
+    }
+
+    @Test
+    void testObserveOnKeyedFailsWhenSchedulerRejects() {
+        KeyedScheduler stopped = new KeyedScheduler(2);
+        stopped.shutdown();
+        AtomicInteger produced = new AtomicInteger();
+
+        Observable.<Integer>create(emitter -> {
+                    for (int i = 0; i < 1000 && !emitter.isDisposed(); i++) {
+                        produced.incrementAndGet();
+                        emitter.onNext(i);
+                    }
+                    emitter.onComplete();
+                })
+                .observeOnKeyed(x -> x, stopped)
+                .test()
+                .awaitDone(5, TimeUnit.SECONDS)
+                .assertError(RejectedExecutionException.class);
+        // Отказ отменяет источник, а не выбрасывается в него на каждом элементе
+        assertEquals(1, produced.get());
+    }
+
+    @Test
+    void testInvalidLaneCount() {
+        assertThrows(IllegalArgumentException.class, () -> new KeyedScheduler(0));
+    }
+
+    @Test
+    void testRejectsTasksAfterShutdown() throws InterruptedException {
+        KeyedScheduler rebalancing = new KeyedScheduler(2, true);
+        CountDownLatch ran = new CountDownLatch(1);
+        rebalancing.schedule("a", ran::countDown);
+        assertTrue(ran.await(5, TimeUnit.SECONDS));
+        rebalancing.shutdown();
+
+        assertThrows(RejectedExecutionException.class, () -> rebalancing.schedule("a", () -> {}));
+        assertThrows(RejectedExecutionException.class, () -> rebalancing.schedule(() -> {}));
+        // Отказ не оставляет полосу занятой: повторная попытка снова получает отказ, а не молча встаёт в очередь
+        assertThrows(RejectedExecutionException.class, () -> rebalancing.schedule("a", () -> {}));
+    }
+}
@@ -0,0 +1,121 @@
+package com.customrx;
+
+import com.customrx.core.*;
+import com.customrx.observers.TestObserver;
+import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import static org.junit.jupiter.api.Assertions.*;
+
+class LazySourcesTest {
+
+    // Имитация дорогого ресурса, запоминающая открытия и закрытия
+    private static final class Connection {
+        final int id;
+        final List<String> log;
+
+        Connection(int id, List<String> log) {
+            this.id = id;
+            this.log = log;
+            log.add("open " + id);
+        }
+
+        void close() {
+            log.add("close " + id);
+        }
+    }
+
+    @Test
+    void testDeferBuildsSourcePerSubscriber() {
+        AtomicInteger builds = new AtomicInteger();
+        Observable<Integer> deferred = Observable.defer(() -> Observable.just(builds.incrementAndGet()));
+
+        // Сборка цепочки ничего не строит
+        Observable<String> pipeline = deferred.map(x -> "v" + x);
+        assertEquals(0, builds.get());
+
+        pipeline.test().assertValues("v1").assertComplete();
+        pipeline.test().assertValues("v2").assertComplete();
+        assertEquals(2, builds.get());
+    }
+
+    @Test
+    void testDeferSupplierFailure() {
+        Observable.<Integer>defer(() -> {
+            throw new IllegalStateException("No connection");
+        }).test().assertNoValues().assertError(IllegalStateException.class);
+    }
+
+    @Test
+    void testFromSupplier() {
+        AtomicInteger calls = new AtomicInteger();
+        Observable<Integer> source = Observable.fromSupplier(calls::incrementAndGet);
+        assertEquals(0, calls.get());
+
+        source.test().assertValues(1).assertComplete();
+        source.test().assertValues(2).assertComplete();
+        Observable.fromSupplier(() -> null).test().assertNoValues().assertComplete();
+        Observable.<Integer>fromSupplier(() -> {
+            throw new ArithmeticException("/ by zero");
+        }).test().assertError(ArithmeticException.class);
+    }
+
+    @Test
+    void testUsingReleasesBeforeTerminalSignal() {
+        List<String> log = new ArrayList<>();
+        AtomicInteger ids = new AtomicInteger();
+        Observable<String> source = Observable.using(
+                () -> new Connection(ids.incrementAndGet(), log),
+                connection -> Observable.fromIterable(Arrays.asList("a", "b")).map(x -> x + connection.id),
+                Connection::close);
+        assertTrue(log.isEmpty());
+
+        source.subscribe(item -> log.add(item), error -> log.add("error"), () -> log.add("complete"));
+        assertEquals(Arrays.asList("open 1", "a1", "b1", "close 1", "complete"), log);
+
+        log.clear();
+        Observable.using(() -> new Connection(ids.incrementAndGet(), log),
+                        connection -> Observable.<String>create(emitter -> emitter.onError(new RuntimeException("Lost"))),
+                        Connection::close)
+                .subscribe(item -> {}, error -> log.add("error"), () -> {});
+        assertEquals(Arrays.asList("open 2", "close 2", "error"), log);
+    }
+
+    @Test
+    void testUsingReleasesOnDispose() {
+        List<String> log = new ArrayList<>();
+        AtomicReference<Emitter<String>> inner = new AtomicReference<>();
+        TestObserver<String> observer = Observable.using(
+                        () -> new Connection(1, log),
+                        connection -> Observable.<String>create(inner::set),
+                        Connection::close)
+                .test();
+
+        inner.get().onNext("x");
+        observer.dispose();
+        assertEquals(Arrays.asList("open 1", "close 1"), log);
+        // Отмена дошла и до источника, построенного по ресурсу
+        assertTrue(inner.get().isDisposed());
+        observer.dispose();
+        assertEquals(2, log.size());
+        observer.assertValues("x").assertNotTerminated();
+    }
+
+    @Test
+    void testUsingReleasesWhenFactoryFails() {
+        List<String> log = new ArrayList<>();
+        Observable.<String, Connection>using(
+                        () -> new Connection(1, log),
+                        connection -> {
+                            throw new IllegalArgumentException("Bad query");
+                        },
+                        Connection::close)
+                .test()
+                .assertError(IllegalArgumentException.class);
+
+        assertEquals(Arrays.asList("open 1", "close 1"), log);
+    }
+}
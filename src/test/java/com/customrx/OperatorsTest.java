@@ -1,10 +1,13 @@
 package com.customrx;
 
 import com.customrx.core.*;
+import com.customrx.observers.TestObserver;
 import org.junit.jupiter.api.Test;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 import static org.junit.jupiter.api.Assertions.*;
 
 class OperatorsTest {
@@ -122,4 +125,114 @@ class OperatorsTest {
         List<String> expected = Arrays.asList("H", "e", "l", "l", "o", "W", "o", "r", "l", "d");
         assertEquals(expected, results);
     }
-}
\ No newline at end of file
+
+    @Test
+    void testFusedMapAndFilterChains() {
+        Observable<Integer> source = Observable.fromIterable(Arrays.asList(1, 2, 3, 4, 5, 6));
+        Observable<Integer> doubled = source.map(x -> x * 2);
+
+        doubled.map(x -> x + 1).map(String::valueOf).test().assertValues("3", "5", "7", "9", "11", "13").assertComplete();
+        doubled.filter(x -> x > 4).filter(x -> x % 4 == 0).test().assertValues(8, 12).assertComplete();
+        // Промежуточный Observable после склейки остаётся самостоятельным
+        doubled.test().assertValues(2, 4, 6, 8, 10, 12);
+
+        Observable.fromIterable(Arrays.asList(1, 2, 0)).map(x -> 10 / x).map(x -> x + 1).test()
+                .assertValues(11, 6)
+                .assertError(ArithmeticException.class);
+    }
+
+    @Test
+    void testFlatMapWaitsForAsyncInners() {
+        AtomicReference<Emitter<String>> inner = new AtomicReference<>();
+        TestObserver<String> observer = Observable.just(1)
+                .flatMap(x -> Observable.<String>create(inner::set))
+                .test();
+
+        // Внешний источник уже завершился, внутренний ещё нет
+        observer.assertNoValues().assertNotComplete();
+        inner.get().onNext("late");
+        inner.get().onComplete();
+        observer.assertValues("late").assertComplete();
+    }
+
+    @Test
+    void testDisposeStopsSynchronousSource() {
+        AtomicInteger emitted = new AtomicInteger();
+        TestObserver<Integer> observer = new TestObserver<Integer>() {
+            @Override
+            public synchronized void onNext(Integer item) {
+                super.onNext(item);
+                if (item == 3) {
+                    dispose();
+                }
+            }
+        };
+
+        Observable.<Integer>create(emitter -> {
+                    for (int i = 1; i <= 1000 && !emitter.isDisposed(); i++) {
+                        emitted.incrementAndGet();
+                        emitter.onNext(i);
+                    }
+                })
+                .map(x -> x)
+                .filter(x -> true)
+                .flatMap(Observable::just)
+                .subscribe(observer);
+
+        // Отмена дошла через всю цепочку до эмиттера источника
+        observer.assertValues(1, 2, 3);
+        assertEquals(3, emitted.get());
+    }
+
+    @Test
+    void testDisposePropagatesThroughStatefulOperators() {
+        AtomicInteger emitted = new AtomicInteger();
+        TestObserver<Integer> observer = new TestObserver<Integer>() {
+            @Override
+            public synchronized void onNext(Integer item) {
+                super.onNext(item);
+                if (values().size() == 3) {
+                    dispose();
+                }
+            }
+        };
+
+        infinite(emitted)
+                .distinct()
+                .distinctUntilChanged()
+                .scan((a, b) -> b)
+                .retry(3)
+                .onErrorResumeNext(e -> Observable.just(-1))
+                .subscribe(observer);
+
+        observer.assertValues(1, 2, 3);
+        assertEquals(3, emitted.get());
+    }
+
+    @Test
+    void testOperatorErrorDisposesSource() {
+        AtomicInteger emitted = new AtomicInteger();
+        infinite(emitted)
+                .scan((a, b) -> {
+                    if (b == 5) {
+                        throw new IllegalStateException("boom");
+                    }
+                    return b;
+                })
+                .test()
+                .assertError(IllegalStateException.class)
+                .assertValues(1, 2, 3, 4);
+        // Источник остановился на элементе, вызвавшем ошибку
+        assertEquals(5, emitted.get());
+    }
+
+    // Синхронный источник, который останавливается только по отмене
+    private static Observable<Integer> infinite(AtomicInteger emitted) {
+        return Observable.create(emitter -> {
+            for (int i = 1; !emitter.isDisposed(); i++) {
+                emitted.incrementAndGet();
+                emitter.onNext(i);
+            }
+        });
+    }
+}
@@ -0,0 +1,115 @@
+package com.customrx;
+
+import com.customrx.core.*;
+import com.customrx.observers.TestObserver;
+import com.customrx.operators.RateLimiter;
+import com.customrx.schedulers.TestScheduler;
+import org.junit.jupiter.api.Test;
+import java.util.concurrent.TimeUnit;
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimitTest {
+
+    private static Observable<Integer> range(int count) {
+        return Observable.create(emitter -> {
+            for (int i = 0; i < count; i++) {
+                emitter.onNext(i);
+            }
+            emitter.onComplete();
+        });
+    }
+
+    @Test
+    void testTokenBucketReservations() {
+        RateLimiter limiter = new RateLimiter(10, 3);
+        long now = 1_000_000_000L;
+
+        // Пачка из burst разрешений доступна сразу, дальше - по одному каждые 100 мс
+        assertEquals(now, limiter.reserve(now));
+        assertEquals(now, limiter.reserve(now));
+        assertEquals(now, limiter.reserve(now));
+        assertEquals(now + 100_000_000L, limiter.reserve(now));
+        assertEquals(now + 200_000_000L, limiter.reserve(now));
+
+        // После простоя корзина снова полна
+        long later = now + 5_000_000_000L;
+        assertEquals(later, limiter.reserve(later));
+    }
+
+    @Test
+    void testEmissionsArePacedWithoutBlockingProducer() {
+        TestScheduler scheduler = new TestScheduler();
+
+        // Подписка возвращается сразу: производитель не ждёт разрешений, лишние элементы ждут в очереди таймера
+        TestObserver<Integer> observer = range(10).rateLimit(50, 1, scheduler).test();
+        observer.assertValues(0).assertNotComplete();
+
+        scheduler.advanceTimeBy(19, TimeUnit.MILLISECONDS);
+        observer.assertValues(0);
+        scheduler.advanceTimeBy(1, TimeUnit.MILLISECONDS);
+        observer.assertValues(0, 1);
+
+        scheduler.advanceTimeBy(160, TimeUnit.MILLISECONDS);
+        observer.assertValues(0, 1, 2, 3, 4, 5, 6, 7, 8, 9).assertComplete();
+    }
+
+    @Test
+    void testDisposeCancelsPendingTimer() {
+        TestScheduler scheduler = new TestScheduler();
+        TestObserver<Integer> observer = range(10).rateLimit(50, 1, scheduler).test();
+        observer.assertValues(0);
+        assertEquals(1, scheduler.pendingActions());
+
+        observer.dispose();
+        assertEquals(0, scheduler.pendingActions());
+        scheduler.advanceTimeBy(1, TimeUnit.SECONDS);
+        observer.assertValues(0).assertNotComplete();
+    }
+
+    @Test
+    void testSharedLimiterAcrossSubscriptions() {
+        TestScheduler scheduler = new TestScheduler();
+        // Время лимитеру передаёт оператор по часам планировщика, поэтому общий лимитер работает и в виртуальном времени
+        RateLimiter limiter = new RateLimiter(100, 5);
+        TestObserver<Integer> first = range(15).rateLimit(limiter, scheduler).test();
+        TestObserver<Integer> second = range(15).rateLimit(limiter, scheduler).test();
+
+        // Пачка из 5 разрешений выдана сразу, остальные 25 - по одному каждые 10 мс
+        assertEquals(5, first.values().size() + second.values().size());
+        scheduler.advanceTimeBy(240, TimeUnit.MILLISECONDS);
+        first.assertComplete();
+        second.assertNotComplete();
+        scheduler.advanceTimeBy(10, TimeUnit.MILLISECONDS);
+        second.assertComplete().assertValueCount(15);
+    }
+
+    @Test
+    void testAdaptiveRate() {
+        RateLimiter limiter = new RateLimiter(100, 1, 10);
+        limiter.recordFailure();
+        assertEquals(50, limiter.getPermitsPerSecond(), 0.01);
+        for (int i = 0; i < 10; i++) {
+            limiter.recordFailure();
+        }
+        assertEquals(10, limiter.getPermitsPerSecond(), 0.01);
+
+        for (int i = 0; i < 100; i++) {
+            limiter.recordSuccess();
+        }
+        assertEquals(100, limiter.getPermitsPerSecond(), 0.01);
+    }
+
+    @Test
+    void testErrorIsNotDelayed() {
+        TestObserver<Integer> observer = Observable.<Integer>create(emitter -> {
+                    for (int i = 0; i < 5; i++) {
+                        emitter.onNext(i);
+                    }
+                    emitter.onError(new RuntimeException("Quota exceeded"));
+                })
+                .rateLimit(1, 1, new TestScheduler())
+                .test();
+
+        observer.assertValues(0).assertError(RuntimeException.class);
+    }
+}
@@ -0,0 +1,270 @@
+package com.customrx;
+
+import com.customrx.core.*;
+import com.customrx.disposable.Disposable;
+import com.customrx.io.Observables;
+import com.customrx.io.Serializer;
+import com.customrx.observers.TestObserver;
+import com.customrx.remote.RemoteEndpoint;
+import com.customrx.remote.RemoteException;
+import com.customrx.schedulers.IOScheduler;
+import com.customrx.schedulers.SingleThreadScheduler;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.IOException;
+import java.io.ObjectInputFilter;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import static org.junit.jupiter.api.Assertions.*;
+
+class RemoteTest {
+
+    private static final IOScheduler IO = new IOScheduler();
+
+    @TempDir
+    Path tempDir;
+
+    @AfterAll
+    static void shutdown() {
+        IO.shutdown();
+    }
+
+    private static RemoteEndpoint loopback() throws IOException {
+        try (ServerSocket probe = new ServerSocket(0)) {
+            return RemoteEndpoint.tcp(InetAddress.getLoopbackAddress().getHostAddress(), probe.getLocalPort());
+        }
+    }
+
+    private static Observable<Long> range(int count) {
+        return Observable.create(emitter -> {
+            for (long i = 0; i < count; i++) {
+                emitter.onNext(i);
+            }
+            emitter.onComplete();
+        });
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Отправитель блокирует поток подписки, поэтому запускается в отдельном потоке
+    private static CountDownLatch send(Completable sender, AtomicReference<Throwable> error) {
+        CountDownLatch done = new CountDownLatch(1);
+        Thread thread = new Thread(() -> sender.subscribe(done::countDown, e -> {
+            error.set(e);
+            done.countDown();
+        }), "remote-test-sender");
+        thread.setDaemon(true);
+        thread.start();
+        return done;
+    }
+
+    @Test
+    void testRoundTripOverTcp() throws Exception {
+        RemoteEndpoint endpoint = loopback();
+        TestObserver<Long> receiver = Observables.fromRemote(endpoint, Serializer.longs(), 16, IO).test();
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        CountDownLatch sent = send(range(1000).toRemote(endpoint, Serializer.longs()), error);
+
+        receiver.awaitDone(10, TimeUnit.SECONDS);
+        receiver.assertNoErrors().assertComplete().assertValueCount(1000);
+        for (int i = 0; i < 1000; i++) {
+            assertEquals((long) i, receiver.values().get(i));
+        }
+        assertTrue(sent.await(5, TimeUnit.SECONDS));
+        assertNull(error.get());
+    }
+
+    @Test
+    void testBatchedRoundTripOverUnixSocket() throws Exception {
+        RemoteEndpoint endpoint = RemoteEndpoint.unix(tempDir.resolve("stage.sock"));
+        SingleThreadScheduler flusher = new SingleThreadScheduler();
+        try {
+            TestObserver<String> receiver = Observables.fromRemote(endpoint, Serializer.utf8(), 64, IO).test();
+            AtomicReference<Throwable> error = new AtomicReference<>();
+            CountDownLatch sent = send(Observable.fromIterable(Arrays.asList("alpha", "бета", "gamma"))
+                    .toRemote(endpoint, Serializer.utf8(), 1024, 10, TimeUnit.MILLISECONDS, flusher), error);
+
+            receiver.awaitDone(10, TimeUnit.SECONDS);
+            receiver.assertNoErrors().assertValues("alpha", "бета", "gamma").assertComplete();
+            assertTrue(sent.await(5, TimeUnit.SECONDS));
+            assertNull(error.get());
+        } finally {
+            flusher.shutdown();
+        }
+    }
+
+    @Test
+    void testErrorCrossesConnection() throws Exception {
+        RemoteEndpoint endpoint = loopback();
+        TestObserver<String> receiver = Observables.fromRemote(endpoint, Serializer.utf8(), 16, IO).test();
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        CountDownLatch sent = send(Observable.<String>create(emitter -> {
+            emitter.onNext("a");
+            emitter.onError(new IllegalStateException("boom"));
+        }).toRemote(endpoint, Serializer.utf8()), error);
+
+        receiver.awaitDone(10, TimeUnit.SECONDS);
+        receiver.assertValues("a").assertError(RemoteException.class);
+        RemoteException remote = (RemoteException) receiver.errors().get(0);
+        assertEquals(IllegalStateException.class.getName(), remote.getRemoteClassName());
+        assertTrue(remote.getMessage().contains("boom"));
+        // Отправитель тоже завершается исходной ошибкой
+        assertTrue(sent.await(5, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalStateException.class, error.get());
+    }
+
+    @Test
+    void testCreditsBoundFramesInFlight() throws Exception {
+        RemoteEndpoint endpoint = loopback();
+        CountDownLatch gate = new CountDownLatch(1);
+        AtomicInteger produced = new AtomicInteger();
+        TestObserver<Long> receiver = Observables.fromRemote(endpoint, Serializer.longs(), 4, IO)
+                .map(v -> {
+                    if (v == 0) {
+                        awaitQuietly(gate);
+                    }
+                    return v;
+                })
+                .test();
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        CountDownLatch sent = send(range(100).map(v -> {
+            produced.incrementAndGet();
+            return v;
+        }).toRemote(endpoint, Serializer.longs()), error);
+
+        // Приёмник держит первый элемент: отправитель расходует 4 кредита и ждёт с пятым элементом
+        Thread.sleep(300);
+        assertTrue(produced.get() <= 5, "produced " + produced.get());
+        gate.countDown();
+
+        receiver.awaitDone(10, TimeUnit.SECONDS);
+        receiver.assertNoErrors().assertComplete().assertValueCount(100);
+        assertTrue(sent.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testDisposeCancelsSender() throws Exception {
+        RemoteEndpoint endpoint = loopback();
+        TestObserver<Long> receiver = Observables.fromRemote(endpoint, Serializer.longs(), 8, IO).test();
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        CountDownLatch sent = send(Observable.<Long>create(emitter -> {
+            for (long i = 0; !emitter.isDisposed(); i++) {
+                emitter.onNext(i);
+            }
+        }).toRemote(endpoint, Serializer.longs()), error);
+
+        receiver.awaitCount(10);
+        receiver.dispose();
+
+        // CANCEL останавливает бесконечный источник и завершает отправителя без ошибки
+        assertTrue(sent.await(10, TimeUnit.SECONDS));
+        assertNull(error.get());
+        receiver.assertNotComplete();
+    }
+
+    @Test
+    void testFrameLargerThanReceiveBuffer() throws Exception {
+        RemoteEndpoint endpoint = loopback();
+        byte[] large = new byte[200 * 1024];
+        Arrays.fill(large, (byte) 7);
+        TestObserver<byte[]> receiver = Observables.fromRemote(endpoint, Serializer.bytes(), 4, IO).test();
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        SingleThreadScheduler flusher = new SingleThreadScheduler();
+        try {
+            CountDownLatch sent = send(Observable.just(large)
+                    .toRemote(endpoint, Serializer.bytes(), 256 * 1024, 10, TimeUnit.MILLISECONDS, flusher), error);
+
+            receiver.awaitDone(10, TimeUnit.SECONDS);
+            receiver.assertNoErrors().assertComplete().assertValueCount(1);
+            assertArrayEquals(large, receiver.values().get(0));
+            assertTrue(sent.await(5, TimeUnit.SECONDS));
+        } finally {
+            flusher.shutdown();
+        }
+    }
+
+    @Test
+    void testDisposeUnblocksSenderWaitingForCredit() throws Exception {
+        RemoteEndpoint endpoint = loopback();
+        CountDownLatch gate = new CountDownLatch(1);
+        TestObserver<Long> receiver = Observables.fromRemote(endpoint, Serializer.longs(), 4, IO)
+                .map(v -> {
+                    if (v == 0) {
+                        awaitQuietly(gate);
+                    }
+                    return v;
+                })
+                .test();
+        AtomicInteger produced = new AtomicInteger();
+        AtomicReference<Disposable> subscription = new AtomicReference<>();
+        Thread sender = new Thread(() -> Observable.<Long>create(emitter -> {
+            for (long i = 0; i < 100 && !emitter.isDisposed(); i++) {
+                produced.incrementAndGet();
+                emitter.onNext(i);
+            }
+            emitter.onComplete();
+        }).toRemote(endpoint, Serializer.longs()).subscribe(new CompletableObserver() {
+            @Override
+            public void onSubscribe(Disposable upstream) {
+                subscription.set(upstream);
+            }
+
+            @Override
+            public void onComplete() {
+            }
+
+            @Override
+            public void onError(Throwable error) {
+            }
+        }), "remote-test-sender");
+        sender.setDaemon(true);
+        sender.start();
+        try {
+            // Кредиты кончились: отправитель ждёт с пятым элементом
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (produced.get() < 5 && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            subscription.get().dispose();
+            sender.join(5000);
+            assertFalse(sender.isAlive());
+            assertEquals(5, produced.get());
+        } finally {
+            gate.countDown();
+            receiver.dispose();
+        }
+    }
+
+    @Test
+    void testJavaSerializerAppliesFilter() {
+        ObjectInputFilter stringsOnly = ObjectInputFilter.Config.createFilter("java.lang.String;!*");
+        Serializer<String> strings = Serializer.java(stringsOnly);
+        ByteBuffer buffer = ByteBuffer.allocate(1024);
+        strings.serialize("hello", buffer);
+        buffer.flip();
+        assertEquals("hello", strings.deserialize(buffer));
+
+        Serializer<Date> dates = Serializer.java(stringsOnly);
+        buffer.clear();
+        dates.serialize(new Date(), buffer);
+        buffer.flip();
+        assertThrows(UncheckedIOException.class, () -> dates.deserialize(buffer));
+    }
+}
+
@@ -0,0 +1,220 @@
+package com.customrx;
+
+import com.customrx.core.*;
+import com.customrx.observers.TestObserver;
+import com.customrx.operators.Backoff;
+import com.customrx.operators.CircuitBreaker;
+import com.customrx.schedulers.TestScheduler;
+import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import static org.junit.jupiter.api.Assertions.*;
+
+class RetryTest {
+
+    // Источник, падающий на первых failures подписках
+    private static Observable<String> flaky(AtomicInteger subscriptions, int failures) {
+        return Observable.create(emitter -> {
+            int attempt = subscriptions.incrementAndGet();
+            if (attempt <= failures) {
+                emitter.onError(new RuntimeException("Failure " + attempt));
+            } else {
+                emitter.onNext("ok");
+                emitter.onComplete();
+            }
+        });
+    }
+
+    @Test
+    void testRetrySucceedsAfterFailures() {
+        AtomicInteger subscriptions = new AtomicInteger();
+        List<String> results = new ArrayList<>();
+
+        flaky(subscriptions, 2).retry(3).subscribe(results::add, error -> fail(error), () -> {});
+
+        assertEquals(Arrays.asList("ok"), results);
+        assertEquals(3, subscriptions.get());
+    }
+
+    @Test
+    void testRetryGivesUpWithLastError() {
+        AtomicInteger subscriptions = new AtomicInteger();
+        AtomicReference<Throwable> error = new AtomicReference<>();
+
+        flaky(subscriptions, 10).retry(2).subscribe(item -> fail("No items expected"), error::set, () -> {});
+
+        assertEquals("Failure 3", error.get().getMessage());
+        assertEquals(3, subscriptions.get());
+    }
+
+    @Test
+    void testSynchronousRetriesDoNotGrowStack() {
+        AtomicInteger subscriptions = new AtomicInteger();
+        List<String> results = new ArrayList<>();
+
+        flaky(subscriptions, 100_000).retry(100_000).subscribe(results::add, error -> fail(error), () -> {});
+
+        assertEquals(Arrays.asList("ok"), results);
+    }
+
+    @Test
+    void testExponentialBackoffWithJitter() {
+        Backoff backoff = Backoff.exponential(10, 100, TimeUnit.MILLISECONDS, 5);
+        for (int i = 0; i < 100; i++) {
+            assertTrue(backoff.delayNanos(1) <= TimeUnit.MILLISECONDS.toNanos(10));
+            assertTrue(backoff.delayNanos(3) <= TimeUnit.MILLISECONDS.toNanos(40));
+            assertTrue(backoff.delayNanos(5) <= TimeUnit.MILLISECONDS.toNanos(100));
+        }
+        assertEquals(-1L, backoff.delayNanos(6));
+    }
+
+    @Test
+    void testRetryWhenSchedulesDelayedAttempts() {
+        TestScheduler scheduler = new TestScheduler();
+        AtomicInteger subscriptions = new AtomicInteger();
+
+        TestObserver<String> observer = flaky(subscriptions, 3)
+                .retryWhen(Backoff.fixed(30, TimeUnit.MILLISECONDS, 5), scheduler)
+                .test();
+        // Первая попытка упала синхронно, а subscribe вернулся, не дожидаясь повторов
+        assertEquals(1, subscriptions.get());
+
+        scheduler.advanceTimeBy(29, TimeUnit.MILLISECONDS);
+        assertEquals(1, subscriptions.get());
+        scheduler.advanceTimeBy(1, TimeUnit.MILLISECONDS);
+        assertEquals(2, subscriptions.get());
+
+        scheduler.advanceTimeBy(60, TimeUnit.MILLISECONDS);
+        observer.assertValues("ok").assertComplete();
+        assertEquals(4, subscriptions.get());
+    }
+
+    @Test
+    void testRepeat() {
+        TestScheduler scheduler = new TestScheduler();
+        AtomicInteger counter = new AtomicInteger();
+        Observable<Integer> source = Observable.create(emitter -> {
+            emitter.onNext(counter.incrementAndGet());
+            emitter.onComplete();
+        });
+
+        source.repeat(3).test().assertValues(1, 2, 3).assertComplete();
+
+        TestObserver<Integer> delayed = source.repeatWhen(Backoff.fixed(5, TimeUnit.MILLISECONDS, 2), scheduler).test();
+        delayed.assertValues(4).assertNotComplete();
+        scheduler.advanceTimeBy(10, TimeUnit.MILLISECONDS);
+        delayed.assertValues(4, 5, 6).assertComplete();
+    }
+
+    @Test
+    void testOnErrorReturnAndResumeNext() {
+        Observable<Integer> failing = Observable.create(emitter -> {
+            emitter.onNext(1);
+            emitter.onError(new IllegalStateException("Broken"));
+        });
+
+        assertEquals(Arrays.asList(1, -1), failing.onErrorReturn(error -> -1).toList().blockingGet());
+        assertEquals(Arrays.asList(1, 10, 20),
+                failing.onErrorResumeNext(error -> Observable.fromIterable(Arrays.asList(10, 20))).toList().blockingGet());
+    }
+
+    @Test
+    void testCircuitBreakerOpensAndProbes() {
+        TestScheduler clock = new TestScheduler();
+        CircuitBreaker breaker = new CircuitBreaker(2, 50, TimeUnit.MILLISECONDS, clock);
+        AtomicInteger calls = new AtomicInteger();
+        AtomicInteger failuresLeft = new AtomicInteger(3);
+        Observable<String> call = Observable.<String>create(emitter -> {
+            calls.incrementAndGet();
+            if (failuresLeft.getAndDecrement() > 0) {
+                emitter.onError(new RuntimeException("Backend down"));
+            } else {
+                emitter.onNext("ok");
+                emitter.onComplete();
+            }
+        }).circuitBreaker(breaker);
+
+        for (int i = 0; i < 4; i++) {
+            call.test();
+        }
+        // После двух ошибок цепь разомкнута, остальные вызовы не доходят до сервиса
+        assertEquals(2, calls.get());
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        call.test().assertError(CircuitBreaker.OpenException.class);
+
+        clock.advanceTimeBy(50, TimeUnit.MILLISECONDS);
+        // Пробный вызов падает, и цепь снова размыкается
+        call.test().assertError(RuntimeException.class);
+        assertEquals(3, calls.get());
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+
+        clock.advanceTimeBy(50, TimeUnit.MILLISECONDS);
+        call.test().assertValues("ok").assertComplete();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    void testLateFailuresDoNotExtendOpenState() {
+        TestScheduler clock = new TestScheduler();
+        CircuitBreaker breaker = new CircuitBreaker(1, 50, TimeUnit.MILLISECONDS, clock);
+        breaker.onFailure();
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+
+        // Ответы вызовов, пропущенных до размыкания, приходят уже в OPEN и срок не сдвигают
+        clock.advanceTimeBy(30, TimeUnit.MILLISECONDS);
+        breaker.onFailure();
+        breaker.onFailure();
+        clock.advanceTimeBy(20, TimeUnit.MILLISECONDS);
+        assertTrue(breaker.tryAcquire());
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+    }
+
+    @Test
+    void testDisposeCancelsPendingRetry() {
+        TestScheduler scheduler = new TestScheduler();
+        AtomicInteger subscriptions = new AtomicInteger();
+
+        TestObserver<String> observer = flaky(subscriptions, 3)
+                .retryWhen(Backoff.fixed(30, TimeUnit.MILLISECONDS, 5), scheduler)
+                .test();
+        assertEquals(1, scheduler.pendingActions());
+
+        // Отмена между попытками снимает таймер, и новая подписка не происходит
+        observer.dispose();
+        assertEquals(0, scheduler.pendingActions());
+        scheduler.advanceTimeBy(1, TimeUnit.SECONDS);
+        assertEquals(1, subscriptions.get());
+    }
+
+    @Test
+    void testDisposeStopsRunningAttempt() {
+        AtomicReference<Emitter<String>> source = new AtomicReference<>();
+        TestObserver<String> observer = Observable.<String>create(source::set).retry(3).test();
+
+        observer.dispose();
+        assertTrue(source.get().isDisposed());
+    }
+
+    @Test
+    void testDisposedProbeReleasesPermit() {
+        TestScheduler clock = new TestScheduler();
+        CircuitBreaker breaker = new CircuitBreaker(1, 50, TimeUnit.MILLISECONDS, clock);
+        Observable.<String>create(emitter -> emitter.onError(new RuntimeException("Backend down")))
+                .circuitBreaker(breaker).test();
+        clock.advanceTimeBy(50, TimeUnit.MILLISECONDS);
+
+        // Пробный вызов отменён, не дав ни результата, ни ошибки
+        AtomicReference<Emitter<String>> probe = new AtomicReference<>();
+        Observable.<String>create(probe::set).circuitBreaker(breaker).test().dispose();
+        assertTrue(probe.get().isDisposed());
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+
+        // Разрешение не потеряно: следующий вызов снова становится пробой
+        Observable.just("ok").circuitBreaker(breaker).test().assertValues("ok").assertComplete();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+}
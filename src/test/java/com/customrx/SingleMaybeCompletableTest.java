@@ -0,0 +1,179 @@
+package com.customrx;
+
+import com.customrx.core.*;
+import com.customrx.observers.TestObserver;
+import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleMaybeCompletableTest {
+
+    @Test
+    void testSingleMapAndFlatMap() {
+        AtomicReference<String> result = new AtomicReference<>();
+
+        Single.just(20)
+                .map(x -> x + 1)
+                .flatMap(x -> Single.just("answer=" + (x * 2)))
+                .subscribe(result::set, error -> {});
+
+        assertEquals("answer=42", result.get());
+    }
+
+    @Test
+    void testSingleEmitsOnlyOneTerminalSignal() {
+        AtomicInteger successes = new AtomicInteger();
+        AtomicInteger errors = new AtomicInteger();
+
+        Single.<String>create(emitter -> {
+            emitter.onSuccess("first");
+            emitter.onSuccess("second");
+            emitter.onError(new RuntimeException("late"));
+        }).subscribe(value -> successes.incrementAndGet(), error -> errors.incrementAndGet());
+
+        assertEquals(1, successes.get());
+        assertEquals(0, errors.get());
+    }
+
+    @Test
+    void testSingleZip() {
+        AtomicReference<String> result = new AtomicReference<>();
+        Single.zip(Single.just("a"), Single.just(1), (s, i) -> s + i).subscribe(result::set, error -> {});
+        assertEquals("a1", result.get());
+    }
+
+    @Test
+    void testSingleErrorInZip() {
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        Single.zip(Single.just("a"), Single.<Integer>error(new RuntimeException("boom")), (s, i) -> s + i)
+                .subscribe(value -> fail("Should not succeed"), error::set);
+        assertEquals("boom", error.get().getMessage());
+    }
+
+    @Test
+    void testObservableToSingle() {
+        AtomicReference<Integer> value = new AtomicReference<>();
+        AtomicReference<Throwable> error = new AtomicReference<>();
+
+        Observable.just(7).singleOrError().subscribe(value::set, error::set);
+        assertEquals(7, value.get());
+
+        Observable.<Integer>create(Emitter::onComplete).singleOrError().subscribe(value::set, error::set);
+        assertTrue(error.get() instanceof NoSuchElementException);
+    }
+
+    @Test
+    void testMaybeEmptyAndDefault() {
+        AtomicReference<String> result = new AtomicReference<>();
+        AtomicBoolean completed = new AtomicBoolean();
+
+        Maybe.just("value").filter(s -> s.isEmpty())
+                .subscribe(s -> fail("Filtered value should not be emitted"), error -> {}, () -> completed.set(true));
+        Maybe.<String>empty().defaultIfEmpty("default").subscribe(result::set, error -> {});
+
+        assertTrue(completed.get());
+        assertEquals("default", result.get());
+    }
+
+    @Test
+    void testFirstElementAndToObservable() {
+        List<Integer> results = new ArrayList<>();
+
+        Observable.<Integer>create(emitter -> {
+                    emitter.onNext(1);
+                    emitter.onNext(2);
+                    emitter.onComplete();
+                })
+                .firstElement()
+                .flatMapSingle(x -> Single.just(x * 100))
+                .toObservable()
+                .subscribe(results::add, error -> {}, () -> {});
+
+        assertEquals(Arrays.asList(100), results);
+    }
+
+    @Test
+    void testCompletableChain() {
+        List<String> events = new ArrayList<>();
+
+        Completable.fromAction(() -> events.add("step 1"))
+                .andThen(Completable.fromAction(() -> events.add("step 2")))
+                .andThen(Single.just("done"))
+                .subscribe(events::add, error -> {});
+
+        assertEquals(Arrays.asList("step 1", "step 2", "done"), events);
+    }
+
+    @Test
+    void testIgnoreElementsPropagatesError() {
+        AtomicReference<Throwable> error = new AtomicReference<>();
+
+        Observable.<Integer>create(emitter -> {
+                    emitter.onNext(1);
+                    emitter.onError(new RuntimeException("Failure"));
+                })
+                .ignoreElements()
+                .subscribe(() -> fail("Should not complete"), error::set);
+
+        assertEquals("Failure", error.get().getMessage());
+    }
+
+    @Test
+    void testFirstElementStopsInfiniteSource() {
+        AtomicInteger emitted = new AtomicInteger();
+        AtomicReference<Integer> first = new AtomicReference<>();
+        Observable.<Integer>create(emitter -> {
+            for (int i = 1; !emitter.isDisposed(); i++) {
+                emitted.incrementAndGet();
+                emitter.onNext(i);
+            }
+        }).firstElement().subscribe(first::set, e -> fail(e), () -> fail("Should not be empty"));
+
+        assertEquals(1, first.get());
+        assertEquals(1, emitted.get());
+    }
+
+    @Test
+    void testDisposingCompletableDisposesSource() {
+        AtomicReference<Emitter<Integer>> source = new AtomicReference<>();
+        var subscription = Observable.<Integer>create(source::set)
+                .ignoreElements()
+                .subscribe(() -> fail("Should not complete"), e -> fail(e));
+
+        assertFalse(source.get().isDisposed());
+        subscription.dispose();
+        assertTrue(source.get().isDisposed());
+    }
+
+    @Test
+    void testZipErrorDisposesOtherSide() {
+        AtomicReference<SingleEmitter<Integer>> pending = new AtomicReference<>();
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        Single.zip(Single.<Integer>create(pending::set), Single.<Integer>error(new IllegalStateException("Failure")),
+                        (a, b) -> a + b)
+                .subscribe(v -> fail("Should not succeed"), error::set);
+
+        assertEquals("Failure", error.get().getMessage());
+        assertTrue(pending.get().isDisposed());
+    }
+
+    @Test
+    void testDisposeReachesSourceBeforeItReturns() {
+        TestObserver<Integer> observer = new TestObserver<>();
+        AtomicBoolean disposed = new AtomicBoolean();
+        Single.<Integer>create(emitter -> {
+            // Источник ещё не вернул управление, а отмена уже дошла до его эмиттера
+            observer.dispose();
+            disposed.set(emitter.isDisposed());
+        }).map(v -> v).toObservable().subscribe(observer);
+
+        assertTrue(disposed.get());
+    }
+}
+
@@ -0,0 +1,210 @@
+package com.customrx;
+
+import com.customrx.core.*;
+import com.customrx.disposable.Disposable;
+import com.customrx.io.Encoder;
+import com.customrx.schedulers.SingleThreadScheduler;
+import com.customrx.schedulers.TestScheduler;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.channels.FileChannel;
+import java.nio.channels.GatheringByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import static org.junit.jupiter.api.Assertions.*;
+
+class SinksTest {
+
+    @TempDir
+    Path tempDir;
+
+    private static Observable<Integer> range(int count) {
+        return Observable.create(emitter -> {
+            for (int i = 0; i < count; i++) {
+                emitter.onNext(i);
+            }
+            emitter.onComplete();
+        });
+    }
+
+    // Канал в памяти, считающий системные вызовы записи
+    private static class CountingChannel implements GatheringByteChannel {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final AtomicInteger writes = new AtomicInteger();
+
+        @Override
+        public synchronized long write(ByteBuffer[] srcs, int offset, int length) {
+            writes.incrementAndGet();
+            long total = 0;
+            for (int i = offset; i < offset + length; i++) {
+                total += drain(srcs[i]);
+            }
+            return total;
+        }
+
+        @Override
+        public long write(ByteBuffer[] srcs) {
+            return write(srcs, 0, srcs.length);
+        }
+
+        @Override
+        public synchronized int write(ByteBuffer src) {
+            writes.incrementAndGet();
+            return drain(src);
+        }
+
+        private int drain(ByteBuffer src) {
+            int n = src.remaining();
+            byte[] bytes = new byte[n];
+            src.get(bytes);
+            out.write(bytes, 0, n);
+            return n;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return true;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    @Test
+    void testWritesAreBatched() throws InterruptedException {
+        CountingChannel channel = new CountingChannel();
+        CountDownLatch latch = new CountDownLatch(1);
+
+        range(1000).writeTo(channel, Encoder.utf8Lines(), 1024, 4, 0L, null, null)
+                .subscribe(latch::countDown, error -> fail(error));
+
+        assertTrue(latch.await(1, TimeUnit.SECONDS));
+        String written = channel.out.toString(StandardCharsets.UTF_8);
+        assertTrue(written.startsWith("0\n1\n2\n"));
+        assertTrue(written.endsWith("998\n999\n"));
+        // 3890 байт через пачки по 4 КБ: одна-две записи вместо тысячи
+        assertTrue(channel.writes.get() <= 2, "Writes: " + channel.writes.get());
+    }
+
+    @Test
+    void testFlushOnTimeThreshold() throws InterruptedException {
+        CountingChannel channel = new CountingChannel();
+        AtomicInteger bytesBeforeComplete = new AtomicInteger();
+        CountDownLatch latch = new CountDownLatch(1);
+
+        Observable.<String>create(emitter -> {
+                    emitter.onNext("event");
+                    try {
+                        Thread.sleep(300);
+                    } catch (InterruptedException e) {
+                        emitter.onError(e);
+                        return;
+                    }
+                    bytesBeforeComplete.set(channel.out.size());
+                    emitter.onComplete();
+                })
+                .writeTo(channel, Encoder.utf8Lines(), 1024, 2, 20, TimeUnit.MILLISECONDS, new SingleThreadScheduler())
+                .subscribe(latch::countDown, error -> fail(error));
+
+        assertTrue(latch.await(2, TimeUnit.SECONDS));
+        assertEquals(6, bytesBeforeComplete.get());
+    }
+
+    @Test
+    void testWriteToFileChannel() throws Exception {
+        Path file = tempDir.resolve("out.log");
+        CountDownLatch latch = new CountDownLatch(1);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            range(100).writeTo(channel, Encoder.utf8Lines()).subscribe(latch::countDown, error -> fail(error));
+            assertTrue(latch.await(1, TimeUnit.SECONDS));
+        }
+        List<String> lines = Files.readAllLines(file);
+        assertEquals(100, lines.size());
+        assertEquals("99", lines.get(99));
+    }
+
+    @Test
+    void testWriteToAsynchronousFileChannel() throws Exception {
+        Path file = tempDir.resolve("async.log");
+        CountDownLatch latch = new CountDownLatch(1);
+        try (AsynchronousFileChannel channel = AsynchronousFileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            range(5000).writeTo(channel, 0L, Encoder.utf8Lines(), 512, 2, 0L, null, null)
+                    .subscribe(latch::countDown, error -> fail(error));
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        }
+        List<String> lines = Files.readAllLines(file);
+        assertEquals(5000, lines.size());
+        assertEquals("0", lines.get(0));
+        assertEquals("4999", lines.get(4999));
+    }
+
+    @Test
+    void testSinkReportsUpstreamError() {
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        CountingChannel channel = new CountingChannel();
+
+        Observable.<Integer>create(emitter -> {
+                    emitter.onNext(1);
+                    emitter.onError(new RuntimeException("Upstream failed"));
+                })
+                .writeTo(channel, Encoder.utf8Lines())
+                .subscribe(() -> fail("Should not complete"), error::set);
+
+        assertEquals("Upstream failed", error.get().getMessage());
+        // Уже закодированные данные сбрасываются до сообщения об ошибке
+        assertEquals("1\n", channel.out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testDisposeStopsSourceAndFlushTimer() {
+        TestScheduler scheduler = new TestScheduler();
+        CountingChannel channel = new CountingChannel();
+        AtomicReference<Emitter<String>> source = new AtomicReference<>();
+
+        Disposable subscription = Observable.create(source::set)
+                .writeTo(channel, Encoder.utf8Lines(), 1024, 2, 20, TimeUnit.MILLISECONDS, scheduler)
+                .subscribe(() -> fail("Should not complete"), error -> fail(error));
+        source.get().onNext("event");
+        assertEquals(1, scheduler.pendingActions());
+
+        subscription.dispose();
+        assertTrue(source.get().isDisposed());
+        assertEquals(0, scheduler.pendingActions());
+        // Незаписанный хвост отброшен вместе с буферами
+        source.get().onNext("late");
+        scheduler.advanceTimeBy(1, TimeUnit.SECONDS);
+        assertEquals(0, channel.writes.get());
+    }
+
+    @Test
+    void testDisposeStopsAsynchronousFileSink() throws Exception {
+        Path file = tempDir.resolve("disposed.log");
+        TestScheduler scheduler = new TestScheduler();
+        AtomicReference<Emitter<String>> source = new AtomicReference<>();
+        try (AsynchronousFileChannel channel = AsynchronousFileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            Disposable subscription = Observable.create(source::set)
+                    .writeTo(channel, 0L, Encoder.utf8Lines(), 512, 2, 20, TimeUnit.MILLISECONDS, scheduler)
+                    .subscribe(() -> fail("Should not complete"), error -> fail(error));
+            source.get().onNext("event");
+            assertEquals(1, scheduler.pendingActions());
+
+            subscription.dispose();
+            assertTrue(source.get().isDisposed());
+            assertEquals(0, scheduler.pendingActions());
+        }
+        assertEquals(0, Files.size(file));
+    }
+}
@@ -0,0 +1,153 @@
+package com.customrx;
+
+import com.customrx.core.*;
+import com.customrx.io.Serializer;
+import com.customrx.observers.TestObserver;
+import com.customrx.schedulers.TestScheduler;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+import static org.junit.jupiter.api.Assertions.*;
+
+class SpillToDiskTest {
+
+    @TempDir
+    Path tempDir;
+
+    private long segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(tempDir)) {
+            return files.count();
+        }
+    }
+
+    private static void emitRange(Emitter<Long> emitter, long from, long to) {
+        for (long i = from; i < to; i++) {
+            emitter.onNext(i);
+        }
+    }
+
+    private static void assertRange(TestObserver<Long> observer, int count) {
+        observer.assertValueCount(count);
+        for (int i = 0; i < count; i++) {
+            assertEquals((long) i, observer.values().get(i));
+        }
+    }
+
+    @Test
+    void testStalledConsumerSpillsAndReplaysInOrder() throws IOException {
+        TestScheduler scheduler = new TestScheduler();
+        AtomicReference<Emitter<Long>> source = new AtomicReference<>();
+        TestObserver<Long> observer = Observable.create(source::set)
+                .onBackpressureSpillToDisk(16, tempDir, Serializer.longs(), 4096, scheduler)
+                .test();
+
+        // Разборщик не запускался: 16 элементов в памяти, остальные на диске в нескольких сегментах
+        emitRange(source.get(), 0, 5000);
+        source.get().onComplete();
+        observer.assertNoValues();
+        assertTrue(segmentFiles() > 1);
+
+        scheduler.triggerActions();
+        assertRange(observer, 5000);
+        observer.assertComplete();
+        assertEquals(0, segmentFiles());
+    }
+
+    @Test
+    void testFastConsumerStaysInMemory() throws IOException {
+        TestScheduler scheduler = new TestScheduler();
+        AtomicReference<Emitter<Long>> source = new AtomicReference<>();
+        TestObserver<Long> observer = Observable.create(source::set)
+                .onBackpressureSpillToDisk(16, tempDir, Serializer.longs(), 4096, scheduler)
+                .test();
+
+        for (long i = 0; i < 100; i++) {
+            source.get().onNext(i);
+            scheduler.triggerActions();
+        }
+        source.get().onComplete();
+        scheduler.triggerActions();
+
+        assertRange(observer, 100);
+        observer.assertComplete();
+        assertEquals(0, segmentFiles());
+    }
+
+    @Test
+    void testNewItemsQueueBehindSpilledOnes() throws IOException {
+        TestScheduler scheduler = new TestScheduler();
+        AtomicReference<Emitter<Long>> source = new AtomicReference<>();
+        TestObserver<Long> observer = Observable.create(source::set)
+                .onBackpressureSpillToDisk(4, tempDir, Serializer.longs(), 4096, scheduler)
+                .test();
+
+        emitRange(source.get(), 0, 50);
+        scheduler.triggerActions();
+        // Журнал разобран и удалён, следующие элементы снова идут через память
+        assertEquals(0, segmentFiles());
+        emitRange(source.get(), 50, 60);
+        scheduler.triggerActions();
+        emitRange(source.get(), 60, 100);
+        source.get().onComplete();
+        scheduler.triggerActions();
+
+        assertRange(observer, 100);
+        observer.assertComplete();
+    }
+
+    @Test
+    void testErrorArrivesAfterSpilledItems() throws IOException {
+        TestScheduler scheduler = new TestScheduler();
+        AtomicReference<Emitter<Long>> source = new AtomicReference<>();
+        TestObserver<Long> observer = Observable.create(source::set)
+                .onBackpressureSpillToDisk(2, tempDir, Serializer.longs(), 4096, scheduler)
+                .test();
+
+        emitRange(source.get(), 0, 10);
+        source.get().onError(new IllegalStateException("boom"));
+        scheduler.triggerActions();
+
+        assertRange(observer, 10);
+        observer.assertError(IllegalStateException.class);
+        assertEquals(0, segmentFiles());
+    }
+
+    @Test
+    void testDisposeDeletesSegments() throws IOException {
+        TestScheduler scheduler = new TestScheduler();
+        AtomicReference<Emitter<Long>> source = new AtomicReference<>();
+        TestObserver<Long> observer = Observable.create(source::set)
+                .onBackpressureSpillToDisk(2, tempDir, Serializer.longs(), 4096, scheduler)
+                .test();
+
+        emitRange(source.get(), 0, 2000);
+        assertTrue(segmentFiles() > 0);
+        observer.dispose();
+
+        assertEquals(0, segmentFiles());
+        assertTrue(source.get().isDisposed());
+        scheduler.triggerActions();
+        observer.assertNoValues();
+    }
+
+    @Test
+    void testItemLargerThanSegmentFails() throws IOException {
+        TestScheduler scheduler = new TestScheduler();
+        AtomicReference<Emitter<String>> source = new AtomicReference<>();
+        TestObserver<String> observer = Observable.create(source::set)
+                .onBackpressureSpillToDisk(1, tempDir, Serializer.utf8(), 64, scheduler)
+                .test();
+
+        source.get().onNext("fits");
+        source.get().onNext("x".repeat(100));
+        scheduler.triggerActions();
+
+        observer.assertValues("fits").assertError(IllegalArgumentException.class);
+        assertTrue(source.get().isDisposed());
+        assertEquals(0, segmentFiles());
+    }
+}
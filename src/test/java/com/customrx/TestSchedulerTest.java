@@ -0,0 +1,86 @@
+package com.customrx;
+
+import com.customrx.core.*;
+import com.customrx.disposable.Disposable;
+import com.customrx.observers.TestObserver;
+import com.customrx.schedulers.IOScheduler;
+import com.customrx.schedulers.TestScheduler;
+import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import static org.junit.jupiter.api.Assertions.*;
+
+class TestSchedulerTest {
+
+    @Test
+    void testActionsRunInTimeOrder() {
+        TestScheduler scheduler = new TestScheduler();
+        List<String> log = new ArrayList<>();
+
+        scheduler.schedule(() -> log.add("b"), 20, TimeUnit.MILLISECONDS);
+        scheduler.schedule(() -> log.add("a"), 10, TimeUnit.MILLISECONDS);
+        scheduler.schedule(() -> log.add("c"), 20, TimeUnit.MILLISECONDS);
+        scheduler.schedule(() -> log.add("now"));
+        assertTrue(log.isEmpty());
+
+        scheduler.triggerActions();
+        assertEquals(Arrays.asList("now"), log);
+
+        scheduler.advanceTimeBy(15, TimeUnit.MILLISECONDS);
+        assertEquals(Arrays.asList("now", "a"), log);
+        assertEquals(15, scheduler.now(TimeUnit.MILLISECONDS));
+
+        // Задачи с одинаковым сроком выполняются в порядке планирования
+        scheduler.advanceTimeTo(20, TimeUnit.MILLISECONDS);
+        assertEquals(Arrays.asList("now", "a", "b", "c"), log);
+        assertEquals(0, scheduler.pendingActions());
+    }
+
+    @Test
+    void testPeriodicAndDisposedActions() {
+        TestScheduler scheduler = new TestScheduler();
+        List<Long> ticks = new ArrayList<>();
+
+        Disposable periodic = scheduler.schedulePeriodically(
+                () -> ticks.add(scheduler.now(TimeUnit.MILLISECONDS)), 5, 10, TimeUnit.MILLISECONDS);
+        Disposable cancelled = scheduler.schedule(() -> fail("Disposed action must not run"), 1, TimeUnit.MILLISECONDS);
+        cancelled.dispose();
+
+        scheduler.advanceTimeBy(30, TimeUnit.MILLISECONDS);
+        assertEquals(Arrays.asList(5L, 15L, 25L), ticks);
+
+        periodic.dispose();
+        scheduler.advanceTimeBy(30, TimeUnit.MILLISECONDS);
+        assertEquals(3, ticks.size());
+        assertEquals(0, scheduler.pendingActions());
+    }
+
+    @Test
+    void testTestObserverAssertions() {
+        Observable.fromIterable(Arrays.asList(1, 2, 3)).test()
+                .assertValues(1, 2, 3)
+                .assertComplete()
+                .assertNoErrors();
+
+        TestObserver<Integer> failed = Observable.<Integer>create(emitter -> {
+            emitter.onNext(1);
+            emitter.onError(new IllegalStateException("Broken"));
+        }).test();
+        failed.assertValueCount(1).assertError(IllegalStateException.class).assertNotComplete();
+
+        assertThrows(AssertionError.class, () -> failed.assertValues(2));
+        assertThrows(AssertionError.class, failed::assertNoErrors);
+    }
+
+    @Test
+    void testAwaitAsyncValues() {
+        Observable.fromIterable(Arrays.asList(1, 2, 3))
+                .subscribeOn(new IOScheduler())
+                .test()
+                .awaitDone(5, TimeUnit.SECONDS)
+                .assertValues(1, 2, 3)
+                .assertComplete();
+    }
+}
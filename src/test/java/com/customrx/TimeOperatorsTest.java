@@ -0,0 +1,166 @@
+package com.customrx;
+
+import com.customrx.core.*;
+import com.customrx.observers.TestObserver;
+import com.customrx.schedulers.TestScheduler;
+import org.junit.jupiter.api.Test;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimeOperatorsTest {
+
+    private final TestScheduler scheduler = new TestScheduler();
+    private final AtomicReference<Emitter<Integer>> source = new AtomicReference<>();
+    private final Observable<Integer> manual = Observable.create(source::set);
+
+    private void emit(Integer... items) {
+        for (Integer item : items) {
+            source.get().onNext(item);
+        }
+    }
+
+    private void advance(long millis) {
+        scheduler.advanceTimeBy(millis, TimeUnit.MILLISECONDS);
+    }
+
+    @Test
+    void testSampleThinsBurstyStream() {
+        TestObserver<Integer> observer = manual.sample(100, TimeUnit.MILLISECONDS, scheduler).test();
+
+        emit(1, 2, 3);
+        advance(100);
+        observer.assertValues(3);
+
+        // Тик без новых элементов ничего не выдаёт
+        advance(100);
+        observer.assertValues(3);
+
+        emit(4, 5);
+        advance(50);
+        emit(6);
+        advance(50);
+        observer.assertValues(3, 6);
+
+        // Последний элемент не теряется при завершении
+        emit(7);
+        source.get().onComplete();
+        observer.assertValues(3, 6, 7).assertComplete();
+        assertEquals(0, scheduler.pendingActions());
+    }
+
+    @Test
+    void testThrottleFirst() {
+        TestObserver<Integer> observer = manual.throttleFirst(100, TimeUnit.MILLISECONDS, scheduler).test();
+
+        emit(1, 2);
+        advance(50);
+        emit(3);
+        advance(50);
+        emit(4, 5);
+        advance(150);
+        emit(6);
+
+        observer.assertValues(1, 4, 6);
+    }
+
+    @Test
+    void testDebounceEmitsLastItemOfEachBurst() {
+        TestObserver<Integer> observer = manual.debounce(50, TimeUnit.MILLISECONDS, scheduler).test();
+
+        emit(1);
+        advance(30);
+        emit(2);
+        advance(30);
+        // Срок сдвинулся вторым элементом: первый таймер перевзвёлся, а не выдал 1
+        observer.assertNoValues();
+        assertEquals(1, scheduler.pendingActions());
+
+        advance(20);
+        observer.assertValues(2);
+
+        emit(3);
+        source.get().onComplete();
+        observer.assertValues(2, 3).assertComplete();
+    }
+
+    @Test
+    void testTimeoutSwitchesToFallback() {
+        TestObserver<Integer> observer = manual
+                .timeout(50, TimeUnit.MILLISECONDS, scheduler, Observable.fromIterable(Arrays.asList(10, 11)))
+                .test();
+
+        emit(1);
+        advance(40);
+        emit(2);
+        advance(40);
+        observer.assertValues(1, 2).assertNotComplete();
+
+        advance(10);
+        observer.assertValues(1, 2, 10, 11).assertComplete();
+
+        // Поздние элементы источника после переключения игнорируются
+        emit(3);
+        observer.assertValues(1, 2, 10, 11);
+    }
+
+    @Test
+    void testTimeoutFallbackDisposesOriginalSource() {
+        TestObserver<Integer> observer = manual
+                .timeout(50, TimeUnit.MILLISECONDS, scheduler, Observable.fromIterable(Arrays.asList(10)))
+                .test();
+
+        advance(50);
+        observer.assertValues(10).assertComplete();
+        assertTrue(source.get().isDisposed());
+    }
+
+    @Test
+    void testDisposeCancelsTimers() {
+        TestObserver<Integer> debounced = manual.debounce(50, TimeUnit.MILLISECONDS, scheduler).test();
+        emit(1);
+        assertEquals(1, scheduler.pendingActions());
+        debounced.dispose();
+        assertEquals(0, scheduler.pendingActions());
+        assertTrue(source.get().isDisposed());
+
+        TestObserver<Integer> timed = manual.timeout(50, TimeUnit.MILLISECONDS, scheduler).test();
+        assertEquals(1, scheduler.pendingActions());
+        timed.dispose();
+        assertEquals(0, scheduler.pendingActions());
+        assertTrue(source.get().isDisposed());
+    }
+
+    @Test
+    void testTimeoutErrorWithoutFallback() {
+        TestObserver<Integer> observer = manual.timeout(30, TimeUnit.MILLISECONDS, scheduler).test();
+
+        advance(29);
+        observer.assertNotTerminated();
+        advance(1);
+        observer.assertError(TimeoutException.class);
+    }
+
+    @Test
+    void testTimeoutNotTriggeredByRegularItems() {
+        TestObserver<Integer> observer = manual.timeout(200, TimeUnit.MILLISECONDS, scheduler).test();
+
+        for (int i = 0; i < 4; i++) {
+            emit(i);
+            advance(150);
+        }
+        source.get().onComplete();
+
+        observer.assertValues(0, 1, 2, 3).assertComplete();
+        assertEquals(0, scheduler.pendingActions());
+    }
+
+    @Test
+    void testInvalidDurations() {
+        Observable<Integer> source = Observable.just(1);
+        assertThrows(IllegalArgumentException.class, () -> source.sample(0, TimeUnit.MILLISECONDS, scheduler));
+        assertThrows(IllegalArgumentException.class, () -> source.debounce(-1, TimeUnit.MILLISECONDS, scheduler));
+    }
+}
@@ -0,0 +1,105 @@
+package com.customrx;
+
+import com.customrx.core.*;
+import com.customrx.internal.LogLinearHistogram;
+import com.customrx.observers.TestObserver;
+import com.customrx.schedulers.SingleThreadScheduler;
+import com.customrx.schedulers.TestScheduler;
+import org.junit.jupiter.api.Test;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import static org.junit.jupiter.api.Assertions.*;
+
+class WindowedStatsTest {
+
+    private static void emit(AtomicReference<Emitter<Integer>> source, int count) {
+        for (int i = 0; i < count; i++) {
+            source.get().onNext(i);
+        }
+    }
+
+    @Test
+    void testHistogramRelativeError() {
+        long[] bins = new long[LogLinearHistogram.BIN_COUNT];
+        for (long v = 1; v <= 100_000; v++) {
+            bins[LogLinearHistogram.binOf(v)]++;
+        }
+
+        assertEquals(50_000, LogLinearHistogram.quantile(bins, 100_000, 0.5), 50_000 * 0.03);
+        assertEquals(99_000, LogLinearHistogram.quantile(bins, 100_000, 0.99), 99_000 * 0.03);
+        assertEquals(1, LogLinearHistogram.quantile(bins, 100_000, 0.0));
+        // Малые значения хранятся точно
+        assertEquals(17, LogLinearHistogram.valueOf(LogLinearHistogram.binOf(17)));
+        assertEquals(LogLinearHistogram.BIN_COUNT - 1, LogLinearHistogram.binOf(Long.MAX_VALUE));
+    }
+
+    @Test
+    void testTumblingWindowCount() {
+        TestScheduler scheduler = new TestScheduler();
+        AtomicReference<Emitter<Integer>> source = new AtomicReference<>();
+        TestObserver<Long> observer = Observable.create(source::set)
+                .windowedCount(100, TimeUnit.MILLISECONDS, 1, scheduler)
+                .test();
+
+        emit(source, 5);
+        scheduler.advanceTimeBy(100, TimeUnit.MILLISECONDS);
+        observer.assertValues(5L);
+        emit(source, 2);
+        source.get().onComplete();
+
+        observer.assertValues(5L, 2L).assertComplete();
+    }
+
+    @Test
+    void testSlidingWindowCount() {
+        TestScheduler scheduler = new TestScheduler();
+        AtomicReference<Emitter<Integer>> source = new AtomicReference<>();
+        TestObserver<Long> observer = Observable.create(source::set)
+                .windowedCount(200, TimeUnit.MILLISECONDS, 2, scheduler)
+                .test();
+
+        emit(source, 4);
+        scheduler.advanceTimeBy(100, TimeUnit.MILLISECONDS);
+        emit(source, 6);
+        scheduler.advanceTimeBy(100, TimeUnit.MILLISECONDS);
+        scheduler.advanceTimeBy(100, TimeUnit.MILLISECONDS);
+        source.get().onComplete();
+
+        // Тик каждые 100 мс по окну из двух корзин: первые 4 элемента уходят из окна на втором тике
+        observer.assertValues(4L, 10L, 6L, 0L).assertComplete();
+    }
+
+    @Test
+    void testWindowedRate() {
+        List<Double> rates = Observable.<Integer>create(emitter -> {
+                    for (int i = 0; i < 50; i++) {
+                        emitter.onNext(i);
+                    }
+                    emitter.onComplete();
+                })
+                .windowedRate(500, TimeUnit.MILLISECONDS, 5, new SingleThreadScheduler())
+                .toList()
+                .blockingGet();
+
+        assertEquals(Arrays.asList(100.0), rates);
+    }
+
+    @Test
+    void testWindowedPercentiles() {
+        long[] percentiles = Observable.<Long>create(emitter -> {
+                    for (long latency = 1; latency <= 1000; latency++) {
+                        emitter.onNext(latency);
+                    }
+                    emitter.onComplete();
+                })
+                .windowedPercentiles(x -> x, new double[]{0.5, 0.99}, 1, TimeUnit.SECONDS, 10, new SingleThreadScheduler())
+                .blockingLast();
+
+        assertEquals(500, percentiles[0], 500 * 0.03);
+        assertEquals(990, percentiles[1], 990 * 0.03);
+        assertThrows(IllegalArgumentException.class, () -> Observable.just(1L)
+                .windowedPercentiles(x -> x, new double[]{1.5}, 1, TimeUnit.SECONDS, 1, new SingleThreadScheduler()));
+    }
+}
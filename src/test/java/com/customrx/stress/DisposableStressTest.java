@@ -0,0 +1,76 @@
+package com.customrx.stress;
+
+import com.customrx.disposable.CompositeDisposable;
+import com.customrx.disposable.Disposable;
+import com.customrx.stress.StressResult.Expect;
+import org.junit.jupiter.api.Test;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class DisposableStressTest {
+
+    // Считает вызовы dispose, чтобы отличить утечку от двойного освобождения
+    static final class CountingDisposable implements Disposable {
+        final AtomicInteger disposals = new AtomicInteger();
+
+        @Override
+        public void dispose() {
+            disposals.incrementAndGet();
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return disposals.get() > 0;
+        }
+    }
+
+    static final class State {
+        final CompositeDisposable composite = new CompositeDisposable();
+        final CountingDisposable first = new CountingDisposable();
+        final CountingDisposable second = new CountingDisposable();
+
+        String outcome() {
+            return first.disposals.get() + ", " + second.disposals.get();
+        }
+    }
+
+    @Test
+    void testAddRacesDispose() {
+        StressRunner.forState(State::new)
+                .actor(s -> s.composite.add(s.first))
+                .actor(s -> s.composite.dispose())
+                .arbiter(State::outcome)
+                .run(StressRunner.ITERATIONS)
+                // Добавленный ресурс освобождается ровно один раз, кто бы ни успел первым
+                .expect("1, 0", Expect.ACCEPTABLE)
+                .assertNoForbidden();
+    }
+
+    @Test
+    void testConcurrentAddsThenDispose() {
+        StressRunner.forState(State::new)
+                .actor(s -> s.composite.add(s.first))
+                .actor(s -> {
+                    s.composite.add(s.second);
+                    s.composite.dispose();
+                })
+                .arbiter(State::outcome)
+                .run(StressRunner.ITERATIONS)
+                .expect("1, 1", Expect.ACCEPTABLE)
+                .assertNoForbidden();
+    }
+
+    @Test
+    void testDisposeRacesDispose() {
+        StressRunner.forState(() -> {
+                    State state = new State();
+                    state.composite.add(state.first);
+                    return state;
+                })
+                .actor(s -> s.composite.dispose())
+                .actor(s -> s.composite.dispose())
+                .arbiter(State::outcome)
+                .run(StressRunner.ITERATIONS)
+                .expect("1, 0", Expect.ACCEPTABLE)
+                .assertNoForbidden();
+    }
+}
@@ -0,0 +1,95 @@
+package com.customrx.stress;
+
+import com.customrx.core.*;
+import com.customrx.disposable.Disposable;
+import com.customrx.stress.StressResult.Expect;
+import org.junit.jupiter.api.Test;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+class EmitterStressTest {
+
+    // Эмиттер из Observable.create и счётчики сигналов, дошедших до наблюдателя
+    static final class State implements Observer<Integer> {
+        final AtomicInteger nexts = new AtomicInteger();
+        final AtomicInteger completes = new AtomicInteger();
+        final AtomicInteger errors = new AtomicInteger();
+        final Emitter<Integer> emitter;
+        final Disposable subscription;
+
+        State() {
+            AtomicReference<Emitter<Integer>> source = new AtomicReference<>();
+            subscription = Observable.create(source::set).subscribe(this);
+            emitter = source.get();
+        }
+
+        @Override
+        public void onNext(Integer item) {
+            nexts.incrementAndGet();
+        }
+
+        @Override
+        public void onError(Throwable error) {
+            errors.incrementAndGet();
+        }
+
+        @Override
+        public void onComplete() {
+            completes.incrementAndGet();
+        }
+
+        // Исход: onNext, onComplete, onError, состояние подписки
+        String outcome() {
+            return nexts.get() + ", " + completes.get() + ", " + errors.get()
+                    + (subscription.isDisposed() ? ", disposed" : ", active");
+        }
+    }
+
+    @Test
+    void testDisposeRacesOnNext() {
+        StressRunner.forState(State::new)
+                .actor(s -> s.emitter.onNext(1))
+                .actor(s -> s.subscription.dispose())
+                .arbiter(State::outcome)
+                .run(StressRunner.ITERATIONS)
+                .expect("1, 0, 0, disposed", Expect.ACCEPTABLE)
+                // dispose успел раньше: элемент отброшен
+                .expect("0, 0, 0, disposed", Expect.ACCEPTABLE)
+                .assertNoForbidden();
+    }
+
+    @Test
+    void testDisposeRacesOnComplete() {
+        StressRunner.forState(State::new)
+                .actor(s -> s.emitter.onComplete())
+                .actor(s -> s.subscription.dispose())
+                .arbiter(State::outcome)
+                .run(StressRunner.ITERATIONS)
+                .expect("0, 1, 0, disposed", Expect.ACCEPTABLE)
+                .expect("0, 0, 0, disposed", Expect.ACCEPTABLE)
+                .assertNoForbidden();
+    }
+
+    @Test
+    void testCompleteRacesComplete() {
+        StressRunner.forState(State::new)
+                .actor(s -> s.emitter.onComplete())
+                .actor(s -> s.emitter.onComplete())
+                .arbiter(State::outcome)
+                .run(StressRunner.ITERATIONS)
+                .expect("0, 1, 0, disposed", Expect.ACCEPTABLE)
+                .assertNoForbidden();
+    }
+
+    @Test
+    void testErrorRacesComplete() {
+        StressRunner.forState(State::new)
+                .actor(s -> s.emitter.onComplete())
+                .actor(s -> s.emitter.onError(new IllegalStateException("Race")))
+                .arbiter(State::outcome)
+                .run(StressRunner.ITERATIONS)
+                .expect("0, 1, 0, disposed", Expect.ACCEPTABLE)
+                .expect("0, 0, 1, disposed", Expect.ACCEPTABLE)
+                .assertNoForbidden();
+    }
+}
@@ -0,0 +1,150 @@
+package com.customrx.stress;
+
+import com.customrx.core.*;
+import com.customrx.observers.TestObserver;
+import com.customrx.schedulers.IOScheduler;
+import com.customrx.stress.StressResult.Expect;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+class OperatorStressTest {
+
+    private static final IOScheduler IO = new IOScheduler();
+
+    @AfterAll
+    static void shutdown() {
+        IO.shutdown();
+    }
+
+    // flatMap над одним внешним источником и двумя внутренними, все управляются вручную
+    static final class FlatMapState implements Observer<Integer> {
+        final List<Integer> values = new ArrayList<>();
+        final AtomicInteger completes = new AtomicInteger();
+        final AtomicInteger inFlight = new AtomicInteger();
+        final AtomicBoolean overlapped = new AtomicBoolean();
+        final List<Emitter<Integer>> inners = new ArrayList<>();
+        final Emitter<Integer> outer;
+
+        FlatMapState(int innerCount) {
+            AtomicReference<Emitter<Integer>> source = new AtomicReference<>();
+            Observable.create(source::set)
+                    .flatMap(i -> Observable.<Integer>create(inner -> {
+                        synchronized (inners) {
+                            inners.add(inner);
+                        }
+                    }))
+                    .subscribe(this);
+            outer = source.get();
+            for (int i = 0; i < innerCount; i++) {
+                outer.onNext(i);
+            }
+        }
+
+        Emitter<Integer> inner(int index) {
+            synchronized (inners) {
+                return inners.get(index);
+            }
+        }
+
+        @Override
+        public void onNext(Integer item) {
+            if (inFlight.getAndIncrement() != 0) {
+                overlapped.set(true);
+            }
+            // Расширяем окно, в котором может оказаться второй поток
+            for (int i = 0; i < 20; i++) {
+                Thread.onSpinWait();
+            }
+            synchronized (values) {
+                values.add(item);
+            }
+            inFlight.decrementAndGet();
+        }
+
+        @Override
+        public void onError(Throwable error) {
+        }
+
+        @Override
+        public void onComplete() {
+            completes.incrementAndGet();
+        }
+
+        String outcome() {
+            synchronized (values) {
+                return (overlapped.get() ? "overlap" : "serial") + ", " + values.size() + " values, "
+                        + completes.get() + " completes";
+            }
+        }
+    }
+
+    @Test
+    void testFlatMapCompletionRacesInnerCompletion() {
+        StressRunner.forState(() -> new FlatMapState(1))
+                .actor(s -> {
+                    Emitter<Integer> inner = s.inner(0);
+                    inner.onNext(1);
+                    inner.onComplete();
+                })
+                .actor(s -> s.outer.onComplete())
+                .arbiter(FlatMapState::outcome)
+                .run(StressRunner.ITERATIONS)
+                // Завершение приходит только после последнего внутреннего источника
+                .expect("serial, 1 values, 1 completes", Expect.ACCEPTABLE)
+                .assertNoForbidden();
+    }
+
+    @Test
+    void testFlatMapSerializesConcurrentInners() {
+        StressRunner.forState(() -> new FlatMapState(2))
+                .actor(s -> {
+                    s.inner(0).onNext(1);
+                    s.inner(0).onComplete();
+                })
+                .actor(s -> {
+                    s.inner(1).onNext(2);
+                    s.inner(1).onComplete();
+                    s.outer.onComplete();
+                })
+                .arbiter(FlatMapState::outcome)
+                .run(StressRunner.ITERATIONS)
+                .expect("serial, 2 values, 1 completes", Expect.ACCEPTABLE)
+                .assertNoForbidden();
+    }
+
+    static final class ObserveOnState {
+        final TestObserver<Integer> observer;
+        final Emitter<Integer> emitter;
+
+        ObserveOnState() {
+            AtomicReference<Emitter<Integer>> source = new AtomicReference<>();
+            observer = Observable.create(source::set).observeOn(IO).test();
+            emitter = source.get();
+        }
+
+        String outcome() {
+            observer.awaitDone(5, TimeUnit.SECONDS);
+            return observer.values() + (observer.errors().isEmpty() ? ", complete" : ", error");
+        }
+    }
+
+    @Test
+    void testObserveOnKeepsOrder() {
+        StressRunner.forState(ObserveOnState::new)
+                .actor(s -> {
+                    s.emitter.onNext(1);
+                    s.emitter.onNext(2);
+                    s.emitter.onComplete();
+                })
+                .arbiter(ObserveOnState::outcome)
+                .run(StressRunner.ITERATIONS / 10)
+                .expect("[1, 2], complete", Expect.ACCEPTABLE)
+                .assertNoForbidden();
+    }
+}
@@ -0,0 +1,62 @@
+package com.customrx.stress;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Подсчитанные исходы прогона и их классификация: допустимый, допустимый-интересный
+ * (редкий, но законный) и запрещённый. Исход, не перечисленный в ожиданиях, считается запрещённым.
+ */
+public final class StressResult {
+    public enum Expect {
+        ACCEPTABLE,
+        ACCEPTABLE_INTERESTING,
+        FORBIDDEN
+    }
+
+    private final Map<String, Long> outcomes;
+    private final Map<String, Expect> expectations = new LinkedHashMap<>();
+
+    StressResult(Map<String, Long> outcomes) {
+        this.outcomes = outcomes;
+    }
+
+    public StressResult expect(String outcome, Expect expect) {
+        expectations.put(outcome, expect);
+        return this;
+    }
+
+    public Map<String, Long> outcomes() {
+        return Collections.unmodifiableMap(outcomes);
+    }
+
+    public long count(String outcome) {
+        return outcomes.getOrDefault(outcome, 0L);
+    }
+
+    public Expect classify(String outcome) {
+        return expectations.getOrDefault(outcome, Expect.FORBIDDEN);
+    }
+
+    public StressResult assertNoForbidden() {
+        for (String outcome : outcomes.keySet()) {
+            if (classify(outcome) == Expect.FORBIDDEN) {
+                throw new AssertionError("Forbidden outcome \"" + outcome + "\" observed\n" + report());
+            }
+        }
+        return this;
+    }
+
+    public String report() {
+        StringBuilder report = new StringBuilder();
+        outcomes.forEach((outcome, count) -> report.append(String.format("%12d  %-22s %s%n",
+                count, classify(outcome), outcome)));
+        return report.toString();
+    }
+
+    @Override
+    public String toString() {
+        return report();
+    }
+}
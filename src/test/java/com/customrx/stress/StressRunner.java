@@ -0,0 +1,110 @@
+package com.customrx.stress;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Прогон гонок в духе jcstress: каждый актор работает в своём потоке и проходит один и тот же
+ * пакет свежих состояний. Перед каждым состоянием акторы встречаются на счётчике прибытия,
+ * чтобы стартовать над ним одновременно, а не разойтись по пакету.
+ * После пакета арбитр превращает каждое состояние в строку-исход, исходы подсчитываются и
+ * сверяются с ожиданиями в {@link StressResult}.
+ */
+public final class StressRunner<S> {
+    // Число итераций можно поднять для долгого прогона: -Dcustomrx.stress.iterations=1000000
+    public static final int ITERATIONS = Integer.getInteger("customrx.stress.iterations", 20_000);
+    private static final int BATCH_SIZE = 512;
+
+    private final Supplier<? extends S> stateFactory;
+    private final List<Consumer<? super S>> actors = new ArrayList<>();
+    private Function<? super S, String> arbiter;
+
+    private StressRunner(Supplier<? extends S> stateFactory) {
+        this.stateFactory = stateFactory;
+    }
+
+    public static <S> StressRunner<S> forState(Supplier<? extends S> stateFactory) {
+        return new StressRunner<>(stateFactory);
+    }
+
+    public StressRunner<S> actor(Consumer<? super S> actor) {
+        actors.add(actor);
+        return this;
+    }
+
+    public StressRunner<S> arbiter(Function<? super S, String> arbiter) {
+        this.arbiter = arbiter;
+        return this;
+    }
+
+    public StressResult run(int iterations) {
+        if (actors.isEmpty() || arbiter == null) {
+            throw new IllegalStateException("At least one actor and an arbiter are required");
+        }
+        Map<String, Long> outcomes = new TreeMap<>();
+        List<S> batch = new ArrayList<>(BATCH_SIZE);
+        for (int done = 0; done < iterations; done += BATCH_SIZE) {
+            batch.clear();
+            for (int i = 0; i < Math.min(BATCH_SIZE, iterations - done); i++) {
+                batch.add(stateFactory.get());
+            }
+            runBatch(batch);
+            for (S state : batch) {
+                outcomes.merge(arbiter.apply(state), 1L, Long::sum);
+            }
+        }
+        return new StressResult(outcomes);
+    }
+
+    // Сначала крутимся на месте, затем уступаем процессор: если ядер меньше, чем акторов, чистый спин не даст соседу дойти
+    private static void rendezvous(AtomicInteger arrived, int target) {
+        arrived.incrementAndGet();
+        for (int spins = 0; arrived.get() < target; spins++) {
+            if (spins < 100) {
+                Thread.onSpinWait();
+            } else {
+                Thread.yield();
+            }
+        }
+    }
+
+    private void runBatch(List<S> batch) {
+        int parties = actors.size();
+        AtomicInteger arrived = new AtomicInteger();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        List<Thread> threads = new ArrayList<>(actors.size());
+        for (int a = 0; a < actors.size(); a++) {
+            Consumer<? super S> actor = actors.get(a);
+            Thread thread = new Thread(() -> {
+                try {
+                    for (int i = 0; i < batch.size(); i++) {
+                        rendezvous(arrived, (i + 1) * parties);
+                        actor.accept(batch.get(i));
+                    }
+                } catch (Throwable e) {
+                    failure.compareAndSet(null, e);
+                }
+            }, "stress-actor-" + a);
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for actors", e);
+            }
+        }
+        if (failure.get() != null) {
+            throw new IllegalStateException("Actor failed", failure.get());
+        }
+    }
+}